@@ -0,0 +1,326 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Invoice;
+import com.selfxdsd.api.Payment;
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.Task;
+import com.selfxdsd.core.StoredUser;
+import com.selfxdsd.core.contracts.StoredContract;
+import com.selfxdsd.core.contracts.invoices.StoredInvoice;
+import com.selfxdsd.core.contracts.invoices.StoredPayment;
+import com.selfxdsd.core.contributors.StoredContributor;
+import com.selfxdsd.core.managers.StoredProjectManager;
+import com.selfxdsd.core.projects.StoredProject;
+import com.selfxdsd.core.tasks.StoredTask;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+import org.jooq.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static com.selfxdsd.storage.generated.jooq.Tables.*;
+
+/**
+ * JMH benchmark of the mapping of Records to Tasks and Invoices, without
+ * the query itself: the Records are fetched once, then mapped over and
+ * over. Every invocation maps {@link #ROWS} Records, so the time and the
+ * gc profiler's alloc.rate.norm are per row.<br><br>
+ * The byField benchmarks are the previous mappers, which looked up every
+ * Field in every Record, kept here as the baseline of the index-based
+ * {@link TaskMapper} and {@link InvoiceMapper}. Run only this class with:
+ * <pre>
+ * mvn test-compile exec:exec -Pbenchmarks
+ *     -Djmh.args="MappersBenchmark -prof gc"
+ * </pre>
+ * Unlike the other benchmarks, this one is in com.selfxdsd.storage, not in
+ * com.selfxdsd.storage.benchmarks: it measures the package-private
+ * {@link TaskMapper}, {@link InvoiceMapper}, SelfTasks.selectTasks and
+ * SelfInvoices.selectInvoices, which should not become public API just to
+ * be benchmarked.<br><br>
+ * The class cannot be final, JMH generates subclasses of it.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ * @checkstyle DesignForExtension (400 lines)
+ * @checkstyle ClassDataAbstractionCoupling (400 lines)
+ * @checkstyle ClassFanOutComplexity (400 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappersBenchmark {
+
+    /**
+     * Number of Records mapped per invocation.
+     */
+    private static final int ROWS = 1000;
+
+    /**
+     * Storage passed to the mapped objects.
+     */
+    private SelfJooq storage;
+
+    /**
+     * Fetched tasks.
+     */
+    private Result<Record> tasks;
+
+    /**
+     * Fetched invoices.
+     */
+    private Result<? extends Record> invoices;
+
+    /**
+     * Index-based mapper of the tasks.
+     */
+    private TaskMapper taskMapper;
+
+    /**
+     * Index-based mapper of the invoices.
+     */
+    private RecordMapper<Record, Invoice> invoiceMapper;
+
+    /**
+     * Contract of the mapped invoices.
+     */
+    private Contract contract;
+
+    /**
+     * Fill an in-memory DB and fetch the Records.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final H2MemoryDatabase database = new H2MemoryDatabase(
+            "mappers"
+        ).connect();
+        final SyntheticData data = new SyntheticData(
+            42L, 10, ROWS / 10, ROWS / 50, 1
+        );
+        data.insertInto(database);
+        this.storage = new SelfJooq(database);
+        this.tasks = SelfTasks.selectTasks(database.jooq())
+            .limit(ROWS)
+            .fetch();
+        this.invoices = SelfInvoices.selectInvoices(database.jooq())
+            .limit(ROWS)
+            .fetch();
+        this.taskMapper = new TaskMapper(
+            SelfTasks.selectTasks(database.jooq()).getSelect(),
+            this.storage
+        );
+        this.contract = this.storage.contracts().findById(
+            new Contract.Id(
+                data.repo(0),
+                data.contributorsOf(0).get(0),
+                data.provider(),
+                data.role()
+            )
+        );
+        this.invoiceMapper = new InvoiceMapper(
+            SelfInvoices.selectInvoices(database.jooq()).getSelect(),
+            this.storage
+        ).forContract(this.contract);
+    }
+
+    /**
+     * Close the Storage.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.storage.close();
+    }
+
+    /**
+     * Map the tasks by index, as one query: the tasks share their
+     * Projects, owners, PMs and Contributors.
+     * @param blackhole Blackhole.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void tasksByIndex(final Blackhole blackhole) {
+        final RecordMapper<Record, Task> mapper = this.taskMapper.perQuery();
+        for(final Record rec : this.tasks) {
+            blackhole.consume(mapper.map(rec));
+        }
+    }
+
+    /**
+     * Map the tasks by Field, as before: every row builds its own parents.
+     * @param blackhole Blackhole.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void tasksByField(final Blackhole blackhole) {
+        for(final Record rec : this.tasks) {
+            blackhole.consume(this.taskByField(rec));
+        }
+    }
+
+    /**
+     * Map the invoices by index.
+     * @param blackhole Blackhole.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void invoicesByIndex(final Blackhole blackhole) {
+        for(final Record rec : this.invoices) {
+            blackhole.consume(this.invoiceMapper.map(rec));
+        }
+    }
+
+    /**
+     * Map the invoices by Field, as before.
+     * @param blackhole Blackhole.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void invoicesByField(final Blackhole blackhole) {
+        for(final Record rec : this.invoices) {
+            blackhole.consume(this.invoiceByField(rec));
+        }
+    }
+
+    /**
+     * The previous SelfTasks.taskFromRecord.
+     * @param rec Record.
+     * @return Task.
+     */
+    private Task taskByField(final Record rec) {
+        final Project project = new StoredProject(
+            new StoredUser(
+                rec.getValue(SLF_USERS_XDSD.USERNAME),
+                rec.getValue(SLF_USERS_XDSD.EMAIL),
+                rec.getValue(SLF_USERS_XDSD.ROLE),
+                rec.getValue(SLF_USERS_XDSD.PROVIDER),
+                this.storage
+            ),
+            rec.getValue(SLF_PROJECTS_XDSD.REPO_FULLNAME),
+            rec.getValue(SLF_PROJECTS_XDSD.WEBHOOK_TOKEN),
+            new StoredProjectManager(
+                rec.getValue(SLF_PMS_XDSD.ID),
+                rec.getValue(SLF_PMS_XDSD.USERID),
+                rec.getValue(SLF_PMS_XDSD.USERNAME),
+                rec.getValue(SLF_PMS_XDSD.PROVIDER),
+                rec.getValue(SLF_PMS_XDSD.ACCESS_TOKEN),
+                rec.getValue(SLF_PMS_XDSD.COMMISSION).doubleValue(),
+                rec.getValue(SLF_PMS_XDSD.CONTRIBUTORCOMMISSION).doubleValue(),
+                this.storage
+            ),
+            this.storage
+        );
+        final Task task;
+        if(rec.getValue(SLF_TASKS_XDSD.USERNAME) == null) {
+            task = new StoredTask(
+                project,
+                rec.getValue(SLF_TASKS_XDSD.ISSUEID),
+                rec.getValue(SLF_TASKS_XDSD.ROLE),
+                rec.getValue(SLF_TASKS_XDSD.ESTIMATION_MINUTES),
+                rec.getValue(SLF_TASKS_XDSD.ISPULLREQUEST),
+                this.storage
+            );
+        } else {
+            task = new StoredTask(
+                new StoredContract(
+                    project,
+                    new StoredContributor(
+                        rec.getValue(SLF_CONTRIBUTORS_XDSD.USERNAME),
+                        rec.getValue(SLF_CONTRIBUTORS_XDSD.PROVIDER),
+                        this.storage
+                    ),
+                    BigDecimal.valueOf(
+                        rec.getValue(SLF_CONTRACTS_XDSD.HOURLY_RATE)
+                    ),
+                    rec.getValue(SLF_CONTRACTS_XDSD.ROLE),
+                    rec.getValue(SLF_CONTRACTS_XDSD.MARKEDFORREMOVAL),
+                    this.storage
+                ),
+                rec.getValue(SLF_TASKS_XDSD.ISSUEID),
+                this.storage,
+                rec.getValue(SLF_TASKS_XDSD.ASSIGNED),
+                rec.getValue(SLF_TASKS_XDSD.DEADLINE),
+                rec.getValue(SLF_TASKS_XDSD.ESTIMATION_MINUTES),
+                rec.getValue(SLF_TASKS_XDSD.ISPULLREQUEST)
+            );
+        }
+        return task;
+    }
+
+    /**
+     * The previous SelfInvoices.buildInvoice.
+     * @param rec Record.
+     * @return Invoice.
+     */
+    private Invoice invoiceByField(final Record rec) {
+        final Payment latest;
+        if(rec.getValue(SLF_INVOICES_XDSD.LATESTSTATUS) != null) {
+            latest = new StoredPayment(
+                rec.getValue(SLF_INVOICES_XDSD.INVOICEID),
+                rec.getValue(SLF_INVOICES_XDSD.LATESTTRANSACTIONID),
+                rec.getValue(SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP),
+                BigDecimal.valueOf(
+                    rec.getValue(SLF_INVOICES_XDSD.LATESTVALUE).longValue()
+                ),
+                rec.getValue(SLF_INVOICES_XDSD.LATESTSTATUS),
+                rec.getValue(SLF_INVOICES_XDSD.LATESTFAILREASON),
+                this.storage
+            );
+        } else {
+            latest = null;
+        }
+        return new StoredInvoice(
+            rec.getValue(SLF_INVOICES_XDSD.INVOICEID),
+            this.contract,
+            rec.getValue(SLF_INVOICES_XDSD.CREATEDAT),
+            latest,
+            rec.getValue(SLF_INVOICES_XDSD.BILLEDBY),
+            rec.getValue(SLF_INVOICES_XDSD.BILLEDTO),
+            rec.getValue(SLF_INVOICES_XDSD.BILLEDBYCOUNTRY),
+            rec.getValue(SLF_INVOICES_XDSD.BILLEDTOCOUNTRY),
+            BigDecimal.valueOf(
+                rec.getValue(SLF_INVOICES_XDSD.EURTORON).longValue()
+            ),
+            this.storage
+        );
+    }
+}
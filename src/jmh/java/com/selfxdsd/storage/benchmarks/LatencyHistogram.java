@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage.benchmarks;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of latencies, with power-of-two buckets of
+ * microseconds: bucket i counts the latencies between 2^i and 2^(i+1)
+ * microseconds. The percentiles are approximated with the upper bound of
+ * their bucket, which is precise enough to compare two runs.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Number of buckets (the last one holds everything above 2^62 us).
+     */
+    private static final int BUCKETS = 63;
+
+    /**
+     * Counts per bucket.
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Number of recorded latencies.
+     */
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Sum of the recorded latencies, in nanoseconds.
+     */
+    private final AtomicLong total = new AtomicLong();
+
+    /**
+     * Highest recorded latency, in nanoseconds.
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a latency.
+     * @param nanos Latency in nanoseconds.
+     */
+    public void record(final long nanos) {
+        final long micros = Math.max(1L, nanos / 1000L);
+        this.buckets.incrementAndGet(
+            Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros))
+        );
+        this.count.incrementAndGet();
+        this.total.addAndGet(nanos);
+        this.max.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Number of recorded latencies.
+     * @return Long.
+     */
+    public long count() {
+        return this.count.get();
+    }
+
+    /**
+     * Average latency.
+     * @return Average in microseconds.
+     */
+    public double mean() {
+        final long recorded = this.count.get();
+        double mean = 0;
+        if(recorded > 0) {
+            mean = this.total.get() / 1000.0 / recorded;
+        }
+        return mean;
+    }
+
+    /**
+     * Highest recorded latency.
+     * @return Maximum in microseconds.
+     */
+    public long max() {
+        return this.max.get() / 1000L;
+    }
+
+    /**
+     * Latency under which the given fraction of the operations fall.
+     * @param fraction Fraction between 0 and 1 (e.g. 0.99 for p99).
+     * @return Upper bound of the percentile's bucket, in microseconds.
+     */
+    public long percentile(final double fraction) {
+        final long rank = (long) Math.ceil(fraction * this.count.get());
+        long seen = 0;
+        int bucket = 0;
+        while (bucket < BUCKETS - 1) {
+            seen = seen + this.buckets.get(bucket);
+            if(seen >= rank) {
+                break;
+            }
+            ++bucket;
+        }
+        return Math.min(1L << (bucket + 1), this.max());
+    }
+
+    /**
+     * Print the non-empty buckets, one per line, with a bar proportional
+     * to their count.
+     * @param indent Prefix of every line.
+     * @return Histogram as text.
+     */
+    public String print(final String indent) {
+        final long recorded = Math.max(1L, this.count.get());
+        final StringBuilder text = new StringBuilder();
+        for(int bucket = 0; bucket < BUCKETS; ++bucket) {
+            final long hits = this.buckets.get(bucket);
+            if(hits > 0) {
+                text.append(indent).append(
+                    String.format(
+                        Locale.ROOT, "%10d us %10d ", 1L << (bucket + 1), hits
+                    )
+                );
+                for(long bar = 0; bar < hits * 50 / recorded; ++bar) {
+                    text.append('#');
+                }
+                text.append(System.lineSeparator());
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,794 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage.benchmarks;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Estimation;
+import com.selfxdsd.api.Invoice;
+import com.selfxdsd.api.Issue;
+import com.selfxdsd.api.Payment;
+import com.selfxdsd.api.Resource;
+import com.selfxdsd.api.Task;
+import com.selfxdsd.api.storage.JsonStorage;
+import com.selfxdsd.core.contracts.invoices.StoredPayment;
+import com.selfxdsd.storage.Database;
+import com.selfxdsd.storage.H2MemoryDatabase;
+import com.selfxdsd.storage.MySql;
+import com.selfxdsd.storage.SelfJooq;
+import com.selfxdsd.storage.SyntheticData;
+import org.jooq.exception.DataAccessException;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_PROJECTS_XDSD;
+
+/**
+ * Load test which simulates Self's webhook traffic against the Storage.
+ * Many threads run, for a given duration, a random mix of the operations
+ * triggered by webhooks: registering, assigning and unassigning tasks,
+ * creating invoices, registering them as paid and reading/storing the
+ * cached JSON resources. Every thread has its own connection, as if
+ * Storage was backed by a pool with one connection per thread.<br><br>
+ * At the end, it prints the throughput and latency histogram of every
+ * operation, together with the number of errors, deadlocks and lock
+ * timeouts. Run it against an in-memory H2 DB, filled with
+ * {@link SyntheticData}:
+ * <pre>
+ * mvn test-compile exec:exec@load-test -Pbenchmarks
+ *     -Dload.args="threads seconds projects"
+ * </pre>
+ * or against a local MySQL with Self's schema, by adding the JDBC url,
+ * user and password to the arguments. The MySQL DB should either be empty
+ * (the data is generated) or filled by SyntheticData with the same number
+ * of projects and seed 42.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ * @checkstyle ClassDataAbstractionCoupling (1000 lines)
+ * @checkstyle ClassFanOutComplexity (1000 lines)
+ */
+public final class LoadTest {
+
+    /**
+     * Seed of the generated data and of the operations' mix.
+     */
+    private static final long SEED = 42L;
+
+    /**
+     * Cached JSON resources per project.
+     */
+    private static final int RESOURCES = 20;
+
+    /**
+     * Maximum tasks or invoices a worker remembers for later operations.
+     */
+    private static final int REMEMBERED = 100;
+
+    /**
+     * Number of worker threads.
+     */
+    private final int threads;
+
+    /**
+     * Duration of the test, in seconds.
+     */
+    private final long seconds;
+
+    /**
+     * Data which the operations target.
+     */
+    private final SyntheticData data;
+
+    /**
+     * Number of generated projects.
+     */
+    private final int projects;
+
+    /**
+     * Unconnected databases, one per worker.
+     */
+    private final Supplier<Database> databases;
+
+    /**
+     * Statistics of every operation.
+     */
+    private final Map<Operation, Statistics> statistics;
+
+    /**
+     * Ctor.
+     * @param threads Number of worker threads.
+     * @param seconds Duration of the test, in seconds.
+     * @param projects Number of generated projects.
+     * @param databases Unconnected databases, one per worker.
+     */
+    public LoadTest(
+        final int threads,
+        final long seconds,
+        final int projects,
+        final Supplier<Database> databases
+    ) {
+        this.threads = threads;
+        this.seconds = seconds;
+        this.projects = projects;
+        this.data = new SyntheticData(SEED, projects);
+        this.databases = databases;
+        this.statistics = new EnumMap<>(Operation.class);
+        for(final Operation operation : Operation.values()) {
+            this.statistics.put(operation, new Statistics());
+        }
+    }
+
+    /**
+     * Run the load test from the command line. The arguments are the
+     * number of threads, the duration in seconds, the number of projects
+     * and, optionally, the JDBC url, user and password of a MySQL DB (all
+     * three of them or none).
+     * @param args Command line arguments.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public static void main(final String... args)
+        throws InterruptedException {
+        if(args.length != 3 && args.length != 6) {
+            throw new IllegalArgumentException(
+                "Usage: LoadTest <threads> <seconds> <projects>"
+                + " [<jdbcUrl> <username> <password>]; the MySQL url, user"
+                + " and password must be given all together, or not at all"
+            );
+        }
+        final Supplier<Database> databases;
+        if(args.length == 6) {
+            databases = () -> new MySql(args[3], args[4], args[5]);
+        } else {
+            final String name = "loadtest" + System.nanoTime();
+            databases = () -> new H2MemoryDatabase(name);
+        }
+        System.out.print(
+            new LoadTest(
+                Integer.parseInt(args[0]),
+                Long.parseLong(args[1]),
+                Integer.parseInt(args[2]),
+                databases
+            ).run()
+        );
+    }
+
+    /**
+     * Run the load test.
+     * @return Report.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public String run() throws InterruptedException {
+        this.prepare();
+        final ExecutorService pool = Executors.newFixedThreadPool(
+            this.threads
+        );
+        final long start = System.nanoTime();
+        final long end = start + TimeUnit.SECONDS.toNanos(this.seconds);
+        final List<Future<Void>> workers = new ArrayList<>();
+        for(int idx = 0; idx < this.threads; ++idx) {
+            workers.add(pool.submit(new Worker(idx, end)));
+        }
+        try {
+            for(final Future<Void> worker : workers) {
+                worker.get();
+            }
+        } catch (final ExecutionException exception) {
+            throw new IllegalStateException(
+                "A worker of the load test crashed.",
+                exception.getCause()
+            );
+        } finally {
+            pool.shutdownNow();
+        }
+        return this.report(System.nanoTime() - start);
+    }
+
+    /**
+     * Generate the data, unless the DB already has projects.
+     */
+    private void prepare() {
+        final Database database = this.databases.get().connect();
+        try {
+            if(database.jooq().fetchCount(SLF_PROJECTS_XDSD) == 0) {
+                this.data.insertInto(database);
+            }
+        } finally {
+            database.close();
+        }
+    }
+
+    /**
+     * Build the report of the test.
+     * @param elapsed Duration of the test, in nanoseconds.
+     * @return Report.
+     */
+    private String report(final long elapsed) {
+        final double secs = elapsed / 1_000_000_000.0;
+        final StringBuilder report = new StringBuilder();
+        report.append(
+            String.format(
+                Locale.ROOT,
+                "Load test: %d threads, %.1f s, %d projects%n%n"
+                + "%-17s %9s %9s %9s %9s %9s %9s %9s %7s %9s %8s%n",
+                this.threads, secs, this.projects,
+                "operation", "count", "ops/s", "mean(us)", "p50(us)",
+                "p90(us)", "p99(us)", "max(us)", "errors", "deadlocks",
+                "timeouts"
+            )
+        );
+        long total = 0;
+        for(final Map.Entry<Operation, Statistics> entry
+            : this.statistics.entrySet()) {
+            final Statistics stats = entry.getValue();
+            final LatencyHistogram latencies = stats.latencies;
+            total = total + latencies.count();
+            report.append(
+                String.format(
+                    Locale.ROOT,
+                    "%-17s %9d %9.1f %9.1f %9d %9d %9d %9d %7d %9d %8d%n",
+                    entry.getKey().name().toLowerCase(Locale.ROOT),
+                    latencies.count(), latencies.count() / secs,
+                    latencies.mean(), latencies.percentile(0.5),
+                    latencies.percentile(0.9), latencies.percentile(0.99),
+                    latencies.max(), stats.errors.get(),
+                    stats.deadlocks.get(), stats.timeouts.get()
+                )
+            );
+        }
+        report.append(
+            String.format(
+                Locale.ROOT, "%-17s %9d %9.1f%n",
+                "total", total, total / secs
+            )
+        );
+        for(final Map.Entry<Operation, Statistics> entry
+            : this.statistics.entrySet()) {
+            final String error = entry.getValue().error.get();
+            if(error != null) {
+                report.append("First error of ")
+                    .append(entry.getKey().name().toLowerCase(Locale.ROOT))
+                    .append(": ")
+                    .append(error)
+                    .append(System.lineSeparator());
+            }
+        }
+        for(final Map.Entry<Operation, Statistics> entry
+            : this.statistics.entrySet()) {
+            report.append(System.lineSeparator())
+                .append("Latencies of ")
+                .append(entry.getKey().name().toLowerCase(Locale.ROOT))
+                .append(':')
+                .append(System.lineSeparator())
+                .append(entry.getValue().latencies.print("  "));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Remember an element for later operations, forgetting the oldest
+     * one if there are too many.
+     * @param elements Remembered elements.
+     * @param element Element to remember.
+     * @param <T> Type of the elements.
+     */
+    private static <T> void remember(
+        final Deque<T> elements,
+        final T element
+    ) {
+        if(element != null) {
+            elements.push(element);
+            if(elements.size() > REMEMBERED) {
+                elements.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Operations of the load test and their share of the traffic,
+     * in percents.
+     */
+    private enum Operation {
+
+        /**
+         * Register a new issue as Task.
+         */
+        REGISTER_TASK(20),
+
+        /**
+         * Assign a previously registered Task.
+         */
+        ASSIGN_TASK(15),
+
+        /**
+         * Unassign a previously assigned Task.
+         */
+        UNASSIGN_TASK(10),
+
+        /**
+         * Create a new Invoice.
+         */
+        CREATE_INVOICE(5),
+
+        /**
+         * Register a previously created Invoice as paid.
+         */
+        REGISTER_AS_PAID(5),
+
+        /**
+         * Read a cached JSON resource.
+         */
+        GET_RESOURCE(35),
+
+        /**
+         * Store or update a cached JSON resource.
+         */
+        STORE_RESOURCE(10);
+
+        /**
+         * Share of the traffic, in percents.
+         */
+        private final int share;
+
+        /**
+         * Ctor.
+         * @param share Share of the traffic, in percents.
+         */
+        Operation(final int share) {
+            this.share = share;
+        }
+
+        /**
+         * Pick a random operation, according to the shares.
+         * @param random Random.
+         * @return Operation.
+         */
+        static Operation pick(final Random random) {
+            int ticket = random.nextInt(100);
+            Operation picked = GET_RESOURCE;
+            for(final Operation operation : Operation.values()) {
+                ticket = ticket - operation.share;
+                if(ticket < 0) {
+                    picked = operation;
+                    break;
+                }
+            }
+            return picked;
+        }
+    }
+
+    /**
+     * Statistics of an operation.
+     */
+    private static final class Statistics {
+
+        /**
+         * Latencies of the successful runs.
+         */
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        /**
+         * Failed runs, including deadlocks and timeouts.
+         */
+        private final AtomicLong errors = new AtomicLong();
+
+        /**
+         * Runs which failed because of a deadlock.
+         */
+        private final AtomicLong deadlocks = new AtomicLong();
+
+        /**
+         * Runs which failed because of a lock wait timeout.
+         */
+        private final AtomicLong timeouts = new AtomicLong();
+
+        /**
+         * Message of the first error, if any.
+         */
+        private final AtomicReference<String> error = new AtomicReference<>();
+
+        /**
+         * Count a failed run. Deadlocks have SQL state 40001 (MySQL error
+         * 1213); lock wait timeouts are MySQL error 1205 or H2 error 50200.
+         * @param error Error.
+         */
+        void failed(final RuntimeException error) {
+            this.errors.incrementAndGet();
+            this.error.compareAndSet(null, error.toString());
+            Throwable cause = error;
+            while (cause != null) {
+                if(cause instanceof SQLException) {
+                    final SQLException sql = (SQLException) cause;
+                    if("40001".equals(sql.getSQLState())
+                        || sql.getErrorCode() == 1213) {
+                        this.deadlocks.incrementAndGet();
+                        break;
+                    }
+                    if(sql.getErrorCode() == 1205
+                        || sql.getErrorCode() == 50200) {
+                        this.timeouts.incrementAndGet();
+                        break;
+                    }
+                }
+                cause = cause.getCause();
+            }
+        }
+    }
+
+    /**
+     * Task registered by a worker, with the index of its project.
+     */
+    private static final class Registered {
+
+        /**
+         * Task.
+         */
+        private final Task task;
+
+        /**
+         * Index of the Task's project in the generated data.
+         */
+        private final int project;
+
+        /**
+         * Ctor.
+         * @param task Task.
+         * @param project Index of the Task's project.
+         */
+        Registered(final Task task, final int project) {
+            this.task = task;
+            this.project = project;
+        }
+    }
+
+    /**
+     * Worker thread, which runs random operations until the end of the
+     * test. It remembers the tasks and invoices it created, in order to
+     * assign, unassign and pay them later.
+     */
+    private final class Worker implements Callable<Void> {
+
+        /**
+         * Number of the worker.
+         */
+        private final int number;
+
+        /**
+         * When to stop, as System.nanoTime().
+         */
+        private final long end;
+
+        /**
+         * Random generator of the operations.
+         */
+        private final Random random;
+
+        /**
+         * Unassigned tasks registered by this worker.
+         */
+        private final Deque<Registered> unassigned = new ArrayDeque<>();
+
+        /**
+         * Tasks assigned by this worker.
+         */
+        private final Deque<Registered> assigned = new ArrayDeque<>();
+
+        /**
+         * Ids of the invoices created by this worker.
+         */
+        private final Deque<Integer> invoices = new ArrayDeque<>();
+
+        /**
+         * Issue which is registered. Its answers depend on the fields
+         * below, which are changed before every registration.
+         */
+        private final Issue issue;
+
+        /**
+         * JSON Resource which is stored.
+         */
+        private final Resource resource;
+
+        /**
+         * Repo of the Issue to register.
+         */
+        private String repo;
+
+        /**
+         * Id of the Issue to register or of the Payment to make.
+         */
+        private int counter;
+
+        /**
+         * Ctor.
+         * @param number Number of the worker.
+         * @param end When to stop, as System.nanoTime().
+         */
+        Worker(final int number, final long end) {
+            this.number = number;
+            this.end = end;
+            this.random = new Random(SEED + number);
+            this.issue = Mockito.mock(Issue.class);
+            Mockito.when(this.issue.repoFullName())
+                .thenAnswer(invocation -> this.repo);
+            Mockito.when(this.issue.issueId())
+                .thenAnswer(invocation -> this.number + "_" + this.counter);
+            Mockito.when(this.issue.provider())
+                .thenReturn(LoadTest.this.data.provider());
+            Mockito.when(this.issue.role())
+                .thenReturn(LoadTest.this.data.role());
+            Mockito.when(this.issue.isPullRequest()).thenReturn(false);
+            final Estimation estimation = Mockito.mock(Estimation.class);
+            Mockito.when(estimation.minutes()).thenReturn(60);
+            Mockito.when(this.issue.estimation()).thenReturn(estimation);
+            this.resource = Mockito.mock(Resource.class);
+            Mockito.when(this.resource.etag()).thenReturn("\"load\"");
+            Mockito.when(this.resource.statusCode()).thenReturn(200);
+            Mockito.when(this.resource.body()).thenReturn(
+                "{\"title\":\"Load test\",\"body\":\""
+                + String.join("", Collections.nCopies(64, "Lorem ipsum "))
+                + "\",\"state\":\"open\"}"
+            );
+            Mockito.when(this.resource.headers())
+                .thenReturn(Collections.emptyMap());
+        }
+
+        @Override
+        public Void call() {
+            final SelfJooq storage = new SelfJooq(
+                LoadTest.this.databases.get()
+            );
+            try {
+                while (System.nanoTime() < this.end) {
+                    final Operation operation = this.next();
+                    final Statistics stats = LoadTest.this.statistics
+                        .get(operation);
+                    final long start = System.nanoTime();
+                    try {
+                        this.run(operation, storage);
+                        stats.latencies.record(System.nanoTime() - start);
+                    } catch (final DataAccessException
+                        | IllegalStateException error) {
+                        stats.failed(error);
+                    }
+                }
+            } finally {
+                storage.close();
+            }
+            return null;
+        }
+
+        /**
+         * Pick the next operation. If there is nothing to assign, unassign
+         * or pay, the previous step of the workflow is picked instead.
+         * @return Operation.
+         */
+        private Operation next() {
+            Operation next = Operation.pick(this.random);
+            if(next == Operation.UNASSIGN_TASK && this.assigned.isEmpty()) {
+                next = Operation.ASSIGN_TASK;
+            }
+            if(next == Operation.ASSIGN_TASK && this.unassigned.isEmpty()) {
+                next = Operation.REGISTER_TASK;
+            }
+            if(next == Operation.REGISTER_AS_PAID && this.invoices.isEmpty()) {
+                next = Operation.CREATE_INVOICE;
+            }
+            return next;
+        }
+
+        /**
+         * Run an operation.
+         * @param operation Operation.
+         * @param storage Storage.
+         */
+        private void run(final Operation operation, final SelfJooq storage) {
+            switch (operation) {
+                case REGISTER_TASK:
+                    this.registerTask(storage);
+                    break;
+                case ASSIGN_TASK:
+                    this.assignTask(storage);
+                    break;
+                case UNASSIGN_TASK:
+                    this.unassignTask(storage);
+                    break;
+                case CREATE_INVOICE:
+                    this.createInvoice(storage);
+                    break;
+                case REGISTER_AS_PAID:
+                    this.registerAsPaid(storage);
+                    break;
+                case STORE_RESOURCE:
+                    this.storeResource(storage.jsonStorage());
+                    break;
+                default:
+                    storage.jsonStorage().getResource(this.uri());
+                    break;
+            }
+        }
+
+        /**
+         * Register a new issue of a random project.
+         * @param storage Storage.
+         */
+        private void registerTask(final SelfJooq storage) {
+            final int project = this.random.nextInt(LoadTest.this.projects);
+            this.repo = LoadTest.this.data.repo(project);
+            this.counter = this.counter + 1;
+            LoadTest.remember(
+                this.unassigned,
+                new Registered(storage.tasks().register(this.issue), project)
+            );
+        }
+
+        /**
+         * Assign a registered task to one of its project's contributors.
+         * @param storage Storage.
+         */
+        private void assignTask(final SelfJooq storage) {
+            final Registered registered = this.unassigned.pop();
+            final Contract contract = storage.contracts().findById(
+                this.contract(registered.project)
+            );
+            LoadTest.remember(
+                this.assigned,
+                new Registered(
+                    storage.tasks().assign(registered.task, contract, 10),
+                    registered.project
+                )
+            );
+        }
+
+        /**
+         * Unassign an assigned task.
+         * @param storage Storage.
+         */
+        private void unassignTask(final SelfJooq storage) {
+            final Registered registered = this.assigned.pop();
+            LoadTest.remember(
+                this.unassigned,
+                new Registered(
+                    storage.tasks().unassign(registered.task),
+                    registered.project
+                )
+            );
+        }
+
+        /**
+         * Create an invoice for a random contract.
+         * @param storage Storage.
+         */
+        private void createInvoice(final SelfJooq storage) {
+            LoadTest.remember(
+                this.invoices,
+                storage.invoices().createNewInvoice(
+                    this.contract(
+                        this.random.nextInt(LoadTest.this.projects)
+                    )
+                ).invoiceId()
+            );
+        }
+
+        /**
+         * Register a created invoice as paid, with a real (not fake)
+         * payment, so the PlatformInvoice is also inserted.
+         * @param storage Storage.
+         */
+        private void registerAsPaid(final SelfJooq storage) {
+            final int invoiceId = this.invoices.pop();
+            final Invoice paid = Mockito.mock(Invoice.class);
+            this.counter = this.counter + 1;
+            final Payment payment = new StoredPayment(
+                invoiceId,
+                "ch_load_" + this.number + "_" + this.counter,
+                LocalDateTime.now(),
+                BigDecimal.valueOf(10_000),
+                Payment.Status.SUCCESSFUL,
+                "",
+                storage
+            );
+            Mockito.when(paid.invoiceId()).thenReturn(invoiceId);
+            Mockito.when(paid.isPaid()).thenReturn(true);
+            Mockito.when(paid.latest()).thenReturn(payment);
+            Mockito.when(paid.billedBy()).thenReturn("Contributor");
+            Mockito.when(paid.billedTo()).thenReturn("Project");
+            Mockito.when(paid.billedByCountry()).thenReturn("RO");
+            Mockito.when(paid.billedToCountry()).thenReturn("RO");
+            Mockito.when(paid.eurToRon()).thenReturn(BigDecimal.valueOf(487));
+            Mockito.when(paid.projectCommission())
+                .thenReturn(BigDecimal.valueOf(500));
+            Mockito.when(paid.contributorCommission())
+                .thenReturn(BigDecimal.valueOf(300));
+            storage.invoices().registerAsPaid(
+                paid, BigDecimal.valueOf(19), BigDecimal.valueOf(487)
+            );
+        }
+
+        /**
+         * Store a random JSON resource, like a webhook which misses the
+         * cache, or update it if it is already stored.
+         * @param storage JsonStorage.
+         */
+        private void storeResource(final JsonStorage storage) {
+            final URI uri = this.uri();
+            if(storage.getResource(uri) == null) {
+                storage.storeResource(uri, this.resource);
+            } else {
+                storage.updateResource(uri, this.resource);
+            }
+        }
+
+        /**
+         * URI of a random JSON resource. The URIs are shared by all the
+         * workers, so they contend for the same rows.
+         * @return URI.
+         */
+        private URI uri() {
+            return URI.create(
+                "https://api.github.com/repos/"
+                + LoadTest.this.data.repo(
+                    this.random.nextInt(LoadTest.this.projects)
+                )
+                + "/issues/" + this.random.nextInt(RESOURCES)
+            );
+        }
+
+        /**
+         * Id of the contract of a random contributor of a project.
+         * @param project Index of the project.
+         * @return Contract.Id.
+         */
+        private Contract.Id contract(final int project) {
+            final List<String> contributors = LoadTest.this.data
+                .contributorsOf(project);
+            return new Contract.Id(
+                LoadTest.this.data.repo(project),
+                contributors.get(this.random.nextInt(contributors.size())),
+                LoadTest.this.data.provider(),
+                LoadTest.this.data.role()
+            );
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage.benchmarks;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.storage.Storage;
+import com.selfxdsd.storage.H2MemoryDatabase;
+import com.selfxdsd.storage.SelfJooq;
+import com.selfxdsd.storage.SyntheticData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the hot read operations of Self's repositories,
+ * against an in-memory H2 DB filled with {@link SyntheticData}.<br><br>
+ * Run them with:
+ * <pre>mvn test-compile exec:exec -Pbenchmarks</pre>
+ * The profile runs JMH with the gc profiler, so the results also contain
+ * the allocation rate. SampleTime mode reports the latency percentiles.
+ * The class cannot be final, JMH generates subclasses of it.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ * @checkstyle DesignForExtension (200 lines)
+ * @checkstyle VisibilityModifier (200 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoriesBenchmark {
+
+    /**
+     * Number of generated projects.
+     */
+    @Param({"100", "1000"})
+    public int projects;
+
+    /**
+     * Seed of the generated data.
+     */
+    @Param("42")
+    public long seed;
+
+    /**
+     * Storage under test.
+     */
+    private Storage storage;
+
+    /**
+     * Generated data.
+     */
+    private SyntheticData data;
+
+    /**
+     * Repo of the project we are reading.
+     */
+    private String repo;
+
+    /**
+     * Id of the contract we are reading.
+     */
+    private Contract.Id contract;
+
+    /**
+     * Create and fill the in-memory DB.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final H2MemoryDatabase database = new H2MemoryDatabase(
+            "benchmarks" + this.projects + "_" + this.seed
+        ).connect();
+        this.data = new SyntheticData(this.seed, this.projects);
+        this.data.insertInto(database);
+        this.storage = new SelfJooq(database);
+        final int project = this.projects / 2;
+        this.repo = this.data.repo(project);
+        this.contract = new Contract.Id(
+            this.repo,
+            this.data.contributorsOf(project).get(0),
+            this.data.provider(),
+            this.data.role()
+        );
+    }
+
+    /**
+     * Close the Storage.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.storage.close();
+    }
+
+    /**
+     * Read the tasks of a project (SelfTasks.selectTasks with all its
+     * joins).
+     * @param blackhole Blackhole.
+     */
+    @Benchmark
+    public void tasksOfProject(final Blackhole blackhole) {
+        this.storage.tasks()
+            .ofProject(this.repo, this.data.provider())
+            .forEach(blackhole::consume);
+    }
+
+    /**
+     * Read the contributors of a project.
+     * @param blackhole Blackhole.
+     */
+    @Benchmark
+    public void contributorsOfProject(final Blackhole blackhole) {
+        this.storage.contributors()
+            .ofProject(this.repo, this.data.provider())
+            .forEach(blackhole::consume);
+    }
+
+    /**
+     * Read the invoices of a contract.
+     * @param blackhole Blackhole.
+     */
+    @Benchmark
+    public void invoicesOfContract(final Blackhole blackhole) {
+        this.storage.invoices()
+            .ofContract(this.contract)
+            .forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+
+/**
+ * Activation of one row out of a group, e.g. one Wallet out of all the
+ * Wallets of a Project. It is one atomic statement, which activates the
+ * chosen row and deactivates all the others:
+ * <pre>
+ *   UPDATE table SET active = (chosen) WHERE group
+ * </pre>
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+final class Activation {
+
+    /**
+     * Table.
+     */
+    private final Table<?> table;
+
+    /**
+     * Active flag.
+     */
+    private final Field<Boolean> active;
+
+    /**
+     * Ctor.
+     * @param table Table.
+     * @param active Active flag column.
+     */
+    Activation(final Table<?> table, final Field<Boolean> active) {
+        this.table = table;
+        this.active = active;
+    }
+
+    /**
+     * Activate the chosen row of the group.
+     * @param jooq DSL context.
+     * @param group Condition matching all the rows of the group.
+     * @param chosen Condition matching the row to activate.
+     * @return Number of rows in the group.
+     */
+    int activate(
+        final DSLContext jooq,
+        final Condition group,
+        final Condition chosen
+    ) {
+        return jooq.update(this.table)
+            .set(this.active, DSL.field(chosen))
+            .where(group)
+            .execute();
+    }
+}
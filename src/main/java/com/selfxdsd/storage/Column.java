@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import org.jooq.Field;
+import org.jooq.Record;
+
+import java.util.List;
+
+/**
+ * A column of a query's result, read by its index. The index is looked up
+ * once, when the mapper of the query is built, so reading a value is only
+ * an array access instead of searching the Field in the Record's row type.
+ * @param <T> Type of the column's values.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+final class Column<T> {
+
+    /**
+     * Index of the column in the Records.
+     */
+    private final int index;
+
+    /**
+     * Ctor.
+     * @param selected Fields selected by the query, in their order.
+     * @param field Field of this column.
+     */
+    Column(final List<Field<?>> selected, final Field<T> field) {
+        this.index = Column.indexOf(selected, field);
+    }
+
+    /**
+     * Read the value of this column.
+     * @param rec Record of the query.
+     * @return Value.
+     */
+    @SuppressWarnings("unchecked")
+    T value(final Record rec) {
+        return (T) rec.get(this.index);
+    }
+
+    /**
+     * Find the index of a selected Field. The Fields are compared by
+     * identity, since they are the generated tables' Fields.
+     * @param selected Fields selected by the query, in their order.
+     * @param field Field to find.
+     * @return Index.
+     */
+    private static int indexOf(
+        final List<Field<?>> selected,
+        final Field<?> field
+    ) {
+        int index = -1;
+        for(int idx = 0; idx < selected.size(); ++idx) {
+            if(selected.get(idx) == field) {
+                index = idx;
+                break;
+            }
+        }
+        if(index < 0) {
+            throw new IllegalStateException(
+                "Field " + field + " is not selected by the query."
+            );
+        }
+        return index;
+    }
+}
@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.User;
+import com.selfxdsd.api.storage.Storage;
+import org.jooq.Row2;
+import org.jooq.Row4;
+import org.jooq.impl.DSL;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_CONTRACTS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_PROJECTS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_USERS_XDSD;
+
+/**
+ * Batching loader of Projects, Contracts and Users by id, meant to live as
+ * long as one request (e.g. the handling of one webhook).<br><br>
+ *
+ * A lookup does not hit the database right away, it only returns a
+ * Supplier. The first Supplier of an entity type which is asked for its
+ * value loads all the keys of that type requested so far with one
+ * {@code WHERE (k1, k2) IN (...)} query. The results (including the
+ * missing ones, as null) are remembered until the loader is discarded, so
+ * each key is read at most once. If the query fails, nothing is remembered
+ * and the keys are read again by the next Supplier.<br><br>
+ *
+ * Keys are remembered exactly as requested, it is the database which
+ * decides whether they match (e.g. MySql's collation ignores case). If the
+ * query returns an entity whose key was not requested as such, the keys
+ * without an entity are read again, one by one, so the entity is filed
+ * under the key which the database matched. Usage:
+ * <pre>
+ *   final DataLoader loader = storage.dataLoader();
+ *   final Supplier&lt;Project&gt; first = loader.project("a/b", "github");
+ *   final Supplier&lt;Project&gt; second = loader.project("c/d", "github");
+ *   first.get(); // reads both Projects, with one query.
+ *   second.get(); // no query.
+ * </pre>
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+public final class DataLoader {
+
+    /**
+     * Projects, by repo full name and provider.
+     */
+    private final Batch<Project> projects;
+
+    /**
+     * Contracts, by repo full name, contributor, provider and role.
+     */
+    private final Batch<Contract> contracts;
+
+    /**
+     * Users, by username and provider.
+     */
+    private final Batch<User> users;
+
+    /**
+     * Ctor.
+     * @param storage Parent Storage.
+     * @param database Database.
+     */
+    public DataLoader(final Storage storage, final Database database) {
+        final SelfProjects allProjects = new SelfProjects(storage, database);
+        final SelfContracts allContracts = new SelfContracts(
+            storage, database
+        );
+        final SelfUsers allUsers = new SelfUsers(storage, database);
+        this.projects = new Batch<>(
+            keys -> allProjects.matching(
+                DSL.row(
+                    SLF_PROJECTS_XDSD.REPO_FULLNAME,
+                    SLF_PROJECTS_XDSD.PROVIDER
+                ).in(
+                    keys.stream()
+                        .map(key -> DSL.row(key.get(0), key.get(1)))
+                        .toArray(Row2[]::new)
+                )
+            ),
+            project -> Arrays.asList(
+                project.repoFullName(), project.provider()
+            )
+        );
+        this.contracts = new Batch<>(
+            keys -> allContracts.matching(
+                DSL.row(
+                    SLF_CONTRACTS_XDSD.REPO_FULLNAME,
+                    SLF_CONTRACTS_XDSD.USERNAME,
+                    SLF_CONTRACTS_XDSD.PROVIDER,
+                    SLF_CONTRACTS_XDSD.ROLE
+                ).in(
+                    keys.stream()
+                        .map(
+                            key -> DSL.row(
+                                key.get(0), key.get(1), key.get(2), key.get(3)
+                            )
+                        ).toArray(Row4[]::new)
+                )
+            ),
+            contract -> DataLoader.key(contract.contractId())
+        );
+        this.users = new Batch<>(
+            keys -> allUsers.matching(
+                DSL.row(
+                    SLF_USERS_XDSD.USERNAME,
+                    SLF_USERS_XDSD.PROVIDER
+                ).in(
+                    keys.stream()
+                        .map(key -> DSL.row(key.get(0), key.get(1)))
+                        .toArray(Row2[]::new)
+                )
+            ),
+            user -> Arrays.asList(user.username(), user.provider().name())
+        );
+    }
+
+    /**
+     * Load a Project.
+     * @param repoFullName Repo full name.
+     * @param provider Provider.
+     * @return Supplier of the Project, which returns null if it is missing.
+     */
+    public Supplier<Project> project(
+        final String repoFullName,
+        final String provider
+    ) {
+        return this.projects.load(Arrays.asList(repoFullName, provider));
+    }
+
+    /**
+     * Load a Contract.
+     * @param id Contract id.
+     * @return Supplier of the Contract, which returns null if it is missing.
+     */
+    public Supplier<Contract> contract(final Contract.Id id) {
+        return this.contracts.load(DataLoader.key(id));
+    }
+
+    /**
+     * Load a User.
+     * @param username Username.
+     * @param provider Provider.
+     * @return Supplier of the User, which returns null if it is missing.
+     */
+    public Supplier<User> user(final String username, final String provider) {
+        return this.users.load(Arrays.asList(username, provider));
+    }
+
+    /**
+     * Key of a Contract.
+     * @param id Contract id.
+     * @return Key.
+     */
+    private static List<String> key(final Contract.Id id) {
+        return Arrays.asList(
+            id.getRepoFullName(),
+            id.getContributorUsername(),
+            id.getProvider(),
+            id.getRole()
+        );
+    }
+
+    /**
+     * Keys of one entity type requested so far and the loaded values.
+     * @param <T> Type of the entity.
+     */
+    private static final class Batch<T> {
+
+        /**
+         * Requested keys which are not loaded yet.
+         */
+        private final Set<List<String>> pending = new LinkedHashSet<>();
+
+        /**
+         * Loaded values, by key. Missing entities are mapped to null.
+         */
+        private final Map<List<String>, T> loaded = new HashMap<>();
+
+        /**
+         * Reads the entities with the given keys, with one query.
+         */
+        private final Function<List<List<String>>, List<T>> query;
+
+        /**
+         * Key of a read entity.
+         */
+        private final Function<T, List<String>> keyOf;
+
+        /**
+         * Ctor.
+         * @param query Reads the entities with the given keys.
+         * @param keyOf Key of a read entity.
+         */
+        Batch(
+            final Function<List<List<String>>, List<T>> query,
+            final Function<T, List<String>> keyOf
+        ) {
+            this.query = query;
+            this.keyOf = keyOf;
+        }
+
+        /**
+         * Request a key.
+         * @param key Key.
+         * @return Supplier of the value.
+         */
+        synchronized Supplier<T> load(final List<String> key) {
+            if(!this.loaded.containsKey(key)) {
+                this.pending.add(key);
+            }
+            return () -> this.value(key);
+        }
+
+        /**
+         * Value of a key, loading all the pending keys if it is one of
+         * them. The keys stay pending until they are read successfully.
+         * @param key Key.
+         * @return Value or null if the entity is missing.
+         */
+        private synchronized T value(final List<String> key) {
+            if(!this.loaded.containsKey(key)) {
+                this.pending.add(key);
+                final List<List<String>> keys = new ArrayList<>(this.pending);
+                final Map<List<String>, T> read = new HashMap<>();
+                for(final T entity : this.query.apply(keys)) {
+                    read.put(this.keyOf.apply(entity), entity);
+                }
+                final boolean unclaimed = !keys.containsAll(read.keySet());
+                for(final List<String> each : keys) {
+                    final T entity;
+                    if(read.containsKey(each) || !unclaimed) {
+                        entity = read.get(each);
+                    } else if(keys.size() == 1) {
+                        entity = read.values().iterator().next();
+                    } else {
+                        entity = this.query.apply(List.of(each)).stream()
+                            .findFirst().orElse(null);
+                    }
+                    this.loaded.put(each, entity);
+                    this.pending.remove(each);
+                }
+            }
+            return this.loaded.get(key);
+        }
+    }
+}
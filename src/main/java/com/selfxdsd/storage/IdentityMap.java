@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Domain objects already built from the rows of one query, by their primary
+ * key. The mappers look the parents (users, PMs, projects etc) up here, so
+ * the rows of a result set share them, instead of building the same Project
+ * once per Task. The keys have two parts (e.g. username and provider), so no
+ * composite key object has to be allocated for every row.<br><br>
+ *
+ * An IdentityMap should live only as long as its query: it is not
+ * thread-safe and it never evicts anything, so it would otherwise keep
+ * serving stale objects.
+ * @param <T> Type of the domain objects.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+final class IdentityMap<T> {
+
+    /**
+     * Objects, by the second part and then by the first part of their key.
+     * The second part is usually the provider, so the outer map is tiny.
+     */
+    private final Map<Object, Map<Object, T>> objects = new HashMap<>();
+
+    /**
+     * Get the object with the given key.
+     * @param first First part of the key.
+     * @param second Second part of the key.
+     * @return Object or null if it was not built yet.
+     */
+    T get(final Object first, final Object second) {
+        final T found;
+        final Map<Object, T> inner = this.objects.get(second);
+        if(inner == null) {
+            found = null;
+        } else {
+            found = inner.get(first);
+        }
+        return found;
+    }
+
+    /**
+     * Remember an object.
+     * @param first First part of the key.
+     * @param second Second part of the key.
+     * @param object Object.
+     * @return The given object.
+     */
+    T put(final Object first, final Object second, final T object) {
+        this.objects.computeIfAbsent(
+            second, key -> new HashMap<>()
+        ).put(first, object);
+        return object;
+    }
+}
@@ -0,0 +1,273 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Invoice;
+import com.selfxdsd.api.Payment;
+import com.selfxdsd.api.storage.Storage;
+import com.selfxdsd.core.contracts.invoices.StoredInvoice;
+import com.selfxdsd.core.contracts.invoices.StoredPayment;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_INVOICES_XDSD;
+
+/**
+ * Maps the Records of the invoices' SELECT (invoices with the columns of
+ * their latest payment and their totals) to Invoices. The columns are read
+ * by index.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+final class InvoiceMapper {
+
+    /**
+     * Invoice's id.
+     */
+    private final Column<Integer> invoiceId;
+
+    /**
+     * Invoice's repo full name.
+     */
+    private final Column<String> repoFullName;
+
+    /**
+     * Invoice's contributor username.
+     */
+    private final Column<String> username;
+
+    /**
+     * Invoice's provider.
+     */
+    private final Column<String> provider;
+
+    /**
+     * Invoice's role.
+     */
+    private final Column<String> role;
+
+    /**
+     * Invoice's creation date.
+     */
+    private final Column<LocalDateTime> createdAt;
+
+    /**
+     * Billed by.
+     */
+    private final Column<String> billedBy;
+
+    /**
+     * Billed to.
+     */
+    private final Column<String> billedTo;
+
+    /**
+     * Country of the contributor.
+     */
+    private final Column<String> billedByCountry;
+
+    /**
+     * Country of the project owner.
+     */
+    private final Column<String> billedToCountry;
+
+    /**
+     * Euro to RON conversion rate.
+     */
+    private final Column<Long> eurToRon;
+
+    /**
+     * Latest Payment's transaction id.
+     */
+    private final Column<String> transactionId;
+
+    /**
+     * Latest Payment's timestamp.
+     */
+    private final Column<LocalDateTime> paymentTimestamp;
+
+    /**
+     * Latest Payment's value.
+     */
+    private final Column<Long> value;
+
+    /**
+     * Latest Payment's status (null if the Invoice has no payments).
+     */
+    private final Column<String> status;
+
+    /**
+     * Latest Payment's fail reason.
+     */
+    private final Column<String> failReason;
+
+    /**
+     * Sum of the values of the invoiced tasks.
+     */
+    private final Column<Long> totalValue;
+
+    /**
+     * Sum of the project commissions of the invoiced tasks.
+     */
+    private final Column<Long> totalCommission;
+
+    /**
+     * Sum of the contributor commissions of the invoiced tasks.
+     */
+    private final Column<Long> contributorTotal;
+
+    /**
+     * Number of invoiced tasks.
+     */
+    private final Column<Integer> tasksCount;
+
+    /**
+     * Parent Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Ctor.
+     * @param selected Fields selected by the query, in their order.
+     * @param storage Parent Storage.
+     * @checkstyle ExecutableStatementCount (60 lines)
+     */
+    InvoiceMapper(final List<Field<?>> selected, final Storage storage) {
+        this.invoiceId = new Column<>(selected, SLF_INVOICES_XDSD.INVOICEID);
+        this.repoFullName = new Column<>(
+            selected, SLF_INVOICES_XDSD.REPO_FULLNAME
+        );
+        this.username = new Column<>(selected, SLF_INVOICES_XDSD.USERNAME);
+        this.provider = new Column<>(selected, SLF_INVOICES_XDSD.PROVIDER);
+        this.role = new Column<>(selected, SLF_INVOICES_XDSD.ROLE);
+        this.createdAt = new Column<>(selected, SLF_INVOICES_XDSD.CREATEDAT);
+        this.billedBy = new Column<>(selected, SLF_INVOICES_XDSD.BILLEDBY);
+        this.billedTo = new Column<>(selected, SLF_INVOICES_XDSD.BILLEDTO);
+        this.billedByCountry = new Column<>(
+            selected, SLF_INVOICES_XDSD.BILLEDBYCOUNTRY
+        );
+        this.billedToCountry = new Column<>(
+            selected, SLF_INVOICES_XDSD.BILLEDTOCOUNTRY
+        );
+        this.eurToRon = new Column<>(selected, SLF_INVOICES_XDSD.EURTORON);
+        this.transactionId = new Column<>(
+            selected, SLF_INVOICES_XDSD.LATESTTRANSACTIONID
+        );
+        this.paymentTimestamp = new Column<>(
+            selected, SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP
+        );
+        this.value = new Column<>(
+            selected, SLF_INVOICES_XDSD.LATESTVALUE
+        );
+        this.status = new Column<>(
+            selected, SLF_INVOICES_XDSD.LATESTSTATUS
+        );
+        this.failReason = new Column<>(
+            selected, SLF_INVOICES_XDSD.LATESTFAILREASON
+        );
+        this.totalValue = new Column<>(
+            selected, SLF_INVOICES_XDSD.TOTALVALUE
+        );
+        this.totalCommission = new Column<>(
+            selected, SLF_INVOICES_XDSD.TOTALCOMMISSION
+        );
+        this.contributorTotal = new Column<>(
+            selected, SLF_INVOICES_XDSD.TOTALCONTRIBUTORCOMMISSION
+        );
+        this.tasksCount = new Column<>(selected, SLF_INVOICES_XDSD.TASKSCOUNT);
+        this.storage = storage;
+    }
+
+    /**
+     * Mapper of the Records which belong to the given Contract.
+     * @param contract Contract of the Invoices.
+     * @return RecordMapper.
+     */
+    RecordMapper<Record, Invoice> forContract(final Contract contract) {
+        return rec -> this.map(rec, contract);
+    }
+
+    /**
+     * Id of the Contract to which the Record's Invoice belongs.
+     * @param rec Record.
+     * @return Contract.Id.
+     */
+    Contract.Id contractId(final Record rec) {
+        return new Contract.Id(
+            this.repoFullName.value(rec),
+            this.username.value(rec),
+            this.provider.value(rec),
+            this.role.value(rec)
+        );
+    }
+
+    /**
+     * Map a Record to an Invoice, with its latest Payment, if any, and
+     * its totals.
+     * @param rec Record.
+     * @param contract Contract of the Invoice.
+     * @return Invoice.
+     */
+    Invoice map(final Record rec, final Contract contract) {
+        final int id = this.invoiceId.value(rec);
+        final Payment latest;
+        if(this.status.value(rec) != null) {
+            latest = new StoredPayment(
+                id,
+                this.transactionId.value(rec),
+                this.paymentTimestamp.value(rec),
+                BigDecimal.valueOf(this.value.value(rec).longValue()),
+                this.status.value(rec),
+                this.failReason.value(rec),
+                this.storage
+            );
+        } else {
+            latest = null;
+        }
+        return new TotalledInvoice(
+            new StoredInvoice(
+                id,
+                contract,
+                this.createdAt.value(rec),
+                latest,
+                this.billedBy.value(rec),
+                this.billedTo.value(rec),
+                this.billedByCountry.value(rec),
+                this.billedToCountry.value(rec),
+                BigDecimal.valueOf(this.eurToRon.value(rec).longValue()),
+                this.storage
+            ),
+            BigDecimal.valueOf(this.totalValue.value(rec)),
+            BigDecimal.valueOf(this.totalCommission.value(rec)),
+            BigDecimal.valueOf(this.contributorTotal.value(rec)),
+            this.tasksCount.value(rec)
+        );
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import org.jooq.Record;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Iterator which reads a table page by page, using keyset pagination:
+ * each page starts after the last row of the previous page (ORDER BY key
+ * and SEEK), instead of skipping rows with an OFFSET. Every page costs the
+ * same no matter how deep the scan is, and only one page is kept in
+ * memory at a time.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ * @param <E> The type of elements returned by this iterator.
+ */
+final class KeysetIterator<E> implements Iterator<E> {
+
+    /**
+     * Page size.
+     */
+    private final int pageSize;
+
+    /**
+     * Reads the rows after the given row (or the first page, if the given
+     * row is null), ordered by key, limited to the page size.
+     */
+    private final Function<Record, List<? extends Record>> rows;
+
+    /**
+     * Maps a page of rows to elements.
+     */
+    private final Function<List<? extends Record>, List<E>> mapper;
+
+    /**
+     * Current page.
+     */
+    private List<E> page;
+
+    /**
+     * Last row of the current page.
+     */
+    private Record last;
+
+    /**
+     * Position in the current page.
+     */
+    private int position;
+
+    /**
+     * Is the current page the last one?
+     */
+    private boolean exhausted;
+
+    /**
+     * Ctor.
+     * @param pageSize Page size.
+     * @param rows Reads the rows after the given row (null for the first
+     *  page), ordered by key and limited to the page size.
+     * @param mapper Maps a page of rows to elements.
+     */
+    KeysetIterator(
+        final int pageSize,
+        final Function<Record, List<? extends Record>> rows,
+        final Function<List<? extends Record>, List<E>> mapper
+    ) {
+        this.pageSize = pageSize;
+        this.rows = rows;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.page == null
+            || this.position == this.page.size() && !this.exhausted) {
+            final List<? extends Record> fetched = this.rows.apply(this.last);
+            if (fetched.size() > this.pageSize) {
+                throw new IllegalStateException(
+                    "Fetched size page is greater than the page size. "
+                    + fetched.size() + " > " + this.pageSize + "."
+                );
+            }
+            this.exhausted = fetched.size() < this.pageSize;
+            if (!fetched.isEmpty()) {
+                this.last = fetched.get(fetched.size() - 1);
+            }
+            this.page = this.mapper.apply(fetched);
+            this.position = 0;
+        }
+        return this.position < this.page.size();
+    }
+
+    @Override
+    public E next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("No more records");
+        }
+        final E next = this.page.get(this.position);
+        this.position = this.position + 1;
+        return next;
+    }
+}
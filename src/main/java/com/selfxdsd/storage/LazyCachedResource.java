@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import com.selfxdsd.api.CachedResource;
+import org.jooq.Record2;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import java.io.StringReader;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * CachedResource read from the JsonStorage, whose body is only loaded
+ * from the DB when it is first needed. This way, a conditional request
+ * which only needs the ETag (and receives 304 NOT MODIFIED) never
+ * transfers the JSON body.<br><br>
+ * If the body was not read as String, #asJsonObject() and #asJsonArray()
+ * parse it straight from the DB's character stream, without keeping
+ * a full copy of it in memory.<br><br>
+ * The body is read only if the stored resource still has the ETag read
+ * at first. If it was updated in the meantime, the newer body is read
+ * together with its own ETag, which #etag() returns from then on, so the
+ * ETag and body always match. If it was removed, it is a cache miss: the
+ * body is null.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+final class LazyCachedResource implements CachedResource {
+
+    /**
+     * URI of the resource.
+     */
+    private final URI uri;
+
+    /**
+     * ETag of the resource, replaced by the ETag of the body actually read.
+     */
+    private String etag;
+
+    /**
+     * JsonStorage where the body is read from.
+     */
+    private final SelfJsonStorage storage;
+
+    /**
+     * Loaded body, null until the first call of #body().
+     */
+    private String loaded;
+
+    /**
+     * Ctor.
+     * @param uri URI of the resource.
+     * @param etag ETag of the resource.
+     * @param storage JsonStorage where the body is read from.
+     */
+    LazyCachedResource(
+        final URI uri,
+        final String etag,
+        final SelfJsonStorage storage
+    ) {
+        this.uri = uri;
+        this.etag = etag;
+        this.storage = storage;
+    }
+
+    @Override
+    public URI uri() {
+        return this.uri;
+    }
+
+    @Override
+    public String etag() {
+        return this.etag;
+    }
+
+    @Override
+    public LocalDateTime creationDate() {
+        return null;
+    }
+
+    @Override
+    public int statusCode() {
+        return 200;
+    }
+
+    @Override
+    public JsonObject asJsonObject() {
+        return this.parse(JsonReader::readObject);
+    }
+
+    @Override
+    public JsonArray asJsonArray() {
+        return this.parse(JsonReader::readArray);
+    }
+
+    @Override
+    public String body() {
+        if(this.loaded == null) {
+            final String body = this.storage.body(this.uri, this.etag);
+            if(body == null) {
+                this.reload();
+            } else {
+                this.loaded = body;
+            }
+        }
+        return this.loaded;
+    }
+
+    @Override
+    public Map<String, List<String>> headers() {
+        return new HashMap<>();
+    }
+
+    /**
+     * Parse the body. If it was already loaded, we parse the String,
+     * otherwise we stream it from the DB.
+     * @param read Reads the JSON structure.
+     * @param <T> Type of the JSON structure.
+     * @return Parsed JSON or null if the resource was removed.
+     */
+    private <T> T parse(final Function<JsonReader, T> read) {
+        T parsed = null;
+        if(this.loaded == null) {
+            parsed = this.storage.read(
+                this.uri,
+                this.etag,
+                body -> {
+                    try (JsonReader json = Json.createReader(body)) {
+                        return read.apply(json);
+                    }
+                }
+            );
+            if(parsed == null) {
+                this.reload();
+            }
+        }
+        if(parsed == null && this.loaded != null) {
+            try (
+                JsonReader json = Json.createReader(
+                    new StringReader(this.loaded)
+                )
+            ) {
+                parsed = read.apply(json);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * The stored resource was updated or removed after its ETag was read:
+     * load its current body, with the ETag it is stored with.
+     */
+    private void reload() {
+        final Record2<String, String> current = this.storage.current(
+            this.uri
+        );
+        if(current != null) {
+            this.etag = current.value1();
+            this.loaded = current.value2();
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.Task;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Row4;
+import org.jooq.SelectJoinStep;
+import org.jooq.impl.DSL;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_TASKS_XDSD;
+
+/**
+ * A batch of Tasks read only from the tasks table, without the joins of
+ * {@link SelfTasks#selectTasks(DSLContext)}. Each Task answers issueId(),
+ * role(), assignmentDate(), deadline(), estimation() and isPullRequest()
+ * from its own row. Any other method, such as project() or contract(),
+ * hydrates the whole batch: one query fetches the full Tasks of all the
+ * rows, then every Task delegates to its hydrated StoredTask.<br><br>
+ *
+ * The Tasks are dynamic proxies of the Task interface, so every other
+ * method of it is delegated without being listed here (the interface lives
+ * in self-api and grows independently of this module). Bulk scans that
+ * only look at the deadlines never pay for the Projects and Contracts.
+ * The methods of Object are answered from the row as well: two lazy Tasks
+ * are equal if they have the same primary key, so putting them in a
+ * HashSet or logging them never hydrates the batch.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+final class LazyTasks {
+
+    /**
+     * Methods of Task answered from the row, without hydrating, with the
+     * column of each one.
+     */
+    private static final Map<Method, Field<?>> FROM_ROW = LazyTasks.fromRow();
+
+    /**
+     * Rows of the tasks table.
+     */
+    private final List<? extends Record> rows;
+
+    /**
+     * Database.
+     */
+    private final Database database;
+
+    /**
+     * Maps the full Records of the Tasks.
+     */
+    private final TaskMapper mapper;
+
+    /**
+     * Hydrated Tasks, by their primary key. Null until the first hydration.
+     */
+    private Map<List<Object>, Task> hydrated;
+
+    /**
+     * Ctor.
+     * @param rows Rows of the tasks table, selected with
+     *  {@link #selectRows(DSLContext)}.
+     * @param database Database.
+     * @param mapper Maps the full Records of the Tasks.
+     */
+    LazyTasks(
+        final List<? extends Record> rows,
+        final Database database,
+        final TaskMapper mapper
+    ) {
+        this.rows = rows;
+        this.database = database;
+        this.mapper = mapper;
+    }
+
+    /**
+     * The lazy Tasks of this batch, in the order of their rows.
+     * @return List of Task.
+     */
+    List<Task> tasks() {
+        return this.rows.stream()
+            .map(
+                row -> (Task) Proxy.newProxyInstance(
+                    Task.class.getClassLoader(),
+                    new Class<?>[] {Task.class},
+                    new Lazy(row)
+                )
+            ).collect(Collectors.toList());
+    }
+
+    /**
+     * Select the rows of the tasks table, with only the columns that the
+     * lazy Tasks need.
+     * @param jooq DSLContext of a connected Database.
+     * @return JOOQ SELECT, to which we will apply the WHERE clause.
+     */
+    static SelectJoinStep<? extends Record> selectRows(final DSLContext jooq) {
+        return jooq
+            .select(
+                SLF_TASKS_XDSD.REPO_FULLNAME,
+                SLF_TASKS_XDSD.PROVIDER,
+                SLF_TASKS_XDSD.ISSUEID,
+                SLF_TASKS_XDSD.ISPULLREQUEST,
+                SLF_TASKS_XDSD.ROLE,
+                SLF_TASKS_XDSD.ASSIGNED,
+                SLF_TASKS_XDSD.DEADLINE,
+                SLF_TASKS_XDSD.ESTIMATION_MINUTES
+            )
+            .from(SLF_TASKS_XDSD);
+    }
+
+    /**
+     * The hydrated Task of a row. The first call fetches the full Tasks of
+     * all the rows in this batch, with one query.
+     * @param row Row of the tasks table.
+     * @return Task.
+     */
+    private synchronized Task hydrated(final Record row) {
+        if(this.hydrated == null) {
+            final List<Row4<String, String, String, Boolean>> keys =
+                new ArrayList<>();
+            for(final Record each : this.rows) {
+                keys.add(
+                    DSL.row(
+                        each.get(SLF_TASKS_XDSD.REPO_FULLNAME),
+                        each.get(SLF_TASKS_XDSD.PROVIDER),
+                        each.get(SLF_TASKS_XDSD.ISSUEID),
+                        each.get(SLF_TASKS_XDSD.ISPULLREQUEST)
+                    )
+                );
+            }
+            final Map<List<Object>, Task> tasks = new HashMap<>();
+            for(final Task task : SelfTasks.selectTasks(this.database.jooq())
+                .where(
+                    DSL.row(
+                        SLF_TASKS_XDSD.REPO_FULLNAME,
+                        SLF_TASKS_XDSD.PROVIDER,
+                        SLF_TASKS_XDSD.ISSUEID,
+                        SLF_TASKS_XDSD.ISPULLREQUEST
+                    ).in(keys)
+                )
+                .fetch(this.mapper.perQuery())) {
+                final Project project = task.project();
+                tasks.put(
+                    Arrays.asList(
+                        project.repoFullName(),
+                        project.provider(),
+                        task.issueId(),
+                        task.isPullRequest()
+                    ),
+                    task
+                );
+            }
+            this.hydrated = tasks;
+        }
+        final Task task = this.hydrated.get(LazyTasks.key(row));
+        if(task == null) {
+            throw new IllegalStateException(
+                "Task " + row.get(SLF_TASKS_XDSD.ISSUEID) + " of project "
+                + row.get(SLF_TASKS_XDSD.REPO_FULLNAME) + " at "
+                + row.get(SLF_TASKS_XDSD.PROVIDER) + " no longer exists."
+            );
+        }
+        return task;
+    }
+
+    /**
+     * Primary key of a row of the tasks table.
+     * @param row Row.
+     * @return Repo full name, provider, issue id and isPullRequest.
+     */
+    private static List<Object> key(final Record row) {
+        return Arrays.asList(
+            row.get(SLF_TASKS_XDSD.REPO_FULLNAME),
+            row.get(SLF_TASKS_XDSD.PROVIDER),
+            row.get(SLF_TASKS_XDSD.ISSUEID),
+            row.get(SLF_TASKS_XDSD.ISPULLREQUEST)
+        );
+    }
+
+    /**
+     * Methods of Task answered from the row, with the column of each one.
+     * @return Map of Method to Field.
+     */
+    private static Map<Method, Field<?>> fromRow() {
+        try {
+            final Map<Method, Field<?>> fromRow = new HashMap<>();
+            fromRow.put(
+                Task.class.getMethod("issueId"), SLF_TASKS_XDSD.ISSUEID
+            );
+            fromRow.put(Task.class.getMethod("role"), SLF_TASKS_XDSD.ROLE);
+            fromRow.put(
+                Task.class.getMethod("assignmentDate"), SLF_TASKS_XDSD.ASSIGNED
+            );
+            fromRow.put(
+                Task.class.getMethod("deadline"), SLF_TASKS_XDSD.DEADLINE
+            );
+            fromRow.put(
+                Task.class.getMethod("estimation"),
+                SLF_TASKS_XDSD.ESTIMATION_MINUTES
+            );
+            fromRow.put(
+                Task.class.getMethod("isPullRequest"),
+                SLF_TASKS_XDSD.ISPULLREQUEST
+            );
+            return fromRow;
+        } catch (final NoSuchMethodException ex) {
+            throw new IllegalStateException(
+                "Task does not declare a method answered from the row.", ex
+            );
+        }
+    }
+
+    /**
+     * Handler of one lazy Task.
+     */
+    private final class Lazy implements InvocationHandler {
+
+        /**
+         * Row of the Task.
+         */
+        private final Record row;
+
+        /**
+         * Ctor.
+         * @param row Row of the Task.
+         */
+        Lazy(final Record row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object invoke(
+            final Object proxy,
+            final Method method,
+            final Object[] args
+        ) throws Throwable {
+            final Object result;
+            if(FROM_ROW.containsKey(method)) {
+                result = this.row.get(FROM_ROW.get(method));
+            } else if(method.getDeclaringClass().equals(Object.class)) {
+                result = this.objectMethod(proxy, method, args);
+            } else {
+                try {
+                    result = method.invoke(
+                        LazyTasks.this.hydrated(this.row), args
+                    );
+                } catch (final InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Answer equals, hashCode or toString from the row's primary key.
+         * @param proxy The lazy Task.
+         * @param method Method of Object.
+         * @param args Arguments.
+         * @return Result.
+         */
+        private Object objectMethod(
+            final Object proxy,
+            final Method method,
+            final Object[] args
+        ) {
+            final Object result;
+            if("equals".equals(method.getName())) {
+                result = proxy == args[0] || this.sameKey(args[0]);
+            } else if("hashCode".equals(method.getName())) {
+                result = Objects.hash(LazyTasks.key(this.row).toArray());
+            } else {
+                result = "Task " + this.row.get(SLF_TASKS_XDSD.ISSUEID)
+                    + " of project "
+                    + this.row.get(SLF_TASKS_XDSD.REPO_FULLNAME) + " at "
+                    + this.row.get(SLF_TASKS_XDSD.PROVIDER);
+            }
+            return result;
+        }
+
+        /**
+         * Is the other object a lazy Task with the same primary key?
+         * @param other Other object.
+         * @return True or false.
+         */
+        private boolean sameKey(final Object other) {
+            boolean same = false;
+            if(other != null && Proxy.isProxyClass(other.getClass())) {
+                final InvocationHandler handler = Proxy.getInvocationHandler(
+                    other
+                );
+                same = handler instanceof Lazy && LazyTasks.key(this.row)
+                    .equals(LazyTasks.key(((Lazy) handler).row));
+            }
+            return same;
+        }
+    }
+}
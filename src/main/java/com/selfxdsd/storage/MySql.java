@@ -129,6 +129,8 @@ public final class MySql implements Database {
                     "Could not close the DB Connection",
                     exception
                 );
+            } finally {
+                this.connection = null;
             }
         }
     }
@@ -28,8 +28,10 @@ import com.selfxdsd.api.User;
 import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.StoredApiToken;
 import com.selfxdsd.core.StoredUser;
+import org.jooq.DSLContext;
 import org.jooq.Record;
 import org.jooq.Result;
+import org.jooq.SelectOnConditionStep;
 
 import java.time.LocalDateTime;
 import java.util.Iterator;
@@ -72,15 +74,9 @@ public final class SelfApiTokens implements ApiTokens {
 
     @Override
     public ApiToken getById(final String token) {
-        final Result<Record> result = this.database.jooq()
-            .select()
-            .from(SLF_APITOKENS_XDSD)
-            .join(SLF_USERS_XDSD)
-            .on(
-                SLF_APITOKENS_XDSD.USERNAME.eq(SLF_USERS_XDSD.USERNAME).and(
-                    SLF_APITOKENS_XDSD.PROVIDER.eq(SLF_USERS_XDSD.PROVIDER)
-                )
-            ).where(SLF_APITOKENS_XDSD.TOKEN.eq(token)).fetch();
+        final Result<? extends Record> result = selectApiTokens(
+            this.database.jooq()
+        ).where(SLF_APITOKENS_XDSD.TOKEN.eq(token)).fetch();
         if(result.size() > 0) {
             return this.apiTokenFromRecord(result.get(0));
         }
@@ -101,15 +97,8 @@ public final class SelfApiTokens implements ApiTokens {
              * @checkstyle LineLength (50 lines)
              */
             private final Supplier<Stream<ApiToken>> apiTokens =
-                () -> SelfApiTokens.this.database.jooq()
-                    .select()
-                    .from(SLF_APITOKENS_XDSD)
-                    .join(SLF_USERS_XDSD)
-                    .on(
-                        SLF_APITOKENS_XDSD.USERNAME.eq(SLF_USERS_XDSD.USERNAME).and(
-                            SLF_APITOKENS_XDSD.PROVIDER.eq(SLF_USERS_XDSD.PROVIDER)
-                        )
-                    ).where(
+                () -> selectApiTokens(SelfApiTokens.this.database.jooq())
+                    .where(
                         SLF_APITOKENS_XDSD.USERNAME.eq(
                             user.username()
                         ).and(
@@ -230,6 +219,34 @@ public final class SelfApiTokens implements ApiTokens {
         );
     }
 
+    /**
+     * Select the ApiTokens, JOINED with their Users. Only the columns read
+     * by {@link #apiTokenFromRecord(Record)} are selected.
+     * @param jooq DSLContext of a connected Database.
+     * @return JOOQ SELECT, to which we will apply the WHERE clause.
+     */
+    private static SelectOnConditionStep<? extends Record> selectApiTokens(
+        final DSLContext jooq
+    ) {
+        return jooq
+            .select(
+                SLF_APITOKENS_XDSD.NAME,
+                SLF_APITOKENS_XDSD.TOKEN,
+                SLF_APITOKENS_XDSD.EXPIRESAT,
+                SLF_USERS_XDSD.USERNAME,
+                SLF_USERS_XDSD.EMAIL,
+                SLF_USERS_XDSD.ROLE,
+                SLF_USERS_XDSD.PROVIDER
+            )
+            .from(SLF_APITOKENS_XDSD)
+            .join(SLF_USERS_XDSD)
+            .on(
+                SLF_APITOKENS_XDSD.USERNAME.eq(SLF_USERS_XDSD.USERNAME).and(
+                    SLF_APITOKENS_XDSD.PROVIDER.eq(SLF_USERS_XDSD.PROVIDER)
+                )
+            );
+    }
+
     /**
      * Build an ApiToken from the JOOQ reqcord.
      * @param record Jooq record.
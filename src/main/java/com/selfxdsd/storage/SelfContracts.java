@@ -35,6 +35,7 @@ import com.selfxdsd.core.contributors.StoredContributor;
 import com.selfxdsd.core.managers.StoredProjectManager;
 import com.selfxdsd.core.projects.StoredProject;
 import org.jooq.*;
+import org.jooq.impl.DSL;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -143,7 +144,7 @@ public final class SelfContracts implements Contracts {
                         .contributors()
                         .register(contributorUsername, provider);
                 }
-                final InsertOnDuplicateStep<?> insert = jooq
+                final InsertOnDuplicateStep<?> insert = DSL.using(conf)
                     .insertInto(SLF_CONTRACTS_XDSD,
                         SLF_CONTRACTS_XDSD.REPO_FULLNAME,
                         SLF_CONTRACTS_XDSD.USERNAME,
@@ -200,7 +201,7 @@ public final class SelfContracts implements Contracts {
 
     @Override
     public Contract findById(final Contract.Id id) {
-        final Result<Record> result = this.selectContracts()
+        final Result<? extends Record> result = this.selectContracts()
             .where(
                 SLF_CONTRACTS_XDSD.REPO_FULLNAME.eq(id.getRepoFullName()).and(
                     SLF_CONTRACTS_XDSD.PROVIDER.eq(id.getProvider()).and(
@@ -309,17 +310,52 @@ public final class SelfContracts implements Contracts {
         return this.database.jooq().fetchCount(SLF_CONTRACTS_XDSD);
     }
 
+    /**
+     * The Contracts matching a condition on the selected tables, read with
+     * one query.
+     * @param condition Condition.
+     * @return List of Contract.
+     */
+    List<Contract> matching(final Condition condition) {
+        return this.selectContracts()
+            .where(condition)
+            .fetch()
+            .stream()
+            .map(this::buildContract)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Built the jooq SELECT/JOIN clause.
      * A Contract is linked to a Project and to a Contributor, so we select
      * contracts, JOINED with Projects (also with Users + PMs to have the
-     * whole Project), and JOINED with Contributors.
+     * whole Project), and JOINED with Contributors. Only the columns read by
+     * {@link #buildContract(Record)} are selected.
      * @return JOOQ SELECT, to which we will apply the WHERE clause.
      * @checkstyle LineLength (100 lines)
      */
-    private SelectOnConditionStep<Record> selectContracts(){
+    private SelectOnConditionStep<? extends Record> selectContracts(){
         return this.database.jooq()
-            .select()
+            .select(
+                SLF_CONTRACTS_XDSD.HOURLY_RATE,
+                SLF_CONTRACTS_XDSD.ROLE,
+                SLF_CONTRACTS_XDSD.MARKEDFORREMOVAL,
+                SLF_CONTRIBUTORS_XDSD.USERNAME,
+                SLF_CONTRIBUTORS_XDSD.PROVIDER,
+                SLF_PROJECTS_XDSD.REPO_FULLNAME,
+                SLF_PROJECTS_XDSD.WEBHOOK_TOKEN,
+                SLF_USERS_XDSD.USERNAME,
+                SLF_USERS_XDSD.EMAIL,
+                SLF_USERS_XDSD.ROLE,
+                SLF_USERS_XDSD.PROVIDER,
+                SLF_PMS_XDSD.ID,
+                SLF_PMS_XDSD.USERID,
+                SLF_PMS_XDSD.USERNAME,
+                SLF_PMS_XDSD.PROVIDER,
+                SLF_PMS_XDSD.ACCESS_TOKEN,
+                SLF_PMS_XDSD.COMMISSION,
+                SLF_PMS_XDSD.CONTRIBUTORCOMMISSION
+            )
             .from(SLF_CONTRACTS_XDSD)
             .join(SLF_CONTRIBUTORS_XDSD)
             .on(
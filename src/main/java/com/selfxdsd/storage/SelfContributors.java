@@ -111,7 +111,10 @@ public final class SelfContributors extends BasePaged implements Contributors {
         if (page.getSize() == Integer.MAX_VALUE) {
             //we are in "all" page, it's safe to query whole table.
             rec = this.database.jooq()
-                .select()
+                .select(
+                    SLF_CONTRIBUTORS_XDSD.USERNAME,
+                    SLF_CONTRIBUTORS_XDSD.PROVIDER
+                )
                 .from(SLF_CONTRIBUTORS_XDSD)
                 .where(
                     SLF_CONTRIBUTORS_XDSD.USERNAME.eq(username).and(
@@ -125,7 +128,10 @@ public final class SelfContributors extends BasePaged implements Contributors {
             //we "extract" the page from table than we search the contributor
             //on that page using streams.
             rec = this.database.jooq()
-                .select()
+                .select(
+                    SLF_CONTRIBUTORS_XDSD.USERNAME,
+                    SLF_CONTRIBUTORS_XDSD.PROVIDER
+                )
                 .from(SLF_CONTRIBUTORS_XDSD)
                 .limit(page.getSize())
                 .offset((page.getNumber() - 1) * page.getSize())
@@ -179,8 +185,17 @@ public final class SelfContributors extends BasePaged implements Contributors {
         final Field<String> pagedFieldProvider =
             (Field<String>) pagedContributors.field("provider");
 
-        final Result<Record> result = jooq
-            .select()
+        final Result<? extends Record> result = jooq
+            .select(
+                pagedFieldUsername,
+                pagedFieldProvider,
+                SLF_CONTRACTS_XDSD.REPO_FULLNAME,
+                SLF_CONTRACTS_XDSD.USERNAME,
+                SLF_CONTRACTS_XDSD.PROVIDER,
+                SLF_CONTRACTS_XDSD.ROLE,
+                SLF_CONTRACTS_XDSD.HOURLY_RATE,
+                SLF_CONTRACTS_XDSD.MARKEDFORREMOVAL
+            )
             .from(pagedContributors)
             .join(SLF_CONTRACTS_XDSD)
             .on(SLF_CONTRACTS_XDSD.USERNAME.eq(pagedFieldUsername)
@@ -261,7 +276,10 @@ public final class SelfContributors extends BasePaged implements Contributors {
         final Supplier<Stream<Contributor>> ofProvider = () -> this
             .database
             .jooq()
-            .select()
+            .select(
+                SLF_CONTRIBUTORS_XDSD.USERNAME,
+                SLF_CONTRIBUTORS_XDSD.PROVIDER
+            )
             .from(SLF_CONTRIBUTORS_XDSD)
             .where(SLF_CONTRIBUTORS_XDSD.PROVIDER.eq(provider))
             .offset((page.getNumber() - 1) * page.getSize())
@@ -291,7 +309,10 @@ public final class SelfContributors extends BasePaged implements Contributors {
     public Iterator<Contributor> iterator() {
         final Page page = super.current();
         return this.database.jooq()
-            .select()
+            .select(
+                SLF_CONTRIBUTORS_XDSD.USERNAME,
+                SLF_CONTRIBUTORS_XDSD.PROVIDER
+            )
             .from(SLF_CONTRIBUTORS_XDSD)
             .limit(page.getSize())
             .offset((page.getNumber() - 1) * page.getSize())
@@ -28,15 +28,26 @@ import com.selfxdsd.core.contracts.invoices.InvoiceTasks;
 import com.selfxdsd.core.contracts.invoices.StoredInvoicedTask;
 import com.selfxdsd.core.tasks.StoredTask;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.InsertValuesStepN;
+import org.jooq.Query;
 import org.jooq.Record;
 import org.jooq.Result;
+import org.jooq.Row4;
+import org.jooq.impl.DSL;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_INVOICES_XDSD;
 import static com.selfxdsd.storage.generated.jooq.Tables.SLF_TASKS_XDSD;
 import static com.selfxdsd.storage.generated.jooq.tables.SlfInvoicedtasksXdsd.SLF_INVOICEDTASKS_XDSD;
 
@@ -48,6 +59,27 @@ import static com.selfxdsd.storage.generated.jooq.tables.SlfInvoicedtasksXdsd.SL
  */
 public final class SelfInvoicedTasks implements InvoicedTasks {
 
+    /**
+     * Columns inserted by {@link #registerAll(Invoice, List)}, in the order
+     * of {@link Registration#row(Invoice, LocalDateTime)}.
+     */
+    private static final List<Field<?>> COLUMNS = List.of(
+        SLF_INVOICEDTASKS_XDSD.INVOICEID,
+        SLF_INVOICEDTASKS_XDSD.REPO_FULLNAME,
+        SLF_INVOICEDTASKS_XDSD.USERNAME,
+        SLF_INVOICEDTASKS_XDSD.PROVIDER,
+        SLF_INVOICEDTASKS_XDSD.ROLE,
+        SLF_INVOICEDTASKS_XDSD.VALUE,
+        SLF_INVOICEDTASKS_XDSD.ISSUEID,
+        SLF_INVOICEDTASKS_XDSD.ASSIGNED,
+        SLF_INVOICEDTASKS_XDSD.DEADLINE,
+        SLF_INVOICEDTASKS_XDSD.INVOICED,
+        SLF_INVOICEDTASKS_XDSD.ESTIMATION_MINUTES,
+        SLF_INVOICEDTASKS_XDSD.COMMISSION,
+        SLF_INVOICEDTASKS_XDSD.CONTRIBUTORCOMMISSION,
+        SLF_INVOICEDTASKS_XDSD.ISPULLREQUEST
+    );
+
     /**
      * Parent Storage.
      */
@@ -78,8 +110,19 @@ public final class SelfInvoicedTasks implements InvoicedTasks {
      */
     @Override
     public InvoicedTasks ofInvoice(final Invoice invoice) {
-        final Result<Record> results = database.jooq()
-            .select()
+        final Result<? extends Record> results = database.jooq()
+            .select(
+                SLF_INVOICEDTASKS_XDSD.ID,
+                SLF_INVOICEDTASKS_XDSD.INVOICEID,
+                SLF_INVOICEDTASKS_XDSD.VALUE,
+                SLF_INVOICEDTASKS_XDSD.COMMISSION,
+                SLF_INVOICEDTASKS_XDSD.CONTRIBUTORCOMMISSION,
+                SLF_INVOICEDTASKS_XDSD.ISSUEID,
+                SLF_INVOICEDTASKS_XDSD.ASSIGNED,
+                SLF_INVOICEDTASKS_XDSD.DEADLINE,
+                SLF_INVOICEDTASKS_XDSD.ESTIMATION_MINUTES,
+                SLF_INVOICEDTASKS_XDSD.ISPULLREQUEST
+            )
             .from(SLF_INVOICEDTASKS_XDSD)
             .where(
                 SLF_INVOICEDTASKS_XDSD.INVOICEID.eq(
@@ -105,10 +148,10 @@ public final class SelfInvoicedTasks implements InvoicedTasks {
         final BigDecimal contributorCommission
     ) {
         final Project project = finished.project();
-        final DSLContext jooq = this.database.jooq();
         final Record[] inserted = new Record[1];
-        jooq.transaction(
+        this.database.jooq().transaction(
             configuration -> {
+                final DSLContext jooq = DSL.using(configuration);
                 jooq.deleteFrom(SLF_TASKS_XDSD)
                     .where(
                         SLF_TASKS_XDSD.ISSUEID.eq(finished.issueId()).and(
@@ -116,6 +159,10 @@ public final class SelfInvoicedTasks implements InvoicedTasks {
                                 project.repoFullName()
                             ).and(
                                 SLF_TASKS_XDSD.PROVIDER.eq(project.provider())
+                            ).and(
+                                SLF_TASKS_XDSD.ISPULLREQUEST.eq(
+                                    finished.isPullRequest()
+                                )
                             )
                         )
                     ).execute();
@@ -141,19 +188,27 @@ public final class SelfInvoicedTasks implements InvoicedTasks {
                     finished.assignee().username(),
                     finished.project().provider(),
                     finished.role(),
-                    finished.value().toBigIntegerExact(),
+                    finished.value().longValueExact(),
                     finished.issueId(),
                     finished.assignmentDate(),
                     finished.deadline(),
                     LocalDateTime.now(),
                     finished.estimation(),
-                    projectCommission.toBigIntegerExact(),
-                    contributorCommission.toBigIntegerExact(),
+                    projectCommission.longValueExact(),
+                    contributorCommission.longValueExact(),
                     finished.isPullRequest()
                 ).returningResult(
                     SLF_INVOICEDTASKS_XDSD.ID,
                     SLF_INVOICEDTASKS_XDSD.VALUE
                 ).fetchOne();
+                addToTotals(
+                    jooq,
+                    invoice.invoiceId(),
+                    finished.value().longValueExact(),
+                    projectCommission.longValueExact(),
+                    contributorCommission.longValueExact(),
+                    1
+                ).execute();
             }
         );
         return new StoredInvoicedTask(
@@ -169,6 +224,67 @@ public final class SelfInvoicedTasks implements InvoicedTasks {
         );
     }
 
+    /**
+     * Invoice many finished Tasks at once (e.g. when a sprint is closed),
+     * in one transaction and with a constant number of statements: one
+     * DELETE of the Tasks, one multi-row INSERT of the InvoicedTasks, one
+     * UPDATE of the Invoice's totals and one SELECT of the generated ids.
+     * @param invoice Invoice.
+     * @param finished Finished Tasks, with their commissions.
+     * @return InvoicedTasks, in the order of the given Tasks.
+     * @throws IllegalArgumentException If the same Task is given more than
+     *  once, since it can only be invoiced once.
+     */
+    public List<InvoicedTask> registerAll(
+        final Invoice invoice,
+        final List<Registration> finished
+    ) {
+        SelfInvoicedTasks.requireDistinct(finished);
+        final List<InvoicedTask> invoiced = new ArrayList<>(finished.size());
+        if(!finished.isEmpty()) {
+            final Map<List<Object>, Integer> ids = this.database.jooq()
+                .transactionResult(
+                    configuration -> {
+                        final DSLContext jooq = DSL.using(configuration);
+                        final List<Row4<String, String, String, Boolean>> keys;
+                        keys = new ArrayList<>(finished.size());
+                        final LocalDateTime now = LocalDateTime.now();
+                        final InsertValuesStepN<?> insert = jooq.insertInto(
+                            SLF_INVOICEDTASKS_XDSD, COLUMNS
+                        );
+                        for(final Registration task : finished) {
+                            keys.add(task.key());
+                            insert.values(task.row(invoice, now));
+                        }
+                        jooq.deleteFrom(SLF_TASKS_XDSD).where(
+                            DSL.row(
+                                SLF_TASKS_XDSD.ISSUEID,
+                                SLF_TASKS_XDSD.REPO_FULLNAME,
+                                SLF_TASKS_XDSD.PROVIDER,
+                                SLF_TASKS_XDSD.ISPULLREQUEST
+                            ).in(keys)
+                        ).execute();
+                        insert.execute();
+                        addToTotals(jooq, invoice.invoiceId(), finished)
+                            .execute();
+                        return generatedIds(jooq, invoice.invoiceId(), keys);
+                    }
+                );
+            for(final Registration task : finished) {
+                final Integer id = ids.get(task.identity());
+                if(id == null) {
+                    throw new IllegalStateException(
+                        "Could not find the InvoicedTask of Task "
+                        + task.identity() + " on Invoice #"
+                        + invoice.invoiceId() + "."
+                    );
+                }
+                invoiced.add(task.invoiced(id, invoice, this.storage));
+            }
+        }
+        return invoiced;
+    }
+
     @Override
     public Iterator<InvoicedTask> iterator() {
         throw new UnsupportedOperationException(
@@ -177,6 +293,137 @@ public final class SelfInvoicedTasks implements InvoicedTasks {
         );
     }
 
+    /**
+     * Make sure no Task is registered twice in one call: it would be
+     * inserted twice and counted twice in the Invoice's totals.
+     * @param finished Finished Tasks.
+     * @throws IllegalArgumentException If a Task is given more than once.
+     */
+    private static void requireDistinct(final List<Registration> finished) {
+        final Set<List<Object>> distinct = new HashSet<>();
+        for(final Registration task : finished) {
+            if(!distinct.add(task.identity())) {
+                throw new IllegalArgumentException(
+                    "Task " + task.identity() + " is given more than once, "
+                    + "it can only be invoiced once."
+                );
+            }
+        }
+    }
+
+    /**
+     * UPDATE which adds invoiced tasks to the totals kept on their Invoice's
+     * row. It has to run in the transaction which inserts the tasks.
+     * @param jooq DSLContext.
+     * @param invoiceId Id of the Invoice.
+     * @param value Sum of the tasks' values.
+     * @param commission Sum of the tasks' project commissions.
+     * @param contributorCommission Sum of the tasks' contributor
+     *  commissions.
+     * @param tasks Number of tasks.
+     * @return Query.
+     */
+    private static Query addToTotals(
+        final DSLContext jooq,
+        final int invoiceId,
+        final long value,
+        final long commission,
+        final long contributorCommission,
+        final int tasks
+    ) {
+        return jooq.update(SLF_INVOICES_XDSD)
+            .set(
+                SLF_INVOICES_XDSD.TOTALVALUE,
+                SLF_INVOICES_XDSD.TOTALVALUE.plus(value)
+            )
+            .set(
+                SLF_INVOICES_XDSD.TOTALCOMMISSION,
+                SLF_INVOICES_XDSD.TOTALCOMMISSION.plus(commission)
+            )
+            .set(
+                SLF_INVOICES_XDSD.TOTALCONTRIBUTORCOMMISSION,
+                SLF_INVOICES_XDSD.TOTALCONTRIBUTORCOMMISSION.plus(
+                    contributorCommission
+                )
+            )
+            .set(
+                SLF_INVOICES_XDSD.TASKSCOUNT,
+                SLF_INVOICES_XDSD.TASKSCOUNT.plus(tasks)
+            )
+            .where(SLF_INVOICES_XDSD.INVOICEID.eq(invoiceId));
+    }
+
+    /**
+     * Ids of the tasks just inserted by {@link #registerAll(Invoice, List)}.
+     * They are selected, not read from the JDBC generated keys, since not
+     * every driver returns all the keys of a multi-row INSERT. If a Task
+     * was already invoiced on the same Invoice, the latest id is kept.
+     * @param jooq DSLContext of the transaction.
+     * @param invoiceId Id of the Invoice.
+     * @param keys Keys of the inserted tasks.
+     * @return Ids by issue id, repo full name and provider.
+     */
+    private static Map<List<Object>, Integer> generatedIds(
+        final DSLContext jooq,
+        final int invoiceId,
+        final List<Row4<String, String, String, Boolean>> keys
+    ) {
+        final Map<List<Object>, Integer> ids = new HashMap<>();
+        jooq.select(
+            SLF_INVOICEDTASKS_XDSD.ID,
+            SLF_INVOICEDTASKS_XDSD.ISSUEID,
+            SLF_INVOICEDTASKS_XDSD.REPO_FULLNAME,
+            SLF_INVOICEDTASKS_XDSD.PROVIDER,
+            SLF_INVOICEDTASKS_XDSD.ISPULLREQUEST
+        ).from(SLF_INVOICEDTASKS_XDSD)
+            .where(SLF_INVOICEDTASKS_XDSD.INVOICEID.eq(invoiceId))
+            .and(
+                DSL.row(
+                    SLF_INVOICEDTASKS_XDSD.ISSUEID,
+                    SLF_INVOICEDTASKS_XDSD.REPO_FULLNAME,
+                    SLF_INVOICEDTASKS_XDSD.PROVIDER,
+                    SLF_INVOICEDTASKS_XDSD.ISPULLREQUEST
+                ).in(keys)
+            )
+            .orderBy(SLF_INVOICEDTASKS_XDSD.ID)
+            .forEach(
+                rec -> ids.put(
+                    List.of(
+                        rec.value2(), rec.value3(), rec.value4(), rec.value5()
+                    ),
+                    rec.value1()
+                )
+            );
+        return ids;
+    }
+
+    /**
+     * UPDATE which adds the given tasks to the totals kept on their
+     * Invoice's row.
+     * @param jooq DSLContext.
+     * @param invoiceId Id of the Invoice.
+     * @param tasks Invoiced tasks.
+     * @return Query.
+     */
+    private static Query addToTotals(
+        final DSLContext jooq,
+        final int invoiceId,
+        final List<Registration> tasks
+    ) {
+        long value = 0;
+        long commission = 0;
+        long fromContributor = 0;
+        for(final Registration task : tasks) {
+            value = value + task.finished.value().longValueExact();
+            commission = commission + task.projectCommission.longValueExact();
+            fromContributor = fromContributor
+                + task.contribCommission.longValueExact();
+        }
+        return addToTotals(
+            jooq, invoiceId, value, commission, fromContributor, tasks.size()
+        );
+    }
+
     /**
      * Build an InvoicedTask from a DB Record.
      * @param rec Record.
@@ -213,4 +460,121 @@ public final class SelfInvoicedTasks implements InvoicedTasks {
         );
         return task;
     }
+
+    /**
+     * A finished Task to invoice with {@link #registerAll(Invoice, List)}.
+     */
+    public static final class Registration {
+
+        /**
+         * Finished Task.
+         */
+        private final Task finished;
+
+        /**
+         * Commission paid by the Project.
+         */
+        private final BigDecimal projectCommission;
+
+        /**
+         * Commission paid by the Contributor.
+         */
+        private final BigDecimal contribCommission;
+
+        /**
+         * Ctor.
+         * @param finished Finished Task.
+         * @param projectCommission Commission paid by the Project.
+         * @param contributorCommission Commission paid by the Contributor.
+         */
+        public Registration(
+            final Task finished,
+            final BigDecimal projectCommission,
+            final BigDecimal contributorCommission
+        ) {
+            this.finished = finished;
+            this.projectCommission = projectCommission;
+            this.contribCommission = contributorCommission;
+        }
+
+        /**
+         * Key of the Task in the tasks table.
+         * @return Issue id, repo full name, provider and isPullRequest.
+         */
+        private Row4<String, String, String, Boolean> key() {
+            final Project project = this.finished.project();
+            return DSL.row(
+                this.finished.issueId(),
+                project.repoFullName(),
+                project.provider(),
+                this.finished.isPullRequest()
+            );
+        }
+
+        /**
+         * Key of the Task, as a value which can be looked up.
+         * @return Issue id, repo full name, provider and isPullRequest.
+         */
+        private List<Object> identity() {
+            final Project project = this.finished.project();
+            return List.of(
+                this.finished.issueId(),
+                project.repoFullName(),
+                project.provider(),
+                this.finished.isPullRequest()
+            );
+        }
+
+        /**
+         * Values of the InvoicedTask, in the order of the COLUMNS.
+         * @param invoice Invoice.
+         * @param invoiced Time of the invoicing.
+         * @return Values.
+         */
+        private List<Object> row(
+            final Invoice invoice,
+            final LocalDateTime invoiced
+        ) {
+            final Project project = this.finished.project();
+            return Arrays.asList(
+                invoice.invoiceId(),
+                project.repoFullName(),
+                this.finished.assignee().username(),
+                project.provider(),
+                this.finished.role(),
+                this.finished.value().longValueExact(),
+                this.finished.issueId(),
+                this.finished.assignmentDate(),
+                this.finished.deadline(),
+                invoiced,
+                this.finished.estimation(),
+                this.projectCommission.longValueExact(),
+                this.contribCommission.longValueExact(),
+                this.finished.isPullRequest()
+            );
+        }
+
+        /**
+         * The InvoicedTask, once inserted.
+         * @param id Generated id.
+         * @param invoice Invoice.
+         * @param storage Storage.
+         * @return InvoicedTask.
+         */
+        private InvoicedTask invoiced(
+            final int id,
+            final Invoice invoice,
+            final Storage storage
+        ) {
+            return new StoredInvoicedTask(
+                id,
+                invoice.invoiceId(),
+                this.finished.value(),
+                this.projectCommission,
+                this.contribCommission,
+                this.finished,
+                storage
+            );
+        }
+    }
 }
@@ -26,16 +26,20 @@ import com.selfxdsd.api.*;
 import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.contracts.invoices.ContractInvoices;
 import com.selfxdsd.core.contracts.invoices.StoredInvoice;
-import com.selfxdsd.core.contracts.invoices.StoredPayment;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Record;
 import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.SelectJoinStep;
+import org.jooq.impl.DSL;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.selfxdsd.storage.generated.jooq.Tables.*;
@@ -48,6 +52,14 @@ import static com.selfxdsd.storage.generated.jooq.Tables.*;
  */
 public final class SelfInvoices implements Invoices {
 
+    /**
+     * Fields selected by {@link #selectInvoices(DSLContext)}, in their
+     * order.
+     */
+    private static final List<Field<?>> SELECTED = selectInvoices(
+        DSL.using(SQLDialect.MYSQL)
+    ).getSelect();
+
     /**
      * Parent Storage.
      */
@@ -58,6 +70,11 @@ public final class SelfInvoices implements Invoices {
      */
     private final Database database;
 
+    /**
+     * Maps the selected Records to Invoices.
+     */
+    private final InvoiceMapper mapper;
+
     /**
      * Ctor.
      * @param storage Parent Storage.
@@ -69,20 +86,22 @@ public final class SelfInvoices implements Invoices {
     ) {
         this.storage = storage;
         this.database = database;
+        this.mapper = new InvoiceMapper(SELECTED, storage);
     }
 
     @Override
     public Invoice getById(final int id) {
-        final Result<Record> result = this.database.jooq()
-            .select()
-            .from(SLF_INVOICES_XDSD)
-            .leftJoin(SLF_PAYMENTS_XDSD)
-            .on(SLF_INVOICES_XDSD.INVOICEID.eq(SLF_PAYMENTS_XDSD.INVOICEID))
+        final Result<? extends Record> result = selectInvoices(
+            this.database.jooq()
+        )
             .where(SLF_INVOICES_XDSD.INVOICEID.eq(id))
-            .orderBy(SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP.desc())
             .fetch();
         if(!result.isEmpty()) {
-            return this.buildInvoice(result.get(0));
+            final Record rec = result.get(0);
+            return this.mapper.map(
+                rec,
+                this.storage.contracts().findById(this.mapper.contractId(rec))
+            );
         }
         return null;
     }
@@ -114,18 +133,126 @@ public final class SelfInvoices implements Invoices {
         ).returning(SLF_INVOICES_XDSD.INVOICEID)
             .fetchOne()
             .getValue(SLF_INVOICES_XDSD.INVOICEID);
-        return new StoredInvoice(
-            invoiceId,
-            contract,
-            createdAt,
-            null,
-            null,
-            null,
-            null,
-            null,
-            BigDecimal.valueOf(0),
-            this.storage
+        return new TotalledInvoice(
+            new StoredInvoice(
+                invoiceId,
+                contract,
+                createdAt,
+                null,
+                null,
+                null,
+                null,
+                null,
+                BigDecimal.valueOf(0),
+                this.storage
+            ),
+            BigDecimal.ZERO,
+            BigDecimal.ZERO,
+            BigDecimal.ZERO,
+            0
+        );
+    }
+
+    /**
+     * Create a new Invoice for each of the Contracts matching the given
+     * condition, e.g. at the end of the month. Unlike
+     * {@link #createNewInvoice(Contract.Id)}, the Contracts are not read:
+     * the Invoices are inserted with one INSERT ... SELECT from the
+     * contracts table. Their ids are selected from the auto-increment
+     * range the INSERT took, given by the connection's last insert id and
+     * the number of inserted rows (not every JDBC driver returns all the
+     * keys of a multi-row INSERT): MySql's last insert id is the first id
+     * of the statement, H2's is the last one. Invoices created at the same
+     * time by someone else are outside the range, so they are not
+     * returned. The range is only the call's own if the statement gets
+     * consecutive ids (InnoDB's innodb_autoinc_lock_mode 0 or 1), so the
+     * Invoices in it are also matched by the call's createdAt and the
+     * transaction is rolled back if any of them is missing.
+     * @param contracts Condition on the contracts table, for instance
+     *  {@code SLF_CONTRACTS_XDSD.MARKEDFORREMOVAL.isNull()}.
+     * @return Ids of the created Invoices, ascending.
+     */
+    public List<Integer> createForAll(final Condition contracts) {
+        final LocalDateTime createdAt = LocalDateTime.now().withNano(0);
+        return this.database.jooq().transactionResult(
+            configuration -> {
+                final DSLContext jooq = DSL.using(configuration);
+                final int inserted = jooq.insertInto(
+                    SLF_INVOICES_XDSD,
+                    SLF_INVOICES_XDSD.REPO_FULLNAME,
+                    SLF_INVOICES_XDSD.USERNAME,
+                    SLF_INVOICES_XDSD.PROVIDER,
+                    SLF_INVOICES_XDSD.ROLE,
+                    SLF_INVOICES_XDSD.CREATEDAT
+                ).select(
+                    jooq.select(
+                        SLF_CONTRACTS_XDSD.REPO_FULLNAME,
+                        SLF_CONTRACTS_XDSD.USERNAME,
+                        SLF_CONTRACTS_XDSD.PROVIDER,
+                        SLF_CONTRACTS_XDSD.ROLE,
+                        DSL.val(createdAt)
+                    ).from(SLF_CONTRACTS_XDSD)
+                        .where(contracts)
+                        .orderBy(
+                            SLF_CONTRACTS_XDSD.REPO_FULLNAME,
+                            SLF_CONTRACTS_XDSD.USERNAME,
+                            SLF_CONTRACTS_XDSD.PROVIDER,
+                            SLF_CONTRACTS_XDSD.ROLE
+                        )
+                ).execute();
+                final List<Integer> ids;
+                if(inserted == 0) {
+                    ids = List.of();
+                } else {
+                    ids = this.insertedIds(jooq, inserted, createdAt);
+                }
+                return ids;
+            }
+        );
+    }
+
+    /**
+     * Ids of the Invoices inserted by the last INSERT of
+     * {@link #createForAll(Condition)}.
+     * @param jooq DSLContext of the transaction.
+     * @param inserted Number of inserted Invoices.
+     * @param createdAt Their creation time.
+     * @return Ids, ascending.
+     * @throws IllegalStateException If the auto-increment range of the
+     *  INSERT holds other Invoices.
+     */
+    private List<Integer> insertedIds(
+        final DSLContext jooq,
+        final int inserted,
+        final LocalDateTime createdAt
+    ) {
+        final Field<Integer> last = DSL.field(
+            "LAST_INSERT_ID()", SLF_INVOICES_XDSD.INVOICEID.getDataType()
         );
+        final Field<Integer> first;
+        if(Database.Dbms.MY_SQL.equals(this.database.dbms())) {
+            first = last;
+        } else {
+            first = last.minus(inserted - 1);
+        }
+        final List<Integer> ids = jooq.select(SLF_INVOICES_XDSD.INVOICEID)
+            .from(SLF_INVOICES_XDSD)
+            .where(
+                SLF_INVOICES_XDSD.INVOICEID.between(
+                    first, first.plus(inserted - 1)
+                )
+            )
+            .and(SLF_INVOICES_XDSD.CREATEDAT.eq(createdAt))
+            .orderBy(SLF_INVOICES_XDSD.INVOICEID)
+            .fetch(SLF_INVOICES_XDSD.INVOICEID);
+        if(ids.size() != inserted) {
+            throw new IllegalStateException(
+                "Inserted " + inserted + " Invoices, but found " + ids.size()
+                + " of them in the auto-increment range of the INSERT. "
+                + "Its ids were not consecutive."
+            );
+        }
+        return ids;
     }
 
     @Override
@@ -139,20 +266,14 @@ public final class SelfInvoices implements Invoices {
     @Override
     public Invoices ofContract(final Contract.Id id) {
         final Contract contract = this.storage.contracts().findById(id);
-        final Supplier<Stream<Invoice>> ofContract = () -> this.database.jooq()
-            .select()
-            .from(SLF_INVOICES_XDSD)
-            .leftJoin(SLF_PAYMENTS_XDSD)
-            .on(SLF_INVOICES_XDSD.INVOICEID.eq(SLF_PAYMENTS_XDSD.INVOICEID))
-            .where(SLF_INVOICES_XDSD.REPO_FULLNAME.eq(id.getRepoFullName())
+        final Supplier<Stream<Invoice>> ofContract = () -> selectInvoices(
+            this.database.jooq()
+        ).where(SLF_INVOICES_XDSD.REPO_FULLNAME.eq(id.getRepoFullName())
                 .and(SLF_INVOICES_XDSD.USERNAME.eq(id.getContributorUsername()))
                 .and(SLF_INVOICES_XDSD.PROVIDER.eq(id.getProvider()))
                 .and(SLF_INVOICES_XDSD.ROLE.eq(id.getRole()))
             )
-            .orderBy(SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP.desc())
-            .stream()
-            .map(record -> buildInvoice(record, contract))
-            .collect(Collectors.toSet())
+            .fetch(this.mapper.forContract(contract))
             .stream();
         return new ContractInvoices(id, ofContract, this.storage);
     }
@@ -183,84 +304,17 @@ public final class SelfInvoices implements Invoices {
         }
         final Payment success = invoice.latest();
         if(success.transactionId().startsWith("fake_payment_")) {
-            final DSLContext jooq = this.database.jooq();
-            jooq.transaction(
-                configuration -> {
-                    jooq.insertInto(
-                        SLF_PAYMENTS_XDSD,
-                        SLF_PAYMENTS_XDSD.INVOICEID,
-                        SLF_PAYMENTS_XDSD.TRANSACTIONID,
-                        SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP,
-                        SLF_PAYMENTS_XDSD.VALUE,
-                        SLF_PAYMENTS_XDSD.STATUS,
-                        SLF_PAYMENTS_XDSD.FAILREASON
-                    ).values(
-                        invoice.invoiceId(),
-                        success.transactionId(),
-                        success.paymentTime(),
-                        success.value().toBigIntegerExact(),
-                        success.status(),
-                        success.failReason()
-                    ).execute();
-                    jooq.update(SLF_INVOICES_XDSD).set(
-                        SLF_INVOICES_XDSD.BILLEDBY,
-                        invoice.billedBy()
-                    ).set(
-                        SLF_INVOICES_XDSD.BILLEDTO,
-                        invoice.billedTo()
-                    ).set(
-                        SLF_INVOICES_XDSD.BILLEDBYCOUNTRY,
-                        invoice.billedByCountry()
-                    ).set(
-                        SLF_INVOICES_XDSD.BILLEDTOCOUNTRY,
-                        invoice.billedToCountry()
-                    ).set(
-                        SLF_INVOICES_XDSD.EURTORON,
-                        invoice.eurToRon().toBigIntegerExact()
-                    ).where(
-                        SLF_INVOICES_XDSD.INVOICEID.eq(invoice.invoiceId())
-                    ).execute();
-                }
+            this.database.jooq().transaction(
+                configuration -> SelfInvoices.storePaid(
+                    DSL.using(configuration), invoice, success
+                )
             );
         } else {
-            final DSLContext jooq = this.database.jooq();
-            jooq.transaction(
+            this.database.jooq().transaction(
                 configuration -> {
+                    final DSLContext jooq = DSL.using(configuration);
                     final String contributorBilling = invoice.billedBy();
-                    jooq.insertInto(
-                        SLF_PAYMENTS_XDSD,
-                        SLF_PAYMENTS_XDSD.INVOICEID,
-                        SLF_PAYMENTS_XDSD.TRANSACTIONID,
-                        SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP,
-                        SLF_PAYMENTS_XDSD.VALUE,
-                        SLF_PAYMENTS_XDSD.STATUS,
-                        SLF_PAYMENTS_XDSD.FAILREASON
-                    ).values(
-                        invoice.invoiceId(),
-                        success.transactionId(),
-                        success.paymentTime(),
-                        success.value().toBigIntegerExact(),
-                        success.status(),
-                        success.failReason()
-                    ).execute();
-                    jooq.update(SLF_INVOICES_XDSD).set(
-                        SLF_INVOICES_XDSD.BILLEDBY,
-                        contributorBilling
-                    ).set(
-                        SLF_INVOICES_XDSD.BILLEDTO,
-                        invoice.billedTo()
-                    ).set(
-                        SLF_INVOICES_XDSD.BILLEDBYCOUNTRY,
-                        invoice.billedByCountry()
-                    ).set(
-                        SLF_INVOICES_XDSD.BILLEDTOCOUNTRY,
-                        invoice.billedToCountry()
-                    ).set(
-                        SLF_INVOICES_XDSD.EURTORON,
-                        invoice.eurToRon().toBigIntegerExact()
-                    ).where(
-                        SLF_INVOICES_XDSD.INVOICEID.eq(invoice.invoiceId())
-                    ).execute();
+                    SelfInvoices.storePaid(jooq, invoice, success);
                     jooq.insertInto(
                         SLF_PLATFORMINVOICES_XDSD,
                         SLF_PLATFORMINVOICES_XDSD.CREATEDAT,
@@ -276,12 +330,12 @@ public final class SelfInvoices implements Invoices {
                         contributorBilling,
                         invoice.projectCommission()
                             .add(invoice.contributorCommission())
-                            .toBigIntegerExact(),
-                        contributorVat.toBigIntegerExact(),
+                            .longValueExact(),
+                        contributorVat.longValueExact(),
                         success.transactionId(),
                         success.paymentTime(),
                         invoice.invoiceId(),
-                        eurToRon.toBigIntegerExact()
+                        eurToRon.longValueExact()
                     ).execute();
                 }
             );
@@ -289,6 +343,62 @@ public final class SelfInvoices implements Invoices {
         return success;
     }
 
+    /**
+     * Store the successful Payment of the given Invoice, point the Invoice
+     * to it and store the Invoice's billing info.
+     * @param jooq DSLContext of the transaction.
+     * @param invoice Paid Invoice.
+     * @param success Successful Payment.
+     */
+    private static void storePaid(
+        final DSLContext jooq,
+        final Invoice invoice,
+        final Payment success
+    ) {
+        jooq.insertInto(
+            SLF_PAYMENTS_XDSD,
+            SLF_PAYMENTS_XDSD.INVOICEID,
+            SLF_PAYMENTS_XDSD.TRANSACTIONID,
+            SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP,
+            SLF_PAYMENTS_XDSD.VALUE,
+            SLF_PAYMENTS_XDSD.STATUS,
+            SLF_PAYMENTS_XDSD.FAILREASON
+        ).values(
+            invoice.invoiceId(),
+            success.transactionId(),
+            success.paymentTime(),
+            success.value().longValueExact(),
+            success.status(),
+            success.failReason()
+        ).execute();
+        new SelfPayments.Registration(
+            invoice.invoiceId(),
+            success.transactionId(),
+            success.paymentTime(),
+            success.value(),
+            success.status(),
+            success.failReason()
+        ).pointLatest(jooq).execute();
+        jooq.update(SLF_INVOICES_XDSD).set(
+            SLF_INVOICES_XDSD.BILLEDBY,
+            invoice.billedBy()
+        ).set(
+            SLF_INVOICES_XDSD.BILLEDTO,
+            invoice.billedTo()
+        ).set(
+            SLF_INVOICES_XDSD.BILLEDBYCOUNTRY,
+            invoice.billedByCountry()
+        ).set(
+            SLF_INVOICES_XDSD.BILLEDTOCOUNTRY,
+            invoice.billedToCountry()
+        ).set(
+            SLF_INVOICES_XDSD.EURTORON,
+            invoice.eurToRon().longValueExact()
+        ).where(
+            SLF_INVOICES_XDSD.INVOICEID.eq(invoice.invoiceId())
+        ).execute();
+    }
+
     @Override
     public Iterator<Invoice> iterator() {
         throw new UnsupportedOperationException(
@@ -298,60 +408,40 @@ public final class SelfInvoices implements Invoices {
     }
 
     /**
-     * Builds an Invoice from a {@link Record}.
-     * @param record Record.
-     * @return Invoice.
+     * Build the jooq SELECT clause. Invoices are read without their
+     * payments and tasks: the latest Payment and the totals of each Invoice
+     * are kept on the invoice row, updated in the same transaction which
+     * registers a Payment or an InvoicedTask.
+     * Only the columns read by the {@link InvoiceMapper} are selected.
+     * @param jooq DSLContext of a connected Database.
+     * @return JOOQ SELECT, to which we will apply the WHERE clause.
      */
-    private Invoice buildInvoice(final Record record) {
-        final Contract contract = this.storage.contracts().findById(
-            new Contract.Id(
-                record.getValue(SLF_INVOICES_XDSD.REPO_FULLNAME),
-                record.getValue(SLF_INVOICES_XDSD.USERNAME),
-                record.getValue(SLF_INVOICES_XDSD.PROVIDER),
-                record.getValue(SLF_INVOICES_XDSD.ROLE)
+    static SelectJoinStep<? extends Record> selectInvoices(
+        final DSLContext jooq
+    ) {
+        return jooq
+            .select(
+                SLF_INVOICES_XDSD.INVOICEID,
+                SLF_INVOICES_XDSD.REPO_FULLNAME,
+                SLF_INVOICES_XDSD.USERNAME,
+                SLF_INVOICES_XDSD.PROVIDER,
+                SLF_INVOICES_XDSD.ROLE,
+                SLF_INVOICES_XDSD.CREATEDAT,
+                SLF_INVOICES_XDSD.BILLEDBY,
+                SLF_INVOICES_XDSD.BILLEDTO,
+                SLF_INVOICES_XDSD.BILLEDBYCOUNTRY,
+                SLF_INVOICES_XDSD.BILLEDTOCOUNTRY,
+                SLF_INVOICES_XDSD.EURTORON,
+                SLF_INVOICES_XDSD.LATESTTRANSACTIONID,
+                SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP,
+                SLF_INVOICES_XDSD.LATESTVALUE,
+                SLF_INVOICES_XDSD.LATESTSTATUS,
+                SLF_INVOICES_XDSD.LATESTFAILREASON,
+                SLF_INVOICES_XDSD.TOTALVALUE,
+                SLF_INVOICES_XDSD.TOTALCOMMISSION,
+                SLF_INVOICES_XDSD.TOTALCONTRIBUTORCOMMISSION,
+                SLF_INVOICES_XDSD.TASKSCOUNT
             )
-        );
-        return this.buildInvoice(record, contract);
-    }
-
-    /**
-     * Builds an Invoice from a {@link Record} and a {@link Contract}.
-     *
-     * @param record Record.
-     * @param contract Contract.
-     * @return Invoice.
-     */
-    private Invoice buildInvoice(final Record record, final Contract contract) {
-        final Payment latest;
-        if(record.getValue(SLF_PAYMENTS_XDSD.STATUS) != null) {
-            latest = new StoredPayment(
-                record.getValue(SLF_INVOICES_XDSD.INVOICEID),
-                record.getValue(SLF_PAYMENTS_XDSD.TRANSACTIONID),
-                record.getValue(SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP),
-                BigDecimal.valueOf(
-                    record.getValue(SLF_PAYMENTS_XDSD.VALUE).longValue()
-                ),
-                record.getValue(SLF_PAYMENTS_XDSD.STATUS),
-                record.getValue(SLF_PAYMENTS_XDSD.FAILREASON),
-                this.storage
-            );
-        } else {
-            latest = null;
-        }
-        return new StoredInvoice(
-            record.getValue(SLF_INVOICES_XDSD.INVOICEID),
-            contract,
-            record.getValue(SLF_INVOICES_XDSD.CREATEDAT),
-            latest,
-            record.getValue(SLF_INVOICES_XDSD.BILLEDBY),
-            record.getValue(SLF_INVOICES_XDSD.BILLEDTO),
-            record.getValue(SLF_INVOICES_XDSD.BILLEDBYCOUNTRY),
-            record.getValue(SLF_INVOICES_XDSD.BILLEDTOCOUNTRY),
-            BigDecimal.valueOf(
-                record.getValue(SLF_INVOICES_XDSD.EURTORON).longValue()
-            ),
-            this.storage
-        );
+            .from(SLF_INVOICES_XDSD);
     }
-
 }
@@ -40,12 +40,49 @@ public final class SelfJooq implements Storage {
      */
     private Database database;
 
+    /**
+     * JsonStorage writing in the background, null if the JSON resources
+     * are written synchronously.
+     */
+    private final WriteBehindJsonStorage writeBehind;
+
     /**
      * Ctor.
      * @param database Database.
      */
     public SelfJooq(final Database database) {
         this.database = database.connect();
+        this.writeBehind = null;
+    }
+
+    /**
+     * Ctor. The cached JSON resources will be written in the background
+     * (write-behind), using a separate Database, with at most 10 000
+     * pending writes.
+     * @param database Database.
+     * @param cache Database for writing the cached JSON resources.
+     */
+    public SelfJooq(final Database database, final Database cache) {
+        this(database, cache, 10_000);
+    }
+
+    /**
+     * Ctor. The cached JSON resources will be written in the background
+     * (write-behind), using a separate Database.
+     * @param database Database.
+     * @param cache Database for writing the cached JSON resources.
+     * @param capacity Maximum number of pending writes; when reached, new
+     *  writes are dropped.
+     */
+    public SelfJooq(
+        final Database database,
+        final Database cache,
+        final int capacity
+    ) {
+        this.database = database.connect();
+        this.writeBehind = new WriteBehindJsonStorage(
+            this, this.database, cache, capacity
+        );
     }
 
     @Override
@@ -125,11 +162,29 @@ public final class SelfJooq implements Storage {
 
     @Override
     public JsonStorage jsonStorage() {
-        return new SelfJsonStorage(this, this.database);
+        final JsonStorage jsonStorage;
+        if(this.writeBehind == null) {
+            jsonStorage = new SelfJsonStorage(this, this.database);
+        } else {
+            jsonStorage = this.writeBehind;
+        }
+        return jsonStorage;
+    }
+
+    /**
+     * A new batching loader of Projects, Contracts and Users, which should
+     * be used for one request only.
+     * @return DataLoader.
+     */
+    public DataLoader dataLoader() {
+        return new DataLoader(this, this.database);
     }
 
     @Override
     public void close() {
+        if(this.writeBehind != null) {
+            this.writeBehind.close();
+        }
         this.database.close();
     }
 }
@@ -23,32 +23,58 @@
 package com.selfxdsd.storage;
 
 import com.selfxdsd.api.CachedResource;
+import com.selfxdsd.api.Provider;
 import com.selfxdsd.api.Resource;
-import com.selfxdsd.api.storage.JsonStorage;
 import com.selfxdsd.api.storage.Storage;
-import org.jooq.Record;
-import org.jooq.Result;
+import com.selfxdsd.storage.generated.jooq.tables.records.SlfJsonstorageXdsdRecord;
+import org.jooq.Condition;
+import org.jooq.Cursor;
+import org.jooq.InsertOnDuplicateStep;
+import org.jooq.Query;
+import org.jooq.Record1;
+import org.jooq.Record2;
+import org.jooq.ResultQuery;
+import org.jooq.impl.DSL;
 
-import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonObject;
-import java.io.StringReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Function;
 
 import static com.selfxdsd.storage.generated.jooq.Tables.SLF_JSONSTORAGE_XDSD;
 
 /**
  * Storage for JsonResources in Self XDSD (we store JSONs received from
- * providers' API for making conditional requests using E-Tag).
+ * providers' API for making conditional requests using E-Tag).<br><br>
+ * Resources are keyed by the SHA-256 hash of their URI, so the primary key
+ * has a fixed size regardless of the URI's length. The URI itself is kept
+ * as well, in order to double-check it in case of hash collisions.<br><br>
+ * Each resource is also tagged with the namespace (provider + repo) it
+ * belongs to, if any, so all the resources of a repo can be invalidated
+ * at once, without scanning the whole table.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @since 0.0.70
  * @version $Id$
  */
-public final class SelfJsonStorage implements JsonStorage {
+public final class SelfJsonStorage implements NamespacedJsonStorage {
+
+    /**
+     * How many resources to delete at once when invalidating a namespace.
+     */
+    private static final int DELETE_BATCH = 500;
 
     /**
      * Parent Storage.
@@ -75,89 +101,353 @@ public final class SelfJsonStorage implements JsonStorage {
 
     @Override
     public CachedResource getResource(final URI uri) {
-        final Result<Record> result = this.database.jooq()
-            .select()
+        final String etag = this.etagOf(uri);
+        if(etag != null) {
+            return new LazyCachedResource(uri, etag, this);
+        }
+        return null;
+    }
+
+    /**
+     * Get only the ETag of a stored resource, without its body.
+     * This is enough for making a conditional (If-None-Match) request.
+     * @param uri URI of the resource.
+     * @return ETag or null if the resource is not stored.
+     */
+    public String etagOf(final URI uri) {
+        return this.database.jooq()
+            .select(SLF_JSONSTORAGE_XDSD.ETAG)
             .from(SLF_JSONSTORAGE_XDSD)
-            .where(SLF_JSONSTORAGE_XDSD.URL.eq(uri.toString()))
-            .fetch();
-        if(result.size() > 0) {
-            final Record record = result.get(0);
-            return new CachedResource() {
-                @Override
-                public URI uri() {
-                    return uri;
-                }
+            .where(this.matches(uri))
+            .fetchOne(SLF_JSONSTORAGE_XDSD.ETAG);
+    }
 
-                @Override
-                public String etag() {
-                    return record.get(SLF_JSONSTORAGE_XDSD.ETAG);
-                }
+    /**
+     * Read the JSON body of a stored resource as a stream, straight from
+     * the JDBC character stream. Use it for parsing large bodies, since
+     * the body is never fully materialized in memory as a String.<br><br>
+     * On MySql, the row is streamed (fetch size Integer.MIN_VALUE), otherwise
+     * Connector/J would buffer the whole result set before returning it.
+     * Other databases (e.g. H2) reject a negative fetch size, so they use
+     * their default.
+     * @param uri URI of the resource.
+     * @param parser Parses the body from the given Reader.
+     * @param <T> Type of the parsed body.
+     * @return Parsed body or null if the resource is not stored.
+     */
+    public <T> T read(final URI uri, final Function<Reader, T> parser) {
+        return this.read(uri, this.matches(uri), parser);
+    }
 
-                @Override
-                public LocalDateTime creationDate() {
-                    return null;
-                }
+    /**
+     * Read the JSON body of a stored resource as a stream, only if it still
+     * has the given ETag.
+     * @param uri URI of the resource.
+     * @param etag Expected ETag.
+     * @param parser Parses the body from the given Reader.
+     * @param <T> Type of the parsed body.
+     * @return Parsed body or null if the resource is not stored anymore or
+     *  its ETag changed.
+     */
+    <T> T read(
+        final URI uri,
+        final String etag,
+        final Function<Reader, T> parser
+    ) {
+        return this.read(
+            uri,
+            this.matches(uri).and(SLF_JSONSTORAGE_XDSD.ETAG.eq(etag)),
+            parser
+        );
+    }
 
-                @Override
-                public int statusCode() {
-                    return 200;
+    /**
+     * Read the JSON body of a stored resource, if it is stored and it matches
+     * the given condition.
+     * @param uri URI of the resource.
+     * @param condition Condition the resource's row must match.
+     * @param parser Parses the body from the given Reader.
+     * @param <T> Type of the parsed body.
+     * @return Parsed body or null if there is no such row.
+     */
+    private <T> T read(
+        final URI uri,
+        final Condition condition,
+        final Function<Reader, T> parser
+    ) {
+        ResultQuery<Record1<String>> select = this.database.jooq()
+            .select(SLF_JSONSTORAGE_XDSD.JSONBODY)
+            .from(SLF_JSONSTORAGE_XDSD)
+            .where(condition);
+        if(this.database.dbms().equals(Database.Dbms.MY_SQL)) {
+            select = select.fetchSize(Integer.MIN_VALUE);
+        }
+        try (Cursor<Record1<String>> cursor = select.fetchLazy()) {
+            final ResultSet found = cursor.resultSet();
+            T parsed = null;
+            if(found.next()) {
+                try (Reader body = found.getCharacterStream(1)) {
+                    parsed = parser.apply(body);
                 }
+            }
+            return parsed;
+        } catch (final SQLException | IOException ex) {
+            throw new IllegalStateException(
+                "Could not read the body of resource " + uri,
+                ex
+            );
+        }
+    }
 
-                @Override
-                public JsonObject asJsonObject() {
-                    return Json.createReader(
-                        new StringReader(
-                            record.get(SLF_JSONSTORAGE_XDSD.JSONBODY)
-                        )
-                    ).readObject();
-                }
+    /**
+     * Read the whole JSON body of a stored resource, only if it still has
+     * the given ETag (the resource might have been updated or invalidated
+     * since its ETag was read).
+     * @param uri URI of the resource.
+     * @param etag Expected ETag.
+     * @return Body or null if the resource is not stored anymore or its
+     *  ETag changed.
+     */
+    String body(final URI uri, final String etag) {
+        return this.database.jooq()
+            .select(SLF_JSONSTORAGE_XDSD.JSONBODY)
+            .from(SLF_JSONSTORAGE_XDSD)
+            .where(this.matches(uri))
+            .and(SLF_JSONSTORAGE_XDSD.ETAG.eq(etag))
+            .fetchOne(SLF_JSONSTORAGE_XDSD.JSONBODY);
+    }
 
-                @Override
-                public JsonArray asJsonArray() {
-                    return Json.createReader(
-                        new StringReader(
-                            record.get(SLF_JSONSTORAGE_XDSD.JSONBODY)
-                        )
-                    ).readArray();
-                }
+    /**
+     * Read the current ETag and whole JSON body of a stored resource.
+     * @param uri URI of the resource.
+     * @return ETag and body or null if the resource is not stored.
+     */
+    Record2<String, String> current(final URI uri) {
+        return this.database.jooq()
+            .select(SLF_JSONSTORAGE_XDSD.ETAG, SLF_JSONSTORAGE_XDSD.JSONBODY)
+            .from(SLF_JSONSTORAGE_XDSD)
+            .where(this.matches(uri))
+            .fetchOne();
+    }
 
-                @Override
-                public String body() {
-                    return record.get(SLF_JSONSTORAGE_XDSD.JSONBODY);
-                }
+    @Override
+    public CachedResource storeResource(
+        final URI uri,
+        final Resource resource
+    ) {
+        if(SelfJsonStorage.cacheable(resource)) {
+            this.insert(uri, resource).execute();
+        }
+        return SelfJsonStorage.cached(uri, resource, LocalDateTime.now());
+    }
 
-                @Override
-                public Map<String, List<String>> headers() {
-                    return new HashMap<>();
-                }
+    @Override
+    public CachedResource updateResource(
+        final URI uri,
+        final Resource resource
+    ) {
+        if(SelfJsonStorage.cacheable(resource)) {
+            this.update(uri, resource).execute();
+        }
+        return SelfJsonStorage.cached(uri, resource, null);
+    }
 
-            };
+    /**
+     * Write the given resources in one JDBC batch. Resources which are not
+     * stored yet are inserted, the others are updated.
+     * @param inserts Resources to insert.
+     * @param updates Resources to update.
+     */
+    void writeAll(
+        final Map<URI, Resource> inserts,
+        final Map<URI, Resource> updates
+    ) {
+        final List<Query> queries = new ArrayList<>();
+        for(final Map.Entry<URI, Resource> insert : inserts.entrySet()) {
+            queries.add(this.upsert(insert.getKey(), insert.getValue()));
+        }
+        for(final Map.Entry<URI, Resource> update : updates.entrySet()) {
+            queries.add(this.update(update.getKey(), update.getValue()));
+        }
+        if(!queries.isEmpty()) {
+            this.database.jooq().batch(queries).execute();
         }
-        return null;
     }
 
+    /**
+     * Remove all the stored resources of a repository. They are deleted in
+     * batches, in order to avoid long-running statements and locks.
+     * @param repoFullName Full name of the repository (owner/name).
+     * @param provider Provider (github, gitlab etc).
+     * @return Number of removed resources.
+     */
     @Override
-    public CachedResource storeResource(
+    public int invalidate(final String repoFullName, final String provider) {
+        final String namespace = SelfJsonStorage.namespace(
+            repoFullName, provider
+        );
+        int total = 0;
+        int deleted;
+        do {
+            deleted = this.database.jooq()
+                .deleteFrom(SLF_JSONSTORAGE_XDSD)
+                .where(SLF_JSONSTORAGE_XDSD.NAMESPACE.eq(namespace))
+                .limit(DELETE_BATCH)
+                .execute();
+            total = total + deleted;
+        } while (deleted == DELETE_BATCH);
+        return total;
+    }
+
+    /**
+     * Namespace of the resource with the given URI. We recognize the URIs
+     * of Github and Gitlab repos (API or not); any other URI has no namespace.
+     * @param uri URI of the resource.
+     * @return Namespace or null if the URI doesn't belong to a repo.
+     */
+    static String namespace(final URI uri) {
+        final URI normalized = uri.normalize();
+        final String host = String.valueOf(normalized.getHost())
+            .toLowerCase(Locale.ROOT);
+        final String[] path = String.valueOf(normalized.getRawPath())
+            .split("/");
+        final String namespace;
+        if("api.github.com".equals(host) && path.length > 3
+            && "repos".equals(path[1])) {
+            namespace = SelfJsonStorage.namespace(
+                path[2] + "/" + path[3], Provider.Names.GITHUB
+            );
+        } else if("github.com".equals(host) && path.length > 2) {
+            namespace = SelfJsonStorage.namespace(
+                path[1] + "/" + path[2], Provider.Names.GITHUB
+            );
+        } else if("gitlab.com".equals(host) && path.length > 4
+            && "projects".equals(path[3])) {
+            namespace = SelfJsonStorage.namespace(
+                URLDecoder.decode(path[4], StandardCharsets.UTF_8),
+                Provider.Names.GITLAB
+            );
+        } else {
+            namespace = null;
+        }
+        return namespace;
+    }
+
+    /**
+     * Namespace of a repository's resources.
+     * @param repoFullName Full name of the repository (owner/name).
+     * @param provider Provider (github, gitlab etc).
+     * @return Namespace.
+     */
+    static String namespace(final String repoFullName, final String provider) {
+        return (provider + ":" + repoFullName).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Insert the given resource.
+     * @param uri URI of the resource.
+     * @param resource Resource.
+     * @return Insert query.
+     */
+    private InsertOnDuplicateStep<SlfJsonstorageXdsdRecord> insert(
         final URI uri,
         final Resource resource
     ) {
-        final String etag = resource.etag();
-        final String body = resource.body();
-        if(uri.toString().length() < 1024
-            && !etag.isBlank() && !body.isBlank()) {
-            this.database.jooq().insertInto(
+        return this.database.jooq().insertInto(
+            SLF_JSONSTORAGE_XDSD,
+            SLF_JSONSTORAGE_XDSD.URLHASH,
+            SLF_JSONSTORAGE_XDSD.URL,
+            SLF_JSONSTORAGE_XDSD.ETAG,
+            SLF_JSONSTORAGE_XDSD.JSONBODY,
+            SLF_JSONSTORAGE_XDSD.NAMESPACE
+        ).values(
+            SelfJsonStorage.hash(uri),
+            SelfJsonStorage.key(uri),
+            resource.etag(),
+            resource.body(),
+            SelfJsonStorage.namespace(uri)
+        );
+    }
+
+    /**
+     * Insert the given resource or update it if it is already stored. On
+     * MySql, this is an INSERT ... ON DUPLICATE KEY UPDATE, elsewhere (H2)
+     * it is a MERGE ... KEY (urlHash), since H2 does not understand the
+     * MySql syntax.
+     * @param uri URI of the resource.
+     * @param resource Resource.
+     * @return Upsert query.
+     */
+    private Query upsert(final URI uri, final Resource resource) {
+        final Query upsert;
+        if(this.database.dbms().equals(Database.Dbms.MY_SQL)) {
+            upsert = this.insert(uri, resource)
+                .onDuplicateKeyUpdate()
+                .set(SLF_JSONSTORAGE_XDSD.ETAG, resource.etag())
+                .set(SLF_JSONSTORAGE_XDSD.JSONBODY, resource.body());
+        } else {
+            upsert = this.database.jooq().query(
+                "MERGE INTO {0} ({1}) KEY ({2}) VALUES ({3})",
                 SLF_JSONSTORAGE_XDSD,
-                SLF_JSONSTORAGE_XDSD.URL,
-                SLF_JSONSTORAGE_XDSD.ETAG,
-                SLF_JSONSTORAGE_XDSD.JSONBODY
-            ).values(
-                uri.toString(),
-                etag,
-                body
-            ).execute();
+                DSL.list(
+                    DSL.name(SLF_JSONSTORAGE_XDSD.URLHASH.getName()),
+                    DSL.name(SLF_JSONSTORAGE_XDSD.URL.getName()),
+                    DSL.name(SLF_JSONSTORAGE_XDSD.ETAG.getName()),
+                    DSL.name(SLF_JSONSTORAGE_XDSD.JSONBODY.getName()),
+                    DSL.name(SLF_JSONSTORAGE_XDSD.NAMESPACE.getName())
+                ),
+                DSL.name(SLF_JSONSTORAGE_XDSD.URLHASH.getName()),
+                DSL.list(
+                    DSL.val(SelfJsonStorage.hash(uri)),
+                    DSL.val(SelfJsonStorage.key(uri)),
+                    DSL.val(resource.etag()),
+                    DSL.val(resource.body()),
+                    DSL.val(
+                        SelfJsonStorage.namespace(uri),
+                        SLF_JSONSTORAGE_XDSD.NAMESPACE
+                    )
+                )
+            );
         }
+        return upsert;
+    }
 
-        final LocalDateTime created = LocalDateTime.now();
+    /**
+     * Update the given resource.
+     * @param uri URI of the resource.
+     * @param resource Resource.
+     * @return Update query.
+     */
+    private Query update(final URI uri, final Resource resource) {
+        return this.database.jooq()
+            .update(SLF_JSONSTORAGE_XDSD)
+            .set(SLF_JSONSTORAGE_XDSD.ETAG, resource.etag())
+            .set(SLF_JSONSTORAGE_XDSD.JSONBODY, resource.body())
+            .where(this.matches(uri));
+    }
+
+    /**
+     * Should the given resource be cached? We don't cache resources
+     * without ETag or body.
+     * @param resource Resource.
+     * @return True or false.
+     */
+    static boolean cacheable(final Resource resource) {
+        return !resource.etag().isBlank() && !resource.body().isBlank();
+    }
+
+    /**
+     * CachedResource which was just written to the storage.
+     * @param uri URI of the resource.
+     * @param resource Written Resource.
+     * @param created Creation date.
+     * @return CachedResource.
+     */
+    static CachedResource cached(
+        final URI uri,
+        final Resource resource,
+        final LocalDateTime created
+    ) {
         return new CachedResource() {
             @Override
             public URI uri() {
@@ -201,62 +491,67 @@ public final class SelfJsonStorage implements JsonStorage {
         };
     }
 
-    @Override
-    public CachedResource updateResource(
-        final URI uri,
-        final Resource resource
-    ) {
-        final String etag = resource.etag();
-        final String body = resource.body();
-        if(uri.toString().length() < 1024
-            && !etag.isBlank() && !body.isBlank()) {
-            this.database.jooq()
-                .update(SLF_JSONSTORAGE_XDSD)
-                .set(SLF_JSONSTORAGE_XDSD.ETAG, etag)
-                .set(SLF_JSONSTORAGE_XDSD.JSONBODY, body)
-                .where(SLF_JSONSTORAGE_XDSD.URL.eq(uri.toString()))
-                .execute();
-        }
-        return new CachedResource() {
-            @Override
-            public URI uri() {
-                return uri;
-            }
-
-            @Override
-            public String etag() {
-                return resource.etag();
-            }
-
-            @Override
-            public LocalDateTime creationDate() {
-                return null;
-            }
+    /**
+     * Condition matching the stored resource with the given URI. The lookup
+     * is done by the hash (primary key), while the URI comparison protects
+     * us against hash collisions.
+     * @param uri URI of the resource.
+     * @return Condition.
+     */
+    private Condition matches(final URI uri) {
+        return SLF_JSONSTORAGE_XDSD.URLHASH.eq(SelfJsonStorage.hash(uri))
+            .and(SLF_JSONSTORAGE_XDSD.URL.eq(SelfJsonStorage.key(uri)));
+    }
 
-            @Override
-            public int statusCode() {
-                return resource.statusCode();
+    /**
+     * The form under which the given URI is stored: normalized, with the
+     * scheme and host lower-cased, since they are case-insensitive. This way,
+     * equivalent URIs point to the same stored resource.
+     * @param uri URI.
+     * @return Normalized URI, as String.
+     */
+    static String key(final URI uri) {
+        final URI normalized = uri.normalize();
+        final String key;
+        if(normalized.getScheme() == null || normalized.getHost() == null) {
+            key = normalized.toString();
+        } else {
+            final StringBuilder built = new StringBuilder()
+                .append(normalized.getScheme().toLowerCase(Locale.ROOT))
+                .append("://");
+            if(normalized.getRawUserInfo() != null) {
+                built.append(normalized.getRawUserInfo()).append('@');
             }
-
-            @Override
-            public JsonObject asJsonObject() {
-                return resource.asJsonObject();
+            built.append(normalized.getHost().toLowerCase(Locale.ROOT));
+            if(normalized.getPort() != -1) {
+                built.append(':').append(normalized.getPort());
             }
-
-            @Override
-            public JsonArray asJsonArray() {
-                return resource.asJsonArray();
+            built.append(normalized.getRawPath());
+            if(normalized.getRawQuery() != null) {
+                built.append('?').append(normalized.getRawQuery());
             }
-
-            @Override
-            public String body() {
-                return resource.body();
+            if(normalized.getRawFragment() != null) {
+                built.append('#').append(normalized.getRawFragment());
             }
+            key = built.toString();
+        }
+        return key;
+    }
 
-            @Override
-            public Map<String, List<String>> headers() {
-                return resource.headers();
-            }
-        };
+    /**
+     * SHA-256 hash of the given URI, in its normalized form.
+     * @param uri URI.
+     * @return The 32 bytes hash.
+     */
+    static byte[] hash(final URI uri) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(
+                SelfJsonStorage.key(uri).getBytes(StandardCharsets.UTF_8)
+            );
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(
+                "SHA-256 is not available, cannot hash URI " + uri, ex
+            );
+        }
     }
 }
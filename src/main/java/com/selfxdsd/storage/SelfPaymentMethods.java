@@ -29,7 +29,6 @@ import com.selfxdsd.api.Wallet;
 import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.projects.StripePaymentMethod;
 import com.selfxdsd.core.projects.WalletPaymentMethods;
-import org.jooq.DSLContext;
 import org.jooq.Record;
 import org.jooq.Result;
 
@@ -152,9 +151,12 @@ public final class SelfPaymentMethods implements PaymentMethods {
     public PaymentMethods ofWallet(final Wallet wallet) {
         final List<PaymentMethod> ofWallet = new ArrayList<>();
         final Project project = wallet.project();
-        final Result<Record> result = this.database
+        final Result<? extends Record> result = this.database
             .jooq()
-            .select()
+            .select(
+                SLF_PAYMENTMETHODS_XDSD.IDENTIFIER,
+                SLF_PAYMENTMETHODS_XDSD.ACTIVE
+            )
             .from(SLF_PAYMENTMETHODS_XDSD)
             .where(
                 SLF_PAYMENTMETHODS_XDSD.PROVIDER.eq(project.provider()).and(
@@ -169,7 +171,7 @@ public final class SelfPaymentMethods implements PaymentMethods {
                     this.storage,
                     rec.getValue(SLF_PAYMENTMETHODS_XDSD.IDENTIFIER),
                     wallet,
-                    rec.getValue(SLF_WALLETS_XDSD.ACTIVE)
+                    rec.getValue(SLF_PAYMENTMETHODS_XDSD.ACTIVE)
                 )
             );
         }
@@ -192,44 +194,16 @@ public final class SelfPaymentMethods implements PaymentMethods {
     public PaymentMethod activate(final PaymentMethod paymentMethod) {
         final Wallet wallet = paymentMethod.wallet();
         final Project project = wallet.project();
-        final DSLContext jooq = this.database.jooq();
-        jooq.transaction(
-            (configuration) -> {
-                jooq.update(SLF_PAYMENTMETHODS_XDSD)
-                    .set(SLF_PAYMENTMETHODS_XDSD.ACTIVE, Boolean.FALSE)
-                    .where(
-                        SLF_PAYMENTMETHODS_XDSD.REPO_FULLNAME.eq(
-                            project.repoFullName()
-                        ).and(
-                            SLF_PAYMENTMETHODS_XDSD.PROVIDER.eq(
-                                project.provider()
-                            ).and(
-                                SLF_PAYMENTMETHODS_XDSD.TYPE.eq(wallet.type())
-                            )
-                        ).and(
-                            SLF_PAYMENTMETHODS_XDSD.IDENTIFIER.notEqual(
-                                paymentMethod.identifier()
-                            )
-                        )
-                    ).execute();
-                jooq.update(SLF_PAYMENTMETHODS_XDSD)
-                    .set(SLF_PAYMENTMETHODS_XDSD.ACTIVE, Boolean.TRUE)
-                    .where(
-                        SLF_PAYMENTMETHODS_XDSD.REPO_FULLNAME.eq(
-                            project.repoFullName()
-                        ).and(
-                            SLF_PAYMENTMETHODS_XDSD.PROVIDER.eq(
-                                project.provider()
-                            ).and(
-                                SLF_PAYMENTMETHODS_XDSD.TYPE.eq(wallet.type())
-                            )
-                        ).and(
-                            SLF_PAYMENTMETHODS_XDSD.IDENTIFIER.eq(
-                                paymentMethod.identifier()
-                            )
-                        )
-                    ).execute();
-            }
+        new Activation(
+            SLF_PAYMENTMETHODS_XDSD, SLF_PAYMENTMETHODS_XDSD.ACTIVE
+        ).activate(
+            this.database.jooq(),
+            SLF_PAYMENTMETHODS_XDSD.REPO_FULLNAME.eq(
+                project.repoFullName()
+            ).and(
+                SLF_PAYMENTMETHODS_XDSD.PROVIDER.eq(project.provider())
+            ).and(SLF_PAYMENTMETHODS_XDSD.TYPE.eq(wallet.type())),
+            SLF_PAYMENTMETHODS_XDSD.IDENTIFIER.eq(paymentMethod.identifier())
         );
         return new PaymentMethod() {
             @Override
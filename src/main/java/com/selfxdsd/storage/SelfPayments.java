@@ -28,11 +28,26 @@ import com.selfxdsd.api.Payments;
 import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.contracts.invoices.InvoicePayments;
 import com.selfxdsd.core.contracts.invoices.StoredPayment;
+import com.selfxdsd.storage.generated.jooq.tables.records.SlfPaymentsXdsdRecord;
+import org.jooq.BatchBindStep;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.InsertValuesStep6;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.SelectSeekStep3;
+import org.jooq.impl.DSL;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_INVOICES_XDSD;
 import static com.selfxdsd.storage.generated.jooq.Tables.SLF_PAYMENTS_XDSD;
 
 /**
@@ -43,6 +58,16 @@ import static com.selfxdsd.storage.generated.jooq.Tables.SLF_PAYMENTS_XDSD;
  */
 public final class SelfPayments implements Payments {
 
+    /**
+     * Size of the pages read by the scans.
+     */
+    private static final int PAGE_SIZE = 100;
+
+    /**
+     * Max number of Payments registered with one JDBC batch.
+     */
+    private static final int BATCH_SIZE = 1000;
+
     /**
      * Parent Storage.
      */
@@ -75,22 +100,36 @@ public final class SelfPayments implements Payments {
         final String status,
         final String failReason
     ) {
-        final int inserted = this.database.jooq().insertInto(
-            SLF_PAYMENTS_XDSD,
-            SLF_PAYMENTS_XDSD.INVOICEID,
-            SLF_PAYMENTS_XDSD.TRANSACTIONID,
-            SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP,
-            SLF_PAYMENTS_XDSD.VALUE,
-            SLF_PAYMENTS_XDSD.STATUS,
-            SLF_PAYMENTS_XDSD.FAILREASON
-        ).values(
-            invoice.invoiceId(),
-            transactionId,
-            timestamp,
-            value.toBigIntegerExact(),
-            status,
-            failReason
-        ).execute();
+        final int inserted = this.database.jooq().transactionResult(
+            configuration -> {
+                final DSLContext jooq = DSL.using(configuration);
+                final int rows = jooq.insertInto(
+                    SLF_PAYMENTS_XDSD,
+                    SLF_PAYMENTS_XDSD.INVOICEID,
+                    SLF_PAYMENTS_XDSD.TRANSACTIONID,
+                    SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP,
+                    SLF_PAYMENTS_XDSD.VALUE,
+                    SLF_PAYMENTS_XDSD.STATUS,
+                    SLF_PAYMENTS_XDSD.FAILREASON
+                ).values(
+                    invoice.invoiceId(),
+                    transactionId,
+                    timestamp,
+                    value.longValueExact(),
+                    status,
+                    failReason
+                ).execute();
+                new Registration(
+                    invoice.invoiceId(),
+                    transactionId,
+                    timestamp,
+                    value,
+                    status,
+                    failReason
+                ).pointLatest(jooq).execute();
+                return rows;
+            }
+        );
         if(inserted != 1) {
             throw new IllegalStateException(
                 "Something went wrong while trying to register "
@@ -109,12 +148,57 @@ public final class SelfPayments implements Payments {
         }
     }
 
+    /**
+     * Register many Payments (e.g. when replaying the payment processor's
+     * events), in JDBC batches. It is idempotent: a Payment which is
+     * already stored (same invoice, transaction id and timestamp) is
+     * skipped, not duplicated and not failing the others. Each batch is
+     * written in one transaction, together with the latest Payment pointers
+     * of the paid Invoices.<br><br>
+     * Each batch first reads which of its Payments are already stored.
+     * The others (each only once) are inserted with one bind-value batch
+     * of INSERT IGNORE (INSERT ... WHERE NOT EXISTS on H2), so a Payment
+     * registered concurrently by someone else is skipped rather than
+     * overwritten or rolling the batch back, and only they move the latest
+     * Payment pointers. The read takes no locks, so it cannot deadlock
+     * with a concurrent batch on the gaps of the primary key. The outcomes
+     * come from that read, not from the update counts of the driver.
+     * @param payments Payments to register.
+     * @return For each given Payment, in the same order: true if it was
+     *  registered, false if it was already stored.
+     */
+    public boolean[] registerAll(final List<Registration> payments) {
+        final boolean[] registered = new boolean[payments.size()];
+        final Set<List<Object>> seen = new HashSet<>();
+        for (int start = 0; start < payments.size(); start += BATCH_SIZE) {
+            final List<Registration> batch = payments.subList(
+                start, Math.min(start + BATCH_SIZE, payments.size())
+            );
+            final boolean[] outcomes = this.database.jooq()
+                .transactionResult(
+                    configuration -> this.registerBatch(
+                        DSL.using(configuration), batch, seen
+                    )
+                );
+            System.arraycopy(
+                outcomes, 0, registered, start, outcomes.length
+            );
+        }
+        return registered;
+    }
+
     @Override
     public Payments ofInvoice(final Invoice invoice) {
         return new InvoicePayments(
             invoice,
             () -> SelfPayments.this.database.jooq()
-                .select()
+                .select(
+                    SLF_PAYMENTS_XDSD.TRANSACTIONID,
+                    SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP,
+                    SLF_PAYMENTS_XDSD.VALUE,
+                    SLF_PAYMENTS_XDSD.STATUS,
+                    SLF_PAYMENTS_XDSD.FAILREASON
+                )
                 .from(SLF_PAYMENTS_XDSD)
                 .where(SLF_PAYMENTS_XDSD.INVOICEID.eq(invoice.invoiceId()))
                 .stream()
@@ -135,6 +219,61 @@ public final class SelfPayments implements Payments {
         );
     }
 
+    /**
+     * The Payments made in the given period, e.g. for reconciling them with
+     * the payouts of the payment processor. See
+     * {@link #between(LocalDateTime, LocalDateTime, String)}.
+     * @param from Start of the period (inclusive).
+     * @param until End of the period (exclusive).
+     * @return Payments ordered by time.
+     */
+    public Iterable<Payment> between(
+        final LocalDateTime from,
+        final LocalDateTime until
+    ) {
+        return this.between(from, until, null);
+    }
+
+    /**
+     * The Payments with the given status, made in the given period. They
+     * are read page by page, ordered by time, with keyset pagination: each
+     * page seeks on the payment_timestamp index (which also holds the
+     * primary key), so the whole scan is one index range scan and only one
+     * page is kept in memory.
+     * @param from Start of the period (inclusive).
+     * @param until End of the period (exclusive).
+     * @param status Status of the Payments or null for any status.
+     * @return Payments ordered by time.
+     */
+    public Iterable<Payment> between(
+        final LocalDateTime from,
+        final LocalDateTime until,
+        final String status
+    ) {
+        Condition filter = SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP.ge(from).and(
+            SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP.lt(until)
+        );
+        if (status != null) {
+            filter = filter.and(SLF_PAYMENTS_XDSD.STATUS.eq(status));
+        }
+        final Condition period = filter;
+        return () -> new KeysetIterator<>(
+            SelfPayments.PAGE_SIZE,
+            last -> this.paymentsPage(period, last),
+            rows -> rows.stream().map(
+                rec -> (Payment) new StoredPayment(
+                    rec.get(SLF_PAYMENTS_XDSD.INVOICEID),
+                    rec.get(SLF_PAYMENTS_XDSD.TRANSACTIONID),
+                    rec.get(SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP),
+                    BigDecimal.valueOf(rec.get(SLF_PAYMENTS_XDSD.VALUE)),
+                    rec.get(SLF_PAYMENTS_XDSD.STATUS),
+                    rec.get(SLF_PAYMENTS_XDSD.FAILREASON),
+                    this.storage
+                )
+            ).collect(Collectors.toList())
+        );
+    }
+
     @Override
     public Iterator<Payment> iterator() {
         throw new UnsupportedOperationException(
@@ -142,4 +281,371 @@ public final class SelfPayments implements Payments {
         );
     }
 
+    /**
+     * Read the page of Payments which comes after the given row.
+     * @param filter Condition on the payments.
+     * @param last Last row of the previous page or null for the first page.
+     * @return Rows of the Payments.
+     */
+    private List<? extends Record> paymentsPage(
+        final Condition filter,
+        final Record last
+    ) {
+        final SelectSeekStep3<?, LocalDateTime, Integer, String> ordered =
+            this.database.jooq()
+                .select(
+                    SLF_PAYMENTS_XDSD.INVOICEID,
+                    SLF_PAYMENTS_XDSD.TRANSACTIONID,
+                    SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP,
+                    SLF_PAYMENTS_XDSD.VALUE,
+                    SLF_PAYMENTS_XDSD.STATUS,
+                    SLF_PAYMENTS_XDSD.FAILREASON
+                )
+                .from(SLF_PAYMENTS_XDSD)
+                .where(filter)
+                .orderBy(
+                    SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP,
+                    SLF_PAYMENTS_XDSD.INVOICEID,
+                    SLF_PAYMENTS_XDSD.TRANSACTIONID
+                );
+        final List<? extends Record> page;
+        if (last == null) {
+            page = ordered.limit(SelfPayments.PAGE_SIZE).fetch();
+        } else {
+            page = ordered.seek(
+                last.get(SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP),
+                last.get(SLF_PAYMENTS_XDSD.INVOICEID),
+                last.get(SLF_PAYMENTS_XDSD.TRANSACTIONID)
+            ).limit(SelfPayments.PAGE_SIZE).fetch();
+        }
+        return page;
+    }
+
+    /**
+     * Write one batch of {@link #registerAll(List)}, in the given
+     * transaction.
+     * @param jooq DSLContext of the transaction.
+     * @param batch Payments to register.
+     * @param seen Keys of the Payments registered by the previous batches.
+     * @return For each given Payment: true if it is inserted, false if it
+     *  is already stored or registered earlier in the same call.
+     */
+    private boolean[] registerBatch(
+        final DSLContext jooq,
+        final List<Registration> batch,
+        final Set<List<Object>> seen
+    ) {
+        final Set<List<Object>> stored = jooq.select(
+            SLF_PAYMENTS_XDSD.INVOICEID,
+            SLF_PAYMENTS_XDSD.TRANSACTIONID,
+            SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP
+        ).from(SLF_PAYMENTS_XDSD).where(
+            DSL.row(
+                SLF_PAYMENTS_XDSD.INVOICEID,
+                SLF_PAYMENTS_XDSD.TRANSACTIONID,
+                SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP
+            ).in(
+                batch.stream().map(
+                    payment -> DSL.row(
+                        payment.invoiceId,
+                        payment.transactionId,
+                        payment.timestamp
+                    )
+                ).collect(Collectors.toList())
+            )
+        ).fetch(
+            rec -> List.<Object>of(
+                rec.get(SLF_PAYMENTS_XDSD.INVOICEID),
+                rec.get(SLF_PAYMENTS_XDSD.TRANSACTIONID),
+                rec.get(SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP)
+            )
+        ).stream().collect(Collectors.toSet());
+        final boolean mysql = Database.Dbms.MY_SQL.equals(
+            this.database.dbms()
+        );
+        final boolean[] inserted = new boolean[batch.size()];
+        BatchBindStep inserts = jooq.batch(this.insertIgnore(jooq));
+        BatchBindStep latest = jooq.batch(Registration.latestUpdate(jooq));
+        for (int idx = 0; idx < batch.size(); ++idx) {
+            final Registration payment = batch.get(idx);
+            final List<Object> key = payment.key();
+            inserted[idx] = !stored.contains(key) && seen.add(key);
+            if (inserted[idx]) {
+                if (mysql) {
+                    inserts = inserts.bind(payment.inserted());
+                } else {
+                    inserts = inserts.bind(payment.insertedUnlessStored());
+                }
+                latest = latest.bind(payment.latest());
+            }
+        }
+        if (inserts.size() > 0) {
+            inserts.execute();
+            latest.execute();
+        }
+        return inserted;
+    }
+
+    /**
+     * INSERT of a Payment which inserts nothing if the Payment is already
+     * stored: INSERT IGNORE on MySql, with bind values in the order of
+     * {@link Registration#inserted()}, INSERT ... WHERE NOT EXISTS on
+     * H2, with bind values in the order of
+     * {@link Registration#insertedUnlessStored()}.
+     * @param jooq DSLContext.
+     * @return Query.
+     */
+    private Query insertIgnore(final DSLContext jooq) {
+        final Field<Integer> invoiceId = DSL.val(
+            null, SLF_PAYMENTS_XDSD.INVOICEID
+        );
+        final Field<String> transactionId = DSL.val(
+            null, SLF_PAYMENTS_XDSD.TRANSACTIONID
+        );
+        final Field<LocalDateTime> timestamp = DSL.val(
+            null, SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP
+        );
+        final Field<Long> value = DSL.val(null, SLF_PAYMENTS_XDSD.VALUE);
+        final Field<String> status = DSL.val(null, SLF_PAYMENTS_XDSD.STATUS);
+        final Field<String> failReason = DSL.val(
+            null, SLF_PAYMENTS_XDSD.FAILREASON
+        );
+        final InsertValuesStep6<SlfPaymentsXdsdRecord, Integer, String,
+            LocalDateTime, Long, String, String> insert = jooq.insertInto(
+                SLF_PAYMENTS_XDSD,
+                SLF_PAYMENTS_XDSD.INVOICEID,
+                SLF_PAYMENTS_XDSD.TRANSACTIONID,
+                SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP,
+                SLF_PAYMENTS_XDSD.VALUE,
+                SLF_PAYMENTS_XDSD.STATUS,
+                SLF_PAYMENTS_XDSD.FAILREASON
+            );
+        final Query ignore;
+        if (Database.Dbms.MY_SQL.equals(this.database.dbms())) {
+            ignore = insert.values(
+                invoiceId, transactionId, timestamp, value, status, failReason
+            ).onDuplicateKeyIgnore();
+        } else {
+            ignore = insert.select(
+                DSL.select(
+                    invoiceId, transactionId, timestamp,
+                    value, status, failReason
+                ).whereNotExists(
+                    DSL.selectOne().from(SLF_PAYMENTS_XDSD).where(
+                        SLF_PAYMENTS_XDSD.INVOICEID.eq(
+                            DSL.val(null, SLF_PAYMENTS_XDSD.INVOICEID)
+                        )
+                    ).and(
+                        SLF_PAYMENTS_XDSD.TRANSACTIONID.eq(
+                            DSL.val(null, SLF_PAYMENTS_XDSD.TRANSACTIONID)
+                        )
+                    ).and(
+                        SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP.eq(
+                            DSL.val(null, SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP)
+                        )
+                    )
+                )
+            );
+        }
+        return ignore;
+    }
+
+    /**
+     * A Payment to register with {@link #registerAll(List)}.
+     */
+    public static final class Registration {
+
+        /**
+         * Id of the paid Invoice.
+         */
+        private final int invoiceId;
+
+        /**
+         * Transaction id.
+         */
+        private final String transactionId;
+
+        /**
+         * Time of the Payment.
+         */
+        private final LocalDateTime timestamp;
+
+        /**
+         * Value of the Payment.
+         */
+        private final BigDecimal value;
+
+        /**
+         * Status of the Payment.
+         */
+        private final String status;
+
+        /**
+         * Reason of the failure, if it failed.
+         */
+        private final String failReason;
+
+        /**
+         * Ctor.
+         * @param invoiceId Id of the paid Invoice.
+         * @param transactionId Transaction id.
+         * @param timestamp Time of the Payment.
+         * @param value Value of the Payment.
+         * @param status Status of the Payment.
+         * @param failReason Reason of the failure, if it failed.
+         */
+        public Registration(
+            final int invoiceId,
+            final String transactionId,
+            final LocalDateTime timestamp,
+            final BigDecimal value,
+            final String status,
+            final String failReason
+        ) {
+            this.invoiceId = invoiceId;
+            this.transactionId = transactionId;
+            this.timestamp = timestamp;
+            this.value = value;
+            this.status = status;
+            this.failReason = failReason;
+        }
+
+        /**
+         * Key of this Payment in the payments table.
+         * @return Invoice id, transaction id and timestamp.
+         */
+        private List<Object> key() {
+            return List.of(this.invoiceId, this.transactionId, this.timestamp);
+        }
+
+        /**
+         * Bind values of {@link SelfPayments#insertIgnore(DSLContext)} on
+         * MySql.
+         * @return Values of this Payment's columns.
+         */
+        private Object[] inserted() {
+            return new Object[] {
+                this.invoiceId,
+                this.transactionId,
+                this.timestamp,
+                this.value.longValueExact(),
+                this.status,
+                this.failReason,
+            };
+        }
+
+        /**
+         * Bind values of {@link SelfPayments#insertIgnore(DSLContext)} on
+         * H2.
+         * @return Values of this Payment's columns, then its key.
+         */
+        private Object[] insertedUnlessStored() {
+            return new Object[] {
+                this.invoiceId,
+                this.transactionId,
+                this.timestamp,
+                this.value.longValueExact(),
+                this.status,
+                this.failReason,
+                this.invoiceId,
+                this.transactionId,
+                this.timestamp,
+            };
+        }
+
+        /**
+         * Bind values of {@link #pointLatest(DSLContext)}.
+         * @return Values of this Payment, the paid Invoice's id, then the
+         *  timestamp and transaction id this Payment is compared by.
+         */
+        private Object[] latest() {
+            return new Object[] {
+                this.transactionId,
+                this.timestamp,
+                this.value.longValueExact(),
+                this.status,
+                this.failReason,
+                this.invoiceId,
+                this.timestamp,
+                this.timestamp,
+                this.transactionId,
+            };
+        }
+
+        /**
+         * UPDATE of the paid Invoice's latest Payment columns, which
+         * points them to this Payment unless the Invoice already has a
+         * later one: by timestamp, then by transaction id, so an Invoice
+         * with Payments at the same time points to the same one whatever
+         * the order they are registered in. It has to run in the
+         * transaction which stores the Payment, so the Invoices can be
+         * read without the payments table.
+         * @param jooq DSLContext.
+         * @return Query.
+         */
+        Query pointLatest(final DSLContext jooq) {
+            final Query update = Registration.latestUpdate(jooq);
+            final Object[] values = this.latest();
+            for (int idx = 0; idx < values.length; ++idx) {
+                update.bind(idx + 1, values[idx]);
+            }
+            return update;
+        }
+
+        /**
+         * The UPDATE of {@link #pointLatest(DSLContext)}, with bind values
+         * in the order of {@link #latest()}.
+         * @param jooq DSLContext.
+         * @return Query.
+         */
+        private static Query latestUpdate(final DSLContext jooq) {
+            return jooq.update(SLF_INVOICES_XDSD)
+                .set(
+                    SLF_INVOICES_XDSD.LATESTTRANSACTIONID,
+                    DSL.val(null, SLF_INVOICES_XDSD.LATESTTRANSACTIONID)
+                )
+                .set(
+                    SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP,
+                    DSL.val(null, SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP)
+                )
+                .set(
+                    SLF_INVOICES_XDSD.LATESTVALUE,
+                    DSL.val(null, SLF_INVOICES_XDSD.LATESTVALUE)
+                )
+                .set(
+                    SLF_INVOICES_XDSD.LATESTSTATUS,
+                    DSL.val(null, SLF_INVOICES_XDSD.LATESTSTATUS)
+                )
+                .set(
+                    SLF_INVOICES_XDSD.LATESTFAILREASON,
+                    DSL.val(null, SLF_INVOICES_XDSD.LATESTFAILREASON)
+                )
+                .where(
+                    SLF_INVOICES_XDSD.INVOICEID.eq(
+                        DSL.val(null, SLF_INVOICES_XDSD.INVOICEID)
+                    )
+                )
+                .and(
+                    SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP.isNull().or(
+                        SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP.lt(
+                            DSL.val(
+                                null, SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP
+                            )
+                        )
+                    ).or(
+                        SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP.eq(
+                            DSL.val(
+                                null, SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP
+                            )
+                        ).and(
+                            SLF_INVOICES_XDSD.LATESTTRANSACTIONID.le(
+                                DSL.val(
+                                    null, SLF_INVOICES_XDSD.LATESTTRANSACTIONID
+                                )
+                            )
+                        )
+                    )
+                );
+        }
+    }
 }
@@ -126,9 +126,12 @@ public final class SelfPayoutMethods implements PayoutMethods {
         final Contributor contributor
     ) {
         final List<PayoutMethod> ofCountributor = new ArrayList<>();
-        final Result<Record> result = this.database
+        final Result<? extends Record> result = this.database
             .jooq()
-            .select()
+            .select(
+                SLF_PAYOUTMETHODS_XDSD.TYPE,
+                SLF_PAYOUTMETHODS_XDSD.IDENTIFIER
+            )
             .from(SLF_PAYOUTMETHODS_XDSD)
             .where(
                 SLF_PAYOUTMETHODS_XDSD.USERNAME.eq(contributor.username()).and(
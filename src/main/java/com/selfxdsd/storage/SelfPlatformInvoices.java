@@ -30,6 +30,7 @@ import com.selfxdsd.core.StoredPlatformInvoice;
 import org.jooq.DSLContext;
 import org.jooq.Record;
 import org.jooq.Result;
+import org.jooq.SelectJoinStep;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -90,9 +91,9 @@ public final class SelfPlatformInvoices
 
     @Override
     public PlatformInvoice getById(final int id) {
-        final Result<Record> result = this.database.jooq()
-            .select()
-            .from(SLF_PLATFORMINVOICES_XDSD)
+        final Result<? extends Record> result = selectPlatformInvoices(
+            this.database.jooq()
+        )
             .where(SLF_PLATFORMINVOICES_XDSD.ID.eq(id))
             .fetch();
         final PlatformInvoice found;
@@ -109,9 +110,9 @@ public final class SelfPlatformInvoices
         final String transactionId,
         final LocalDateTime paymentTime
     ) {
-        final Result<Record> result = this.database.jooq()
-            .select()
-            .from(SLF_PLATFORMINVOICES_XDSD)
+        final Result<? extends Record> result = selectPlatformInvoices(
+            this.database.jooq()
+        )
             .where(
                 SLF_PLATFORMINVOICES_XDSD.TRANSACTIONID.eq(transactionId)
             ).and(
@@ -129,20 +130,38 @@ public final class SelfPlatformInvoices
     @Override
     public Iterator<PlatformInvoice> iterator() {
         final Page page = super.current();
-        final DSLContext jooq = this.database.jooq();
-        return jooq
-            .select()
-            .from(
-                jooq.select()
-                    .from(SLF_PLATFORMINVOICES_XDSD)
-                    .limit(page.getSize())
-                    .offset((page.getNumber() - 1) * page.getSize())
-                    .asTable("platforminvoices_page")
-            ).stream()
+        return selectPlatformInvoices(this.database.jooq())
+            .limit(page.getSize())
+            .offset((page.getNumber() - 1) * page.getSize())
+            .stream()
             .map(rec -> buildFromRecord(rec))
             .iterator();
     }
 
+    /**
+     * Select the PlatformInvoices. Only the columns read by
+     * {@link #buildFromRecord(Record)} are selected.
+     * @param jooq DSLContext of a connected Database.
+     * @return JOOQ SELECT, to which we will apply the WHERE clause.
+     */
+    private static SelectJoinStep<? extends Record> selectPlatformInvoices(
+        final DSLContext jooq
+    ) {
+        return jooq
+            .select(
+                SLF_PLATFORMINVOICES_XDSD.ID,
+                SLF_PLATFORMINVOICES_XDSD.CREATEDAT,
+                SLF_PLATFORMINVOICES_XDSD.BILLEDTO,
+                SLF_PLATFORMINVOICES_XDSD.COMMISSION,
+                SLF_PLATFORMINVOICES_XDSD.VAT,
+                SLF_PLATFORMINVOICES_XDSD.TRANSACTIONID,
+                SLF_PLATFORMINVOICES_XDSD.PAYMENT_TIMESTAMP,
+                SLF_PLATFORMINVOICES_XDSD.INVOICEID,
+                SLF_PLATFORMINVOICES_XDSD.EURTORON
+            )
+            .from(SLF_PLATFORMINVOICES_XDSD);
+    }
+
     /**
      * Build a PlatformInvoice from a JOOQ Record.
      * @param record JOOQ Record.
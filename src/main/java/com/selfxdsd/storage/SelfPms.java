@@ -26,8 +26,10 @@ import com.selfxdsd.api.ProjectManager;
 import com.selfxdsd.api.ProjectManagers;
 import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.managers.StoredProjectManager;
+import org.jooq.DSLContext;
 import org.jooq.Record;
 import org.jooq.Result;
+import org.jooq.SelectJoinStep;
 
 import java.util.Iterator;
 import java.util.stream.Collectors;
@@ -66,9 +68,7 @@ public final class SelfPms implements ProjectManagers {
 
     @Override
     public ProjectManager getById(final int projectManagerId) {
-        final Result<Record> result = this.database.jooq()
-            .select()
-            .from(SLF_PMS_XDSD)
+        final Result<? extends Record> result = selectPms(this.database.jooq())
             .where(SLF_PMS_XDSD.ID.eq(projectManagerId))
             .fetch();
         if(result.size() > 0) {
@@ -82,9 +82,7 @@ public final class SelfPms implements ProjectManagers {
         final String username,
         final String provider
     ) {
-        final Result<Record> result = this.database.jooq()
-            .select()
-            .from(SLF_PMS_XDSD)
+        final Result<? extends Record> result = selectPms(this.database.jooq())
             .where(
                 SLF_PMS_XDSD.USERNAME.eq(username).and(
                     SLF_PMS_XDSD.PROVIDER.eq(provider)
@@ -98,9 +96,7 @@ public final class SelfPms implements ProjectManagers {
 
     @Override
     public ProjectManager pick(final String provider) {
-        final Result<Record> result = this.database.jooq()
-            .select()
-            .from(SLF_PMS_XDSD)
+        final Result<? extends Record> result = selectPms(this.database.jooq())
             .where(SLF_PMS_XDSD.PROVIDER.eq(provider))
             .limit(1)
             .fetch();
@@ -158,9 +154,7 @@ public final class SelfPms implements ProjectManagers {
         return PagedIterator.create(
             100,
             maxRecords,
-            (offset, size) -> this.database.jooq()
-                .select()
-                .from(SLF_PMS_XDSD)
+            (offset, size) -> selectPms(this.database.jooq())
                 .limit(size)
                 .offset(offset)
                 .fetch()
@@ -170,6 +164,28 @@ public final class SelfPms implements ProjectManagers {
         );
     }
 
+    /**
+     * Select the PMs. Only the columns read by
+     * {@link #buildProjectManager(Record)} are selected.
+     * @param jooq DSLContext of a connected Database.
+     * @return JOOQ SELECT, to which we will apply the WHERE clause.
+     */
+    private static SelectJoinStep<? extends Record> selectPms(
+        final DSLContext jooq
+    ) {
+        return jooq
+            .select(
+                SLF_PMS_XDSD.ID,
+                SLF_PMS_XDSD.USERID,
+                SLF_PMS_XDSD.USERNAME,
+                SLF_PMS_XDSD.PROVIDER,
+                SLF_PMS_XDSD.ACCESS_TOKEN,
+                SLF_PMS_XDSD.COMMISSION,
+                SLF_PMS_XDSD.CONTRIBUTORCOMMISSION
+            )
+            .from(SLF_PMS_XDSD);
+    }
+
     /**
      * Builds a PM from a {@link Record}.
      * @param record Record.
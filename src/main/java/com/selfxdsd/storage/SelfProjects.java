@@ -24,6 +24,7 @@ package com.selfxdsd.storage;
 
 import com.selfxdsd.api.*;
 import com.selfxdsd.api.User;
+import com.selfxdsd.api.storage.JsonStorage;
 import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.BasePaged;
 import com.selfxdsd.core.StoredUser;
@@ -34,7 +35,10 @@ import com.selfxdsd.core.projects.UserProjects;
 import org.jooq.*;
 import org.jooq.impl.DSL;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 import static com.selfxdsd.storage.generated.jooq.tables.SlfPmsXdsd.SLF_PMS_XDSD;
 import static com.selfxdsd.storage.generated.jooq.tables.SlfProjectsXdsd.SLF_PROJECTS_XDSD;
@@ -130,13 +134,8 @@ public final class SelfProjects extends BasePaged implements Projects {
         final DSLContext jooq = this.database.connect().jooq();
         return new PmProjects(
             projectManagerId,
-            () -> this.database.connect().jooq()
-                .select()
-                .from(jooq.select()
-                    .from(SLF_PROJECTS_XDSD)
-                    .limit(page.getSize())
-                    .offset((page.getNumber() - 1) * page.getSize())
-                    .asTable("projects_page"))
+            () -> selectProjects(this.database.connect().jooq(), true)
+                .from(projectsPage(jooq, page))
                 .join(SLF_USERS_XDSD)
                 .on(SLF_USERS_XDSD.USERNAME
                     .eq(DSL.field("projects_page.username")
@@ -159,13 +158,8 @@ public final class SelfProjects extends BasePaged implements Projects {
         final DSLContext jooq = this.database.connect().jooq();
         return new UserProjects(
             user,
-            () -> jooq
-                .select()
-                .from(jooq.select()
-                    .from(SLF_PROJECTS_XDSD)
-                    .limit(page.getSize())
-                    .offset((page.getNumber() - 1) * page.getSize())
-                    .asTable("projects_page"))
+            () -> selectProjects(jooq, true)
+                .from(projectsPage(jooq, page))
                 .join(SLF_USERS_XDSD)
                 .on(SLF_USERS_XDSD.USERNAME
                     .eq(DSL.field("projects_page.username")
@@ -191,19 +185,9 @@ public final class SelfProjects extends BasePaged implements Projects {
         final String repoProvider
     ) {
         final Page page = super.current();
-        final SelectOnConditionStep<Record> select = this.database.jooq()
-                .select()
-                .from(SLF_PROJECTS_XDSD)
-                .join(SLF_USERS_XDSD)
-                .on(
-                    SLF_PROJECTS_XDSD.USERNAME.eq(SLF_USERS_XDSD.USERNAME).and(
-                        SLF_PROJECTS_XDSD.PROVIDER.eq(SLF_USERS_XDSD.PROVIDER)
-                    )
-                )
-                .join(SLF_PMS_XDSD)
-                .on(
-                    SLF_PROJECTS_XDSD.PMID.eq(SLF_PMS_XDSD.ID)
-                );
+        final SelectJoinStep<Record> select = selectJoined(
+            this.database.jooq()
+        );
         final Project project;
         if (page.getSize() == Integer.MAX_VALUE) {
             project = select
@@ -247,6 +231,7 @@ public final class SelfProjects extends BasePaged implements Projects {
                     SLF_PROJECTS_XDSD.PROVIDER.eq(project.provider())
                 )
             ).execute();
+        this.invalidate(project.repoFullName(), project.provider());
     }
 
     @Override
@@ -264,6 +249,7 @@ public final class SelfProjects extends BasePaged implements Projects {
             ).execute();
         final Project renamed;
         if(updated == 1) {
+            this.invalidate(repoFullName, provider);
             renamed = new StoredProject(
                 project.owner(),
                 newFullName,
@@ -281,13 +267,8 @@ public final class SelfProjects extends BasePaged implements Projects {
     public Iterator<Project> iterator() {
         final Page page = super.current();
         final DSLContext jooq = this.database.jooq();
-        return jooq
-            .select()
-            .from(jooq.select()
-                .from(SLF_PROJECTS_XDSD)
-                .limit(page.getSize())
-                .offset((page.getNumber() - 1) * page.getSize())
-                .asTable("projects_page"))
+        return selectProjects(jooq, true)
+            .from(projectsPage(jooq, page))
             .join(SLF_USERS_XDSD)
             .on(DSL.field("projects_page.username")
                     .eq(SLF_USERS_XDSD.USERNAME)
@@ -300,14 +281,133 @@ public final class SelfProjects extends BasePaged implements Projects {
             .iterator();
     }
 
+    /**
+     * The Projects matching a condition on the projects, users or PMs
+     * tables, read with one query.
+     * @param condition Condition.
+     * @return List of Project.
+     */
+    List<Project> matching(final Condition condition) {
+        return selectJoined(this.database.jooq())
+            .where(condition)
+            .fetch(rec -> projectFromRecord(rec, false));
+    }
+
+    /**
+     * Select the Projects JOINED with their owners and PMs.
+     * @param jooq DSLContext of a connected Database.
+     * @return JOOQ SELECT, to which we will apply the WHERE clause.
+     */
+    private static SelectJoinStep<Record> selectJoined(
+        final DSLContext jooq
+    ) {
+        return selectProjects(jooq, false).from(joined());
+    }
+
+    /**
+     * The projects table JOINED with the owners and PMs. Other tables can
+     * be JOINED with it to read their rows together with the whole Project,
+     * selecting {@link #columns(boolean)} and building the Project with
+     * {@link #projectFromRecord(Record, boolean)}.
+     * @return Table.
+     */
+    static Table<?> joined() {
+        return SLF_PROJECTS_XDSD
+            .join(SLF_USERS_XDSD)
+            .on(
+                SLF_PROJECTS_XDSD.USERNAME.eq(SLF_USERS_XDSD.USERNAME).and(
+                    SLF_PROJECTS_XDSD.PROVIDER.eq(SLF_USERS_XDSD.PROVIDER)
+                )
+            )
+            .join(SLF_PMS_XDSD)
+            .on(
+                SLF_PROJECTS_XDSD.PMID.eq(SLF_PMS_XDSD.ID)
+            );
+    }
+
+    /**
+     * Start the SELECT of Projects with only the columns read by
+     * {@link #projectFromRecord(Record, boolean)}: the Project's, its
+     * owner's and its PM's.
+     * @param jooq DSLContext of a connected Database.
+     * @param isFromPagedTable Are the Project's columns read from the
+     *  projects_page table?
+     * @return JOOQ SELECT, to which we will apply the FROM clause.
+     */
+    private static SelectSelectStep<Record> selectProjects(
+        final DSLContext jooq,
+        final boolean isFromPagedTable
+    ) {
+        return jooq.select(columns(isFromPagedTable));
+    }
+
+    /**
+     * The columns read by {@link #projectFromRecord(Record, boolean)}: the
+     * Project's, its owner's and its PM's.
+     * @param isFromPagedTable Are the Project's columns read from the
+     *  projects_page table?
+     * @return List of columns.
+     */
+    static List<Field<?>> columns(final boolean isFromPagedTable) {
+        final List<Field<?>> columns = new ArrayList<>();
+        if (isFromPagedTable) {
+            columns.add(DSL.field(DSL.name("projects_page", "repo_fullname")));
+            columns.add(DSL.field(DSL.name("projects_page", "webhook_token")));
+        } else {
+            columns.add(SLF_PROJECTS_XDSD.REPO_FULLNAME);
+            columns.add(SLF_PROJECTS_XDSD.WEBHOOK_TOKEN);
+            columns.add(SLF_PROJECTS_XDSD.PROVIDER);
+        }
+        columns.addAll(
+            Arrays.asList(
+                SLF_USERS_XDSD.USERNAME,
+                SLF_USERS_XDSD.EMAIL,
+                SLF_USERS_XDSD.ROLE,
+                SLF_USERS_XDSD.PROVIDER,
+                SLF_PMS_XDSD.ID,
+                SLF_PMS_XDSD.USERID,
+                SLF_PMS_XDSD.USERNAME,
+                SLF_PMS_XDSD.PROVIDER,
+                SLF_PMS_XDSD.ACCESS_TOKEN,
+                SLF_PMS_XDSD.COMMISSION,
+                SLF_PMS_XDSD.CONTRIBUTORCOMMISSION
+            )
+        );
+        return columns;
+    }
+
+    /**
+     * A page of the projects table, to be JOINED with the Users and PMs.
+     * @param jooq DSLContext of a connected Database.
+     * @param page Page.
+     * @return Table named projects_page.
+     */
+    private static Table<?> projectsPage(
+        final DSLContext jooq,
+        final Page page
+    ) {
+        return jooq
+            .select(
+                SLF_PROJECTS_XDSD.REPO_FULLNAME,
+                SLF_PROJECTS_XDSD.WEBHOOK_TOKEN,
+                SLF_PROJECTS_XDSD.USERNAME,
+                SLF_PROJECTS_XDSD.PROVIDER,
+                SLF_PROJECTS_XDSD.PMID
+            )
+            .from(SLF_PROJECTS_XDSD)
+            .limit(page.getSize())
+            .offset((page.getNumber() - 1) * page.getSize())
+            .asTable("projects_page");
+    }
+
     /**
      * Build a Project from a JOOQ Record.
      * @param rec Record representing the Project's data.
      * @param isFromPagedTable Marks that record is from projects paged table.
      * @return Project.
      */
-    private Project projectFromRecord(final Record rec,
-                                      final boolean isFromPagedTable){
+    Project projectFromRecord(final Record rec,
+                              final boolean isFromPagedTable){
         final Field<?> webhookField;
         final Field<?> repoFullNameField;
         if (isFromPagedTable) {
@@ -345,4 +445,20 @@ public final class SelfProjects extends BasePaged implements Projects {
     }
 
 
+    /**
+     * Invalidate the cached JSON resources of a repository, through the
+     * Storage's JsonStorage, so any pending (write-behind) writes are
+     * dropped as well. If the Storage's JsonStorage is not one of ours,
+     * it doesn't cache in our tables, so there is nothing to invalidate.
+     * @param repoFullName Full name of the repository (owner/name).
+     * @param provider Provider.
+     */
+    private void invalidate(final String repoFullName, final String provider) {
+        final JsonStorage jsonStorage = this.storage.jsonStorage();
+        if(jsonStorage instanceof NamespacedJsonStorage) {
+            ((NamespacedJsonStorage) jsonStorage).invalidate(
+                repoFullName, provider
+            );
+        }
+    }
 }
@@ -72,9 +72,14 @@ public final class SelfResignations implements Resignations {
     public Resignations ofTask(final Task task) {
         final Project project = task.project();
         final List<Resignation> ofTask = new ArrayList<>();
-        final Result<Record> result = this.database
+        final Result<? extends Record> result = this.database
             .jooq()
-            .select()
+            .select(
+                SLF_RESIGNATIONS_XDSD.USERNAME,
+                SLF_RESIGNATIONS_XDSD.PROVIDER,
+                SLF_RESIGNATIONS_XDSD.TIMESTAMP,
+                SLF_RESIGNATIONS_XDSD.REASON
+            )
             .from(SLF_RESIGNATIONS_XDSD)
             .where(
                 SLF_RESIGNATIONS_XDSD.REPO_FULLNAME.eq(
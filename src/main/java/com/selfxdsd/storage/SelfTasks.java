@@ -24,23 +24,18 @@ package com.selfxdsd.storage;
 
 import com.selfxdsd.api.*;
 import com.selfxdsd.api.storage.Storage;
-import com.selfxdsd.core.StoredUser;
-import com.selfxdsd.core.contracts.StoredContract;
-import com.selfxdsd.core.contributors.StoredContributor;
-import com.selfxdsd.core.managers.StoredProjectManager;
-import com.selfxdsd.core.projects.StoredProject;
 import com.selfxdsd.core.tasks.*;
+import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Record;
-import org.jooq.Result;
+import org.jooq.SQLDialect;
 import org.jooq.SelectOnConditionStep;
+import org.jooq.impl.DSL;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.selfxdsd.storage.generated.jooq.Tables.*;
@@ -56,6 +51,13 @@ import static com.selfxdsd.storage.generated.jooq.tables.SlfUsersXdsd.SLF_USERS_
  */
 public final class SelfTasks implements Tasks {
 
+    /**
+     * Fields selected by {@link #selectTasks(DSLContext)}, in their order.
+     */
+    private static final List<Field<?>> SELECTED = selectTasks(
+        DSL.using(SQLDialect.MYSQL)
+    ).getSelect();
+
     /**
      * Parent Storage.
      */
@@ -66,6 +68,11 @@ public final class SelfTasks implements Tasks {
      */
     private final Database database;
 
+    /**
+     * Maps the selected Records to Tasks.
+     */
+    private final TaskMapper mapper;
+
     /**
      * Ctor.
      * @param storage Parent Storage.
@@ -77,6 +84,7 @@ public final class SelfTasks implements Tasks {
     ) {
         this.storage = storage;
         this.database = database;
+        this.mapper = new TaskMapper(SELECTED, storage);
     }
 
     @Override
@@ -86,7 +94,7 @@ public final class SelfTasks implements Tasks {
         final String provider,
         final boolean isPullRequest
     ) {
-        final Result<Record> result = this.selectTasks(this.database)
+        final List<Task> result = selectTasks(this.database.jooq())
             .where(
                 SLF_TASKS_XDSD.REPO_FULLNAME.eq(repoFullName).and(
                     SLF_TASKS_XDSD.PROVIDER.eq(provider).and(
@@ -96,9 +104,9 @@ public final class SelfTasks implements Tasks {
                     )
                 )
             )
-            .fetch();
+            .fetch(this.mapper.perQuery());
         if(!result.isEmpty()) {
-            return this.taskFromRecord(result.get(0));
+            return result.get(0);
         }
         return null;
     }
@@ -277,20 +285,14 @@ public final class SelfTasks implements Tasks {
             new Supplier<Stream<Task>>() {
                 @Override
                 public Stream<Task> get() {
-                    final List<Task> ofProject = new ArrayList<>();
-                    final Result<Record> result = selectTasks(database)
+                    return selectTasks(database.jooq())
                         .where(
                             SLF_TASKS_XDSD.REPO_FULLNAME.eq(repoFullName).and(
                                 SLF_TASKS_XDSD.PROVIDER.eq(repoProvider)
                             )
                         )
-                        .fetch();
-                    for(final Record rec : result) {
-                        ofProject.add(
-                            taskFromRecord(rec)
-                        );
-                    }
-                    return ofProject.stream();
+                        .fetch(mapper.perQuery())
+                        .stream();
                 }
             },
             this.storage
@@ -305,22 +307,14 @@ public final class SelfTasks implements Tasks {
         return new ContributorTasks(
             username,
             provider,
-            () -> {
-                final List<Task> ofContributor = new ArrayList<>();
-                final Result<Record> result = this.selectTasks(this.database)
-                    .where(
-                        SLF_TASKS_XDSD.USERNAME.eq(username).and(
-                            SLF_TASKS_XDSD.PROVIDER.eq(provider)
-                        )
+            () -> selectTasks(this.database.jooq())
+                .where(
+                    SLF_TASKS_XDSD.USERNAME.eq(username).and(
+                        SLF_TASKS_XDSD.PROVIDER.eq(provider)
                     )
-                    .fetch();
-                for(final Record rec : result) {
-                    ofContributor.add(
-                        this.taskFromRecord(rec)
-                    );
-                }
-                return ofContributor.stream();
-            },
+                )
+                .fetch(this.mapper.perQuery())
+                .stream(),
             this.storage
         );
     }
@@ -329,9 +323,7 @@ public final class SelfTasks implements Tasks {
     public Tasks ofContract(final Contract.Id id) {
         return new ContractTasks(
             id,
-            () -> {
-                final List<Task> ofContract = new ArrayList<>();
-                final Result<Record> result = this.selectTasks(this.database)
+            () -> selectTasks(this.database.jooq())
                     .where(
                         SLF_TASKS_XDSD.USERNAME.eq(
                             id.getContributorUsername()
@@ -345,14 +337,8 @@ public final class SelfTasks implements Tasks {
                             )
                         )
                     )
-                    .fetch();
-                for(final Record rec : result) {
-                    ofContract.add(
-                        this.taskFromRecord(rec)
-                    );
-                }
-                return ofContract.stream();
-            },
+                    .fetch(this.mapper.perQuery())
+                    .stream(),
             this.storage
         );
     }
@@ -360,19 +346,11 @@ public final class SelfTasks implements Tasks {
     @Override
     public Tasks unassigned() {
         return new UnassignedTasks(
-            () -> {
-                final List<Task> unassigned = new ArrayList<>();
-                final Result<Record> result = this.selectTasks(this.database)
-                    .where(SLF_TASKS_XDSD.USERNAME.isNull())
-                    .limit(100)
-                    .fetch();
-                for(final Record rec : result) {
-                    unassigned.add(
-                        this.taskFromRecord(rec)
-                    );
-                }
-                return unassigned.stream();
-            },
+            () -> selectTasks(this.database.jooq())
+                .where(SLF_TASKS_XDSD.USERNAME.isNull())
+                .limit(100)
+                .fetch(this.mapper.perQuery())
+                .stream(),
             this.storage
         );
     }
@@ -396,19 +374,28 @@ public final class SelfTasks implements Tasks {
         return deleted == 1;
     }
 
+    /**
+     * Iterate over all the Tasks, page by page. The Tasks are read only
+     * from the tasks table: their Projects and Contracts are fetched for the
+     * whole page at once, the first time one of them is needed (see
+     * {@link LazyTasks}), so scans which only check the deadlines need no
+     * JOIN.
+     * @return Iterator of Task.
+     */
     @Override
     public Iterator<Task> iterator() {
         final int maxRecords = this.database.jooq().fetchCount(SLF_TASKS_XDSD);
         return PagedIterator.create(
             100,
             maxRecords,
-            (offset, size) -> this.selectTasks(this.database)
-                .limit(size)
-                .offset(offset)
-                .fetch()
-                .stream()
-                .map(SelfTasks.this::taskFromRecord)
-                .collect(Collectors.toList())
+            (offset, size) -> new LazyTasks(
+                LazyTasks.selectRows(this.database.jooq())
+                    .limit(size)
+                    .offset(offset)
+                    .fetch(),
+                this.database,
+                this.mapper
+            ).tasks()
         );
     }
 
@@ -416,14 +403,43 @@ public final class SelfTasks implements Tasks {
      * Built the jooq SELECT/JOIN clause.
      * A Task is linked to a Project and to a Contract, so we select the tasks,
      * JOINED with Projects (also with Users + PMs to have the whole Project),
-     * and JOINED with Contracts (also with Contributors).
-     * @param connected Connected Database instance.
+     * and JOINED with Contracts (also with Contributors). Only the columns
+     * read by the {@link TaskMapper} are selected.
+     * @param jooq DSLContext of a connected Database.
      * @return JOOQ SELECT, to which we will apply the WHERE clause.
      * @checkstyle LineLength (100 lines)
      */
-    private SelectOnConditionStep<Record> selectTasks(final Database connected){
-        return connected.jooq()
-            .select()
+    static SelectOnConditionStep<Record> selectTasks(
+        final DSLContext jooq
+    ) {
+        return jooq
+            .select(
+                SLF_TASKS_XDSD.ISSUEID,
+                SLF_TASKS_XDSD.ROLE,
+                SLF_TASKS_XDSD.USERNAME,
+                SLF_TASKS_XDSD.ASSIGNED,
+                SLF_TASKS_XDSD.DEADLINE,
+                SLF_TASKS_XDSD.ESTIMATION_MINUTES,
+                SLF_TASKS_XDSD.ISPULLREQUEST,
+                SLF_PROJECTS_XDSD.REPO_FULLNAME,
+                SLF_PROJECTS_XDSD.WEBHOOK_TOKEN,
+                SLF_USERS_XDSD.USERNAME,
+                SLF_USERS_XDSD.EMAIL,
+                SLF_USERS_XDSD.ROLE,
+                SLF_USERS_XDSD.PROVIDER,
+                SLF_PMS_XDSD.ID,
+                SLF_PMS_XDSD.USERID,
+                SLF_PMS_XDSD.USERNAME,
+                SLF_PMS_XDSD.PROVIDER,
+                SLF_PMS_XDSD.ACCESS_TOKEN,
+                SLF_PMS_XDSD.COMMISSION,
+                SLF_PMS_XDSD.CONTRIBUTORCOMMISSION,
+                SLF_CONTRACTS_XDSD.HOURLY_RATE,
+                SLF_CONTRACTS_XDSD.ROLE,
+                SLF_CONTRACTS_XDSD.MARKEDFORREMOVAL,
+                SLF_CONTRIBUTORS_XDSD.USERNAME,
+                SLF_CONTRIBUTORS_XDSD.PROVIDER
+            )
             .from(SLF_TASKS_XDSD)
             .join(SLF_PROJECTS_XDSD)
             .on(
@@ -458,69 +474,4 @@ public final class SelfTasks implements Tasks {
                 )
             );
     }
-
-    /**
-     * Build a Task from a JOOQ Record.
-     * @param rec Record representing the Task's data.
-     * @return Task.
-     */
-    private Task taskFromRecord(final Record rec) {
-        final Project project = new StoredProject(
-            new StoredUser(
-                rec.getValue(SLF_USERS_XDSD.USERNAME),
-                rec.getValue(SLF_USERS_XDSD.EMAIL),
-                rec.getValue(SLF_USERS_XDSD.ROLE),
-                rec.getValue(SLF_USERS_XDSD.PROVIDER),
-                this.storage
-            ),
-            rec.getValue(SLF_PROJECTS_XDSD.REPO_FULLNAME),
-            rec.getValue(SLF_PROJECTS_XDSD.WEBHOOK_TOKEN),
-            new StoredProjectManager(
-                rec.getValue(SLF_PMS_XDSD.ID),
-                rec.getValue(SLF_PMS_XDSD.USERID),
-                rec.getValue(SLF_PMS_XDSD.USERNAME),
-                rec.getValue(SLF_PMS_XDSD.PROVIDER),
-                rec.getValue(SLF_PMS_XDSD.ACCESS_TOKEN),
-                rec.getValue(SLF_PMS_XDSD.COMMISSION).doubleValue(),
-                rec.getValue(SLF_PMS_XDSD.CONTRIBUTORCOMMISSION).doubleValue(),
-                this.storage
-            ),
-            this.storage
-        );
-        final Task task;
-        if(rec.getValue(SLF_TASKS_XDSD.USERNAME) == null) {
-            task = new StoredTask(
-                project,
-                rec.getValue(SLF_TASKS_XDSD.ISSUEID),
-                rec.getValue(SLF_TASKS_XDSD.ROLE),
-                rec.getValue(SLF_TASKS_XDSD.ESTIMATION_MINUTES),
-                rec.getValue(SLF_TASKS_XDSD.ISPULLREQUEST),
-                this.storage
-            );
-        } else {
-            task = new StoredTask(
-                new StoredContract(
-                    project,
-                    new StoredContributor(
-                        rec.getValue(SLF_CONTRIBUTORS_XDSD.USERNAME),
-                        rec.getValue(SLF_CONTRIBUTORS_XDSD.PROVIDER),
-                        this.storage
-                    ),
-                    BigDecimal.valueOf(
-                        rec.getValue(SLF_CONTRACTS_XDSD.HOURLY_RATE)
-                    ),
-                    rec.getValue(SLF_CONTRACTS_XDSD.ROLE),
-                    rec.getValue(SLF_CONTRACTS_XDSD.MARKEDFORREMOVAL),
-                    this.storage
-                ),
-                rec.getValue(SLF_TASKS_XDSD.ISSUEID),
-                this.storage,
-                rec.getValue(SLF_TASKS_XDSD.ASSIGNED),
-                rec.getValue(SLF_TASKS_XDSD.DEADLINE),
-                rec.getValue(SLF_TASKS_XDSD.ESTIMATION_MINUTES),
-                rec.getValue(SLF_TASKS_XDSD.ISPULLREQUEST)
-            );
-        }
-        return task;
-    }
 }
@@ -25,6 +25,7 @@ package com.selfxdsd.storage;
 import com.selfxdsd.api.*;
 import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.StoredUser;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Record;
 import org.jooq.Result;
@@ -128,89 +129,133 @@ public final class SelfUsers implements Users {
         final String username,
         final String provider
     ) {
-        final Result<Record> result = jooq
-                .select()
-                .from(SLF_USERS_XDSD)
-                .where(SLF_USERS_XDSD.USERNAME.eq(username)
-                        .and(SLF_USERS_XDSD.PROVIDER.eq(provider)))
-                .fetch();
+        final List<User> result = this.matching(
+            jooq,
+            SLF_USERS_XDSD.USERNAME.eq(username)
+                .and(SLF_USERS_XDSD.PROVIDER.eq(provider))
+        );
         if (!result.isEmpty()) {
-            final Record rec = result.get(0);
-            final User found = new StoredUser(
-                rec.getValue(SLF_USERS_XDSD.USERNAME),
-                rec.getValue(SLF_USERS_XDSD.EMAIL),
-                rec.getValue(SLF_USERS_XDSD.ROLE),
-                rec.getValue(SLF_USERS_XDSD.PROVIDER),
-                this.storage
-            );
-            return new User() {
-                @Override
-                public String username() {
-                    return found.username();
-                }
+            return result.get(0);
+        }
+        return null;
+    }
 
-                @Override
-                public String email() {
-                    final String email;
-                    if(found.email() == null) {
-                        email = "";
-                    } else {
-                        email = found.email();
-                    }
-                    return email;
-                }
+    /**
+     * The Users matching a condition, read with one query.
+     * @param condition Condition on the users table.
+     * @return List of User.
+     */
+    List<User> matching(final Condition condition) {
+        return this.matching(this.database.jooq(), condition);
+    }
 
-                @Override
-                public String role() {
-                    final String role;
-                    if(found.role() == null) {
-                        role = "user";
-                    } else {
-                        role = found.role();
-                    }
-                    return role;
-                }
+    /**
+     * The Users matching a condition, read with one query.
+     * @param jooq DslContext.
+     * @param condition Condition on the users table.
+     * @return List of User.
+     */
+    private List<User> matching(
+        final DSLContext jooq,
+        final Condition condition
+    ) {
+        return jooq
+            .select(
+                SLF_USERS_XDSD.USERNAME,
+                SLF_USERS_XDSD.EMAIL,
+                SLF_USERS_XDSD.ROLE,
+                SLF_USERS_XDSD.PROVIDER
+            )
+            .from(SLF_USERS_XDSD)
+            .where(condition)
+            .fetch(this::userFromRecord);
+    }
 
-                @Override
-                public Provider provider() {
-                    return found.provider();
-                }
+    /**
+     * Build a User from a JOOQ Record. The email and role default to
+     * empty and "user".
+     * @param rec Record.
+     * @return User.
+     */
+    private User userFromRecord(final Record rec) {
+        final User found = new StoredUser(
+            rec.getValue(SLF_USERS_XDSD.USERNAME),
+            rec.getValue(SLF_USERS_XDSD.EMAIL),
+            rec.getValue(SLF_USERS_XDSD.ROLE),
+            rec.getValue(SLF_USERS_XDSD.PROVIDER),
+            this.storage
+        );
+        return new User() {
+            @Override
+            public String username() {
+                return found.username();
+            }
 
-                @Override
-                public Projects projects() {
-                    return found.projects();
+            @Override
+            public String email() {
+                final String email;
+                if(found.email() == null) {
+                    email = "";
+                } else {
+                    email = found.email();
                 }
+                return email;
+            }
 
-                @Override
-                public Contributor asContributor() {
-                    return found.asContributor();
+            @Override
+            public String role() {
+                final String role;
+                if(found.role() == null) {
+                    role = "user";
+                } else {
+                    role = found.role();
                 }
+                return role;
+            }
 
-                @Override
-                public Admin asAdmin() {
-                    return found.asAdmin();
-                }
+            @Override
+            public Provider provider() {
+                return found.provider();
+            }
 
-                @Override
-                public ApiTokens apiTokens() {
-                    return found.apiTokens();
-                }
+            @Override
+            public Projects projects() {
+                return found.projects();
+            }
 
-                @Override
-                public ApiToken register(final String name, final  String token,
-                                         final LocalDateTime expiration) {
-                    return found.register(name, token, expiration);
-                }
-            };
-        }
-        return null;
+            @Override
+            public Contributor asContributor() {
+                return found.asContributor();
+            }
+
+            @Override
+            public Admin asAdmin() {
+                return found.asAdmin();
+            }
+
+            @Override
+            public ApiTokens apiTokens() {
+                return found.apiTokens();
+            }
+
+            @Override
+            public ApiToken register(final String name, final  String token,
+                                     final LocalDateTime expiration) {
+                return found.register(name, token, expiration);
+            }
+        };
     }
 
     @Override
     public Iterator<User> iterator() {
         final List<User> users = new ArrayList<>();
-        final Result<Record> result = this.database.jooq()
-            .select()
+        final Result<? extends Record> result = this.database.jooq()
+            .select(
+                SLF_USERS_XDSD.USERNAME,
+                SLF_USERS_XDSD.EMAIL,
+                SLF_USERS_XDSD.ROLE,
+                SLF_USERS_XDSD.PROVIDER
+            )
             .from(SLF_USERS_XDSD)
             .limit(100)
             .fetch();
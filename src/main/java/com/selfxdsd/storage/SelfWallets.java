@@ -26,16 +26,22 @@ import com.selfxdsd.api.*;
 import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.projects.*;
 import com.stripe.model.SetupIntent;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Record;
 import org.jooq.Result;
+import org.jooq.SelectSeekStepN;
+import org.jooq.impl.DSL;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_PROJECTS_XDSD;
 import static com.selfxdsd.storage.generated.jooq.Tables.SLF_WALLETS_XDSD;
 
 /**
@@ -46,6 +52,11 @@ import static com.selfxdsd.storage.generated.jooq.Tables.SLF_WALLETS_XDSD;
  */
 public final class SelfWallets implements Wallets {
 
+    /**
+     * Size of the pages read by the scans.
+     */
+    private static final int PAGE_SIZE = 100;
+
     /**
      * Parent Storage.
      */
@@ -93,7 +104,7 @@ public final class SelfWallets implements Wallets {
                 project.repoFullName(),
                 project.provider(),
                 type,
-                cash.toBigIntegerExact(),
+                cash.longValueExact(),
                 Boolean.FALSE,
                 identifier
             ).execute();
@@ -137,9 +148,14 @@ public final class SelfWallets implements Wallets {
     @Override
     public Wallets ofProject(final Project project) {
         final List<Wallet> ofProject = new ArrayList<>();
-        final Result<Record> result = this.database
+        final Result<? extends Record> result = this.database
             .jooq()
-            .select()
+            .select(
+                SLF_WALLETS_XDSD.TYPE,
+                SLF_WALLETS_XDSD.CASH,
+                SLF_WALLETS_XDSD.IDENTIFIER,
+                SLF_WALLETS_XDSD.ACTIVE
+            )
             .from(SLF_WALLETS_XDSD)
             .where(
                 SLF_WALLETS_XDSD.REPO_FULLNAME.eq(project.repoFullName()).and(
@@ -163,30 +179,12 @@ public final class SelfWallets implements Wallets {
     @Override
     public Wallet activate(final Wallet wallet) {
         final Project project = wallet.project();
-        final DSLContext jooq = this.database.jooq();
-        jooq.transaction(
-            (configuration) -> {
-                jooq.update(SLF_WALLETS_XDSD)
-                    .set(SLF_WALLETS_XDSD.ACTIVE, Boolean.FALSE)
-                    .where(
-                        SLF_WALLETS_XDSD.PROVIDER.eq(project.provider()).and(
-                            SLF_WALLETS_XDSD.REPO_FULLNAME.eq(
-                                project.repoFullName()
-                            ).and(
-                                SLF_WALLETS_XDSD.TYPE.notEqual(wallet.type())
-                            )
-                        )
-                    ).execute();
-                jooq.update(SLF_WALLETS_XDSD)
-                    .set(SLF_WALLETS_XDSD.ACTIVE, Boolean.TRUE)
-                    .where(
-                        SLF_WALLETS_XDSD.PROVIDER.eq(project.provider()).and(
-                            SLF_WALLETS_XDSD.REPO_FULLNAME.eq(
-                                project.repoFullName()
-                            ).and(SLF_WALLETS_XDSD.TYPE.eq(wallet.type()))
-                        )
-                    ).execute();
-            }
+        new Activation(SLF_WALLETS_XDSD, SLF_WALLETS_XDSD.ACTIVE).activate(
+            this.database.jooq(),
+            SLF_WALLETS_XDSD.PROVIDER.eq(project.provider()).and(
+                SLF_WALLETS_XDSD.REPO_FULLNAME.eq(project.repoFullName())
+            ),
+            SLF_WALLETS_XDSD.TYPE.eq(wallet.type())
         );
         return new Wallet() {
             @Override
@@ -256,84 +254,113 @@ public final class SelfWallets implements Wallets {
         final Wallet wallet,
         final BigDecimal updatedCash
     ) {
-        final Project project = wallet.project();
-        int execute = this.database
+        final int execute = this.database
             .jooq()
             .update(SLF_WALLETS_XDSD)
-            .set(SLF_WALLETS_XDSD.CASH, updatedCash.toBigIntegerExact())
-            .where(SLF_WALLETS_XDSD.PROVIDER
-                .eq(project.provider()).and(SLF_WALLETS_XDSD.REPO_FULLNAME
-                    .eq(project.repoFullName())
-                    .and(SLF_WALLETS_XDSD.TYPE.eq(wallet.type()))))
+            .set(SLF_WALLETS_XDSD.CASH, updatedCash.longValueExact())
+            .set(SLF_WALLETS_XDSD.VERSION, SLF_WALLETS_XDSD.VERSION.plus(1))
+            .where(SelfWallets.walletKey(wallet))
             .execute();
-        final Wallet updated;
-        if (execute > 0) {
-            updated = new Wallet() {
-                @Override
-                public BigDecimal cash() {
-                    return updatedCash;
-                }
-
-                @Override
-                public Payment pay(final Invoice invoice) {
-                    return wallet.pay(invoice);
-                }
-
-                @Override
-                public String type() {
-                    return wallet.type();
-                }
-
-                @Override
-                public boolean active() {
-                    return wallet.active();
-                }
-
-                @Override
-                public Project project() {
-                    return wallet.project();
-                }
-
-                @Override
-                public Wallet updateCash(final BigDecimal bigDecimal) {
-                    return wallet.updateCash(bigDecimal);
-                }
-
-                @Override
-                public SetupIntent paymentMethodSetupIntent() {
-                    return wallet.paymentMethodSetupIntent();
-                }
-
-                @Override
-                public PaymentMethods paymentMethods() {
-                    return wallet.paymentMethods();
-                }
+        if (execute <= 0) {
+            throw new IllegalStateException("Something wrong while updating "
+                + " Wallet's cash.");
+        }
+        return SelfWallets.withCash(wallet, updatedCash);
+    }
 
-                @Override
-                public String identifier() {
-                    return wallet.identifier();
-                }
+    /**
+     * Set the Wallet's cash only if nobody changed the Wallet since its
+     * version was read (compare-and-set).
+     * @param wallet Wallet.
+     * @param updatedCash New cash.
+     * @param version Version of the Wallet, as read with
+     *  {@link #version(Wallet)}.
+     * @return Updated Wallet.
+     * @throws IllegalStateException If the Wallet is missing or it was
+     *  changed in the meantime.
+     */
+    public Wallet updateCash(
+        final Wallet wallet,
+        final BigDecimal updatedCash,
+        final int version
+    ) {
+        final int execute = this.database
+            .jooq()
+            .update(SLF_WALLETS_XDSD)
+            .set(SLF_WALLETS_XDSD.CASH, updatedCash.longValueExact())
+            .set(SLF_WALLETS_XDSD.VERSION, version + 1)
+            .where(
+                SelfWallets.walletKey(wallet).and(
+                    SLF_WALLETS_XDSD.VERSION.eq(version)
+                )
+            ).execute();
+        if (execute != 1) {
+            throw new IllegalStateException(
+                "Wallet " + wallet.type() + " of project "
+                + wallet.project().repoFullName() + " is missing or it was "
+                + "changed after version " + version + " was read."
+            );
+        }
+        return SelfWallets.withCash(wallet, updatedCash);
+    }
 
-                @Override
-                public BillingInfo billingInfo() {
-                    return wallet.billingInfo();
-                }
+    /**
+     * Current version of the Wallet. It is incremented with every change
+     * of the cash.
+     * @param wallet Wallet.
+     * @return Version.
+     * @throws IllegalStateException If the Wallet is missing.
+     */
+    public int version(final Wallet wallet) {
+        final Integer version = this.database.jooq()
+            .select(SLF_WALLETS_XDSD.VERSION)
+            .from(SLF_WALLETS_XDSD)
+            .where(SelfWallets.walletKey(wallet))
+            .fetchOne(SLF_WALLETS_XDSD.VERSION);
+        if (version == null) {
+            throw new IllegalStateException(
+                "Wallet " + wallet.type() + " of project "
+                + wallet.project().repoFullName() + " is missing."
+            );
+        }
+        return version;
+    }
 
-                @Override
-                public Wallet activate() {
-                    return wallet.activate();
-                }
+    /**
+     * Take money out of the Wallet. The cash is decremented in the
+     * database with one statement, so concurrent debits of the same Wallet
+     * do not overwrite each other, and it never goes below zero.
+     * @param wallet Wallet.
+     * @param amount Amount to take out (positive).
+     * @return Wallet with the updated cash.
+     * @throws IllegalStateException If the Wallet is missing or it does not
+     *  have enough cash.
+     */
+    public Wallet debit(final Wallet wallet, final BigDecimal amount) {
+        final long cents = SelfWallets.positive(amount);
+        return this.changeCash(
+            wallet,
+            SLF_WALLETS_XDSD.CASH.minus(cents),
+            SLF_WALLETS_XDSD.CASH.ge(cents)
+        );
+    }
 
-                @Override
-                public boolean remove() {
-                    return wallet.remove();
-                }
-            };
-        } else {
-            throw new IllegalStateException("Something wrong while updating "
-                + " Wallet's cash.");
-        }
-        return updated;
+    /**
+     * Put money in the Wallet. The cash is incremented in the database with
+     * one statement, so concurrent credits of the same Wallet do not
+     * overwrite each other.
+     * @param wallet Wallet.
+     * @param amount Amount to put in (positive).
+     * @return Wallet with the updated cash.
+     * @throws IllegalStateException If the Wallet is missing.
+     */
+    public Wallet credit(final Wallet wallet, final BigDecimal amount) {
+        final long cents = SelfWallets.positive(amount);
+        return this.changeCash(
+            wallet,
+            SLF_WALLETS_XDSD.CASH.plus(cents),
+            DSL.trueCondition()
+        );
     }
 
     @Override
@@ -351,14 +378,323 @@ public final class SelfWallets implements Wallets {
         return deleted == 1;
     }
 
+    /**
+     * Iterate over the Wallets of all the Projects (see
+     * {@link #scan(String, Boolean, BigDecimal)}).
+     * @return Iterator of Wallet.
+     */
     @Override
     public Iterator<Wallet> iterator() {
-        throw new UnsupportedOperationException(
-            "You cannot iterate over all the wallets. "
-            + "Call #ofProject(...) first."
+        return this.scan(DSL.trueCondition(), SelfWallets.primaryKey());
+    }
+
+    /**
+     * Scan the Wallets of all the Projects, e.g. for reconciling the
+     * balances. The Wallets are read together with their Projects, page by
+     * page, in the order of their primary key (keyset pagination), so the
+     * scan runs in constant memory and each page costs one query.
+     * @param type Type of the Wallets or null for any type.
+     * @param active Only active (true) or inactive (false) Wallets, or null
+     *  for both.
+     * @param below Only the Wallets with less cash than this or null for
+     *  any cash.
+     * @return Wallets matching the filters.
+     */
+    public Iterable<Wallet> scan(
+        final String type,
+        final Boolean active,
+        final BigDecimal below
+    ) {
+        final List<Condition> filters = new ArrayList<>();
+        if (type != null) {
+            filters.add(SLF_WALLETS_XDSD.TYPE.eq(type));
+        }
+        if (active != null) {
+            filters.add(SLF_WALLETS_XDSD.ACTIVE.eq(active));
+        }
+        if (below != null) {
+            filters.add(SLF_WALLETS_XDSD.CASH.lt(SelfWallets.cents(below)));
+        }
+        return () -> this.scan(DSL.and(filters), SelfWallets.primaryKey());
+    }
+
+    /**
+     * The active Wallets which have less cash than the given threshold,
+     * e.g. for warning their owners before the Tasks stall. The Wallets
+     * are read together with their Projects and owners, lowest cash
+     * first, page by page: each page is one query which seeks on the
+     * (active, cash) index.
+     * @param threshold Threshold.
+     * @return Wallets with less cash than the threshold.
+     */
+    public Iterable<Wallet> belowThreshold(final BigDecimal threshold) {
+        final Condition filter = SLF_WALLETS_XDSD.ACTIVE.isTrue().and(
+            SLF_WALLETS_XDSD.CASH.lt(SelfWallets.cents(threshold))
+        );
+        final List<Field<?>> order = new ArrayList<>();
+        order.add(SLF_WALLETS_XDSD.CASH);
+        order.addAll(SelfWallets.primaryKey());
+        return () -> this.scan(filter, order);
+    }
+
+    /**
+     * Whole cents to compare the cash with, for a strict "less than" the
+     * given threshold. The cash is a whole number of cents, so it is less
+     * than a fractional threshold exactly when it is less than the
+     * threshold rounded up (e.g. cash &lt; 10.5 means cash &lt; 11).
+     * @param threshold Threshold, in cents.
+     * @return Threshold rounded up to whole cents.
+     */
+    private static long cents(final BigDecimal threshold) {
+        try {
+            return threshold.setScale(0, RoundingMode.CEILING)
+                .longValueExact();
+        } catch (final ArithmeticException ex) {
+            throw new IllegalArgumentException(
+                "Cash threshold " + threshold + " is out of range.", ex
+            );
+        }
+    }
+
+    /**
+     * Scan the Wallets matching the filter.
+     * @param filter Condition on the wallets, projects, users or PMs table.
+     * @param order Unique key of the wallets, by which they are ordered.
+     * @return Iterator of Wallet.
+     */
+    private Iterator<Wallet> scan(
+        final Condition filter,
+        final List<Field<?>> order
+    ) {
+        final SelfProjects projects = new SelfProjects(
+            this.storage, this.database
+        );
+        return new KeysetIterator<>(
+            SelfWallets.PAGE_SIZE,
+            last -> this.walletsPage(filter, order, last),
+            rows -> {
+                final IdentityMap<Project> shared = new IdentityMap<>();
+                final List<Wallet> wallets = new ArrayList<>(rows.size());
+                for (final Record rec : rows) {
+                    final String repo = rec.get(SLF_WALLETS_XDSD.REPO_FULLNAME);
+                    final String provider = rec.get(SLF_WALLETS_XDSD.PROVIDER);
+                    Project project = shared.get(repo, provider);
+                    if (project == null) {
+                        project = shared.put(
+                            repo,
+                            provider,
+                            projects.projectFromRecord(rec, false)
+                        );
+                    }
+                    wallets.add(this.walletFromRecord(project, rec));
+                }
+                return wallets;
+            }
+        );
+    }
+
+    /**
+     * Read the page of Wallets which comes after the given row.
+     * @param filter Condition on the wallets, projects, users or PMs table.
+     * @param order Unique key of the wallets, by which they are ordered.
+     * @param last Last row of the previous page or null for the first page.
+     * @return Rows of the Wallets JOINED with their Projects.
+     */
+    private List<? extends Record> walletsPage(
+        final Condition filter,
+        final List<Field<?>> order,
+        final Record last
+    ) {
+        final List<Field<?>> columns = new ArrayList<>(
+            SelfProjects.columns(false)
+        );
+        columns.addAll(
+            Arrays.asList(
+                SLF_WALLETS_XDSD.REPO_FULLNAME,
+                SLF_WALLETS_XDSD.PROVIDER,
+                SLF_WALLETS_XDSD.TYPE,
+                SLF_WALLETS_XDSD.CASH,
+                SLF_WALLETS_XDSD.IDENTIFIER,
+                SLF_WALLETS_XDSD.ACTIVE
+            )
+        );
+        final SelectSeekStepN<Record> ordered = this.database.jooq()
+            .select(columns)
+            .from(
+                SLF_WALLETS_XDSD.join(SelfProjects.joined()).on(
+                    SLF_WALLETS_XDSD.REPO_FULLNAME.eq(
+                        SLF_PROJECTS_XDSD.REPO_FULLNAME
+                    ).and(
+                        SLF_WALLETS_XDSD.PROVIDER.eq(SLF_PROJECTS_XDSD.PROVIDER)
+                    )
+                )
+            )
+            .where(filter)
+            .orderBy(order.toArray(new Field<?>[0]));
+        final List<? extends Record> page;
+        if (last == null) {
+            page = ordered.limit(SelfWallets.PAGE_SIZE).fetch();
+        } else {
+            page = ordered.seek(
+                order.stream().map(last::get).toArray()
+            ).limit(SelfWallets.PAGE_SIZE).fetch();
+        }
+        return page;
+    }
+
+    /**
+     * The primary key of the wallets table.
+     * @return Columns of the primary key.
+     */
+    private static List<Field<?>> primaryKey() {
+        return Arrays.asList(
+            SLF_WALLETS_XDSD.REPO_FULLNAME,
+            SLF_WALLETS_XDSD.PROVIDER,
+            SLF_WALLETS_XDSD.TYPE
         );
     }
 
+    /**
+     * Change the Wallet's cash and read the result, in one transaction.
+     * @param wallet Wallet.
+     * @param cash New cash, computed from the current one.
+     * @param guard Condition the Wallet has to meet, in order to be changed.
+     * @return Wallet with the updated cash.
+     */
+    private Wallet changeCash(
+        final Wallet wallet,
+        final Field<Long> cash,
+        final Condition guard
+    ) {
+        final Long updated = this.database.jooq().transactionResult(
+            configuration -> {
+                final DSLContext jooq = DSL.using(configuration);
+                final int changed = jooq.update(SLF_WALLETS_XDSD)
+                    .set(SLF_WALLETS_XDSD.CASH, cash)
+                    .set(
+                        SLF_WALLETS_XDSD.VERSION,
+                        SLF_WALLETS_XDSD.VERSION.plus(1)
+                    )
+                    .where(SelfWallets.walletKey(wallet).and(guard))
+                    .execute();
+                final Long result;
+                if (changed == 1) {
+                    result = jooq.select(SLF_WALLETS_XDSD.CASH)
+                        .from(SLF_WALLETS_XDSD)
+                        .where(SelfWallets.walletKey(wallet))
+                        .fetchOne(SLF_WALLETS_XDSD.CASH);
+                } else {
+                    result = null;
+                }
+                return result;
+            }
+        );
+        if (updated == null) {
+            throw new IllegalStateException(
+                "Wallet " + wallet.type() + " of project "
+                + wallet.project().repoFullName() + " is missing or it "
+                + "does not have enough cash."
+            );
+        }
+        return SelfWallets.withCash(wallet, BigDecimal.valueOf(updated));
+    }
+
+    /**
+     * Condition matching the given Wallet's row.
+     * @param wallet Wallet.
+     * @return Condition.
+     */
+    private static Condition walletKey(final Wallet wallet) {
+        final Project project = wallet.project();
+        return SLF_WALLETS_XDSD.PROVIDER.eq(project.provider()).and(
+            SLF_WALLETS_XDSD.REPO_FULLNAME.eq(project.repoFullName())
+        ).and(SLF_WALLETS_XDSD.TYPE.eq(wallet.type()));
+    }
+
+    /**
+     * Check that the amount is positive.
+     * @param amount Amount of money.
+     * @return The amount, as a long.
+     */
+    private static long positive(final BigDecimal amount) {
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException(
+                "The amount must be positive, but it is " + amount + "."
+            );
+        }
+        return amount.longValueExact();
+    }
+
+    /**
+     * The given Wallet, with different cash.
+     * @param wallet Wallet.
+     * @param cash Cash.
+     * @return Wallet.
+     */
+    private static Wallet withCash(final Wallet wallet, final BigDecimal cash) {
+        return new Wallet() {
+            @Override
+            public BigDecimal cash() {
+                return cash;
+            }
+
+            @Override
+            public Payment pay(final Invoice invoice) {
+                return wallet.pay(invoice);
+            }
+
+            @Override
+            public String type() {
+                return wallet.type();
+            }
+
+            @Override
+            public boolean active() {
+                return wallet.active();
+            }
+
+            @Override
+            public Project project() {
+                return wallet.project();
+            }
+
+            @Override
+            public Wallet updateCash(final BigDecimal bigDecimal) {
+                return wallet.updateCash(bigDecimal);
+            }
+
+            @Override
+            public SetupIntent paymentMethodSetupIntent() {
+                return wallet.paymentMethodSetupIntent();
+            }
+
+            @Override
+            public PaymentMethods paymentMethods() {
+                return wallet.paymentMethods();
+            }
+
+            @Override
+            public String identifier() {
+                return wallet.identifier();
+            }
+
+            @Override
+            public BillingInfo billingInfo() {
+                return wallet.billingInfo();
+            }
+
+            @Override
+            public Wallet activate() {
+                return wallet.activate();
+            }
+
+            @Override
+            public boolean remove() {
+                return wallet.remove();
+            }
+        };
+    }
+
     /**
      * Build a Wallet from a JOOQ record.
      * @param project Project owning the Wallet.
@@ -0,0 +1,382 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import com.selfxdsd.api.Contributor;
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.ProjectManager;
+import com.selfxdsd.api.Task;
+import com.selfxdsd.api.User;
+import com.selfxdsd.api.storage.Storage;
+import com.selfxdsd.core.StoredUser;
+import com.selfxdsd.core.contracts.StoredContract;
+import com.selfxdsd.core.contributors.StoredContributor;
+import com.selfxdsd.core.managers.StoredProjectManager;
+import com.selfxdsd.core.projects.StoredProject;
+import com.selfxdsd.core.tasks.StoredTask;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.RecordMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_CONTRACTS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_CONTRIBUTORS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_PMS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_PROJECTS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_TASKS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_USERS_XDSD;
+
+/**
+ * Maps the Records of the tasks' SELECT (tasks joined with projects, users,
+ * PMs, contracts and contributors) to Tasks. The columns are read by index
+ * and the parents are shared by the rows of a query, see {@link #perQuery()}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+final class TaskMapper {
+
+    /**
+     * Owner's username.
+     */
+    private final Column<String> ownerUsername;
+
+    /**
+     * Owner's email.
+     */
+    private final Column<String> ownerEmail;
+
+    /**
+     * Owner's role.
+     */
+    private final Column<String> ownerRole;
+
+    /**
+     * Owner's provider.
+     */
+    private final Column<String> ownerProvider;
+
+    /**
+     * Project's repo full name.
+     */
+    private final Column<String> repoFullName;
+
+    /**
+     * Project's webhook token.
+     */
+    private final Column<String> webhookToken;
+
+    /**
+     * PM's id.
+     */
+    private final Column<Integer> pmId;
+
+    /**
+     * PM's user id.
+     */
+    private final Column<String> pmUserId;
+
+    /**
+     * PM's username.
+     */
+    private final Column<String> pmUsername;
+
+    /**
+     * PM's provider.
+     */
+    private final Column<String> pmProvider;
+
+    /**
+     * PM's access token.
+     */
+    private final Column<String> pmAccessToken;
+
+    /**
+     * PM's commission.
+     */
+    private final Column<BigDecimal> pmCommission;
+
+    /**
+     * PM's contributor commission.
+     */
+    private final Column<BigDecimal> pmContribCommission;
+
+    /**
+     * Task's issue id.
+     */
+    private final Column<String> issueId;
+
+    /**
+     * Task's role.
+     */
+    private final Column<String> role;
+
+    /**
+     * Task's assignee (null if unassigned).
+     */
+    private final Column<String> assignee;
+
+    /**
+     * Task's assignment date.
+     */
+    private final Column<LocalDateTime> assigned;
+
+    /**
+     * Task's deadline.
+     */
+    private final Column<LocalDateTime> deadline;
+
+    /**
+     * Task's estimation.
+     */
+    private final Column<Integer> estimation;
+
+    /**
+     * Is the Task a PR?
+     */
+    private final Column<Boolean> pullRequest;
+
+    /**
+     * Contributor's username.
+     */
+    private final Column<String> contributorUsername;
+
+    /**
+     * Contributor's provider.
+     */
+    private final Column<String> contributorProvider;
+
+    /**
+     * Contract's hourly rate.
+     */
+    private final Column<Long> hourlyRate;
+
+    /**
+     * Contract's role.
+     */
+    private final Column<String> contractRole;
+
+    /**
+     * Contract's removal mark.
+     */
+    private final Column<LocalDateTime> markedForRemoval;
+
+    /**
+     * Parent Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Ctor.
+     * @param selected Fields selected by the query, in their order.
+     * @param storage Parent Storage.
+     * @checkstyle ExecutableStatementCount (60 lines)
+     */
+    TaskMapper(final List<Field<?>> selected, final Storage storage) {
+        this.ownerUsername = new Column<>(selected, SLF_USERS_XDSD.USERNAME);
+        this.ownerEmail = new Column<>(selected, SLF_USERS_XDSD.EMAIL);
+        this.ownerRole = new Column<>(selected, SLF_USERS_XDSD.ROLE);
+        this.ownerProvider = new Column<>(selected, SLF_USERS_XDSD.PROVIDER);
+        this.repoFullName = new Column<>(
+            selected, SLF_PROJECTS_XDSD.REPO_FULLNAME
+        );
+        this.webhookToken = new Column<>(
+            selected, SLF_PROJECTS_XDSD.WEBHOOK_TOKEN
+        );
+        this.pmId = new Column<>(selected, SLF_PMS_XDSD.ID);
+        this.pmUserId = new Column<>(selected, SLF_PMS_XDSD.USERID);
+        this.pmUsername = new Column<>(selected, SLF_PMS_XDSD.USERNAME);
+        this.pmProvider = new Column<>(selected, SLF_PMS_XDSD.PROVIDER);
+        this.pmAccessToken = new Column<>(selected, SLF_PMS_XDSD.ACCESS_TOKEN);
+        this.pmCommission = new Column<>(selected, SLF_PMS_XDSD.COMMISSION);
+        this.pmContribCommission = new Column<>(
+            selected, SLF_PMS_XDSD.CONTRIBUTORCOMMISSION
+        );
+        this.issueId = new Column<>(selected, SLF_TASKS_XDSD.ISSUEID);
+        this.role = new Column<>(selected, SLF_TASKS_XDSD.ROLE);
+        this.assignee = new Column<>(selected, SLF_TASKS_XDSD.USERNAME);
+        this.assigned = new Column<>(selected, SLF_TASKS_XDSD.ASSIGNED);
+        this.deadline = new Column<>(selected, SLF_TASKS_XDSD.DEADLINE);
+        this.estimation = new Column<>(
+            selected, SLF_TASKS_XDSD.ESTIMATION_MINUTES
+        );
+        this.pullRequest = new Column<>(selected, SLF_TASKS_XDSD.ISPULLREQUEST);
+        this.contributorUsername = new Column<>(
+            selected, SLF_CONTRIBUTORS_XDSD.USERNAME
+        );
+        this.contributorProvider = new Column<>(
+            selected, SLF_CONTRIBUTORS_XDSD.PROVIDER
+        );
+        this.hourlyRate = new Column<>(
+            selected, SLF_CONTRACTS_XDSD.HOURLY_RATE
+        );
+        this.contractRole = new Column<>(selected, SLF_CONTRACTS_XDSD.ROLE);
+        this.markedForRemoval = new Column<>(
+            selected, SLF_CONTRACTS_XDSD.MARKEDFORREMOVAL
+        );
+        this.storage = storage;
+    }
+
+    /**
+     * Mapper for the Records of one query. The Tasks of its result share
+     * their parents: each Project, owner, PM and Contributor is built only
+     * once per query, the following rows reuse it (identity map keyed by
+     * primary key). Call this for every query, the returned mapper should
+     * not outlive it.
+     * @return RecordMapper.
+     */
+    RecordMapper<Record, Task> perQuery() {
+        final IdentityMap<User> owners = new IdentityMap<>();
+        final IdentityMap<ProjectManager> managers = new IdentityMap<>();
+        final IdentityMap<Project> projects = new IdentityMap<>();
+        final IdentityMap<Contributor> contributors = new IdentityMap<>();
+        return rec -> {
+            final Project project = this.project(
+                rec, projects, owners, managers
+            );
+            final Task task;
+            if(this.assignee.value(rec) == null) {
+                task = new StoredTask(
+                    project,
+                    this.issueId.value(rec),
+                    this.role.value(rec),
+                    this.estimation.value(rec),
+                    this.pullRequest.value(rec),
+                    this.storage
+                );
+            } else {
+                task = new StoredTask(
+                    new StoredContract(
+                        project,
+                        this.contributor(rec, contributors),
+                        BigDecimal.valueOf(this.hourlyRate.value(rec)),
+                        this.contractRole.value(rec),
+                        this.markedForRemoval.value(rec),
+                        this.storage
+                    ),
+                    this.issueId.value(rec),
+                    this.storage,
+                    this.assigned.value(rec),
+                    this.deadline.value(rec),
+                    this.estimation.value(rec),
+                    this.pullRequest.value(rec)
+                );
+            }
+            return task;
+        };
+    }
+
+    /**
+     * The Task's Project, built only if it is not already in the identity
+     * map.
+     * @param rec Record.
+     * @param projects Projects of the query.
+     * @param owners Owners of the query.
+     * @param managers PMs of the query.
+     * @return Project.
+     */
+    private Project project(
+        final Record rec,
+        final IdentityMap<Project> projects,
+        final IdentityMap<User> owners,
+        final IdentityMap<ProjectManager> managers
+    ) {
+        final String repo = this.repoFullName.value(rec);
+        final String provider = this.ownerProvider.value(rec);
+        Project project = projects.get(repo, provider);
+        if(project == null) {
+            final String username = this.ownerUsername.value(rec);
+            User owner = owners.get(username, provider);
+            if(owner == null) {
+                owner = owners.put(
+                    username,
+                    provider,
+                    new StoredUser(
+                        username,
+                        this.ownerEmail.value(rec),
+                        this.ownerRole.value(rec),
+                        provider,
+                        this.storage
+                    )
+                );
+            }
+            final Integer pmid = this.pmId.value(rec);
+            ProjectManager manager = managers.get(pmid, provider);
+            if(manager == null) {
+                manager = managers.put(
+                    pmid,
+                    provider,
+                    new StoredProjectManager(
+                        pmid,
+                        this.pmUserId.value(rec),
+                        this.pmUsername.value(rec),
+                        this.pmProvider.value(rec),
+                        this.pmAccessToken.value(rec),
+                        this.pmCommission.value(rec).doubleValue(),
+                        this.pmContribCommission.value(rec).doubleValue(),
+                        this.storage
+                    )
+                );
+            }
+            project = projects.put(
+                repo,
+                provider,
+                new StoredProject(
+                    owner,
+                    repo,
+                    this.webhookToken.value(rec),
+                    manager,
+                    this.storage
+                )
+            );
+        }
+        return project;
+    }
+
+    /**
+     * The Task's Contributor, built only if it is not already in the
+     * identity map.
+     * @param rec Record.
+     * @param contributors Contributors of the query.
+     * @return Contributor.
+     */
+    private Contributor contributor(
+        final Record rec,
+        final IdentityMap<Contributor> contributors
+    ) {
+        final String username = this.contributorUsername.value(rec);
+        final String provider = this.contributorProvider.value(rec);
+        Contributor contributor = contributors.get(username, provider);
+        if(contributor == null) {
+            contributor = contributors.put(
+                username,
+                provider,
+                new StoredContributor(username, provider, this.storage)
+            );
+        }
+        return contributor;
+    }
+}
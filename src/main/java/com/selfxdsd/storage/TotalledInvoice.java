@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import com.selfxdsd.api.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Invoice with the totals kept on its row (the running sums of its
+ * InvoicedTasks and their number, updated whenever a task is invoiced).
+ * They are read together with the Invoice, so the totals don't iterate
+ * over the tasks. Like the latest Payment, they are the values read at the
+ * time the Invoice was selected, plus the tasks registered through this
+ * object since then.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+final class TotalledInvoice implements Invoice {
+
+    /**
+     * Original Invoice.
+     */
+    private final Invoice origin;
+
+    /**
+     * Sum of the tasks' values.
+     */
+    private BigDecimal amount;
+
+    /**
+     * Sum of the tasks' project commissions.
+     */
+    private BigDecimal projectCommission;
+
+    /**
+     * Sum of the tasks' contributor commissions.
+     */
+    private BigDecimal contribCommission;
+
+    /**
+     * Number of tasks.
+     */
+    private int tasksCount;
+
+    /**
+     * Ctor.
+     * @param origin Original Invoice.
+     * @param amount Sum of the tasks' values.
+     * @param projectCommission Sum of the tasks' project commissions.
+     * @param contributorCommission Sum of the tasks' contributor
+     *  commissions.
+     * @param tasksCount Number of tasks.
+     */
+    TotalledInvoice(
+        final Invoice origin,
+        final BigDecimal amount,
+        final BigDecimal projectCommission,
+        final BigDecimal contributorCommission,
+        final int tasksCount
+    ) {
+        this.origin = origin;
+        this.amount = amount;
+        this.projectCommission = projectCommission;
+        this.contribCommission = contributorCommission;
+        this.tasksCount = tasksCount;
+    }
+
+    @Override
+    public int invoiceId() {
+        return this.origin.invoiceId();
+    }
+
+    @Override
+    public synchronized InvoicedTask register(
+        final Task task,
+        final BigDecimal projectCommission,
+        final BigDecimal contributorCommission
+    ) {
+        final InvoicedTask registered = this.origin.register(
+            task, projectCommission, contributorCommission
+        );
+        this.amount = this.amount.add(task.value());
+        this.projectCommission = this.projectCommission.add(
+            projectCommission
+        );
+        this.contribCommission = this.contribCommission.add(
+            contributorCommission
+        );
+        this.tasksCount = this.tasksCount + 1;
+        return registered;
+    }
+
+    @Override
+    public Contract contract() {
+        return this.origin.contract();
+    }
+
+    @Override
+    public LocalDateTime createdAt() {
+        return this.origin.createdAt();
+    }
+
+    @Override
+    public Payment latest() {
+        return this.origin.latest();
+    }
+
+    @Override
+    public String billedBy() {
+        return this.origin.billedBy();
+    }
+
+    @Override
+    public String billedTo() {
+        return this.origin.billedTo();
+    }
+
+    @Override
+    public String billedByCountry() {
+        return this.origin.billedByCountry();
+    }
+
+    @Override
+    public String billedToCountry() {
+        return this.origin.billedToCountry();
+    }
+
+    @Override
+    public InvoicedTasks tasks() {
+        return this.origin.tasks();
+    }
+
+    @Override
+    public synchronized BigDecimal totalAmount() {
+        return this.amount.add(this.projectCommission);
+    }
+
+    @Override
+    public synchronized BigDecimal amount() {
+        return this.amount;
+    }
+
+    @Override
+    public synchronized BigDecimal projectCommission() {
+        return this.projectCommission;
+    }
+
+    @Override
+    public synchronized BigDecimal contributorCommission() {
+        return this.contribCommission;
+    }
+
+    /**
+     * Number of invoiced tasks, without iterating over them.
+     * @return Number of tasks.
+     */
+    public synchronized int tasksCount() {
+        return this.tasksCount;
+    }
+
+    @Override
+    public BigDecimal eurToRon() {
+        return this.origin.eurToRon();
+    }
+
+    @Override
+    public boolean isPaid() {
+        return this.origin.isPaid();
+    }
+
+    @Override
+    public PlatformInvoice platformInvoice() {
+        return this.origin.platformInvoice();
+    }
+
+    @Override
+    public Payments payments() {
+        return this.origin.payments();
+    }
+
+    @Override
+    public void toPdf(final OutputStream stream) throws IOException {
+        this.origin.toPdf(stream);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.origin.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj || obj instanceof Invoice
+            && this.invoiceId() == ((Invoice) obj).invoiceId();
+    }
+}
@@ -0,0 +1,384 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import com.selfxdsd.api.CachedResource;
+import com.selfxdsd.api.Resource;
+import com.selfxdsd.api.storage.Storage;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JsonStorage which writes the cached resources in the background
+ * (write-behind). Writes go into a bounded queue, are coalesced by URI
+ * (last writer wins) and are flushed by a worker thread, in JDBC batches.
+ * This way, the request thread never waits for the cache writes.<br><br>
+ * The worker uses its own Database, connected for each batch, so its
+ * batches never get mixed up with the transactions of the request thread
+ * and a broken connection only affects one batch. A failed or dropped
+ * cache write is harmless (it is only logged): the resource will simply be
+ * requested again from the provider.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+public final class WriteBehindJsonStorage
+    implements NamespacedJsonStorage {
+
+    /**
+     * Maximum number of resources written in one batch.
+     */
+    private static final int BATCH = 100;
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = Logger.getLogger(
+        WriteBehindJsonStorage.class.getName()
+    );
+
+    /**
+     * Parent Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * JsonStorage used for reading.
+     */
+    private final SelfJsonStorage reads;
+
+    /**
+     * Database of the worker, connected for each batch.
+     */
+    private final Database cache;
+
+    /**
+     * Maximum number of pending writes. When the queue is full, new
+     * writes are dropped.
+     */
+    private final int capacity;
+
+    /**
+     * Pending writes, by URI, in the order they were queued.
+     */
+    private final Map<URI, Write> pending;
+
+    /**
+     * Lock held while a batch is taken and written, so an invalidation
+     * never interleaves with a batch that is being flushed.
+     */
+    private final Object flush;
+
+    /**
+     * Background worker, started by the first queued write.
+     */
+    private Thread worker;
+
+    /**
+     * Has this JsonStorage been closed?
+     */
+    private boolean closed;
+
+    /**
+     * Ctor.
+     * @param storage Parent Storage.
+     * @param database Database used for reading.
+     * @param cache Database used by the worker for writing.
+     * @param capacity Maximum number of pending writes.
+     * @checkstyle ParameterNumber (5 lines)
+     */
+    public WriteBehindJsonStorage(
+        final Storage storage,
+        final Database database,
+        final Database cache,
+        final int capacity
+    ) {
+        this.storage = storage;
+        this.reads = new SelfJsonStorage(storage, database);
+        this.cache = cache;
+        this.capacity = capacity;
+        this.pending = new LinkedHashMap<>();
+        this.flush = new Object();
+    }
+
+    @Override
+    public CachedResource getResource(final URI uri) {
+        final Write write;
+        synchronized (this.pending) {
+            write = this.pending.get(WriteBehindJsonStorage.key(uri));
+        }
+        final CachedResource found;
+        if(write == null) {
+            found = this.reads.getResource(uri);
+        } else {
+            found = SelfJsonStorage.cached(uri, write.resource, write.created);
+        }
+        return found;
+    }
+
+    @Override
+    public CachedResource storeResource(
+        final URI uri,
+        final Resource resource
+    ) {
+        final LocalDateTime created = LocalDateTime.now();
+        this.queue(uri, resource, created, true);
+        return SelfJsonStorage.cached(uri, resource, created);
+    }
+
+    @Override
+    public CachedResource updateResource(
+        final URI uri,
+        final Resource resource
+    ) {
+        this.queue(uri, resource, null, false);
+        return SelfJsonStorage.cached(uri, resource, null);
+    }
+
+    /**
+     * Remove all the stored resources of a repository. Its pending writes
+     * are dropped first, so they are not flushed after the invalidation.
+     * @param repoFullName Full name of the repository (owner/name).
+     * @param provider Provider (github, gitlab etc).
+     * @return Number of removed resources.
+     */
+    @Override
+    public int invalidate(final String repoFullName, final String provider) {
+        final String namespace = SelfJsonStorage.namespace(
+            repoFullName, provider
+        );
+        synchronized (this.flush) {
+            synchronized (this.pending) {
+                this.pending.keySet().removeIf(
+                    uri -> namespace.equals(SelfJsonStorage.namespace(uri))
+                );
+            }
+            return this.reads.invalidate(repoFullName, provider);
+        }
+    }
+
+    /**
+     * Write all the pending resources and stop the worker.
+     */
+    public void close() {
+        final Thread started;
+        synchronized (this.pending) {
+            this.closed = true;
+            this.pending.notifyAll();
+            started = this.worker;
+        }
+        if(started != null) {
+            try {
+                started.join();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Queue a write. If the URI already has a pending write, it is
+     * replaced, but it is still an insert if the first write was one.
+     * @param uri URI of the resource.
+     * @param resource Resource.
+     * @param created Creation date.
+     * @param insert Is it a new resource?
+     */
+    private void queue(
+        final URI uri,
+        final Resource resource,
+        final LocalDateTime created,
+        final boolean insert
+    ) {
+        if(SelfJsonStorage.cacheable(resource)) {
+            final URI key = WriteBehindJsonStorage.key(uri);
+            synchronized (this.pending) {
+                final Write previous = this.pending.get(key);
+                if(previous != null) {
+                    this.pending.put(
+                        key,
+                        new Write(resource, created, previous.insert)
+                    );
+                } else if(!this.closed
+                    && this.pending.size() < this.capacity) {
+                    this.pending.put(key, new Write(resource, created, insert));
+                    this.start();
+                    this.pending.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Start the worker, if it is not started yet. It is not started by the
+     * constructor, so it never sees a partially constructed object. Call
+     * it while holding the lock of the pending writes.
+     */
+    private void start() {
+        if(this.worker == null) {
+            this.worker = new Thread(this::work, "self-jsonstorage-writer");
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+    }
+
+    /**
+     * Worker loop: wait for pending writes and flush them in batches,
+     * until this JsonStorage is closed and there is nothing left to write.
+     */
+    private void work() {
+        while (this.await()) {
+            synchronized (this.flush) {
+                this.write(this.take());
+            }
+        }
+    }
+
+    /**
+     * Wait for pending writes. If the worker is interrupted, it is treated
+     * like a close: the pending writes are still flushed, then it stops.
+     * @return False if this JsonStorage is closed and there is nothing
+     *  left to write, true otherwise.
+     */
+    private boolean await() {
+        synchronized (this.pending) {
+            try {
+                while (this.pending.isEmpty() && !this.closed) {
+                    this.pending.wait();
+                }
+            } catch (final InterruptedException ex) {
+                this.closed = true;
+                Thread.currentThread().interrupt();
+            }
+            return !this.pending.isEmpty() || !this.closed;
+        }
+    }
+
+    /**
+     * Take the next batch of pending writes, without waiting.
+     * @return Batch, possibly empty.
+     */
+    private Map<URI, Write> take() {
+        final Map<URI, Write> batch = new LinkedHashMap<>();
+        synchronized (this.pending) {
+            final Iterator<Map.Entry<URI, Write>> writes = this.pending
+                .entrySet().iterator();
+            while (writes.hasNext() && batch.size() < BATCH) {
+                final Map.Entry<URI, Write> write = writes.next();
+                batch.put(write.getKey(), write.getValue());
+                writes.remove();
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Write a batch of pending writes.
+     * @param batch Batch.
+     */
+    private void write(final Map<URI, Write> batch) {
+        final Map<URI, Resource> inserts = new LinkedHashMap<>();
+        final Map<URI, Resource> updates = new LinkedHashMap<>();
+        for(final Map.Entry<URI, Write> write : batch.entrySet()) {
+            if(write.getValue().insert) {
+                inserts.put(write.getKey(), write.getValue().resource);
+            } else {
+                updates.put(write.getKey(), write.getValue().resource);
+            }
+        }
+        if(!batch.isEmpty()) {
+            // @checkstyle IllegalCatch (10 lines)
+            try {
+                final Database connected = this.cache.connect();
+                try {
+                    new SelfJsonStorage(this.storage, connected)
+                        .writeAll(inserts, updates);
+                } finally {
+                    connected.close();
+                }
+            } catch (final RuntimeException ex) {
+                LOG.log(
+                    Level.WARNING,
+                    "Could not write " + batch.size() + " cached resources",
+                    ex
+                );
+            }
+        }
+    }
+
+    /**
+     * Key of the pending write of the given URI: its normalized form, so
+     * equivalent URIs are coalesced, the same way they are stored.
+     * @param uri URI of the resource.
+     * @return Normalized URI.
+     */
+    private static URI key(final URI uri) {
+        return URI.create(SelfJsonStorage.key(uri));
+    }
+
+    /**
+     * A pending write.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 0.0.77
+     */
+    private static final class Write {
+
+        /**
+         * Written Resource.
+         */
+        private final Resource resource;
+
+        /**
+         * Creation date, null for updates.
+         */
+        private final LocalDateTime created;
+
+        /**
+         * Is it a new resource (insert) or an update?
+         */
+        private final boolean insert;
+
+        /**
+         * Ctor.
+         * @param resource Written Resource.
+         * @param created Creation date.
+         * @param insert Is it a new resource (insert) or an update?
+         */
+        Write(
+            final Resource resource,
+            final LocalDateTime created,
+            final boolean insert
+        ) {
+            this.resource = resource;
+            this.created = created;
+            this.insert = insert;
+        }
+    }
+}
@@ -8,11 +8,14 @@ import com.selfxdsd.storage.generated.jooq.tables.SlfApitokensXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.SlfContractsXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.SlfInvoicedtasksXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.SlfInvoicesXdsd;
+import com.selfxdsd.storage.generated.jooq.tables.SlfJsonstorageXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.SlfPaymentmethodsXdsd;
+import com.selfxdsd.storage.generated.jooq.tables.SlfPaymentsXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.SlfPlatforminvoicesXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.SlfProjectsXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.SlfResignationsXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.SlfTasksXdsd;
+import com.selfxdsd.storage.generated.jooq.tables.SlfWalletsXdsd;
 
 import org.jooq.Index;
 import org.jooq.OrderField;
@@ -34,13 +37,16 @@ public class Indexes {
     public static final Index SLF_CONTRACTS_XDSD_PROJECT = Indexes0.SLF_CONTRACTS_XDSD_PROJECT;
     public static final Index SLF_INVOICEDTASKS_XDSD_INVOICECONTRACTFK = Indexes0.SLF_INVOICEDTASKS_XDSD_INVOICECONTRACTFK;
     public static final Index SLF_INVOICES_XDSD_FKCONTRACT = Indexes0.SLF_INVOICES_XDSD_FKCONTRACT;
+    public static final Index SLF_JSONSTORAGE_XDSD_NAMESPACE = Indexes0.SLF_JSONSTORAGE_XDSD_NAMESPACE;
     public static final Index SLF_PAYMENTMETHODS_XDSD_WALLETFK = Indexes0.SLF_PAYMENTMETHODS_XDSD_WALLETFK;
+    public static final Index SLF_PAYMENTS_XDSD_PAYMENTTIME = Indexes0.SLF_PAYMENTS_XDSD_PAYMENTTIME;
     public static final Index SLF_PLATFORMINVOICES_XDSD_INVOICEFK = Indexes0.SLF_PLATFORMINVOICES_XDSD_INVOICEFK;
     public static final Index SLF_PROJECTS_XDSD_OWNER = Indexes0.SLF_PROJECTS_XDSD_OWNER;
     public static final Index SLF_PROJECTS_XDSD_PM = Indexes0.SLF_PROJECTS_XDSD_PM;
     public static final Index SLF_RESIGNATIONS_XDSD_RESIGNEE = Indexes0.SLF_RESIGNATIONS_XDSD_RESIGNEE;
     public static final Index SLF_RESIGNATIONS_XDSD_TASK = Indexes0.SLF_RESIGNATIONS_XDSD_TASK;
     public static final Index SLF_TASKS_XDSD_PARENT_PROJECT = Indexes0.SLF_TASKS_XDSD_PARENT_PROJECT;
+    public static final Index SLF_WALLETS_XDSD_ACTIVECASH = Indexes0.SLF_WALLETS_XDSD_ACTIVECASH;
 
     // -------------------------------------------------------------------------
     // [#1459] distribute members to avoid static initialisers > 64kb
@@ -52,12 +58,15 @@ public class Indexes {
         public static Index SLF_CONTRACTS_XDSD_PROJECT = Internal.createIndex("project", SlfContractsXdsd.SLF_CONTRACTS_XDSD, new OrderField[] { SlfContractsXdsd.SLF_CONTRACTS_XDSD.REPO_FULLNAME, SlfContractsXdsd.SLF_CONTRACTS_XDSD.PROVIDER }, false);
         public static Index SLF_INVOICEDTASKS_XDSD_INVOICECONTRACTFK = Internal.createIndex("invoiceContractFk", SlfInvoicedtasksXdsd.SLF_INVOICEDTASKS_XDSD, new OrderField[] { SlfInvoicedtasksXdsd.SLF_INVOICEDTASKS_XDSD.REPO_FULLNAME, SlfInvoicedtasksXdsd.SLF_INVOICEDTASKS_XDSD.USERNAME, SlfInvoicedtasksXdsd.SLF_INVOICEDTASKS_XDSD.PROVIDER, SlfInvoicedtasksXdsd.SLF_INVOICEDTASKS_XDSD.ROLE, SlfInvoicedtasksXdsd.SLF_INVOICEDTASKS_XDSD.INVOICEID }, false);
         public static Index SLF_INVOICES_XDSD_FKCONTRACT = Internal.createIndex("fkContract", SlfInvoicesXdsd.SLF_INVOICES_XDSD, new OrderField[] { SlfInvoicesXdsd.SLF_INVOICES_XDSD.REPO_FULLNAME, SlfInvoicesXdsd.SLF_INVOICES_XDSD.USERNAME, SlfInvoicesXdsd.SLF_INVOICES_XDSD.PROVIDER, SlfInvoicesXdsd.SLF_INVOICES_XDSD.ROLE }, false);
+        public static Index SLF_JSONSTORAGE_XDSD_NAMESPACE = Internal.createIndex("namespace", SlfJsonstorageXdsd.SLF_JSONSTORAGE_XDSD, new OrderField[] { SlfJsonstorageXdsd.SLF_JSONSTORAGE_XDSD.NAMESPACE }, false);
         public static Index SLF_PAYMENTMETHODS_XDSD_WALLETFK = Internal.createIndex("walletFK", SlfPaymentmethodsXdsd.SLF_PAYMENTMETHODS_XDSD, new OrderField[] { SlfPaymentmethodsXdsd.SLF_PAYMENTMETHODS_XDSD.REPO_FULLNAME, SlfPaymentmethodsXdsd.SLF_PAYMENTMETHODS_XDSD.PROVIDER, SlfPaymentmethodsXdsd.SLF_PAYMENTMETHODS_XDSD.TYPE }, false);
+        public static Index SLF_PAYMENTS_XDSD_PAYMENTTIME = Internal.createIndex("paymentTime", SlfPaymentsXdsd.SLF_PAYMENTS_XDSD, new OrderField[] { SlfPaymentsXdsd.SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP }, false);
         public static Index SLF_PLATFORMINVOICES_XDSD_INVOICEFK = Internal.createIndex("invoiceFk", SlfPlatforminvoicesXdsd.SLF_PLATFORMINVOICES_XDSD, new OrderField[] { SlfPlatforminvoicesXdsd.SLF_PLATFORMINVOICES_XDSD.INVOICEID }, false);
         public static Index SLF_PROJECTS_XDSD_OWNER = Internal.createIndex("owner", SlfProjectsXdsd.SLF_PROJECTS_XDSD, new OrderField[] { SlfProjectsXdsd.SLF_PROJECTS_XDSD.USERNAME, SlfProjectsXdsd.SLF_PROJECTS_XDSD.PROVIDER }, false);
         public static Index SLF_PROJECTS_XDSD_PM = Internal.createIndex("pm", SlfProjectsXdsd.SLF_PROJECTS_XDSD, new OrderField[] { SlfProjectsXdsd.SLF_PROJECTS_XDSD.PMID }, false);
         public static Index SLF_RESIGNATIONS_XDSD_RESIGNEE = Internal.createIndex("resignee", SlfResignationsXdsd.SLF_RESIGNATIONS_XDSD, new OrderField[] { SlfResignationsXdsd.SLF_RESIGNATIONS_XDSD.USERNAME, SlfResignationsXdsd.SLF_RESIGNATIONS_XDSD.PROVIDER }, false);
         public static Index SLF_RESIGNATIONS_XDSD_TASK = Internal.createIndex("task", SlfResignationsXdsd.SLF_RESIGNATIONS_XDSD, new OrderField[] { SlfResignationsXdsd.SLF_RESIGNATIONS_XDSD.REPO_FULLNAME, SlfResignationsXdsd.SLF_RESIGNATIONS_XDSD.PROVIDER, SlfResignationsXdsd.SLF_RESIGNATIONS_XDSD.ISSUEID, SlfResignationsXdsd.SLF_RESIGNATIONS_XDSD.ISPULLREQUEST }, false);
         public static Index SLF_TASKS_XDSD_PARENT_PROJECT = Internal.createIndex("parent_project", SlfTasksXdsd.SLF_TASKS_XDSD, new OrderField[] { SlfTasksXdsd.SLF_TASKS_XDSD.REPO_FULLNAME, SlfTasksXdsd.SLF_TASKS_XDSD.PROVIDER }, false);
+        public static Index SLF_WALLETS_XDSD_ACTIVECASH = Internal.createIndex("activeCash", SlfWalletsXdsd.SLF_WALLETS_XDSD, new OrderField[] { SlfWalletsXdsd.SLF_WALLETS_XDSD.ACTIVE, SlfWalletsXdsd.SLF_WALLETS_XDSD.CASH }, false);
     }
 }
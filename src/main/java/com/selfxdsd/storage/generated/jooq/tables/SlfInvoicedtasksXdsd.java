@@ -9,7 +9,6 @@ import com.selfxdsd.storage.generated.jooq.Keys;
 import com.selfxdsd.storage.generated.jooq.SelfXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.records.SlfInvoicedtasksXdsdRecord;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -36,7 +35,7 @@ import org.jooq.impl.TableImpl;
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
 public class SlfInvoicedtasksXdsd extends TableImpl<SlfInvoicedtasksXdsdRecord> {
 
-    private static final long serialVersionUID = -301751147;
+    private static final long serialVersionUID = -1347972469;
 
     /**
      * The reference instance of <code>self_xdsd.slf_invoicedtasks_xdsd</code>
@@ -79,17 +78,17 @@ public class SlfInvoicedtasksXdsd extends TableImpl<SlfInvoicedtasksXdsdRecord>
     /**
      * The column <code>self_xdsd.slf_invoicedtasks_xdsd.value</code>.
      */
-    public final TableField<SlfInvoicedtasksXdsdRecord, BigInteger> VALUE = createField(DSL.name("value"), org.jooq.impl.SQLDataType.DECIMAL_INTEGER.precision(20).nullable(false), this, "");
+    public final TableField<SlfInvoicedtasksXdsdRecord, Long> VALUE = createField(DSL.name("value"), org.jooq.impl.SQLDataType.BIGINT.nullable(false), this, "");
 
     /**
      * The column <code>self_xdsd.slf_invoicedtasks_xdsd.commission</code>.
      */
-    public final TableField<SlfInvoicedtasksXdsdRecord, BigInteger> COMMISSION = createField(DSL.name("commission"), org.jooq.impl.SQLDataType.DECIMAL_INTEGER.precision(20).nullable(false), this, "");
+    public final TableField<SlfInvoicedtasksXdsdRecord, Long> COMMISSION = createField(DSL.name("commission"), org.jooq.impl.SQLDataType.BIGINT.nullable(false), this, "");
 
     /**
      * The column <code>self_xdsd.slf_invoicedtasks_xdsd.contributorCommission</code>.
      */
-    public final TableField<SlfInvoicedtasksXdsdRecord, BigInteger> CONTRIBUTORCOMMISSION = createField(DSL.name("contributorCommission"), org.jooq.impl.SQLDataType.DECIMAL_INTEGER.precision(20).nullable(false), this, "");
+    public final TableField<SlfInvoicedtasksXdsdRecord, Long> CONTRIBUTORCOMMISSION = createField(DSL.name("contributorCommission"), org.jooq.impl.SQLDataType.BIGINT.nullable(false), this, "");
 
     /**
      * The column <code>self_xdsd.slf_invoicedtasks_xdsd.issueId</code>.
@@ -215,7 +214,7 @@ public class SlfInvoicedtasksXdsd extends TableImpl<SlfInvoicedtasksXdsdRecord>
     // -------------------------------------------------------------------------
 
     @Override
-    public Row15<Integer, String, String, String, String, BigInteger, BigInteger, BigInteger, String, LocalDateTime, LocalDateTime, LocalDateTime, Integer, Integer, Boolean> fieldsRow() {
+    public Row15<Integer, String, String, String, String, Long, Long, Long, String, LocalDateTime, LocalDateTime, LocalDateTime, Integer, Integer, Boolean> fieldsRow() {
         return (Row15) super.fieldsRow();
     }
 }
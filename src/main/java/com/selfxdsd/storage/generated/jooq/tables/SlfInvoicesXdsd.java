@@ -9,7 +9,6 @@ import com.selfxdsd.storage.generated.jooq.Keys;
 import com.selfxdsd.storage.generated.jooq.SelfXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.records.SlfInvoicesXdsdRecord;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -20,7 +19,7 @@ import org.jooq.Identity;
 import org.jooq.Index;
 import org.jooq.Name;
 import org.jooq.Record;
-import org.jooq.Row11;
+import org.jooq.Row20;
 import org.jooq.Schema;
 import org.jooq.Table;
 import org.jooq.TableField;
@@ -36,7 +35,7 @@ import org.jooq.impl.TableImpl;
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
 public class SlfInvoicesXdsd extends TableImpl<SlfInvoicesXdsdRecord> {
 
-    private static final long serialVersionUID = 1656220286;
+    private static final long serialVersionUID = -2014017981;
 
     /**
      * The reference instance of <code>self_xdsd.slf_invoices_xdsd</code>
@@ -104,7 +103,52 @@ public class SlfInvoicesXdsd extends TableImpl<SlfInvoicesXdsdRecord> {
     /**
      * The column <code>self_xdsd.slf_invoices_xdsd.eurToRon</code>.
      */
-    public final TableField<SlfInvoicesXdsdRecord, BigInteger> EURTORON = createField(DSL.name("eurToRon"), org.jooq.impl.SQLDataType.DECIMAL_INTEGER.precision(20).defaultValue(org.jooq.impl.DSL.inline("0", org.jooq.impl.SQLDataType.DECIMAL_INTEGER)), this, "");
+    public final TableField<SlfInvoicesXdsdRecord, Long> EURTORON = createField(DSL.name("eurToRon"), org.jooq.impl.SQLDataType.BIGINT.defaultValue(org.jooq.impl.DSL.inline("0", org.jooq.impl.SQLDataType.BIGINT)), this, "");
+
+    /**
+     * The column <code>self_xdsd.slf_invoices_xdsd.latestTransactionId</code>.
+     */
+    public final TableField<SlfInvoicesXdsdRecord, String> LATESTTRANSACTIONID = createField(DSL.name("latestTransactionId"), org.jooq.impl.SQLDataType.VARCHAR(256), this, "");
+
+    /**
+     * The column <code>self_xdsd.slf_invoices_xdsd.latestPaymentTimestamp</code>.
+     */
+    public final TableField<SlfInvoicesXdsdRecord, LocalDateTime> LATESTPAYMENTTIMESTAMP = createField(DSL.name("latestPaymentTimestamp"), org.jooq.impl.SQLDataType.LOCALDATETIME, this, "");
+
+    /**
+     * The column <code>self_xdsd.slf_invoices_xdsd.latestValue</code>.
+     */
+    public final TableField<SlfInvoicesXdsdRecord, Long> LATESTVALUE = createField(DSL.name("latestValue"), org.jooq.impl.SQLDataType.BIGINT, this, "");
+
+    /**
+     * The column <code>self_xdsd.slf_invoices_xdsd.latestStatus</code>.
+     */
+    public final TableField<SlfInvoicesXdsdRecord, String> LATESTSTATUS = createField(DSL.name("latestStatus"), org.jooq.impl.SQLDataType.VARCHAR(32), this, "");
+
+    /**
+     * The column <code>self_xdsd.slf_invoices_xdsd.latestFailReason</code>.
+     */
+    public final TableField<SlfInvoicesXdsdRecord, String> LATESTFAILREASON = createField(DSL.name("latestFailReason"), org.jooq.impl.SQLDataType.VARCHAR(512), this, "");
+
+    /**
+     * The column <code>self_xdsd.slf_invoices_xdsd.totalValue</code>.
+     */
+    public final TableField<SlfInvoicesXdsdRecord, Long> TOTALVALUE = createField(DSL.name("totalValue"), org.jooq.impl.SQLDataType.BIGINT.nullable(false).defaultValue(org.jooq.impl.DSL.inline("0", org.jooq.impl.SQLDataType.BIGINT)), this, "");
+
+    /**
+     * The column <code>self_xdsd.slf_invoices_xdsd.totalCommission</code>.
+     */
+    public final TableField<SlfInvoicesXdsdRecord, Long> TOTALCOMMISSION = createField(DSL.name("totalCommission"), org.jooq.impl.SQLDataType.BIGINT.nullable(false).defaultValue(org.jooq.impl.DSL.inline("0", org.jooq.impl.SQLDataType.BIGINT)), this, "");
+
+    /**
+     * The column <code>self_xdsd.slf_invoices_xdsd.totalContributorCommission</code>.
+     */
+    public final TableField<SlfInvoicesXdsdRecord, Long> TOTALCONTRIBUTORCOMMISSION = createField(DSL.name("totalContributorCommission"), org.jooq.impl.SQLDataType.BIGINT.nullable(false).defaultValue(org.jooq.impl.DSL.inline("0", org.jooq.impl.SQLDataType.BIGINT)), this, "");
+
+    /**
+     * The column <code>self_xdsd.slf_invoices_xdsd.tasksCount</code>.
+     */
+    public final TableField<SlfInvoicesXdsdRecord, Integer> TASKSCOUNT = createField(DSL.name("tasksCount"), org.jooq.impl.SQLDataType.INTEGER.nullable(false).defaultValue(org.jooq.impl.DSL.inline("0", org.jooq.impl.SQLDataType.INTEGER)), this, "");
 
     /**
      * Create a <code>self_xdsd.slf_invoices_xdsd</code> table reference
@@ -200,11 +244,11 @@ public class SlfInvoicesXdsd extends TableImpl<SlfInvoicesXdsdRecord> {
     }
 
     // -------------------------------------------------------------------------
-    // Row11 type methods
+    // Row20 type methods
     // -------------------------------------------------------------------------
 
     @Override
-    public Row11<Integer, String, String, String, String, LocalDateTime, String, String, String, String, BigInteger> fieldsRow() {
-        return (Row11) super.fieldsRow();
+    public Row20<Integer, String, String, String, String, LocalDateTime, String, String, String, String, Long, String, LocalDateTime, Long, String, String, Long, Long, Long, Integer> fieldsRow() {
+        return (Row20) super.fieldsRow();
     }
 }
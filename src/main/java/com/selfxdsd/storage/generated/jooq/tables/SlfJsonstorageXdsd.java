@@ -4,6 +4,7 @@
 package com.selfxdsd.storage.generated.jooq.tables;
 
 
+import com.selfxdsd.storage.generated.jooq.Indexes;
 import com.selfxdsd.storage.generated.jooq.Keys;
 import com.selfxdsd.storage.generated.jooq.SelfXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.records.SlfJsonstorageXdsdRecord;
@@ -13,9 +14,10 @@ import java.util.List;
 
 import org.jooq.Field;
 import org.jooq.ForeignKey;
+import org.jooq.Index;
 import org.jooq.Name;
 import org.jooq.Record;
-import org.jooq.Row3;
+import org.jooq.Row5;
 import org.jooq.Schema;
 import org.jooq.Table;
 import org.jooq.TableField;
@@ -31,7 +33,7 @@ import org.jooq.impl.TableImpl;
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
 public class SlfJsonstorageXdsd extends TableImpl<SlfJsonstorageXdsdRecord> {
 
-    private static final long serialVersionUID = -188559250;
+    private static final long serialVersionUID = 115060789;
 
     /**
      * The reference instance of <code>self_xdsd.slf_jsonstorage_xdsd</code>
@@ -46,10 +48,15 @@ public class SlfJsonstorageXdsd extends TableImpl<SlfJsonstorageXdsdRecord> {
         return SlfJsonstorageXdsdRecord.class;
     }
 
+    /**
+     * The column <code>self_xdsd.slf_jsonstorage_xdsd.urlHash</code>.
+     */
+    public final TableField<SlfJsonstorageXdsdRecord, byte[]> URLHASH = createField(DSL.name("urlHash"), org.jooq.impl.SQLDataType.BINARY(32).nullable(false), this, "");
+
     /**
      * The column <code>self_xdsd.slf_jsonstorage_xdsd.url</code>.
      */
-    public final TableField<SlfJsonstorageXdsdRecord, String> URL = createField(DSL.name("url"), org.jooq.impl.SQLDataType.VARCHAR(512).nullable(false), this, "");
+    public final TableField<SlfJsonstorageXdsdRecord, String> URL = createField(DSL.name("url"), org.jooq.impl.SQLDataType.CLOB.nullable(false), this, "");
 
     /**
      * The column <code>self_xdsd.slf_jsonstorage_xdsd.etag</code>.
@@ -61,6 +68,11 @@ public class SlfJsonstorageXdsd extends TableImpl<SlfJsonstorageXdsdRecord> {
      */
     public final TableField<SlfJsonstorageXdsdRecord, String> JSONBODY = createField(DSL.name("jsonBody"), org.jooq.impl.SQLDataType.CLOB.nullable(false), this, "");
 
+    /**
+     * The column <code>self_xdsd.slf_jsonstorage_xdsd.namespace</code>.
+     */
+    public final TableField<SlfJsonstorageXdsdRecord, String> NAMESPACE = createField(DSL.name("namespace"), org.jooq.impl.SQLDataType.VARCHAR(512), this, "");
+
     /**
      * Create a <code>self_xdsd.slf_jsonstorage_xdsd</code> table reference
      */
@@ -99,6 +111,11 @@ public class SlfJsonstorageXdsd extends TableImpl<SlfJsonstorageXdsdRecord> {
         return SelfXdsd.SELF_XDSD;
     }
 
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.<Index>asList(Indexes.SLF_JSONSTORAGE_XDSD_NAMESPACE);
+    }
+
     @Override
     public UniqueKey<SlfJsonstorageXdsdRecord> getPrimaryKey() {
         return Keys.KEY_SLF_JSONSTORAGE_XDSD_PRIMARY;
@@ -136,11 +153,11 @@ public class SlfJsonstorageXdsd extends TableImpl<SlfJsonstorageXdsdRecord> {
     }
 
     // -------------------------------------------------------------------------
-    // Row3 type methods
+    // Row5 type methods
     // -------------------------------------------------------------------------
 
     @Override
-    public Row3<String, String, String> fieldsRow() {
-        return (Row3) super.fieldsRow();
+    public Row5<byte[], String, String, String, String> fieldsRow() {
+        return (Row5) super.fieldsRow();
     }
 }
@@ -4,17 +4,18 @@
 package com.selfxdsd.storage.generated.jooq.tables;
 
 
+import com.selfxdsd.storage.generated.jooq.Indexes;
 import com.selfxdsd.storage.generated.jooq.Keys;
 import com.selfxdsd.storage.generated.jooq.SelfXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.records.SlfPaymentsXdsdRecord;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 import org.jooq.Field;
 import org.jooq.ForeignKey;
+import org.jooq.Index;
 import org.jooq.Name;
 import org.jooq.Record;
 import org.jooq.Row6;
@@ -33,7 +34,7 @@ import org.jooq.impl.TableImpl;
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
 public class SlfPaymentsXdsd extends TableImpl<SlfPaymentsXdsdRecord> {
 
-    private static final long serialVersionUID = 882636243;
+    private static final long serialVersionUID = 748771744;
 
     /**
      * The reference instance of <code>self_xdsd.slf_payments_xdsd</code>
@@ -66,7 +67,7 @@ public class SlfPaymentsXdsd extends TableImpl<SlfPaymentsXdsdRecord> {
     /**
      * The column <code>self_xdsd.slf_payments_xdsd.value</code>.
      */
-    public final TableField<SlfPaymentsXdsdRecord, BigInteger> VALUE = createField(DSL.name("value"), org.jooq.impl.SQLDataType.DECIMAL_INTEGER.precision(20).nullable(false), this, "");
+    public final TableField<SlfPaymentsXdsdRecord, Long> VALUE = createField(DSL.name("value"), org.jooq.impl.SQLDataType.BIGINT.nullable(false), this, "");
 
     /**
      * The column <code>self_xdsd.slf_payments_xdsd.status</code>.
@@ -116,6 +117,11 @@ public class SlfPaymentsXdsd extends TableImpl<SlfPaymentsXdsdRecord> {
         return SelfXdsd.SELF_XDSD;
     }
 
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.<Index>asList(Indexes.SLF_PAYMENTS_XDSD_PAYMENTTIME);
+    }
+
     @Override
     public UniqueKey<SlfPaymentsXdsdRecord> getPrimaryKey() {
         return Keys.KEY_SLF_PAYMENTS_XDSD_PRIMARY;
@@ -166,7 +172,7 @@ public class SlfPaymentsXdsd extends TableImpl<SlfPaymentsXdsdRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row6<Integer, String, LocalDateTime, BigInteger, String, String> fieldsRow() {
+    public Row6<Integer, String, LocalDateTime, Long, String, String> fieldsRow() {
         return (Row6) super.fieldsRow();
     }
 }
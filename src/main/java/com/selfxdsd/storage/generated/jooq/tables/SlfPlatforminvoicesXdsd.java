@@ -9,7 +9,6 @@ import com.selfxdsd.storage.generated.jooq.Keys;
 import com.selfxdsd.storage.generated.jooq.SelfXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.records.SlfPlatforminvoicesXdsdRecord;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -36,7 +35,7 @@ import org.jooq.impl.TableImpl;
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
 public class SlfPlatforminvoicesXdsd extends TableImpl<SlfPlatforminvoicesXdsdRecord> {
 
-    private static final long serialVersionUID = -1907070898;
+    private static final long serialVersionUID = -1196497454;
 
     /**
      * The reference instance of <code>self_xdsd.slf_platforminvoices_xdsd</code>
@@ -69,12 +68,12 @@ public class SlfPlatforminvoicesXdsd extends TableImpl<SlfPlatforminvoicesXdsdRe
     /**
      * The column <code>self_xdsd.slf_platforminvoices_xdsd.commission</code>.
      */
-    public final TableField<SlfPlatforminvoicesXdsdRecord, BigInteger> COMMISSION = createField(DSL.name("commission"), org.jooq.impl.SQLDataType.DECIMAL_INTEGER.precision(20).nullable(false), this, "");
+    public final TableField<SlfPlatforminvoicesXdsdRecord, Long> COMMISSION = createField(DSL.name("commission"), org.jooq.impl.SQLDataType.BIGINT.nullable(false), this, "");
 
     /**
      * The column <code>self_xdsd.slf_platforminvoices_xdsd.vat</code>.
      */
-    public final TableField<SlfPlatforminvoicesXdsdRecord, BigInteger> VAT = createField(DSL.name("vat"), org.jooq.impl.SQLDataType.DECIMAL_INTEGER.precision(20).nullable(false), this, "");
+    public final TableField<SlfPlatforminvoicesXdsdRecord, Long> VAT = createField(DSL.name("vat"), org.jooq.impl.SQLDataType.BIGINT.nullable(false), this, "");
 
     /**
      * The column <code>self_xdsd.slf_platforminvoices_xdsd.transactionId</code>.
@@ -94,7 +93,7 @@ public class SlfPlatforminvoicesXdsd extends TableImpl<SlfPlatforminvoicesXdsdRe
     /**
      * The column <code>self_xdsd.slf_platforminvoices_xdsd.eurToRon</code>.
      */
-    public final TableField<SlfPlatforminvoicesXdsdRecord, BigInteger> EURTORON = createField(DSL.name("eurToRon"), org.jooq.impl.SQLDataType.DECIMAL_INTEGER.precision(20).nullable(false), this, "");
+    public final TableField<SlfPlatforminvoicesXdsdRecord, Long> EURTORON = createField(DSL.name("eurToRon"), org.jooq.impl.SQLDataType.BIGINT.nullable(false), this, "");
 
     /**
      * Create a <code>self_xdsd.slf_platforminvoices_xdsd</code> table reference
@@ -194,7 +193,7 @@ public class SlfPlatforminvoicesXdsd extends TableImpl<SlfPlatforminvoicesXdsdRe
     // -------------------------------------------------------------------------
 
     @Override
-    public Row9<Integer, LocalDateTime, String, BigInteger, BigInteger, String, LocalDateTime, Integer, BigInteger> fieldsRow() {
+    public Row9<Integer, LocalDateTime, String, Long, Long, String, LocalDateTime, Integer, Long> fieldsRow() {
         return (Row9) super.fieldsRow();
     }
 }
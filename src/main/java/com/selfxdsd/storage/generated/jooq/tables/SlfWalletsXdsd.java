@@ -4,19 +4,20 @@
 package com.selfxdsd.storage.generated.jooq.tables;
 
 
+import com.selfxdsd.storage.generated.jooq.Indexes;
 import com.selfxdsd.storage.generated.jooq.Keys;
 import com.selfxdsd.storage.generated.jooq.SelfXdsd;
 import com.selfxdsd.storage.generated.jooq.tables.records.SlfWalletsXdsdRecord;
 
-import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.List;
 
 import org.jooq.Field;
 import org.jooq.ForeignKey;
+import org.jooq.Index;
 import org.jooq.Name;
 import org.jooq.Record;
-import org.jooq.Row6;
+import org.jooq.Row7;
 import org.jooq.Schema;
 import org.jooq.Table;
 import org.jooq.TableField;
@@ -32,7 +33,7 @@ import org.jooq.impl.TableImpl;
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
 public class SlfWalletsXdsd extends TableImpl<SlfWalletsXdsdRecord> {
 
-    private static final long serialVersionUID = -2017457143;
+    private static final long serialVersionUID = 258179989;
 
     /**
      * The reference instance of <code>self_xdsd.slf_wallets_xdsd</code>
@@ -65,7 +66,7 @@ public class SlfWalletsXdsd extends TableImpl<SlfWalletsXdsdRecord> {
     /**
      * The column <code>self_xdsd.slf_wallets_xdsd.cash</code>.
      */
-    public final TableField<SlfWalletsXdsdRecord, BigInteger> CASH = createField(DSL.name("cash"), org.jooq.impl.SQLDataType.DECIMAL_INTEGER.precision(20).nullable(false), this, "");
+    public final TableField<SlfWalletsXdsdRecord, Long> CASH = createField(DSL.name("cash"), org.jooq.impl.SQLDataType.BIGINT.nullable(false), this, "");
 
     /**
      * The column <code>self_xdsd.slf_wallets_xdsd.active</code>.
@@ -77,6 +78,11 @@ public class SlfWalletsXdsd extends TableImpl<SlfWalletsXdsdRecord> {
      */
     public final TableField<SlfWalletsXdsdRecord, String> IDENTIFIER = createField(DSL.name("identifier"), org.jooq.impl.SQLDataType.VARCHAR(256).nullable(false), this, "");
 
+    /**
+     * The column <code>self_xdsd.slf_wallets_xdsd.version</code>.
+     */
+    public final TableField<SlfWalletsXdsdRecord, Integer> VERSION = createField(DSL.name("version"), org.jooq.impl.SQLDataType.INTEGER.nullable(false).defaultValue(org.jooq.impl.DSL.inline("0", org.jooq.impl.SQLDataType.INTEGER)), this, "");
+
     /**
      * Create a <code>self_xdsd.slf_wallets_xdsd</code> table reference
      */
@@ -115,6 +121,11 @@ public class SlfWalletsXdsd extends TableImpl<SlfWalletsXdsdRecord> {
         return SelfXdsd.SELF_XDSD;
     }
 
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.<Index>asList(Indexes.SLF_WALLETS_XDSD_ACTIVECASH);
+    }
+
     @Override
     public UniqueKey<SlfWalletsXdsdRecord> getPrimaryKey() {
         return Keys.KEY_SLF_WALLETS_XDSD_PRIMARY;
@@ -161,11 +172,11 @@ public class SlfWalletsXdsd extends TableImpl<SlfWalletsXdsdRecord> {
     }
 
     // -------------------------------------------------------------------------
-    // Row6 type methods
+    // Row7 type methods
     // -------------------------------------------------------------------------
 
     @Override
-    public Row6<String, String, String, BigInteger, Boolean, String> fieldsRow() {
-        return (Row6) super.fieldsRow();
+    public Row7<String, String, String, Long, Boolean, String, Integer> fieldsRow() {
+        return (Row7) super.fieldsRow();
     }
 }
@@ -6,7 +6,6 @@ package com.selfxdsd.storage.generated.jooq.tables.records;
 
 import com.selfxdsd.storage.generated.jooq.tables.SlfInvoicedtasksXdsd;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 
 import org.jooq.Field;
@@ -20,9 +19,9 @@ import org.jooq.impl.UpdatableRecordImpl;
  * This class is generated by jOOQ.
  */
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class SlfInvoicedtasksXdsdRecord extends UpdatableRecordImpl<SlfInvoicedtasksXdsdRecord> implements Record15<Integer, String, String, String, String, BigInteger, BigInteger, BigInteger, String, LocalDateTime, LocalDateTime, LocalDateTime, Integer, Integer, Boolean> {
+public class SlfInvoicedtasksXdsdRecord extends UpdatableRecordImpl<SlfInvoicedtasksXdsdRecord> implements Record15<Integer, String, String, String, String, Long, Long, Long, String, LocalDateTime, LocalDateTime, LocalDateTime, Integer, Integer, Boolean> {
 
-    private static final long serialVersionUID = -1684046320;
+    private static final long serialVersionUID = -2015114888;
 
     /**
      * Setter for <code>self_xdsd.slf_invoicedtasks_xdsd.id</code>.
@@ -97,43 +96,43 @@ public class SlfInvoicedtasksXdsdRecord extends UpdatableRecordImpl<SlfInvoicedt
     /**
      * Setter for <code>self_xdsd.slf_invoicedtasks_xdsd.value</code>.
      */
-    public void setValue(BigInteger value) {
+    public void setValue(Long value) {
         set(5, value);
     }
 
     /**
      * Getter for <code>self_xdsd.slf_invoicedtasks_xdsd.value</code>.
      */
-    public BigInteger getValue() {
-        return (BigInteger) get(5);
+    public Long getValue() {
+        return (Long) get(5);
     }
 
     /**
      * Setter for <code>self_xdsd.slf_invoicedtasks_xdsd.commission</code>.
      */
-    public void setCommission(BigInteger value) {
+    public void setCommission(Long value) {
         set(6, value);
     }
 
     /**
      * Getter for <code>self_xdsd.slf_invoicedtasks_xdsd.commission</code>.
      */
-    public BigInteger getCommission() {
-        return (BigInteger) get(6);
+    public Long getCommission() {
+        return (Long) get(6);
     }
 
     /**
      * Setter for <code>self_xdsd.slf_invoicedtasks_xdsd.contributorCommission</code>.
      */
-    public void setContributorcommission(BigInteger value) {
+    public void setContributorcommission(Long value) {
         set(7, value);
     }
 
     /**
      * Getter for <code>self_xdsd.slf_invoicedtasks_xdsd.contributorCommission</code>.
      */
-    public BigInteger getContributorcommission() {
-        return (BigInteger) get(7);
+    public Long getContributorcommission() {
+        return (Long) get(7);
     }
 
     /**
@@ -248,12 +247,12 @@ public class SlfInvoicedtasksXdsdRecord extends UpdatableRecordImpl<SlfInvoicedt
     // -------------------------------------------------------------------------
 
     @Override
-    public Row15<Integer, String, String, String, String, BigInteger, BigInteger, BigInteger, String, LocalDateTime, LocalDateTime, LocalDateTime, Integer, Integer, Boolean> fieldsRow() {
+    public Row15<Integer, String, String, String, String, Long, Long, Long, String, LocalDateTime, LocalDateTime, LocalDateTime, Integer, Integer, Boolean> fieldsRow() {
         return (Row15) super.fieldsRow();
     }
 
     @Override
-    public Row15<Integer, String, String, String, String, BigInteger, BigInteger, BigInteger, String, LocalDateTime, LocalDateTime, LocalDateTime, Integer, Integer, Boolean> valuesRow() {
+    public Row15<Integer, String, String, String, String, Long, Long, Long, String, LocalDateTime, LocalDateTime, LocalDateTime, Integer, Integer, Boolean> valuesRow() {
         return (Row15) super.valuesRow();
     }
 
@@ -283,17 +282,17 @@ public class SlfInvoicedtasksXdsdRecord extends UpdatableRecordImpl<SlfInvoicedt
     }
 
     @Override
-    public Field<BigInteger> field6() {
+    public Field<Long> field6() {
         return SlfInvoicedtasksXdsd.SLF_INVOICEDTASKS_XDSD.VALUE;
     }
 
     @Override
-    public Field<BigInteger> field7() {
+    public Field<Long> field7() {
         return SlfInvoicedtasksXdsd.SLF_INVOICEDTASKS_XDSD.COMMISSION;
     }
 
     @Override
-    public Field<BigInteger> field8() {
+    public Field<Long> field8() {
         return SlfInvoicedtasksXdsd.SLF_INVOICEDTASKS_XDSD.CONTRIBUTORCOMMISSION;
     }
 
@@ -358,17 +357,17 @@ public class SlfInvoicedtasksXdsdRecord extends UpdatableRecordImpl<SlfInvoicedt
     }
 
     @Override
-    public BigInteger component6() {
+    public Long component6() {
         return getValue();
     }
 
     @Override
-    public BigInteger component7() {
+    public Long component7() {
         return getCommission();
     }
 
     @Override
-    public BigInteger component8() {
+    public Long component8() {
         return getContributorcommission();
     }
 
@@ -433,17 +432,17 @@ public class SlfInvoicedtasksXdsdRecord extends UpdatableRecordImpl<SlfInvoicedt
     }
 
     @Override
-    public BigInteger value6() {
+    public Long value6() {
         return getValue();
     }
 
     @Override
-    public BigInteger value7() {
+    public Long value7() {
         return getCommission();
     }
 
     @Override
-    public BigInteger value8() {
+    public Long value8() {
         return getContributorcommission();
     }
 
@@ -513,19 +512,19 @@ public class SlfInvoicedtasksXdsdRecord extends UpdatableRecordImpl<SlfInvoicedt
     }
 
     @Override
-    public SlfInvoicedtasksXdsdRecord value6(BigInteger value) {
+    public SlfInvoicedtasksXdsdRecord value6(Long value) {
         setValue(value);
         return this;
     }
 
     @Override
-    public SlfInvoicedtasksXdsdRecord value7(BigInteger value) {
+    public SlfInvoicedtasksXdsdRecord value7(Long value) {
         setCommission(value);
         return this;
     }
 
     @Override
-    public SlfInvoicedtasksXdsdRecord value8(BigInteger value) {
+    public SlfInvoicedtasksXdsdRecord value8(Long value) {
         setContributorcommission(value);
         return this;
     }
@@ -573,7 +572,7 @@ public class SlfInvoicedtasksXdsdRecord extends UpdatableRecordImpl<SlfInvoicedt
     }
 
     @Override
-    public SlfInvoicedtasksXdsdRecord values(Integer value1, String value2, String value3, String value4, String value5, BigInteger value6, BigInteger value7, BigInteger value8, String value9, LocalDateTime value10, LocalDateTime value11, LocalDateTime value12, Integer value13, Integer value14, Boolean value15) {
+    public SlfInvoicedtasksXdsdRecord values(Integer value1, String value2, String value3, String value4, String value5, Long value6, Long value7, Long value8, String value9, LocalDateTime value10, LocalDateTime value11, LocalDateTime value12, Integer value13, Integer value14, Boolean value15) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -606,7 +605,7 @@ public class SlfInvoicedtasksXdsdRecord extends UpdatableRecordImpl<SlfInvoicedt
     /**
      * Create a detached, initialised SlfInvoicedtasksXdsdRecord
      */
-    public SlfInvoicedtasksXdsdRecord(Integer id, String repoFullname, String username, String provider, String role, BigInteger value, BigInteger commission, BigInteger contributorcommission, String issueid, LocalDateTime assigned, LocalDateTime deadline, LocalDateTime invoiced, Integer invoiceid, Integer estimationMinutes, Boolean ispullrequest) {
+    public SlfInvoicedtasksXdsdRecord(Integer id, String repoFullname, String username, String provider, String role, Long value, Long commission, Long contributorcommission, String issueid, LocalDateTime assigned, LocalDateTime deadline, LocalDateTime invoiced, Integer invoiceid, Integer estimationMinutes, Boolean ispullrequest) {
         super(SlfInvoicedtasksXdsd.SLF_INVOICEDTASKS_XDSD);
 
         set(0, id);
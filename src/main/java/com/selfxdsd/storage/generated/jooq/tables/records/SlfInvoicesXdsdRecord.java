@@ -6,13 +6,12 @@ package com.selfxdsd.storage.generated.jooq.tables.records;
 
 import com.selfxdsd.storage.generated.jooq.tables.SlfInvoicesXdsd;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 
 import org.jooq.Field;
-import org.jooq.Record11;
+import org.jooq.Record20;
 import org.jooq.Record5;
-import org.jooq.Row11;
+import org.jooq.Row20;
 import org.jooq.impl.UpdatableRecordImpl;
 
 
@@ -20,9 +19,9 @@ import org.jooq.impl.UpdatableRecordImpl;
  * This class is generated by jOOQ.
  */
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class SlfInvoicesXdsdRecord extends UpdatableRecordImpl<SlfInvoicesXdsdRecord> implements Record11<Integer, String, String, String, String, LocalDateTime, String, String, String, String, BigInteger> {
+public class SlfInvoicesXdsdRecord extends UpdatableRecordImpl<SlfInvoicesXdsdRecord> implements Record20<Integer, String, String, String, String, LocalDateTime, String, String, String, String, Long, String, LocalDateTime, Long, String, String, Long, Long, Long, Integer> {
 
-    private static final long serialVersionUID = 1924248870;
+    private static final long serialVersionUID = 974882128;
 
     /**
      * Setter for <code>self_xdsd.slf_invoices_xdsd.invoiceId</code>.
@@ -167,15 +166,141 @@ public class SlfInvoicesXdsdRecord extends UpdatableRecordImpl<SlfInvoicesXdsdRe
     /**
      * Setter for <code>self_xdsd.slf_invoices_xdsd.eurToRon</code>.
      */
-    public void setEurtoron(BigInteger value) {
+    public void setEurtoron(Long value) {
         set(10, value);
     }
 
     /**
      * Getter for <code>self_xdsd.slf_invoices_xdsd.eurToRon</code>.
      */
-    public BigInteger getEurtoron() {
-        return (BigInteger) get(10);
+    public Long getEurtoron() {
+        return (Long) get(10);
+    }
+
+    /**
+     * Setter for <code>self_xdsd.slf_invoices_xdsd.latestTransactionId</code>.
+     */
+    public void setLatesttransactionid(String value) {
+        set(11, value);
+    }
+
+    /**
+     * Getter for <code>self_xdsd.slf_invoices_xdsd.latestTransactionId</code>.
+     */
+    public String getLatesttransactionid() {
+        return (String) get(11);
+    }
+
+    /**
+     * Setter for <code>self_xdsd.slf_invoices_xdsd.latestPaymentTimestamp</code>.
+     */
+    public void setLatestpaymenttimestamp(LocalDateTime value) {
+        set(12, value);
+    }
+
+    /**
+     * Getter for <code>self_xdsd.slf_invoices_xdsd.latestPaymentTimestamp</code>.
+     */
+    public LocalDateTime getLatestpaymenttimestamp() {
+        return (LocalDateTime) get(12);
+    }
+
+    /**
+     * Setter for <code>self_xdsd.slf_invoices_xdsd.latestValue</code>.
+     */
+    public void setLatestvalue(Long value) {
+        set(13, value);
+    }
+
+    /**
+     * Getter for <code>self_xdsd.slf_invoices_xdsd.latestValue</code>.
+     */
+    public Long getLatestvalue() {
+        return (Long) get(13);
+    }
+
+    /**
+     * Setter for <code>self_xdsd.slf_invoices_xdsd.latestStatus</code>.
+     */
+    public void setLateststatus(String value) {
+        set(14, value);
+    }
+
+    /**
+     * Getter for <code>self_xdsd.slf_invoices_xdsd.latestStatus</code>.
+     */
+    public String getLateststatus() {
+        return (String) get(14);
+    }
+
+    /**
+     * Setter for <code>self_xdsd.slf_invoices_xdsd.latestFailReason</code>.
+     */
+    public void setLatestfailreason(String value) {
+        set(15, value);
+    }
+
+    /**
+     * Getter for <code>self_xdsd.slf_invoices_xdsd.latestFailReason</code>.
+     */
+    public String getLatestfailreason() {
+        return (String) get(15);
+    }
+
+    /**
+     * Setter for <code>self_xdsd.slf_invoices_xdsd.totalValue</code>.
+     */
+    public void setTotalvalue(Long value) {
+        set(16, value);
+    }
+
+    /**
+     * Getter for <code>self_xdsd.slf_invoices_xdsd.totalValue</code>.
+     */
+    public Long getTotalvalue() {
+        return (Long) get(16);
+    }
+
+    /**
+     * Setter for <code>self_xdsd.slf_invoices_xdsd.totalCommission</code>.
+     */
+    public void setTotalcommission(Long value) {
+        set(17, value);
+    }
+
+    /**
+     * Getter for <code>self_xdsd.slf_invoices_xdsd.totalCommission</code>.
+     */
+    public Long getTotalcommission() {
+        return (Long) get(17);
+    }
+
+    /**
+     * Setter for <code>self_xdsd.slf_invoices_xdsd.totalContributorCommission</code>.
+     */
+    public void setTotalcontributorcommission(Long value) {
+        set(18, value);
+    }
+
+    /**
+     * Getter for <code>self_xdsd.slf_invoices_xdsd.totalContributorCommission</code>.
+     */
+    public Long getTotalcontributorcommission() {
+        return (Long) get(18);
+    }
+
+    /**
+     * Setter for <code>self_xdsd.slf_invoices_xdsd.tasksCount</code>.
+     */
+    public void setTaskscount(Integer value) {
+        set(19, value);
+    }
+
+    /**
+     * Getter for <code>self_xdsd.slf_invoices_xdsd.tasksCount</code>.
+     */
+    public Integer getTaskscount() {
+        return (Integer) get(19);
     }
 
     // -------------------------------------------------------------------------
@@ -188,17 +313,17 @@ public class SlfInvoicesXdsdRecord extends UpdatableRecordImpl<SlfInvoicesXdsdRe
     }
 
     // -------------------------------------------------------------------------
-    // Record11 type implementation
+    // Record20 type implementation
     // -------------------------------------------------------------------------
 
     @Override
-    public Row11<Integer, String, String, String, String, LocalDateTime, String, String, String, String, BigInteger> fieldsRow() {
-        return (Row11) super.fieldsRow();
+    public Row20<Integer, String, String, String, String, LocalDateTime, String, String, String, String, Long, String, LocalDateTime, Long, String, String, Long, Long, Long, Integer> fieldsRow() {
+        return (Row20) super.fieldsRow();
     }
 
     @Override
-    public Row11<Integer, String, String, String, String, LocalDateTime, String, String, String, String, BigInteger> valuesRow() {
-        return (Row11) super.valuesRow();
+    public Row20<Integer, String, String, String, String, LocalDateTime, String, String, String, String, Long, String, LocalDateTime, Long, String, String, Long, Long, Long, Integer> valuesRow() {
+        return (Row20) super.valuesRow();
     }
 
     @Override
@@ -252,10 +377,55 @@ public class SlfInvoicesXdsdRecord extends UpdatableRecordImpl<SlfInvoicesXdsdRe
     }
 
     @Override
-    public Field<BigInteger> field11() {
+    public Field<Long> field11() {
         return SlfInvoicesXdsd.SLF_INVOICES_XDSD.EURTORON;
     }
 
+    @Override
+    public Field<String> field12() {
+        return SlfInvoicesXdsd.SLF_INVOICES_XDSD.LATESTTRANSACTIONID;
+    }
+
+    @Override
+    public Field<LocalDateTime> field13() {
+        return SlfInvoicesXdsd.SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP;
+    }
+
+    @Override
+    public Field<Long> field14() {
+        return SlfInvoicesXdsd.SLF_INVOICES_XDSD.LATESTVALUE;
+    }
+
+    @Override
+    public Field<String> field15() {
+        return SlfInvoicesXdsd.SLF_INVOICES_XDSD.LATESTSTATUS;
+    }
+
+    @Override
+    public Field<String> field16() {
+        return SlfInvoicesXdsd.SLF_INVOICES_XDSD.LATESTFAILREASON;
+    }
+
+    @Override
+    public Field<Long> field17() {
+        return SlfInvoicesXdsd.SLF_INVOICES_XDSD.TOTALVALUE;
+    }
+
+    @Override
+    public Field<Long> field18() {
+        return SlfInvoicesXdsd.SLF_INVOICES_XDSD.TOTALCOMMISSION;
+    }
+
+    @Override
+    public Field<Long> field19() {
+        return SlfInvoicesXdsd.SLF_INVOICES_XDSD.TOTALCONTRIBUTORCOMMISSION;
+    }
+
+    @Override
+    public Field<Integer> field20() {
+        return SlfInvoicesXdsd.SLF_INVOICES_XDSD.TASKSCOUNT;
+    }
+
     @Override
     public Integer component1() {
         return getInvoiceid();
@@ -307,10 +477,55 @@ public class SlfInvoicesXdsdRecord extends UpdatableRecordImpl<SlfInvoicesXdsdRe
     }
 
     @Override
-    public BigInteger component11() {
+    public Long component11() {
         return getEurtoron();
     }
 
+    @Override
+    public String component12() {
+        return getLatesttransactionid();
+    }
+
+    @Override
+    public LocalDateTime component13() {
+        return getLatestpaymenttimestamp();
+    }
+
+    @Override
+    public Long component14() {
+        return getLatestvalue();
+    }
+
+    @Override
+    public String component15() {
+        return getLateststatus();
+    }
+
+    @Override
+    public String component16() {
+        return getLatestfailreason();
+    }
+
+    @Override
+    public Long component17() {
+        return getTotalvalue();
+    }
+
+    @Override
+    public Long component18() {
+        return getTotalcommission();
+    }
+
+    @Override
+    public Long component19() {
+        return getTotalcontributorcommission();
+    }
+
+    @Override
+    public Integer component20() {
+        return getTaskscount();
+    }
+
     @Override
     public Integer value1() {
         return getInvoiceid();
@@ -362,10 +577,55 @@ public class SlfInvoicesXdsdRecord extends UpdatableRecordImpl<SlfInvoicesXdsdRe
     }
 
     @Override
-    public BigInteger value11() {
+    public Long value11() {
         return getEurtoron();
     }
 
+    @Override
+    public String value12() {
+        return getLatesttransactionid();
+    }
+
+    @Override
+    public LocalDateTime value13() {
+        return getLatestpaymenttimestamp();
+    }
+
+    @Override
+    public Long value14() {
+        return getLatestvalue();
+    }
+
+    @Override
+    public String value15() {
+        return getLateststatus();
+    }
+
+    @Override
+    public String value16() {
+        return getLatestfailreason();
+    }
+
+    @Override
+    public Long value17() {
+        return getTotalvalue();
+    }
+
+    @Override
+    public Long value18() {
+        return getTotalcommission();
+    }
+
+    @Override
+    public Long value19() {
+        return getTotalcontributorcommission();
+    }
+
+    @Override
+    public Integer value20() {
+        return getTaskscount();
+    }
+
     @Override
     public SlfInvoicesXdsdRecord value1(Integer value) {
         setInvoiceid(value);
@@ -427,13 +687,67 @@ public class SlfInvoicesXdsdRecord extends UpdatableRecordImpl<SlfInvoicesXdsdRe
     }
 
     @Override
-    public SlfInvoicesXdsdRecord value11(BigInteger value) {
+    public SlfInvoicesXdsdRecord value11(Long value) {
         setEurtoron(value);
         return this;
     }
 
     @Override
-    public SlfInvoicesXdsdRecord values(Integer value1, String value2, String value3, String value4, String value5, LocalDateTime value6, String value7, String value8, String value9, String value10, BigInteger value11) {
+    public SlfInvoicesXdsdRecord value12(String value) {
+        setLatesttransactionid(value);
+        return this;
+    }
+
+    @Override
+    public SlfInvoicesXdsdRecord value13(LocalDateTime value) {
+        setLatestpaymenttimestamp(value);
+        return this;
+    }
+
+    @Override
+    public SlfInvoicesXdsdRecord value14(Long value) {
+        setLatestvalue(value);
+        return this;
+    }
+
+    @Override
+    public SlfInvoicesXdsdRecord value15(String value) {
+        setLateststatus(value);
+        return this;
+    }
+
+    @Override
+    public SlfInvoicesXdsdRecord value16(String value) {
+        setLatestfailreason(value);
+        return this;
+    }
+
+    @Override
+    public SlfInvoicesXdsdRecord value17(Long value) {
+        setTotalvalue(value);
+        return this;
+    }
+
+    @Override
+    public SlfInvoicesXdsdRecord value18(Long value) {
+        setTotalcommission(value);
+        return this;
+    }
+
+    @Override
+    public SlfInvoicesXdsdRecord value19(Long value) {
+        setTotalcontributorcommission(value);
+        return this;
+    }
+
+    @Override
+    public SlfInvoicesXdsdRecord value20(Integer value) {
+        setTaskscount(value);
+        return this;
+    }
+
+    @Override
+    public SlfInvoicesXdsdRecord values(Integer value1, String value2, String value3, String value4, String value5, LocalDateTime value6, String value7, String value8, String value9, String value10, Long value11, String value12, LocalDateTime value13, Long value14, String value15, String value16, Long value17, Long value18, Long value19, Integer value20) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -445,6 +759,15 @@ public class SlfInvoicesXdsdRecord extends UpdatableRecordImpl<SlfInvoicesXdsdRe
         value9(value9);
         value10(value10);
         value11(value11);
+        value12(value12);
+        value13(value13);
+        value14(value14);
+        value15(value15);
+        value16(value16);
+        value17(value17);
+        value18(value18);
+        value19(value19);
+        value20(value20);
         return this;
     }
 
@@ -462,7 +785,7 @@ public class SlfInvoicesXdsdRecord extends UpdatableRecordImpl<SlfInvoicesXdsdRe
     /**
      * Create a detached, initialised SlfInvoicesXdsdRecord
      */
-    public SlfInvoicesXdsdRecord(Integer invoiceid, String repoFullname, String username, String provider, String role, LocalDateTime createdat, String billedby, String billedto, String billedbycountry, String billedtocountry, BigInteger eurtoron) {
+    public SlfInvoicesXdsdRecord(Integer invoiceid, String repoFullname, String username, String provider, String role, LocalDateTime createdat, String billedby, String billedto, String billedbycountry, String billedtocountry, Long eurtoron, String latesttransactionid, LocalDateTime latestpaymenttimestamp, Long latestvalue, String lateststatus, String latestfailreason, Long totalvalue, Long totalcommission, Long totalcontributorcommission, Integer taskscount) {
         super(SlfInvoicesXdsd.SLF_INVOICES_XDSD);
 
         set(0, invoiceid);
@@ -476,5 +799,14 @@ public class SlfInvoicesXdsdRecord extends UpdatableRecordImpl<SlfInvoicesXdsdRe
         set(8, billedbycountry);
         set(9, billedtocountry);
         set(10, eurtoron);
+        set(11, latesttransactionid);
+        set(12, latestpaymenttimestamp);
+        set(13, latestvalue);
+        set(14, lateststatus);
+        set(15, latestfailreason);
+        set(16, totalvalue);
+        set(17, totalcommission);
+        set(18, totalcontributorcommission);
+        set(19, taskscount);
     }
 }
@@ -8,8 +8,8 @@ import com.selfxdsd.storage.generated.jooq.tables.SlfJsonstorageXdsd;
 
 import org.jooq.Field;
 import org.jooq.Record1;
-import org.jooq.Record3;
-import org.jooq.Row3;
+import org.jooq.Record5;
+import org.jooq.Row5;
 import org.jooq.impl.UpdatableRecordImpl;
 
 
@@ -17,50 +17,78 @@ import org.jooq.impl.UpdatableRecordImpl;
  * This class is generated by jOOQ.
  */
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class SlfJsonstorageXdsdRecord extends UpdatableRecordImpl<SlfJsonstorageXdsdRecord> implements Record3<String, String, String> {
+public class SlfJsonstorageXdsdRecord extends UpdatableRecordImpl<SlfJsonstorageXdsdRecord> implements Record5<byte[], String, String, String, String> {
 
-    private static final long serialVersionUID = -1842010205;
+    private static final long serialVersionUID = -1783580580;
+
+    /**
+     * Setter for <code>self_xdsd.slf_jsonstorage_xdsd.urlHash</code>.
+     */
+    public void setUrlhash(byte[] value) {
+        set(0, value);
+    }
+
+    /**
+     * Getter for <code>self_xdsd.slf_jsonstorage_xdsd.urlHash</code>.
+     */
+    public byte[] getUrlhash() {
+        return (byte[]) get(0);
+    }
 
     /**
      * Setter for <code>self_xdsd.slf_jsonstorage_xdsd.url</code>.
      */
     public void setUrl(String value) {
-        set(0, value);
+        set(1, value);
     }
 
     /**
      * Getter for <code>self_xdsd.slf_jsonstorage_xdsd.url</code>.
      */
     public String getUrl() {
-        return (String) get(0);
+        return (String) get(1);
     }
 
     /**
      * Setter for <code>self_xdsd.slf_jsonstorage_xdsd.etag</code>.
      */
     public void setEtag(String value) {
-        set(1, value);
+        set(2, value);
     }
 
     /**
      * Getter for <code>self_xdsd.slf_jsonstorage_xdsd.etag</code>.
      */
     public String getEtag() {
-        return (String) get(1);
+        return (String) get(2);
     }
 
     /**
      * Setter for <code>self_xdsd.slf_jsonstorage_xdsd.jsonBody</code>.
      */
     public void setJsonbody(String value) {
-        set(2, value);
+        set(3, value);
     }
 
     /**
      * Getter for <code>self_xdsd.slf_jsonstorage_xdsd.jsonBody</code>.
      */
     public String getJsonbody() {
-        return (String) get(2);
+        return (String) get(3);
+    }
+
+    /**
+     * Setter for <code>self_xdsd.slf_jsonstorage_xdsd.namespace</code>.
+     */
+    public void setNamespace(String value) {
+        set(4, value);
+    }
+
+    /**
+     * Getter for <code>self_xdsd.slf_jsonstorage_xdsd.namespace</code>.
+     */
+    public String getNamespace() {
+        return (String) get(4);
     }
 
     // -------------------------------------------------------------------------
@@ -68,92 +96,136 @@ public class SlfJsonstorageXdsdRecord extends UpdatableRecordImpl<SlfJsonstorage
     // -------------------------------------------------------------------------
 
     @Override
-    public Record1<String> key() {
+    public Record1<byte[]> key() {
         return (Record1) super.key();
     }
 
     // -------------------------------------------------------------------------
-    // Record3 type implementation
+    // Record5 type implementation
     // -------------------------------------------------------------------------
 
     @Override
-    public Row3<String, String, String> fieldsRow() {
-        return (Row3) super.fieldsRow();
+    public Row5<byte[], String, String, String, String> fieldsRow() {
+        return (Row5) super.fieldsRow();
     }
 
     @Override
-    public Row3<String, String, String> valuesRow() {
-        return (Row3) super.valuesRow();
+    public Row5<byte[], String, String, String, String> valuesRow() {
+        return (Row5) super.valuesRow();
     }
 
     @Override
-    public Field<String> field1() {
-        return SlfJsonstorageXdsd.SLF_JSONSTORAGE_XDSD.URL;
+    public Field<byte[]> field1() {
+        return SlfJsonstorageXdsd.SLF_JSONSTORAGE_XDSD.URLHASH;
     }
 
     @Override
     public Field<String> field2() {
-        return SlfJsonstorageXdsd.SLF_JSONSTORAGE_XDSD.ETAG;
+        return SlfJsonstorageXdsd.SLF_JSONSTORAGE_XDSD.URL;
     }
 
     @Override
     public Field<String> field3() {
+        return SlfJsonstorageXdsd.SLF_JSONSTORAGE_XDSD.ETAG;
+    }
+
+    @Override
+    public Field<String> field4() {
         return SlfJsonstorageXdsd.SLF_JSONSTORAGE_XDSD.JSONBODY;
     }
 
     @Override
-    public String component1() {
-        return getUrl();
+    public Field<String> field5() {
+        return SlfJsonstorageXdsd.SLF_JSONSTORAGE_XDSD.NAMESPACE;
+    }
+
+    @Override
+    public byte[] component1() {
+        return getUrlhash();
     }
 
     @Override
     public String component2() {
-        return getEtag();
+        return getUrl();
     }
 
     @Override
     public String component3() {
+        return getEtag();
+    }
+
+    @Override
+    public String component4() {
         return getJsonbody();
     }
 
     @Override
-    public String value1() {
-        return getUrl();
+    public String component5() {
+        return getNamespace();
+    }
+
+    @Override
+    public byte[] value1() {
+        return getUrlhash();
     }
 
     @Override
     public String value2() {
-        return getEtag();
+        return getUrl();
     }
 
     @Override
     public String value3() {
+        return getEtag();
+    }
+
+    @Override
+    public String value4() {
         return getJsonbody();
     }
 
     @Override
-    public SlfJsonstorageXdsdRecord value1(String value) {
-        setUrl(value);
+    public String value5() {
+        return getNamespace();
+    }
+
+    @Override
+    public SlfJsonstorageXdsdRecord value1(byte[] value) {
+        setUrlhash(value);
         return this;
     }
 
     @Override
     public SlfJsonstorageXdsdRecord value2(String value) {
-        setEtag(value);
+        setUrl(value);
         return this;
     }
 
     @Override
     public SlfJsonstorageXdsdRecord value3(String value) {
+        setEtag(value);
+        return this;
+    }
+
+    @Override
+    public SlfJsonstorageXdsdRecord value4(String value) {
         setJsonbody(value);
         return this;
     }
 
     @Override
-    public SlfJsonstorageXdsdRecord values(String value1, String value2, String value3) {
+    public SlfJsonstorageXdsdRecord value5(String value) {
+        setNamespace(value);
+        return this;
+    }
+
+    @Override
+    public SlfJsonstorageXdsdRecord values(byte[] value1, String value2, String value3, String value4, String value5) {
         value1(value1);
         value2(value2);
         value3(value3);
+        value4(value4);
+        value5(value5);
         return this;
     }
 
@@ -171,11 +243,13 @@ public class SlfJsonstorageXdsdRecord extends UpdatableRecordImpl<SlfJsonstorage
     /**
      * Create a detached, initialised SlfJsonstorageXdsdRecord
      */
-    public SlfJsonstorageXdsdRecord(String url, String etag, String jsonbody) {
+    public SlfJsonstorageXdsdRecord(byte[] urlhash, String url, String etag, String jsonbody, String namespace) {
         super(SlfJsonstorageXdsd.SLF_JSONSTORAGE_XDSD);
 
-        set(0, url);
-        set(1, etag);
-        set(2, jsonbody);
+        set(0, urlhash);
+        set(1, url);
+        set(2, etag);
+        set(3, jsonbody);
+        set(4, namespace);
     }
 }
@@ -6,7 +6,6 @@ package com.selfxdsd.storage.generated.jooq.tables.records;
 
 import com.selfxdsd.storage.generated.jooq.tables.SlfPaymentsXdsd;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 
 import org.jooq.Field;
@@ -20,9 +19,9 @@ import org.jooq.impl.UpdatableRecordImpl;
  * This class is generated by jOOQ.
  */
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class SlfPaymentsXdsdRecord extends UpdatableRecordImpl<SlfPaymentsXdsdRecord> implements Record6<Integer, String, LocalDateTime, BigInteger, String, String> {
+public class SlfPaymentsXdsdRecord extends UpdatableRecordImpl<SlfPaymentsXdsdRecord> implements Record6<Integer, String, LocalDateTime, Long, String, String> {
 
-    private static final long serialVersionUID = -1652226759;
+    private static final long serialVersionUID = 1242403761;
 
     /**
      * Setter for <code>self_xdsd.slf_payments_xdsd.invoiceId</code>.
@@ -69,15 +68,15 @@ public class SlfPaymentsXdsdRecord extends UpdatableRecordImpl<SlfPaymentsXdsdRe
     /**
      * Setter for <code>self_xdsd.slf_payments_xdsd.value</code>.
      */
-    public void setValue(BigInteger value) {
+    public void setValue(Long value) {
         set(3, value);
     }
 
     /**
      * Getter for <code>self_xdsd.slf_payments_xdsd.value</code>.
      */
-    public BigInteger getValue() {
-        return (BigInteger) get(3);
+    public Long getValue() {
+        return (Long) get(3);
     }
 
     /**
@@ -122,12 +121,12 @@ public class SlfPaymentsXdsdRecord extends UpdatableRecordImpl<SlfPaymentsXdsdRe
     // -------------------------------------------------------------------------
 
     @Override
-    public Row6<Integer, String, LocalDateTime, BigInteger, String, String> fieldsRow() {
+    public Row6<Integer, String, LocalDateTime, Long, String, String> fieldsRow() {
         return (Row6) super.fieldsRow();
     }
 
     @Override
-    public Row6<Integer, String, LocalDateTime, BigInteger, String, String> valuesRow() {
+    public Row6<Integer, String, LocalDateTime, Long, String, String> valuesRow() {
         return (Row6) super.valuesRow();
     }
 
@@ -147,7 +146,7 @@ public class SlfPaymentsXdsdRecord extends UpdatableRecordImpl<SlfPaymentsXdsdRe
     }
 
     @Override
-    public Field<BigInteger> field4() {
+    public Field<Long> field4() {
         return SlfPaymentsXdsd.SLF_PAYMENTS_XDSD.VALUE;
     }
 
@@ -177,7 +176,7 @@ public class SlfPaymentsXdsdRecord extends UpdatableRecordImpl<SlfPaymentsXdsdRe
     }
 
     @Override
-    public BigInteger component4() {
+    public Long component4() {
         return getValue();
     }
 
@@ -207,7 +206,7 @@ public class SlfPaymentsXdsdRecord extends UpdatableRecordImpl<SlfPaymentsXdsdRe
     }
 
     @Override
-    public BigInteger value4() {
+    public Long value4() {
         return getValue();
     }
 
@@ -240,7 +239,7 @@ public class SlfPaymentsXdsdRecord extends UpdatableRecordImpl<SlfPaymentsXdsdRe
     }
 
     @Override
-    public SlfPaymentsXdsdRecord value4(BigInteger value) {
+    public SlfPaymentsXdsdRecord value4(Long value) {
         setValue(value);
         return this;
     }
@@ -258,7 +257,7 @@ public class SlfPaymentsXdsdRecord extends UpdatableRecordImpl<SlfPaymentsXdsdRe
     }
 
     @Override
-    public SlfPaymentsXdsdRecord values(Integer value1, String value2, LocalDateTime value3, BigInteger value4, String value5, String value6) {
+    public SlfPaymentsXdsdRecord values(Integer value1, String value2, LocalDateTime value3, Long value4, String value5, String value6) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -282,7 +281,7 @@ public class SlfPaymentsXdsdRecord extends UpdatableRecordImpl<SlfPaymentsXdsdRe
     /**
      * Create a detached, initialised SlfPaymentsXdsdRecord
      */
-    public SlfPaymentsXdsdRecord(Integer invoiceid, String transactionid, LocalDateTime paymentTimestamp, BigInteger value, String status, String failreason) {
+    public SlfPaymentsXdsdRecord(Integer invoiceid, String transactionid, LocalDateTime paymentTimestamp, Long value, String status, String failreason) {
         super(SlfPaymentsXdsd.SLF_PAYMENTS_XDSD);
 
         set(0, invoiceid);
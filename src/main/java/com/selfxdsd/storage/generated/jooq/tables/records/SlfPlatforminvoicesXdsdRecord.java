@@ -6,7 +6,6 @@ package com.selfxdsd.storage.generated.jooq.tables.records;
 
 import com.selfxdsd.storage.generated.jooq.tables.SlfPlatforminvoicesXdsd;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 
 import org.jooq.Field;
@@ -20,9 +19,9 @@ import org.jooq.impl.UpdatableRecordImpl;
  * This class is generated by jOOQ.
  */
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatforminvoicesXdsdRecord> implements Record9<Integer, LocalDateTime, String, BigInteger, BigInteger, String, LocalDateTime, Integer, BigInteger> {
+public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatforminvoicesXdsdRecord> implements Record9<Integer, LocalDateTime, String, Long, Long, String, LocalDateTime, Integer, Long> {
 
-    private static final long serialVersionUID = 1307056830;
+    private static final long serialVersionUID = -927264686;
 
     /**
      * Setter for <code>self_xdsd.slf_platforminvoices_xdsd.id</code>.
@@ -69,29 +68,29 @@ public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatfo
     /**
      * Setter for <code>self_xdsd.slf_platforminvoices_xdsd.commission</code>.
      */
-    public void setCommission(BigInteger value) {
+    public void setCommission(Long value) {
         set(3, value);
     }
 
     /**
      * Getter for <code>self_xdsd.slf_platforminvoices_xdsd.commission</code>.
      */
-    public BigInteger getCommission() {
-        return (BigInteger) get(3);
+    public Long getCommission() {
+        return (Long) get(3);
     }
 
     /**
      * Setter for <code>self_xdsd.slf_platforminvoices_xdsd.vat</code>.
      */
-    public void setVat(BigInteger value) {
+    public void setVat(Long value) {
         set(4, value);
     }
 
     /**
      * Getter for <code>self_xdsd.slf_platforminvoices_xdsd.vat</code>.
      */
-    public BigInteger getVat() {
-        return (BigInteger) get(4);
+    public Long getVat() {
+        return (Long) get(4);
     }
 
     /**
@@ -139,15 +138,15 @@ public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatfo
     /**
      * Setter for <code>self_xdsd.slf_platforminvoices_xdsd.eurToRon</code>.
      */
-    public void setEurtoron(BigInteger value) {
+    public void setEurtoron(Long value) {
         set(8, value);
     }
 
     /**
      * Getter for <code>self_xdsd.slf_platforminvoices_xdsd.eurToRon</code>.
      */
-    public BigInteger getEurtoron() {
-        return (BigInteger) get(8);
+    public Long getEurtoron() {
+        return (Long) get(8);
     }
 
     // -------------------------------------------------------------------------
@@ -164,12 +163,12 @@ public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatfo
     // -------------------------------------------------------------------------
 
     @Override
-    public Row9<Integer, LocalDateTime, String, BigInteger, BigInteger, String, LocalDateTime, Integer, BigInteger> fieldsRow() {
+    public Row9<Integer, LocalDateTime, String, Long, Long, String, LocalDateTime, Integer, Long> fieldsRow() {
         return (Row9) super.fieldsRow();
     }
 
     @Override
-    public Row9<Integer, LocalDateTime, String, BigInteger, BigInteger, String, LocalDateTime, Integer, BigInteger> valuesRow() {
+    public Row9<Integer, LocalDateTime, String, Long, Long, String, LocalDateTime, Integer, Long> valuesRow() {
         return (Row9) super.valuesRow();
     }
 
@@ -189,12 +188,12 @@ public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatfo
     }
 
     @Override
-    public Field<BigInteger> field4() {
+    public Field<Long> field4() {
         return SlfPlatforminvoicesXdsd.SLF_PLATFORMINVOICES_XDSD.COMMISSION;
     }
 
     @Override
-    public Field<BigInteger> field5() {
+    public Field<Long> field5() {
         return SlfPlatforminvoicesXdsd.SLF_PLATFORMINVOICES_XDSD.VAT;
     }
 
@@ -214,7 +213,7 @@ public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatfo
     }
 
     @Override
-    public Field<BigInteger> field9() {
+    public Field<Long> field9() {
         return SlfPlatforminvoicesXdsd.SLF_PLATFORMINVOICES_XDSD.EURTORON;
     }
 
@@ -234,12 +233,12 @@ public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatfo
     }
 
     @Override
-    public BigInteger component4() {
+    public Long component4() {
         return getCommission();
     }
 
     @Override
-    public BigInteger component5() {
+    public Long component5() {
         return getVat();
     }
 
@@ -259,7 +258,7 @@ public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatfo
     }
 
     @Override
-    public BigInteger component9() {
+    public Long component9() {
         return getEurtoron();
     }
 
@@ -279,12 +278,12 @@ public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatfo
     }
 
     @Override
-    public BigInteger value4() {
+    public Long value4() {
         return getCommission();
     }
 
     @Override
-    public BigInteger value5() {
+    public Long value5() {
         return getVat();
     }
 
@@ -304,7 +303,7 @@ public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatfo
     }
 
     @Override
-    public BigInteger value9() {
+    public Long value9() {
         return getEurtoron();
     }
 
@@ -327,13 +326,13 @@ public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatfo
     }
 
     @Override
-    public SlfPlatforminvoicesXdsdRecord value4(BigInteger value) {
+    public SlfPlatforminvoicesXdsdRecord value4(Long value) {
         setCommission(value);
         return this;
     }
 
     @Override
-    public SlfPlatforminvoicesXdsdRecord value5(BigInteger value) {
+    public SlfPlatforminvoicesXdsdRecord value5(Long value) {
         setVat(value);
         return this;
     }
@@ -357,13 +356,13 @@ public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatfo
     }
 
     @Override
-    public SlfPlatforminvoicesXdsdRecord value9(BigInteger value) {
+    public SlfPlatforminvoicesXdsdRecord value9(Long value) {
         setEurtoron(value);
         return this;
     }
 
     @Override
-    public SlfPlatforminvoicesXdsdRecord values(Integer value1, LocalDateTime value2, String value3, BigInteger value4, BigInteger value5, String value6, LocalDateTime value7, Integer value8, BigInteger value9) {
+    public SlfPlatforminvoicesXdsdRecord values(Integer value1, LocalDateTime value2, String value3, Long value4, Long value5, String value6, LocalDateTime value7, Integer value8, Long value9) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -390,7 +389,7 @@ public class SlfPlatforminvoicesXdsdRecord extends UpdatableRecordImpl<SlfPlatfo
     /**
      * Create a detached, initialised SlfPlatforminvoicesXdsdRecord
      */
-    public SlfPlatforminvoicesXdsdRecord(Integer id, LocalDateTime createdat, String billedto, BigInteger commission, BigInteger vat, String transactionid, LocalDateTime paymentTimestamp, Integer invoiceid, BigInteger eurtoron) {
+    public SlfPlatforminvoicesXdsdRecord(Integer id, LocalDateTime createdat, String billedto, Long commission, Long vat, String transactionid, LocalDateTime paymentTimestamp, Integer invoiceid, Long eurtoron) {
         super(SlfPlatforminvoicesXdsd.SLF_PLATFORMINVOICES_XDSD);
 
         set(0, id);
@@ -6,12 +6,10 @@ package com.selfxdsd.storage.generated.jooq.tables.records;
 
 import com.selfxdsd.storage.generated.jooq.tables.SlfWalletsXdsd;
 
-import java.math.BigInteger;
-
 import org.jooq.Field;
 import org.jooq.Record3;
-import org.jooq.Record6;
-import org.jooq.Row6;
+import org.jooq.Record7;
+import org.jooq.Row7;
 import org.jooq.impl.UpdatableRecordImpl;
 
 
@@ -19,9 +17,9 @@ import org.jooq.impl.UpdatableRecordImpl;
  * This class is generated by jOOQ.
  */
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdRecord> implements Record6<String, String, String, BigInteger, Boolean, String> {
+public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdRecord> implements Record7<String, String, String, Long, Boolean, String, Integer> {
 
-    private static final long serialVersionUID = 1594025954;
+    private static final long serialVersionUID = 34491761;
 
     /**
      * Setter for <code>self_xdsd.slf_wallets_xdsd.repo_fullname</code>.
@@ -68,15 +66,15 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
     /**
      * Setter for <code>self_xdsd.slf_wallets_xdsd.cash</code>.
      */
-    public void setCash(BigInteger value) {
+    public void setCash(Long value) {
         set(3, value);
     }
 
     /**
      * Getter for <code>self_xdsd.slf_wallets_xdsd.cash</code>.
      */
-    public BigInteger getCash() {
-        return (BigInteger) get(3);
+    public Long getCash() {
+        return (Long) get(3);
     }
 
     /**
@@ -107,6 +105,20 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
         return (String) get(5);
     }
 
+    /**
+     * Setter for <code>self_xdsd.slf_wallets_xdsd.version</code>.
+     */
+    public void setVersion(Integer value) {
+        set(6, value);
+    }
+
+    /**
+     * Getter for <code>self_xdsd.slf_wallets_xdsd.version</code>.
+     */
+    public Integer getVersion() {
+        return (Integer) get(6);
+    }
+
     // -------------------------------------------------------------------------
     // Primary key information
     // -------------------------------------------------------------------------
@@ -117,17 +129,17 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
     }
 
     // -------------------------------------------------------------------------
-    // Record6 type implementation
+    // Record7 type implementation
     // -------------------------------------------------------------------------
 
     @Override
-    public Row6<String, String, String, BigInteger, Boolean, String> fieldsRow() {
-        return (Row6) super.fieldsRow();
+    public Row7<String, String, String, Long, Boolean, String, Integer> fieldsRow() {
+        return (Row7) super.fieldsRow();
     }
 
     @Override
-    public Row6<String, String, String, BigInteger, Boolean, String> valuesRow() {
-        return (Row6) super.valuesRow();
+    public Row7<String, String, String, Long, Boolean, String, Integer> valuesRow() {
+        return (Row7) super.valuesRow();
     }
 
     @Override
@@ -146,7 +158,7 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
     }
 
     @Override
-    public Field<BigInteger> field4() {
+    public Field<Long> field4() {
         return SlfWalletsXdsd.SLF_WALLETS_XDSD.CASH;
     }
 
@@ -160,6 +172,11 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
         return SlfWalletsXdsd.SLF_WALLETS_XDSD.IDENTIFIER;
     }
 
+    @Override
+    public Field<Integer> field7() {
+        return SlfWalletsXdsd.SLF_WALLETS_XDSD.VERSION;
+    }
+
     @Override
     public String component1() {
         return getRepoFullname();
@@ -176,7 +193,7 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
     }
 
     @Override
-    public BigInteger component4() {
+    public Long component4() {
         return getCash();
     }
 
@@ -190,6 +207,11 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
         return getIdentifier();
     }
 
+    @Override
+    public Integer component7() {
+        return getVersion();
+    }
+
     @Override
     public String value1() {
         return getRepoFullname();
@@ -206,7 +228,7 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
     }
 
     @Override
-    public BigInteger value4() {
+    public Long value4() {
         return getCash();
     }
 
@@ -220,6 +242,11 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
         return getIdentifier();
     }
 
+    @Override
+    public Integer value7() {
+        return getVersion();
+    }
+
     @Override
     public SlfWalletsXdsdRecord value1(String value) {
         setRepoFullname(value);
@@ -239,7 +266,7 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
     }
 
     @Override
-    public SlfWalletsXdsdRecord value4(BigInteger value) {
+    public SlfWalletsXdsdRecord value4(Long value) {
         setCash(value);
         return this;
     }
@@ -257,13 +284,20 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
     }
 
     @Override
-    public SlfWalletsXdsdRecord values(String value1, String value2, String value3, BigInteger value4, Boolean value5, String value6) {
+    public SlfWalletsXdsdRecord value7(Integer value) {
+        setVersion(value);
+        return this;
+    }
+
+    @Override
+    public SlfWalletsXdsdRecord values(String value1, String value2, String value3, Long value4, Boolean value5, String value6, Integer value7) {
         value1(value1);
         value2(value2);
         value3(value3);
         value4(value4);
         value5(value5);
         value6(value6);
+        value7(value7);
         return this;
     }
 
@@ -281,7 +315,7 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
     /**
      * Create a detached, initialised SlfWalletsXdsdRecord
      */
-    public SlfWalletsXdsdRecord(String repoFullname, String provider, String type, BigInteger cash, Boolean active, String identifier) {
+    public SlfWalletsXdsdRecord(String repoFullname, String provider, String type, Long cash, Boolean active, String identifier, Integer version) {
         super(SlfWalletsXdsd.SLF_WALLETS_XDSD);
 
         set(0, repoFullname);
@@ -290,5 +324,6 @@ public class SlfWalletsXdsdRecord extends UpdatableRecordImpl<SlfWalletsXdsdReco
         set(3, cash);
         set(4, active);
         set(5, identifier);
+        set(6, version);
     }
 }
@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import com.selfxdsd.api.Contract;
+import com.selfxdsd.api.Project;
+import com.selfxdsd.api.Provider;
+import com.selfxdsd.api.User;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.jooq.ExecuteContext;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DefaultExecuteListener;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Integration tests for {@link DataLoader}.
+ * Read the package-info.java if you want to run these tests manually.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+public final class DataLoaderITCase {
+
+    /**
+     * Projects requested together are read with one query and remembered.
+     */
+    @Test
+    public void batchesAndRemembersProjects() {
+        final QueryCounter queries = new QueryCounter();
+        final DataLoader loader = new SelfJooq(
+            new H2Database(queries)
+        ).dataLoader();
+        final Supplier<Project> docker = loader.project(
+            "amihaiemil/docker-java-api", Provider.Names.GITHUB
+        );
+        final Supplier<Project> test = loader.project(
+            "mihai/test", Provider.Names.GITLAB
+        );
+        final Supplier<Project> missing = loader.project(
+            "amihaiemil/missing", Provider.Names.GITHUB
+        );
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> {
+                    MatcherAssert.assertThat(
+                        docker.get().repoFullName(),
+                        Matchers.equalTo("amihaiemil/docker-java-api")
+                    );
+                    MatcherAssert.assertThat(
+                        test.get().owner().username(),
+                        Matchers.equalTo("mihai")
+                    );
+                    MatcherAssert.assertThat(
+                        missing.get(), Matchers.nullValue()
+                    );
+                }
+            ),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> MatcherAssert.assertThat(
+                    loader.project(
+                        "amihaiemil/docker-java-api", Provider.Names.GITHUB
+                    ).get(),
+                    Matchers.sameInstance(docker.get())
+                )
+            ),
+            Matchers.equalTo(0)
+        );
+    }
+
+    /**
+     * Keys are matched by the database: a key spelled differently than
+     * the stored one is found if the database's collation ignores case.
+     */
+    @Test
+    public void matchesKeysLikeTheDatabase() {
+        final QueryCounter queries = new QueryCounter();
+        final Database database = new H2MemoryDatabase(
+            UUID.randomUUID().toString() + ";IGNORECASE=TRUE", queries
+        ).connect();
+        final SyntheticData data = new SyntheticData(42L, 3, 1, 1, 1);
+        data.insertInto(database);
+        final DataLoader loader = new SelfJooq(database).dataLoader();
+        final Supplier<Project> upper = loader.project(
+            data.repo(1).toUpperCase(Locale.ROOT), data.provider()
+        );
+        final Supplier<Project> exact = loader.project(
+            data.repo(2), data.provider()
+        );
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> {
+                    MatcherAssert.assertThat(
+                        upper.get().repoFullName(),
+                        Matchers.equalTo(data.repo(1))
+                    );
+                    MatcherAssert.assertThat(
+                        exact.get().repoFullName(),
+                        Matchers.equalTo(data.repo(2))
+                    );
+                }
+            ),
+            Matchers.equalTo(2)
+        );
+    }
+
+    /**
+     * If the query fails, the keys are not remembered as missing, they
+     * are read again by the next Supplier.
+     */
+    @Test
+    public void keepsKeysPendingIfReadFails() {
+        final AtomicBoolean fail = new AtomicBoolean(true);
+        final DataLoader loader = new SelfJooq(
+            new H2Database(
+                new DefaultExecuteListener() {
+                    @Override
+                    public void executeStart(final ExecuteContext ctx) {
+                        if(fail.getAndSet(false)) {
+                            throw new DataAccessException("Read failed");
+                        }
+                    }
+                }
+            )
+        ).dataLoader();
+        final Supplier<Project> docker = loader.project(
+            "amihaiemil/docker-java-api", Provider.Names.GITHUB
+        );
+        boolean failed = false;
+        try {
+            docker.get();
+        } catch (final DataAccessException exception) {
+            failed = true;
+        }
+        MatcherAssert.assertThat(failed, Matchers.is(true));
+        MatcherAssert.assertThat(
+            docker.get().repoFullName(),
+            Matchers.equalTo("amihaiemil/docker-java-api")
+        );
+    }
+
+    /**
+     * Contracts requested together are read with one query.
+     */
+    @Test
+    public void batchesContracts() {
+        final QueryCounter queries = new QueryCounter();
+        final DataLoader loader = new SelfJooq(
+            new H2Database(queries)
+        ).dataLoader();
+        final Supplier<Contract> dev = loader.contract(
+            new Contract.Id(
+                "vlad/test", "maria", Provider.Names.GITHUB, Contract.Roles.DEV
+            )
+        );
+        final Supplier<Contract> rev = loader.contract(
+            new Contract.Id(
+                "vlad/test", "maria", Provider.Names.GITHUB, Contract.Roles.REV
+            )
+        );
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> {
+                    MatcherAssert.assertThat(
+                        dev.get().role(), Matchers.equalTo(Contract.Roles.DEV)
+                    );
+                    MatcherAssert.assertThat(
+                        rev.get().role(), Matchers.equalTo(Contract.Roles.REV)
+                    );
+                }
+            ),
+            Matchers.equalTo(1)
+        );
+    }
+
+    /**
+     * Users requested together are read with one query, each key only once.
+     */
+    @Test
+    public void batchesUsers() {
+        final QueryCounter queries = new QueryCounter();
+        final DataLoader loader = new SelfJooq(
+            new H2Database(queries)
+        ).dataLoader();
+        final Supplier<User> vlad = loader.user("vlad", Provider.Names.GITHUB);
+        final Supplier<User> maria = loader.user(
+            "maria", Provider.Names.GITHUB
+        );
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> {
+                    MatcherAssert.assertThat(
+                        vlad.get().username(), Matchers.equalTo("vlad")
+                    );
+                    MatcherAssert.assertThat(
+                        maria.get().email(),
+                        Matchers.equalTo("maria@gmail.com")
+                    );
+                }
+            ),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> MatcherAssert.assertThat(
+                    loader.user("vlad", Provider.Names.GITHUB).get(),
+                    Matchers.sameInstance(vlad.get())
+                )
+            ),
+            Matchers.equalTo(0)
+        );
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Every query of the storage package should select the columns it maps,
+ * never all the columns of the joined tables. The sources are scanned for
+ * {@code select()} and {@code selectFrom(...)}, which jOOQ expands into
+ * all the columns. Each source is matched as a whole, so a call split
+ * across lines is found too.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+public final class ExplicitColumnsTestCase {
+
+    /**
+     * A SELECT without columns, with any whitespace (new lines included)
+     * between the tokens of the call.
+     */
+    private static final Pattern STAR = Pattern.compile(
+        "\\.\\s*select\\s*\\(\\s*\\)|\\.\\s*selectFrom\\s*\\("
+    );
+
+    /**
+     * There is no SELECT without columns in the storage package.
+     * @throws IOException If the sources cannot be read.
+     */
+    @Test
+    public void selectsExplicitColumns() throws IOException {
+        final Path storage = Paths.get(
+            "src", "main", "java", "com", "selfxdsd", "storage"
+        );
+        final List<Path> sources;
+        try (Stream<Path> files = Files.list(storage)) {
+            sources = files
+                .filter(file -> file.toString().endsWith(".java"))
+                .collect(Collectors.toList());
+        }
+        MatcherAssert.assertThat(sources, Matchers.not(Matchers.empty()));
+        final List<String> stars = new ArrayList<>();
+        for(final Path source : sources) {
+            for(final int line : this.stars(Files.readString(source))) {
+                stars.add(source.getFileName() + ":" + line);
+            }
+        }
+        MatcherAssert.assertThat(stars, Matchers.empty());
+    }
+
+    /**
+     * A SELECT without columns is found even if the call is split
+     * across lines.
+     */
+    @Test
+    public void findsSelectSplitAcrossLines() {
+        MatcherAssert.assertThat(
+            this.stars(
+                String.join(
+                    "\n",
+                    "jooq.select(SLF_USERS_XDSD.USERNAME).from(SLF_USERS_XDSD)",
+                    "jooq",
+                    "    .select(",
+                    "    )",
+                    "    .from(SLF_USERS_XDSD);",
+                    "jooq.",
+                    "    selectFrom(SLF_USERS_XDSD);"
+                )
+            ),
+            Matchers.contains(3, 6)
+        );
+    }
+
+    /**
+     * The lines where a SELECT without columns starts.
+     * @param source Whole source code.
+     * @return Line numbers, starting from 1.
+     */
+    private List<Integer> stars(final String source) {
+        final List<Integer> lines = new ArrayList<>();
+        final Matcher matcher = STAR.matcher(source);
+        while(matcher.find()) {
+            lines.add(
+                (int) source.substring(0, matcher.start()).chars()
+                    .filter(chr -> chr == '\n')
+                    .count() + 1
+            );
+        }
+        return lines;
+    }
+}
@@ -23,8 +23,10 @@
 package com.selfxdsd.storage;
 
 import org.jooq.DSLContext;
+import org.jooq.ExecuteListener;
 import org.jooq.SQLDialect;
 import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -57,15 +59,23 @@ public final class H2Database implements Database {
      */
     private final Connection connection;
 
+    /**
+     * Listeners notified about every executed statement.
+     */
+    private final ExecuteListener[] listeners;
+
     /**
      * Constructor to obtain an unconnected instance.
+     * @param listeners Listeners notified about every executed statement
+     *  (e.g. a QueryCounter).
      */
-    public H2Database() {
+    public H2Database(final ExecuteListener... listeners) {
         this(
             "jdbc:h2:file:target/db/testdb",
             "sa",
             "",
-            null
+            null,
+            listeners
         );
     }
 
@@ -75,17 +85,20 @@ public final class H2Database implements Database {
      * @param dbUrl DB Url.
      * @param username DB User.
      * @param password DB Password.
+     * @param listeners Listeners notified about every executed statement.
      */
     private H2Database(
         final String dbUrl,
         final String username,
         final String password,
-        final Connection connection
+        final Connection connection,
+        final ExecuteListener... listeners
     ) {
         this.dbUrl = dbUrl;
         this.username = username;
         this.password = password;
         this.connection = connection;
+        this.listeners = listeners;
     }
 
     @Override
@@ -100,7 +113,8 @@ public final class H2Database implements Database {
                         this.dbUrl,
                         this.username,
                         this.password
-                    )
+                    ),
+                    this.listeners
                 );
             } catch (final SQLException exception) {
                 throw new IllegalStateException(
@@ -117,7 +131,12 @@ public final class H2Database implements Database {
         if(this.connection == null) {
             throw new IllegalStateException("You need to connect first!");
         }
-        return DSL.using(connection, SQLDialect.MYSQL);
+        return DSL.using(
+            new DefaultConfiguration()
+                .set(this.connection)
+                .set(SQLDialect.MYSQL)
+                .set(this.listeners)
+        );
     }
 
     @Override
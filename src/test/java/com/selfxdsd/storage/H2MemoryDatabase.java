@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import org.h2.tools.RunScript;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteListener;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * H2 Database, in memory, with the schema from createDb.sql. It is meant
+ * for benchmarks and load tests, which fill it with synthetic data.
+ * The DB lives as long as the JVM, so every connection to the same name
+ * sees the same data.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+public final class H2MemoryDatabase implements Database {
+
+    /**
+     * DB Url.
+     */
+    private final String dbUrl;
+
+    /**
+     * JDBC Connection.
+     */
+    private final Connection connection;
+
+    /**
+     * Listeners notified about every executed statement.
+     */
+    private final ExecuteListener[] listeners;
+
+    /**
+     * Constructor to obtain an unconnected instance.
+     * @param name Name of the in-memory DB.
+     * @param listeners Listeners notified about every executed statement
+     *  (e.g. a QueryCounter).
+     */
+    public H2MemoryDatabase(
+        final String name,
+        final ExecuteListener... listeners
+    ) {
+        this("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", null, listeners);
+    }
+
+    /**
+     * Constructor to obtain a connected instance.
+     * @param dbUrl DB Url.
+     * @param connection JDBC Connection.
+     * @param listeners Listeners notified about every executed statement.
+     */
+    private H2MemoryDatabase(
+        final String dbUrl,
+        final Connection connection,
+        final ExecuteListener... listeners
+    ) {
+        this.dbUrl = dbUrl;
+        this.connection = connection;
+        this.listeners = listeners;
+    }
+
+    @Override
+    public H2MemoryDatabase connect() {
+        if(this.connection == null) {
+            try {
+                final Connection connected = DriverManager.getConnection(
+                    this.dbUrl, "sa", ""
+                );
+                if(!H2MemoryDatabase.hasSchema(connected)) {
+                    try (
+                        Reader script = new InputStreamReader(
+                            H2MemoryDatabase.class.getClassLoader()
+                                .getResourceAsStream("createDb.sql"),
+                            StandardCharsets.UTF_8
+                        )
+                    ) {
+                        RunScript.execute(connected, script);
+                    }
+                }
+                return new H2MemoryDatabase(
+                    this.dbUrl, connected, this.listeners
+                );
+            } catch (final SQLException | IOException exception) {
+                throw new IllegalStateException(
+                    "Could not connect to the in-memory DB",
+                    exception
+                );
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public DSLContext jooq() {
+        if(this.connection == null) {
+            throw new IllegalStateException("You need to connect first!");
+        }
+        return DSL.using(
+            new DefaultConfiguration()
+                .set(this.connection)
+                .set(SQLDialect.MYSQL)
+                .set(this.listeners)
+        );
+    }
+
+    @Override
+    public void close() {
+        if(this.connection != null) {
+            try {
+                this.connection.close();
+            } catch (final SQLException exception) {
+                throw new IllegalStateException(
+                    "Could not close the DB Connection",
+                    exception
+                );
+            }
+        }
+    }
+
+    @Override
+    public String dbms() {
+        return Dbms.H2;
+    }
+
+    /**
+     * Does the in-memory DB already have Self's schema?
+     * @param connection JDBC Connection.
+     * @return True or false.
+     * @throws SQLException If something goes wrong.
+     */
+    private static boolean hasSchema(final Connection connection)
+        throws SQLException {
+        try (
+            ResultSet schemas = connection.getMetaData().getSchemas()
+        ) {
+            boolean found = false;
+            while (schemas.next()) {
+                if("SELF_XDSD".equalsIgnoreCase(schemas.getString(1))) {
+                    found = true;
+                }
+            }
+            return found;
+        }
+    }
+}
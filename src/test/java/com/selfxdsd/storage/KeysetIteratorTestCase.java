@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link KeysetIterator}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+public final class KeysetIteratorTestCase {
+
+    /**
+     * Key column of the fake table.
+     */
+    private static final Field<Integer> ID = DSL.field("id", Integer.class);
+
+    /**
+     * It reads each page after the last row of the previous one.
+     */
+    @Test
+    public void iteratesBySeekingAfterLastRow() {
+        final List<Integer> seeks = new ArrayList<>();
+        final Iterator<Integer> iterator = new KeysetIterator<>(
+            2,
+            last -> {
+                final int after;
+                if (last == null) {
+                    after = 0;
+                } else {
+                    after = last.get(ID);
+                }
+                seeks.add(after);
+                return this.rows(after, 2, 5);
+            },
+            rows -> rows.stream()
+                .map(rec -> rec.get(ID))
+                .collect(Collectors.toList())
+        );
+        final List<Integer> read = new ArrayList<>();
+        iterator.forEachRemaining(read::add);
+        MatcherAssert.assertThat(read, Matchers.contains(1, 2, 3, 4, 5));
+        MatcherAssert.assertThat(seeks, Matchers.contains(0, 2, 4));
+    }
+
+    /**
+     * It stops after an empty page, without reading again.
+     */
+    @Test
+    public void stopsAfterEmptyPage() {
+        final List<Integer> seeks = new ArrayList<>();
+        final Iterator<Integer> iterator = new KeysetIterator<>(
+            2,
+            last -> {
+                seeks.add(0);
+                return this.rows(0, 2, 4).subList(0, seeks.size() % 2 * 2);
+            },
+            rows -> rows.stream()
+                .map(rec -> rec.get(ID))
+                .collect(Collectors.toList())
+        );
+        final List<Integer> read = new ArrayList<>();
+        iterator.forEachRemaining(read::add);
+        MatcherAssert.assertThat(read, Matchers.contains(1, 2));
+        MatcherAssert.assertThat(iterator.hasNext(), Matchers.is(false));
+        MatcherAssert.assertThat(seeks, Matchers.hasSize(2));
+    }
+
+    /**
+     * Throws when there are no more items to iterate.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void throwsWhenNoMoreItems() {
+        final Iterator<Integer> iterator = new KeysetIterator<>(
+            2,
+            last -> this.rows(0, 2, 0),
+            rows -> rows.stream()
+                .map(rec -> rec.get(ID))
+                .collect(Collectors.toList())
+        );
+        iterator.next();
+    }
+
+    /**
+     * Throws when the fetched page is too big.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void throwsWhenFetchedPageIsTooBig() {
+        final Iterator<Integer> iterator = new KeysetIterator<>(
+            1,
+            last -> this.rows(0, 2, 5),
+            rows -> rows.stream()
+                .map(rec -> rec.get(ID))
+                .collect(Collectors.toList())
+        );
+        iterator.next();
+    }
+
+    /**
+     * Rows of a fake table with ids from 1 to total.
+     * @param after Return the rows with ids greater than this.
+     * @param limit Max rows to return.
+     * @param total Number of rows in the table.
+     * @return Rows.
+     */
+    private List<Record> rows(
+        final int after,
+        final int limit,
+        final int total
+    ) {
+        return IntStream.rangeClosed(after + 1, Math.min(after + limit, total))
+            .mapToObj(
+                id -> {
+                    final Record rec = DSL.using(SQLDialect.DEFAULT)
+                        .newRecord(ID);
+                    rec.set(ID, id);
+                    return rec;
+                }
+            ).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import org.jooq.ExecuteContext;
+import org.jooq.impl.DefaultExecuteListener;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ExecuteListener which counts the statements sent to the DB.
+ * Attach it to the test Database and use it to assert how many round trips
+ * an operation costs, so N+1 regressions are caught by the ITCases:
+ * <pre>
+ *     final QueryCounter queries = new QueryCounter();
+ *     final Storage storage = new SelfJooq(new H2Database(queries));
+ *     MatcherAssert.assertThat(
+ *         queries.count(() -> storage.invoices().getById(1)),
+ *         Matchers.lessThanOrEqualTo(2)
+ *     );
+ * </pre>
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+public final class QueryCounter extends DefaultExecuteListener {
+
+    /**
+     * Statements executed so far.
+     */
+    private final AtomicInteger executed = new AtomicInteger();
+
+    @Override
+    public void executeStart(final ExecuteContext ctx) {
+        this.executed.incrementAndGet();
+    }
+
+    /**
+     * Count the statements executed by the given scope.
+     * @param scope Code to run.
+     * @return Number of statements executed while running the scope.
+     */
+    public int count(final Runnable scope) {
+        final int before = this.executed.get();
+        scope.run();
+        return this.executed.get() - before;
+    }
+
+    /**
+     * Statements executed since this counter was attached.
+     * @return Total number of executed statements.
+     */
+    public int total() {
+        return this.executed.get();
+    }
+}
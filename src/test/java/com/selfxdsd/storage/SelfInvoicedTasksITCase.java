@@ -26,9 +26,19 @@ import com.selfxdsd.api.*;
 import com.selfxdsd.api.storage.Storage;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.jooq.Record3;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_INVOICEDTASKS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_INVOICES_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_TASKS_XDSD;
 
 /**
  * Integration tests for {@link SelfInvoicedTasks}.
@@ -167,4 +177,287 @@ public final class SelfInvoicedTasksITCase {
         );
     }
 
+
+    /**
+     * SelfInvoicedTasks keeps the totals of the Invoice up to date, so the
+     * Invoice doesn't have to sum its tasks.
+     */
+    @Test
+    public void keepsInvoiceTotals() {
+        final Storage storage = new SelfJooq(new H2Database());
+        final Invoice before = storage.invoices().getById(2);
+        final Task finished = this.mockTask(
+            "2048", BigDecimal.valueOf(5000)
+        );
+        storage.invoicedTasks().register(
+            before, finished, BigDecimal.valueOf(50), BigDecimal.valueOf(25)
+        );
+        final Invoice after = storage.invoices().getById(2);
+        MatcherAssert.assertThat(
+            after.amount(),
+            Matchers.equalTo(before.amount().add(BigDecimal.valueOf(5000)))
+        );
+        MatcherAssert.assertThat(
+            after.projectCommission(),
+            Matchers.equalTo(
+                before.projectCommission().add(BigDecimal.valueOf(50))
+            )
+        );
+        MatcherAssert.assertThat(
+            after.contributorCommission(),
+            Matchers.equalTo(
+                before.contributorCommission().add(BigDecimal.valueOf(25))
+            )
+        );
+        MatcherAssert.assertThat(
+            after.totalAmount(),
+            Matchers.equalTo(
+                before.totalAmount().add(BigDecimal.valueOf(5050))
+            )
+        );
+        MatcherAssert.assertThat(
+            ((TotalledInvoice) after).tasksCount(),
+            Matchers.equalTo(((TotalledInvoice) before).tasksCount() + 1)
+        );
+    }
+
+    /**
+     * Invoicing an issue doesn't remove the PR with the same number (or
+     * the other way around), they are different Tasks.
+     */
+    @Test
+    public void registersTaskOutOfTasksByPullRequest() {
+        final Database database = new H2Database().connect();
+        this.seedTask(database, "320", false);
+        this.seedTask(database, "320", true);
+        final Invoice invoice = Mockito.mock(Invoice.class);
+        Mockito.when(invoice.invoiceId()).thenReturn(2);
+        new SelfInvoicedTasks(Mockito.mock(Storage.class), database).register(
+            invoice,
+            this.mockTask("320", BigDecimal.valueOf(1000)),
+            BigDecimal.valueOf(10),
+            BigDecimal.valueOf(5)
+        );
+        MatcherAssert.assertThat(
+            database.jooq().select(SLF_TASKS_XDSD.ISPULLREQUEST)
+                .from(SLF_TASKS_XDSD)
+                .where(
+                    SLF_TASKS_XDSD.REPO_FULLNAME.eq(
+                        "amihaiemil/docker-java-api"
+                    ).and(SLF_TASKS_XDSD.ISSUEID.eq("320"))
+                )
+                .fetch(SLF_TASKS_XDSD.ISPULLREQUEST),
+            Matchers.contains(Boolean.TRUE)
+        );
+    }
+
+    /**
+     * SelfInvoicedTasks.registerAll rejects a Task given twice, before
+     * writing anything.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void registerAllRejectsDuplicateTasks() {
+        final Invoice invoice = Mockito.mock(Invoice.class);
+        Mockito.when(invoice.invoiceId()).thenReturn(2);
+        final SelfInvoicedTasks.Registration task =
+            new SelfInvoicedTasks.Registration(
+                this.mockTask("330", BigDecimal.valueOf(1000)),
+                BigDecimal.valueOf(10),
+                BigDecimal.valueOf(5)
+            );
+        new SelfInvoicedTasks(
+            Mockito.mock(Storage.class), Mockito.mock(Database.class)
+        ).registerAll(invoice, List.of(task, task));
+    }
+
+    /**
+     * SelfInvoicedTasks can invoice many Tasks at once, in a constant
+     * number of statements.
+     */
+    @Test
+    public void registersAllTasks() {
+        final QueryCounter queries = new QueryCounter();
+        final Database database = new H2Database(queries).connect();
+        final SelfInvoicedTasks all = new SelfInvoicedTasks(
+            Mockito.mock(Storage.class), database
+        );
+        final Invoice invoice = Mockito.mock(Invoice.class);
+        Mockito.when(invoice.invoiceId()).thenReturn(2);
+        final List<String> issues = List.of("300", "301", "302", "303", "304");
+        final List<SelfInvoicedTasks.Registration> finished =
+            this.seedTasks(database, issues);
+        final List<List<InvoicedTask>> invoiced = new ArrayList<>();
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> invoiced.add(all.registerAll(invoice, finished))
+            ),
+            Matchers.lessThanOrEqualTo(4)
+        );
+        final List<Integer> ids = invoiced.get(0).stream()
+            .map(InvoicedTask::invoicedTaskId)
+            .collect(Collectors.toList());
+        MatcherAssert.assertThat(ids, Matchers.hasSize(5));
+        MatcherAssert.assertThat(
+            database.jooq().select(SLF_INVOICEDTASKS_XDSD.ISSUEID)
+                .from(SLF_INVOICEDTASKS_XDSD)
+                .where(SLF_INVOICEDTASKS_XDSD.ID.in(ids))
+                .orderBy(SLF_INVOICEDTASKS_XDSD.ID)
+                .fetch(SLF_INVOICEDTASKS_XDSD.ISSUEID),
+            Matchers.contains(issues.toArray())
+        );
+        MatcherAssert.assertThat(
+            invoiced.get(0).get(4).value(),
+            Matchers.equalTo(BigDecimal.valueOf(1000))
+        );
+        MatcherAssert.assertThat(
+            all.registerAll(invoice, new ArrayList<>()),
+            Matchers.emptyIterable()
+        );
+    }
+
+    /**
+     * SelfInvoicedTasks.registerAll removes the invoiced Tasks from the
+     * tasks table, but not a PR with the same issue id, and adds their
+     * values and commissions to the Invoice's totals.
+     */
+    @Test
+    public void registersAllTasksOutOfTasksIntoTotals() {
+        final Database database = new H2Database().connect();
+        final Invoice invoice = Mockito.mock(Invoice.class);
+        Mockito.when(invoice.invoiceId()).thenReturn(2);
+        final List<String> issues = List.of("310", "311", "312");
+        final List<SelfInvoicedTasks.Registration> finished =
+            this.seedTasks(database, issues);
+        this.seedTask(database, "310", true);
+        final Record3<Long, Long, Long> before = this.totals(database, 2);
+        new SelfInvoicedTasks(
+            Mockito.mock(Storage.class), database
+        ).registerAll(invoice, finished);
+        MatcherAssert.assertThat(
+            database.jooq().fetchCount(
+                SLF_TASKS_XDSD,
+                SLF_TASKS_XDSD.REPO_FULLNAME.eq("amihaiemil/docker-java-api")
+                    .and(SLF_TASKS_XDSD.ISSUEID.in(issues))
+                    .and(SLF_TASKS_XDSD.ISPULLREQUEST.isFalse())
+            ),
+            Matchers.equalTo(0)
+        );
+        MatcherAssert.assertThat(
+            database.jooq().fetchCount(
+                SLF_TASKS_XDSD,
+                SLF_TASKS_XDSD.REPO_FULLNAME.eq("amihaiemil/docker-java-api")
+                    .and(SLF_TASKS_XDSD.ISSUEID.eq("310"))
+                    .and(SLF_TASKS_XDSD.ISPULLREQUEST.isTrue())
+            ),
+            Matchers.equalTo(1)
+        );
+        final Record3<Long, Long, Long> after = this.totals(database, 2);
+        MatcherAssert.assertThat(
+            after.value1() - before.value1(), Matchers.equalTo(3000L)
+        );
+        MatcherAssert.assertThat(
+            after.value2() - before.value2(), Matchers.equalTo(30L)
+        );
+        MatcherAssert.assertThat(
+            after.value3() - before.value3(), Matchers.equalTo(15L)
+        );
+    }
+
+    /**
+     * Insert unassigned Tasks of amihaiemil/docker-java-api and mock
+     * their Registrations, each worth 1000 with commissions 10 and 5.
+     * @param database Database.
+     * @param issues Issue ids.
+     * @return Registrations.
+     */
+    private List<SelfInvoicedTasks.Registration> seedTasks(
+        final Database database,
+        final List<String> issues
+    ) {
+        final List<SelfInvoicedTasks.Registration> finished =
+            new ArrayList<>();
+        for(final String issueId : issues) {
+            this.seedTask(database, issueId, false);
+            finished.add(
+                new SelfInvoicedTasks.Registration(
+                    this.mockTask(issueId, BigDecimal.valueOf(1000)),
+                    BigDecimal.valueOf(10),
+                    BigDecimal.valueOf(5)
+                )
+            );
+        }
+        return finished;
+    }
+
+    /**
+     * Insert an unassigned Task of amihaiemil/docker-java-api.
+     * @param database Database.
+     * @param issueId Issue id.
+     * @param pullRequest Whether it is a PR.
+     */
+    private void seedTask(
+        final Database database,
+        final String issueId,
+        final boolean pullRequest
+    ) {
+        database.jooq().insertInto(
+            SLF_TASKS_XDSD,
+            SLF_TASKS_XDSD.REPO_FULLNAME,
+            SLF_TASKS_XDSD.ISSUEID,
+            SLF_TASKS_XDSD.PROVIDER,
+            SLF_TASKS_XDSD.ROLE,
+            SLF_TASKS_XDSD.ESTIMATION_MINUTES,
+            SLF_TASKS_XDSD.ISPULLREQUEST
+        ).values(
+            "amihaiemil/docker-java-api", issueId, Provider.Names.GITHUB,
+            Contract.Roles.REV, 60, pullRequest
+        ).execute();
+    }
+
+    /**
+     * Totals kept on an Invoice's row.
+     * @param database Database.
+     * @param invoiceId Id of the Invoice.
+     * @return Total value, commission and contributor commission.
+     */
+    private Record3<Long, Long, Long> totals(
+        final Database database,
+        final int invoiceId
+    ) {
+        return database.jooq().select(
+            SLF_INVOICES_XDSD.TOTALVALUE,
+            SLF_INVOICES_XDSD.TOTALCOMMISSION,
+            SLF_INVOICES_XDSD.TOTALCONTRIBUTORCOMMISSION
+        ).from(SLF_INVOICES_XDSD)
+            .where(SLF_INVOICES_XDSD.INVOICEID.eq(invoiceId))
+            .fetchOne();
+    }
+
+    /**
+     * Mock a finished Task of maria, the reviewer of
+     * amihaiemil/docker-java-api.
+     * @param issueId Issue id.
+     * @param value Value.
+     * @return Task.
+     */
+    private Task mockTask(final String issueId, final BigDecimal value) {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.repoFullName())
+            .thenReturn("amihaiemil/docker-java-api");
+        Mockito.when(project.provider()).thenReturn(Provider.Names.GITHUB);
+        final Contributor maria = Mockito.mock(Contributor.class);
+        Mockito.when(maria.username()).thenReturn("maria");
+        final Task finished = Mockito.mock(Task.class);
+        Mockito.when(finished.project()).thenReturn(project);
+        Mockito.when(finished.assignee()).thenReturn(maria);
+        Mockito.when(finished.role()).thenReturn(Contract.Roles.REV);
+        Mockito.when(finished.issueId()).thenReturn(issueId);
+        Mockito.when(finished.value()).thenReturn(value);
+        Mockito.when(finished.assignmentDate())
+            .thenReturn(LocalDateTime.now().minusDays(2));
+        Mockito.when(finished.deadline())
+            .thenReturn(LocalDateTime.now().plusDays(8));
+        Mockito.when(finished.estimation()).thenReturn(60);
+        return finished;
+    }
 }
@@ -27,12 +27,26 @@ import com.selfxdsd.api.storage.Storage;
 import com.selfxdsd.core.contracts.invoices.StoredPayment;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.jooq.Condition;
+import org.jooq.ExecuteContext;
+import org.jooq.Insert;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListener;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_CONTRACTS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_INVOICES_XDSD;
 
 /**
  * Integration tests for {@link SelfInvoices}.
@@ -200,6 +214,18 @@ public final class SelfInvoicesITCase {
             created.createdAt(),
             Matchers.notNullValue()
         );
+        MatcherAssert.assertThat(
+            created.amount(),
+            Matchers.equalTo(BigDecimal.ZERO)
+        );
+        MatcherAssert.assertThat(
+            created.projectCommission(),
+            Matchers.equalTo(BigDecimal.ZERO)
+        );
+        MatcherAssert.assertThat(
+            created.contributorCommission(),
+            Matchers.equalTo(BigDecimal.ZERO)
+        );
         MatcherAssert.assertThat(
             created.latest(),
             Matchers.nullValue()
@@ -281,6 +307,196 @@ public final class SelfInvoicesITCase {
         MatcherAssert.assertThat(ofContract, Matchers.emptyIterable());
     }
 
+    /**
+     * SelfInvoices.getById(...) should read the Invoice, its latest Payment
+     * and its Contract in at most 2 queries.
+     */
+    @Test
+    public void returnsInvoiceByIdInTwoQueries() {
+        final QueryCounter queries = new QueryCounter();
+        final Invoices invoices = new SelfJooq(
+            new H2Database(queries)
+        ).invoices();
+        MatcherAssert.assertThat(
+            queries.count(() -> invoices.getById(1)),
+            Matchers.lessThanOrEqualTo(2)
+        );
+    }
+
+    /**
+     * SelfInvoices reads the Invoices with their latest Payment from the
+     * invoices table only, without joining the payments.
+     */
+    @Test
+    public void readsInvoicesWithoutPayments() {
+        MatcherAssert.assertThat(
+            SelfInvoices.selectInvoices(DSL.using(SQLDialect.MYSQL))
+                .getSQL(),
+            Matchers.not(Matchers.containsString("slf_payments_xdsd"))
+        );
+    }
+
+    /**
+     * SelfInvoices.ofContract(...) should read 100 invoices in at most 2
+     * queries, no matter how many invoices the Contract has.
+     */
+    @Test
+    public void returnsInvoicesOfContractInTwoQueries() {
+        final QueryCounter queries = new QueryCounter();
+        final Database database = new H2MemoryDatabase(
+            UUID.randomUUID().toString(), queries
+        ).connect();
+        final SyntheticData data = new SyntheticData(42L, 1, 1, 100, 1);
+        data.insertInto(database);
+        final Invoices invoices = new SelfJooq(database).invoices();
+        final Contract.Id id = new Contract.Id(
+            data.repo(0),
+            data.contributorsOf(0).get(0),
+            data.provider(),
+            data.role()
+        );
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> MatcherAssert.assertThat(
+                    invoices.ofContract(id),
+                    Matchers.iterableWithSize(100)
+                )
+            ),
+            Matchers.lessThanOrEqualTo(2)
+        );
+    }
+
+    /**
+     * SelfInvoices can create the Invoices of many Contracts at once, in a
+     * constant number of statements.
+     */
+    @Test
+    public void createsInvoicesForAllContracts() {
+        final QueryCounter queries = new QueryCounter();
+        final Database database = new H2MemoryDatabase(
+            UUID.randomUUID().toString(), queries
+        ).connect();
+        final SyntheticData data = new SyntheticData(42L, 3, 1, 1, 1);
+        data.insertInto(database);
+        final SelfInvoices invoices = new SelfInvoices(
+            Mockito.mock(Storage.class), database
+        );
+        final Condition ofRepo = SLF_CONTRACTS_XDSD.REPO_FULLNAME.eq(
+            data.repo(1)
+        );
+        final List<List<Integer>> created = new ArrayList<>();
+        MatcherAssert.assertThat(
+            queries.count(() -> created.add(invoices.createForAll(ofRepo))),
+            Matchers.lessThanOrEqualTo(2)
+        );
+        MatcherAssert.assertThat(
+            created.get(0),
+            Matchers.hasSize(database.jooq().fetchCount(
+                SLF_CONTRACTS_XDSD, ofRepo
+            ))
+        );
+        MatcherAssert.assertThat(
+            database.jooq().selectDistinct(SLF_INVOICES_XDSD.REPO_FULLNAME)
+                .from(SLF_INVOICES_XDSD)
+                .where(SLF_INVOICES_XDSD.INVOICEID.in(created.get(0)))
+                .fetch(SLF_INVOICES_XDSD.REPO_FULLNAME),
+            Matchers.contains(data.repo(1))
+        );
+        MatcherAssert.assertThat(
+            invoices.createForAll(
+                SLF_CONTRACTS_XDSD.REPO_FULLNAME.eq("missing/repo")
+            ),
+            Matchers.emptyIterable()
+        );
+    }
+
+    /**
+     * SelfInvoices.createForAll returns only the Invoices it created, not
+     * one created for the same Contracts by someone else, at the same time.
+     */
+    @Test
+    public void createsInvoicesForAllIgnoringConcurrentInserts() {
+        final AtomicInteger concurrent = new AtomicInteger();
+        final SyntheticData data = new SyntheticData(42L, 3, 1, 1, 1);
+        final String name = UUID.randomUUID().toString() + ";MVCC=TRUE";
+        final Database database = new H2MemoryDatabase(
+            name,
+            new DefaultExecuteListener() {
+                @Override
+                public void executeEnd(final ExecuteContext ctx) {
+                    if(ctx.query() instanceof Insert
+                        && concurrent.get() == 0) {
+                        concurrent.set(
+                            SelfInvoicesITCase.insertLike(
+                                new H2MemoryDatabase(name).connect(),
+                                data.repo(1),
+                                ctx.query().getBindValues().stream()
+                                    .filter(LocalDateTime.class::isInstance)
+                                    .map(LocalDateTime.class::cast)
+                                    .findFirst()
+                                    .orElseThrow()
+                            )
+                        );
+                    }
+                }
+            }
+        ).connect();
+        data.insertInto(database);
+        final Condition ofRepo = SLF_CONTRACTS_XDSD.REPO_FULLNAME.eq(
+            data.repo(1)
+        );
+        final List<Integer> created = new SelfInvoices(
+            Mockito.mock(Storage.class), database
+        ).createForAll(ofRepo);
+        MatcherAssert.assertThat(concurrent.get(), Matchers.greaterThan(0));
+        MatcherAssert.assertThat(
+            created,
+            Matchers.hasSize(
+                database.jooq().fetchCount(SLF_CONTRACTS_XDSD, ofRepo)
+            )
+        );
+        MatcherAssert.assertThat(
+            created,
+            Matchers.not(Matchers.hasItem(concurrent.get()))
+        );
+    }
+
+    /**
+     * Insert an Invoice for a Contract of the given repo, with the given
+     * createdAt, through another connection, as if someone else had
+     * created it at the same time.
+     * @param other Other connection to the Database.
+     * @param repo Repo full name.
+     * @param createdAt Creation time.
+     * @return Id of the inserted Invoice.
+     */
+    private static int insertLike(
+        final Database other,
+        final String repo,
+        final LocalDateTime createdAt
+    ) {
+        return other.jooq().insertInto(
+            SLF_INVOICES_XDSD,
+            SLF_INVOICES_XDSD.REPO_FULLNAME,
+            SLF_INVOICES_XDSD.USERNAME,
+            SLF_INVOICES_XDSD.PROVIDER,
+            SLF_INVOICES_XDSD.ROLE,
+            SLF_INVOICES_XDSD.CREATEDAT
+        ).select(
+            DSL.select(
+                SLF_CONTRACTS_XDSD.REPO_FULLNAME,
+                SLF_CONTRACTS_XDSD.USERNAME,
+                SLF_CONTRACTS_XDSD.PROVIDER,
+                SLF_CONTRACTS_XDSD.ROLE,
+                DSL.val(createdAt)
+            ).from(SLF_CONTRACTS_XDSD)
+                .where(SLF_CONTRACTS_XDSD.REPO_FULLNAME.eq(repo))
+                .limit(1)
+        ).returning(SLF_INVOICES_XDSD.INVOICEID)
+            .fetchOne()
+            .getInvoiceid();
+    }
+
     /**
      * SelfInvoices shouldn't mark as paid an Invoice which is not actually
      * paid.
@@ -22,16 +22,21 @@
  */
 package com.selfxdsd.storage;
 
+import com.selfxdsd.api.CachedResource;
 import com.selfxdsd.api.Resource;
 import com.selfxdsd.api.storage.JsonStorage;
+import com.selfxdsd.api.storage.Storage;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import javax.json.Json;
 import java.net.URI;
 import java.util.UUID;
 
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_JSONSTORAGE_XDSD;
+
 /**
  * Integration tests for {@link SelfJsonStorage}.
  * @author Mihai Andronache (amihaiemil@gmail.com)
@@ -82,6 +87,78 @@ public final class SelfJsonStorageITCase {
         );
     }
 
+    /**
+     * Returns only the ETag of a stored resource.
+     */
+    @Test
+    public void returnsEtagOfResource() {
+        final SelfJsonStorage jsonStorage = new SelfJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect()
+        );
+        MatcherAssert.assertThat(
+            jsonStorage.etagOf(
+                URI.create(
+                    "https://github.com/self-xdsd/self-storage/issues/123"
+                )
+            ),
+            Matchers.equalTo("etag123321")
+        );
+    }
+
+    /**
+     * Returns null ETag if no record is found for the given URL.
+     */
+    @Test
+    public void returnsNullEtagOfMissingResource() {
+        final SelfJsonStorage jsonStorage = new SelfJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect()
+        );
+        MatcherAssert.assertThat(
+            jsonStorage.etagOf(
+                URI.create(
+                    "https://github.com/self-xdsd/self-storage/issues/999"
+                )
+            ),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * The body of a found resource is only read from the DB when it is
+     * first needed.
+     */
+    @Test
+    public void readsBodyOnlyWhenNeeded() {
+        final Database connected = new H2Database().connect();
+        final Database database = Mockito.mock(Database.class);
+        Mockito.when(database.jooq()).thenAnswer(inv -> connected.jooq());
+        final JsonStorage jsonStorage = new SelfJsonStorage(
+            Mockito.mock(Storage.class),
+            database
+        );
+        final Resource found = jsonStorage.getResource(
+            URI.create(
+                "https://github.com/self-xdsd/self-storage/issues/123"
+            )
+        );
+        MatcherAssert.assertThat(
+            found.etag(),
+            Matchers.equalTo("etag123321")
+        );
+        Mockito.verify(database, Mockito.times(1)).jooq();
+        MatcherAssert.assertThat(
+            found.body(),
+            Matchers.equalTo("{\"issueId\":\"123\"}")
+        );
+        MatcherAssert.assertThat(
+            found.asJsonObject().getString("issueId"),
+            Matchers.equalTo("123")
+        );
+        Mockito.verify(database, Mockito.times(2)).jooq();
+    }
+
     /**
      * Method store doesn't insert anything if the etag and body are
      * blank.
@@ -118,6 +195,66 @@ public final class SelfJsonStorageITCase {
         ).jooq();
     }
 
+    /**
+     * If a found resource was updated after its ETag was read, its newer
+     * body is read, together with the newer ETag, so they still match.
+     */
+    @Test
+    public void readsBodyUpdatedAfterEtag() {
+        final SelfJsonStorage jsonStorage = new SelfJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect()
+        );
+        final URI uri = URI.create(
+            "https://github.com/self-xdsd/self-storage/issues/"
+            + UUID.randomUUID()
+        );
+        final Resource resource = Mockito.mock(Resource.class);
+        Mockito.when(resource.etag()).thenReturn("etagBefore");
+        Mockito.when(resource.body()).thenReturn("{\"state\":\"open\"}");
+        jsonStorage.storeResource(uri, resource);
+        final CachedResource found = jsonStorage.getResource(uri);
+        final Resource updated = Mockito.mock(Resource.class);
+        Mockito.when(updated.etag()).thenReturn("etagAfter");
+        Mockito.when(updated.body()).thenReturn("{\"state\":\"closed\"}");
+        jsonStorage.updateResource(uri, updated);
+        MatcherAssert.assertThat(found.etag(), Matchers.equalTo("etagBefore"));
+        MatcherAssert.assertThat(
+            found.asJsonObject().getString("state"),
+            Matchers.equalTo("closed")
+        );
+        MatcherAssert.assertThat(found.etag(), Matchers.equalTo("etagAfter"));
+        MatcherAssert.assertThat(
+            found.body(), Matchers.equalTo("{\"state\":\"closed\"}")
+        );
+    }
+
+    /**
+     * A found resource which was removed after its ETag was read is a
+     * cache miss: it has no body.
+     */
+    @Test
+    public void missesBodyRemovedAfterEtag() {
+        final Database database = new H2Database().connect();
+        final SelfJsonStorage jsonStorage = new SelfJsonStorage(
+            Mockito.mock(Storage.class), database
+        );
+        final URI uri = URI.create(
+            "https://github.com/self-xdsd/self-storage/issues/"
+            + UUID.randomUUID()
+        );
+        final Resource resource = Mockito.mock(Resource.class);
+        Mockito.when(resource.etag()).thenReturn("etagRemoved");
+        Mockito.when(resource.body()).thenReturn("{\"state\":\"open\"}");
+        jsonStorage.storeResource(uri, resource);
+        final CachedResource found = jsonStorage.getResource(uri);
+        database.jooq().deleteFrom(SLF_JSONSTORAGE_XDSD)
+            .where(SLF_JSONSTORAGE_XDSD.URL.eq(uri.toString()))
+            .execute();
+        MatcherAssert.assertThat(found.asJsonObject(), Matchers.nullValue());
+        MatcherAssert.assertThat(found.body(), Matchers.nullValue());
+    }
+
     /**
      * Method store inserts a new resource.
      */
@@ -184,4 +321,204 @@ public final class SelfJsonStorageITCase {
             Matchers.equalTo("{\"body\":\"another body\"}")
         );
     }
+
+    /**
+     * Resources with URIs longer than 1023 characters are stored too,
+     * since the primary key is the URI's hash.
+     */
+    @Test
+    public void storesResourceWithLongUri() {
+        final JsonStorage jsonStorage = new SelfJooq(new H2Database())
+            .jsonStorage();
+        final StringBuilder query = new StringBuilder();
+        while (query.length() < 2048) {
+            query.append(UUID.randomUUID().toString());
+        }
+        final URI uri = URI.create(
+            "https://github.com/self-xdsd/self-storage/issues?q=" + query
+        );
+
+        final Resource resource = Mockito.mock(Resource.class);
+        Mockito.when(resource.etag()).thenReturn("etagLong");
+        Mockito.when(resource.body()).thenReturn("[{\"issueId\":\"1\"}]");
+
+        jsonStorage.storeResource(uri, resource);
+
+        final CachedResource found = jsonStorage.getResource(uri);
+        MatcherAssert.assertThat(found.etag(), Matchers.equalTo("etagLong"));
+        MatcherAssert.assertThat(
+            found.body(),
+            Matchers.equalTo("[{\"issueId\":\"1\"}]")
+        );
+    }
+
+    /**
+     * Equivalent URIs (different case of scheme or host, dot segments)
+     * point to the same stored resource.
+     */
+    @Test
+    public void findsResourceByEquivalentUri() {
+        final JsonStorage jsonStorage = new SelfJooq(new H2Database())
+            .jsonStorage();
+        final String issue = UUID.randomUUID().toString();
+        final Resource resource = Mockito.mock(Resource.class);
+        Mockito.when(resource.etag()).thenReturn("etagEquivalent");
+        Mockito.when(resource.body()).thenReturn("{\"state\":\"open\"}");
+        jsonStorage.storeResource(
+            URI.create(
+                "HTTPS://GitHub.com/self-xdsd/./self-storage/issues/" + issue
+            ),
+            resource
+        );
+        final CachedResource found = jsonStorage.getResource(
+            URI.create(
+                "https://github.com/self-xdsd/self-storage/issues/" + issue
+            )
+        );
+        MatcherAssert.assertThat(
+            found.etag(), Matchers.equalTo("etagEquivalent")
+        );
+        MatcherAssert.assertThat(
+            found.body(), Matchers.equalTo("{\"state\":\"open\"}")
+        );
+    }
+
+    /**
+     * The key of a URI is its normalized form, with lower-case scheme and
+     * host, while the path and query are left untouched.
+     */
+    @Test
+    public void normalizesUriKey() {
+        MatcherAssert.assertThat(
+            SelfJsonStorage.key(
+                URI.create("HTTPS://user@API.GitHub.com:443/a/../Repos?Q=A%2F")
+            ),
+            Matchers.equalTo("https://user@api.github.com:443/Repos?Q=A%2F")
+        );
+        MatcherAssert.assertThat(
+            SelfJsonStorage.hash(URI.create("https://GITHUB.com/a/./b")),
+            Matchers.equalTo(
+                SelfJsonStorage.hash(URI.create("https://github.com/a/b"))
+            )
+        );
+    }
+
+    /**
+     * SelfJsonStorage can invalidate all the resources of a repository,
+     * leaving the other resources untouched.
+     */
+    @Test
+    public void invalidatesResourcesOfRepo() {
+        final SelfJsonStorage jsonStorage = new SelfJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect()
+        );
+        final String repo = "amihaiemil/" + UUID.randomUUID().toString();
+        final Resource resource = Mockito.mock(Resource.class);
+        Mockito.when(resource.etag()).thenReturn("etag");
+        Mockito.when(resource.body()).thenReturn("{}");
+        final URI issues = URI.create(
+            "https://api.github.com/repos/" + repo + "/issues/1"
+        );
+        final URI pulls = URI.create(
+            "https://api.github.com/repos/" + repo + "/pulls?state=open"
+        );
+        final URI other = URI.create(
+            "https://api.github.com/repos/" + repo + "-other/issues/1"
+        );
+        jsonStorage.storeResource(issues, resource);
+        jsonStorage.storeResource(pulls, resource);
+        jsonStorage.storeResource(other, resource);
+
+        MatcherAssert.assertThat(
+            jsonStorage.invalidate(repo, "github"),
+            Matchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            jsonStorage.getResource(issues),
+            Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            jsonStorage.getResource(pulls),
+            Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            jsonStorage.getResource(other),
+            Matchers.notNullValue()
+        );
+    }
+
+    /**
+     * Namespaces are computed from Github and Gitlab URIs.
+     */
+    @Test
+    public void computesNamespaceOfUri() {
+        MatcherAssert.assertThat(
+            SelfJsonStorage.namespace(
+                URI.create("https://api.github.com/repos/Self-XDSD/Repo/issues")
+            ),
+            Matchers.equalTo("github:self-xdsd/repo")
+        );
+        MatcherAssert.assertThat(
+            SelfJsonStorage.namespace(
+                URI.create("https://github.com/self-xdsd/repo/issues/1")
+            ),
+            Matchers.equalTo("github:self-xdsd/repo")
+        );
+        MatcherAssert.assertThat(
+            SelfJsonStorage.namespace(
+                URI.create("https://gitlab.com/api/v4/projects/a%2Fb/issues")
+            ),
+            Matchers.equalTo("gitlab:a/b")
+        );
+        MatcherAssert.assertThat(
+            SelfJsonStorage.namespace(URI.create("https://example.com/a")),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * SelfJsonStorage can stream the body of a resource to a parser.
+     */
+    @Test
+    public void streamsBodyOfResource() {
+        final SelfJsonStorage jsonStorage = new SelfJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect()
+        );
+        MatcherAssert.assertThat(
+            jsonStorage.read(
+                URI.create(
+                    "https://github.com/self-xdsd/self-storage/issues/123"
+                ),
+                body -> Json.createReader(body).readObject()
+            ).getString("issueId"),
+            Matchers.equalTo("123")
+        );
+        MatcherAssert.assertThat(
+            jsonStorage.read(
+                URI.create("https://github.com/self-xdsd/missing/issues/1"),
+                body -> Json.createReader(body).readObject()
+            ),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * A found resource can be parsed without reading its body as String.
+     */
+    @Test
+    public void parsesFoundResourceFromStream() {
+        final CachedResource found = new SelfJooq(new H2Database())
+            .jsonStorage()
+            .getResource(
+                URI.create(
+                    "https://github.com/self-xdsd/self-storage/issues/123"
+                )
+            );
+        MatcherAssert.assertThat(
+            found.asJsonObject().getString("issueId"),
+            Matchers.equalTo("123")
+        );
+    }
 }
@@ -30,6 +30,8 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_PAYMENTMETHODS_XDSD;
+
 /**
  * Integration tests for {@link SelfPaymentMethods}.
  * @author Mihai Andronache (amihaiemil@gmail.com)
@@ -246,6 +248,35 @@ public final class SelfPaymentMethodsITCase {
         );
     }
 
+    /**
+     * SelfPaymentMethods.activate(...) activates one PaymentMethod and
+     * deactivates the others of the Wallet with one statement.
+     */
+    @Test
+    public void activatesPaymentMethodWithOneStatement() {
+        final QueryCounter queries = new QueryCounter();
+        final Database database = new H2Database(queries).connect();
+        final PaymentMethods all = new SelfPaymentMethods(
+            Mockito.mock(Storage.class), database
+        );
+        MatcherAssert.assertThat(
+            queries.count(() -> all.activate(this.mockMethod("stripe_pm_2"))),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            database.jooq()
+                .select(SLF_PAYMENTMETHODS_XDSD.IDENTIFIER)
+                .from(SLF_PAYMENTMETHODS_XDSD)
+                .where(
+                    SLF_PAYMENTMETHODS_XDSD.REPO_FULLNAME.eq(
+                        "amihaiemil/docker-java-api"
+                    ).and(SLF_PAYMENTMETHODS_XDSD.ACTIVE.isTrue())
+                ).fetch(SLF_PAYMENTMETHODS_XDSD.IDENTIFIER),
+            Matchers.contains("stripe_pm_2")
+        );
+        all.activate(this.mockMethod("stripe_pm_1"));
+    }
+
     /**
      * SelfPaymentMethods can deactivate a PaymentMethod. It is the only
      * active PaymentMethod of the Wallet so a second call to ofWallet.active()
@@ -310,4 +341,23 @@ public final class SelfPaymentMethodsITCase {
         return wallet;
     }
 
+    /**
+     * Mock a PaymentMethod of the STRIPE Wallet of
+     * amihaiemil/docker-java-api.
+     * @param identifier Identifier of the PaymentMethod.
+     * @return PaymentMethod.
+     */
+    private PaymentMethod mockMethod(final String identifier) {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.repoFullName())
+            .thenReturn("amihaiemil/docker-java-api");
+        Mockito.when(project.provider()).thenReturn(Provider.Names.GITHUB);
+        final Wallet wallet = Mockito.mock(Wallet.class);
+        Mockito.when(wallet.project()).thenReturn(project);
+        Mockito.when(wallet.type()).thenReturn(Wallet.Type.STRIPE);
+        final PaymentMethod method = Mockito.mock(PaymentMethod.class);
+        Mockito.when(method.wallet()).thenReturn(wallet);
+        Mockito.when(method.identifier()).thenReturn(identifier);
+        return method;
+    }
 }
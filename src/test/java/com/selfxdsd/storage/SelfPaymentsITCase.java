@@ -28,11 +28,26 @@ import com.selfxdsd.api.Payments;
 import com.selfxdsd.api.storage.Storage;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.jooq.ExecuteContext;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.Select;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListener;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_INVOICES_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_PAYMENTS_XDSD;
 
 /**
  * Integration tests for {@link SelfPayments}.
@@ -163,4 +178,290 @@ public final class SelfPaymentsITCase {
         );
     }
 
+    /**
+     * It can return the Payments made in a period, ordered by time.
+     */
+    @Test
+    public void returnsPaymentsBetween() {
+        final QueryCounter queries = new QueryCounter();
+        final SelfPayments all = new SelfPayments(
+            Mockito.mock(Storage.class), new H2Database(queries).connect()
+        );
+        final List<Payment> payments = new ArrayList<>();
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> all.between(
+                    LocalDateTime.of(2021, 3, 1, 0, 0, 0),
+                    LocalDateTime.of(2021, 3, 3, 0, 0, 0)
+                ).forEach(payments::add)
+            ),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            payments.stream()
+                .map(Payment::transactionId)
+                .collect(Collectors.toList()),
+            Matchers.contains(
+                "transaction123", "transaction123",
+                "transaction456", "transaction456"
+            )
+        );
+        MatcherAssert.assertThat(
+            all.between(
+                LocalDateTime.of(2021, 3, 1, 0, 0, 0),
+                LocalDateTime.of(2021, 3, 2, 0, 0, 0)
+            ),
+            Matchers.iterableWithSize(2)
+        );
+    }
+
+    /**
+     * It can return the Payments with a status, made in a period.
+     */
+    @Test
+    public void returnsPaymentsBetweenWithStatus() {
+        final SelfPayments all = new SelfPayments(
+            Mockito.mock(Storage.class), new H2Database().connect()
+        );
+        final LocalDateTime from = LocalDateTime.of(2021, 3, 1, 0, 0, 0);
+        final LocalDateTime until = LocalDateTime.of(2021, 3, 3, 0, 0, 0);
+        MatcherAssert.assertThat(
+            all.between(from, until, Payment.Status.FAILED),
+            Matchers.iterableWithSize(4)
+        );
+        MatcherAssert.assertThat(
+            all.between(from, until, Payment.Status.SUCCESSFUL),
+            Matchers.emptyIterable()
+        );
+    }
+
+    /**
+     * It can register many Payments at once, skipping the ones which are
+     * already stored.
+     */
+    @Test
+    public void registersAllPaymentsIdempotently() {
+        final QueryCounter queries = new QueryCounter();
+        final SelfPayments all = new SelfPayments(
+            Mockito.mock(Storage.class), new H2Database(queries).connect()
+        );
+        final LocalDateTime time = LocalDateTime.of(2022, 1, 10, 10, 0, 0);
+        final SelfPayments.Registration fresh = new SelfPayments.Registration(
+            5, "transaction789", time, BigDecimal.TEN,
+            Payment.Status.SUCCESSFUL, ""
+        );
+        final SelfPayments.Registration stored =
+            new SelfPayments.Registration(
+                1, "transaction123", LocalDateTime.of(2021, 3, 1, 0, 0, 0),
+                BigDecimal.valueOf(1000), Payment.Status.FAILED,
+                "Failed Payment 1"
+            );
+        final boolean[][] registered = new boolean[1][];
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> registered[0] = all.registerAll(
+                    List.of(fresh, stored, fresh)
+                )
+            ),
+            Matchers.lessThanOrEqualTo(3)
+        );
+        MatcherAssert.assertThat(registered[0][0], Matchers.is(true));
+        MatcherAssert.assertThat(registered[0][1], Matchers.is(false));
+        MatcherAssert.assertThat(registered[0][2], Matchers.is(false));
+        MatcherAssert.assertThat(
+            all.registerAll(List.of(fresh))[0], Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            all.between(time, time.plusSeconds(1)),
+            Matchers.iterableWithSize(1)
+        );
+    }
+
+    /**
+     * Registering a Payment points its Invoice to it, unless the Invoice
+     * already has a later Payment.
+     */
+    @Test
+    public void pointsInvoiceToLatestPayment() {
+        final Database database = new H2Database().connect();
+        final SelfPayments all = new SelfPayments(
+            Mockito.mock(Storage.class), database
+        );
+        final Invoice invoice = Mockito.mock(Invoice.class);
+        Mockito.when(invoice.invoiceId()).thenReturn(6);
+        final LocalDateTime time = LocalDateTime.of(2022, 2, 10, 10, 0, 0);
+        all.register(
+            invoice, "latest6", time, BigDecimal.TEN,
+            Payment.Status.SUCCESSFUL, ""
+        );
+        all.registerAll(
+            List.of(
+                new SelfPayments.Registration(
+                    6, "earlier6", time.minusDays(1), BigDecimal.ONE,
+                    Payment.Status.FAILED, "Card declined"
+                )
+            )
+        );
+        final Record latest = database.jooq()
+            .select(
+                SLF_INVOICES_XDSD.LATESTTRANSACTIONID,
+                SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP,
+                SLF_INVOICES_XDSD.LATESTVALUE,
+                SLF_INVOICES_XDSD.LATESTSTATUS
+            )
+            .from(SLF_INVOICES_XDSD)
+            .where(SLF_INVOICES_XDSD.INVOICEID.eq(6))
+            .fetchOne();
+        MatcherAssert.assertThat(
+            latest.get(SLF_INVOICES_XDSD.LATESTTRANSACTIONID),
+            Matchers.equalTo("latest6")
+        );
+        MatcherAssert.assertThat(
+            latest.get(SLF_INVOICES_XDSD.LATESTPAYMENTTIMESTAMP),
+            Matchers.equalTo(time)
+        );
+        MatcherAssert.assertThat(
+            latest.get(SLF_INVOICES_XDSD.LATESTVALUE),
+            Matchers.equalTo(10L)
+        );
+        MatcherAssert.assertThat(
+            latest.get(SLF_INVOICES_XDSD.LATESTSTATUS),
+            Matchers.equalTo(Payment.Status.SUCCESSFUL)
+        );
+    }
+
+    /**
+     * Payments registered at the same time point the Invoice to the one
+     * with the greatest transaction id, whatever their order.
+     */
+    @Test
+    public void breaksLatestPaymentTiesByTransactionId() {
+        final Database database = new H2MemoryDatabase(
+            UUID.randomUUID().toString()
+        ).connect();
+        new SyntheticData(42L, 1, 1, 1, 1).insertInto(database);
+        final int invoiceId = database.jooq()
+            .select(DSL.min(SLF_INVOICES_XDSD.INVOICEID))
+            .from(SLF_INVOICES_XDSD)
+            .fetchOne()
+            .value1();
+        final SelfPayments all = new SelfPayments(
+            Mockito.mock(Storage.class), database
+        );
+        final LocalDateTime time = LocalDateTime.of(2100, 4, 1, 10, 0, 0);
+        all.registerAll(
+            List.of(
+                new SelfPayments.Registration(
+                    invoiceId, "tieB", time, BigDecimal.TEN,
+                    Payment.Status.SUCCESSFUL, ""
+                ),
+                new SelfPayments.Registration(
+                    invoiceId, "tieA", time, BigDecimal.ONE,
+                    Payment.Status.FAILED, "Card declined"
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            database.jooq()
+                .select(SLF_INVOICES_XDSD.LATESTTRANSACTIONID)
+                .from(SLF_INVOICES_XDSD)
+                .where(SLF_INVOICES_XDSD.INVOICEID.eq(invoiceId))
+                .fetchOne(SLF_INVOICES_XDSD.LATESTTRANSACTIONID),
+            Matchers.equalTo("tieB")
+        );
+    }
+
+    /**
+     * A Payment which is already stored doesn't move the latest Payment
+     * pointer of its Invoice, even if it is registered with other values.
+     */
+    @Test
+    public void pointsInvoiceOnlyToInsertedPayments() {
+        final Database database = new H2MemoryDatabase(
+            UUID.randomUUID().toString()
+        ).connect();
+        new SyntheticData(42L, 1, 1, 1, 1).insertInto(database);
+        final SelfPayments all = new SelfPayments(
+            Mockito.mock(Storage.class), database
+        );
+        final LocalDateTime time = LocalDateTime.of(2100, 6, 1, 10, 0, 0);
+        all.registerAll(
+            List.of(
+                new SelfPayments.Registration(
+                    1, "stored", time, BigDecimal.ONE,
+                    Payment.Status.SUCCESSFUL, ""
+                )
+            )
+        );
+        final boolean[] registered = all.registerAll(
+            List.of(
+                new SelfPayments.Registration(
+                    1, "stored", time, BigDecimal.TEN,
+                    Payment.Status.FAILED, "Card declined"
+                )
+            )
+        );
+        MatcherAssert.assertThat(registered[0], Matchers.is(false));
+        MatcherAssert.assertThat(
+            database.jooq()
+                .select(SLF_INVOICES_XDSD.LATESTVALUE)
+                .from(SLF_INVOICES_XDSD)
+                .where(SLF_INVOICES_XDSD.INVOICEID.eq(1))
+                .fetchOne(SLF_INVOICES_XDSD.LATESTVALUE),
+            Matchers.equalTo(1L)
+        );
+    }
+
+    /**
+     * A Payment stored by someone else after the batch checked which
+     * Payments are stored is skipped, not overwritten.
+     */
+    @Test
+    public void skipsPaymentsStoredConcurrently() {
+        final LocalDateTime time = LocalDateTime.of(2100, 5, 1, 10, 0, 0);
+        final AtomicBoolean concurrent = new AtomicBoolean();
+        final Database database = new H2MemoryDatabase(
+            UUID.randomUUID().toString(),
+            new DefaultExecuteListener() {
+                @Override
+                public void executeEnd(final ExecuteContext ctx) {
+                    if(ctx.query() instanceof Select
+                        && !concurrent.getAndSet(true)) {
+                        DSL.using(ctx.connection(), SQLDialect.MYSQL)
+                            .insertInto(
+                                SLF_PAYMENTS_XDSD,
+                                SLF_PAYMENTS_XDSD.INVOICEID,
+                                SLF_PAYMENTS_XDSD.TRANSACTIONID,
+                                SLF_PAYMENTS_XDSD.PAYMENT_TIMESTAMP,
+                                SLF_PAYMENTS_XDSD.VALUE,
+                                SLF_PAYMENTS_XDSD.STATUS,
+                                SLF_PAYMENTS_XDSD.FAILREASON
+                            ).values(
+                                1, "concurrent", time, 7L,
+                                Payment.Status.SUCCESSFUL, ""
+                            ).execute();
+                    }
+                }
+            }
+        ).connect();
+        new SyntheticData(42L, 1, 1, 1, 1).insertInto(database);
+        new SelfPayments(Mockito.mock(Storage.class), database).registerAll(
+            List.of(
+                new SelfPayments.Registration(
+                    1, "concurrent", time, BigDecimal.TEN,
+                    Payment.Status.FAILED, "Card declined"
+                )
+            )
+        );
+        MatcherAssert.assertThat(concurrent.get(), Matchers.is(true));
+        MatcherAssert.assertThat(
+            database.jooq()
+                .select(SLF_PAYMENTS_XDSD.VALUE, SLF_PAYMENTS_XDSD.STATUS)
+                .from(SLF_PAYMENTS_XDSD)
+                .where(SLF_PAYMENTS_XDSD.TRANSACTIONID.eq("concurrent"))
+                .fetch()
+                .map(rec -> rec.value1() + " " + rec.value2()),
+            Matchers.contains("7 " + Payment.Status.SUCCESSFUL)
+        );
+    }
 }
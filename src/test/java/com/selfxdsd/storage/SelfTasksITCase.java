@@ -32,6 +32,11 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Integration tests for {@link SelfTasks}.
@@ -139,6 +144,30 @@ public final class SelfTasksITCase {
         }
     }
 
+    /**
+     * The Tasks of a Project, returned by one query, share the same
+     * Project, owner and PM instances.
+     */
+    @Test
+    public void projectTasksShareTheProject() {
+        final Tasks ofProject = new SelfJooq(new H2Database()).tasks()
+            .ofProject("amihaiemil/docker-java-api", Provider.Names.GITHUB);
+        final Iterator<Task> tasks = ofProject.iterator();
+        final Project first = tasks.next().project();
+        MatcherAssert.assertThat(tasks.hasNext(), Matchers.is(true));
+        while(tasks.hasNext()) {
+            final Project project = tasks.next().project();
+            MatcherAssert.assertThat(project, Matchers.sameInstance(first));
+            MatcherAssert.assertThat(
+                project.owner(), Matchers.sameInstance(first.owner())
+            );
+            MatcherAssert.assertThat(
+                project.projectManager(),
+                Matchers.sameInstance(first.projectManager())
+            );
+        }
+    }
+
     /**
      * SelfTasks can return the Tasks assigned to a Contributor.
      */
@@ -247,6 +276,50 @@ public final class SelfTasksITCase {
         );
     }
 
+    /**
+     * SelfTasks.getById(...) should read the Task, its Project and its
+     * Contract in one query.
+     */
+    @Test
+    public void returnsTaskByIdInOneQuery() {
+        final QueryCounter queries = new QueryCounter();
+        final Tasks all = new SelfJooq(new H2Database(queries)).tasks();
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> all.getById(
+                    "123",
+                    "amihaiemil/docker-java-api",
+                    Provider.Names.GITHUB,
+                    Boolean.FALSE
+                )
+            ),
+            Matchers.equalTo(1)
+        );
+    }
+
+    /**
+     * SelfTasks.register(...) should read the Project and insert the Task
+     * in at most 2 queries.
+     */
+    @Test
+    public void registersIssueInTwoQueries() {
+        final Issue issue = Mockito.mock(Issue.class);
+        Mockito.when(issue.repoFullName()).thenReturn("mihai/test");
+        Mockito.when(issue.provider()).thenReturn(Provider.Names.GITLAB);
+        Mockito.when(issue.issueId()).thenReturn("789");
+        Mockito.when(issue.role()).thenReturn(Contract.Roles.DEV);
+        Mockito.when(issue.isPullRequest()).thenReturn(Boolean.FALSE);
+        final Estimation estimation = Mockito.mock(Estimation.class);
+        Mockito.when(estimation.minutes()).thenReturn(60);
+        Mockito.when(issue.estimation()).thenReturn(estimation);
+        final QueryCounter queries = new QueryCounter();
+        final Tasks all = new SelfJooq(new H2Database(queries)).tasks();
+        MatcherAssert.assertThat(
+            queries.count(() -> all.register(issue)),
+            Matchers.lessThanOrEqualTo(2)
+        );
+    }
+
     /**
      * SelfTasks can register a new PR.
      */
@@ -433,6 +506,82 @@ public final class SelfTasksITCase {
         }
     }
 
+    /**
+     * The lazy Tasks answer equals, hashCode and toString from their rows,
+     * without hydrating the page.
+     */
+    @Test
+    public void lazyTasksAnswerObjectMethodsFromRow() {
+        final QueryCounter queries = new QueryCounter();
+        final Tasks all = new SelfJooq(new H2Database(queries)).tasks();
+        final List<Task> first = new ArrayList<>();
+        final List<Task> second = new ArrayList<>();
+        all.forEach(first::add);
+        all.forEach(second::add);
+        MatcherAssert.assertThat(first.size(), Matchers.greaterThan(1));
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> {
+                    final Set<Task> unique = new HashSet<>(first);
+                    unique.addAll(second);
+                    MatcherAssert.assertThat(
+                        unique.size(), Matchers.equalTo(first.size())
+                    );
+                    MatcherAssert.assertThat(
+                        first.get(0), Matchers.equalTo(second.get(0))
+                    );
+                    MatcherAssert.assertThat(
+                        first.get(0), Matchers.not(first.get(1))
+                    );
+                    MatcherAssert.assertThat(
+                        first.get(0).toString(),
+                        Matchers.startsWith(
+                            "Task " + first.get(0).issueId() + " of project "
+                        )
+                    );
+                }
+            ),
+            Matchers.equalTo(0)
+        );
+    }
+
+    /**
+     * Iterating over SelfTasks reads only the tasks table, the Projects and
+     * Contracts of a page are fetched with one query, on first access.
+     */
+    @Test
+    public void iteratesWithLazyProjects() {
+        final QueryCounter queries = new QueryCounter();
+        final Tasks all = new SelfJooq(new H2Database(queries)).tasks();
+        final List<Task> tasks = new ArrayList<>();
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> {
+                    for(final Task task : all) {
+                        task.deadline();
+                        task.estimation();
+                        tasks.add(task);
+                    }
+                }
+            ),
+            Matchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            tasks.size(), Matchers.lessThanOrEqualTo(100)
+        );
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> tasks.forEach(
+                    task -> MatcherAssert.assertThat(
+                        task.project().repoFullName(),
+                        Matchers.notNullValue()
+                    )
+                )
+            ),
+            Matchers.equalTo(1)
+        );
+    }
+
     /**
      * SelfTasks can return the unassigned Tasks.
      */
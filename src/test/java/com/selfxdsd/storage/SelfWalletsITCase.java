@@ -28,8 +28,13 @@ import com.selfxdsd.core.projects.RegisterUnsuccessfulPayments;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_WALLETS_XDSD;
 
 /**
  * Integration tests for {@link SelfWallets}.
@@ -325,4 +330,262 @@ public final class SelfWalletsITCase {
             Matchers.iterableWithSize(1)
         );
     }
+
+    /**
+     * SelfWallets can debit and credit a Wallet.
+     */
+    @Test
+    public void debitsAndCreditsCash() {
+        final SelfWallets all = new SelfWallets(
+            Mockito.mock(Storage.class), new H2Database().connect()
+        );
+        final Wallet wallet = this.mockWallet(
+            "amihaiemil/docker-java-api", Wallet.Type.FAKE
+        );
+        MatcherAssert.assertThat(
+            all.debit(wallet, BigDecimal.valueOf(2500)).cash(),
+            Matchers.equalTo(BigDecimal.valueOf(999997500))
+        );
+        MatcherAssert.assertThat(
+            all.credit(wallet, BigDecimal.valueOf(2500)).cash(),
+            Matchers.equalTo(BigDecimal.valueOf(1000000000))
+        );
+    }
+
+    /**
+     * SelfWallets.debit(...) never takes the cash below zero.
+     */
+    @Test
+    public void debitRejectsInsufficientCash() {
+        final SelfWallets all = new SelfWallets(
+            Mockito.mock(Storage.class), new H2Database().connect()
+        );
+        final Wallet wallet = this.mockWallet(
+            "amihaiemil/docker-java-api", Wallet.Type.FAKE
+        );
+        final int version = all.version(wallet);
+        try {
+            all.debit(wallet, BigDecimal.valueOf(1000000001));
+            MatcherAssert.assertThat("Debit should fail.", false);
+        } catch (final IllegalStateException ex) {
+            MatcherAssert.assertThat(
+                all.version(wallet), Matchers.equalTo(version)
+            );
+        }
+    }
+
+    /**
+     * SelfWallets.updateCash(...) with a version is a compare-and-set.
+     */
+    @Test
+    public void updatesCashOnlyIfVersionMatches() {
+        final SelfWallets all = new SelfWallets(
+            Mockito.mock(Storage.class), new H2Database().connect()
+        );
+        final Wallet wallet = this.mockWallet(
+            "johndoe/stripe_repo", Wallet.Type.STRIPE
+        );
+        final int version = all.version(wallet);
+        all.credit(wallet, BigDecimal.valueOf(100));
+        try {
+            all.updateCash(wallet, BigDecimal.valueOf(1), version);
+            MatcherAssert.assertThat("Stale version accepted.", false);
+        } catch (final IllegalStateException ex) {
+            MatcherAssert.assertThat(
+                all.updateCash(
+                    wallet, BigDecimal.valueOf(5000), version + 1
+                ).cash(),
+                Matchers.equalTo(BigDecimal.valueOf(5000))
+            );
+        }
+        MatcherAssert.assertThat(
+            all.version(wallet), Matchers.equalTo(version + 2)
+        );
+    }
+
+    /**
+     * SelfWallets.activate(...) activates one Wallet and deactivates the
+     * other Wallets of the Project with one statement.
+     */
+    @Test
+    public void activatesWalletWithOneStatement() {
+        final QueryCounter queries = new QueryCounter();
+        final Database database = new H2Database(queries).connect();
+        final SelfWallets all = new SelfWallets(
+            Mockito.mock(Storage.class), database
+        );
+        final Wallet fake = this.mockWallet(
+            "amihaiemil/docker-java-api", Wallet.Type.FAKE
+        );
+        MatcherAssert.assertThat(
+            queries.count(() -> all.activate(fake)),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            database.jooq()
+                .select(SLF_WALLETS_XDSD.TYPE)
+                .from(SLF_WALLETS_XDSD)
+                .where(
+                    SLF_WALLETS_XDSD.REPO_FULLNAME.eq(
+                        "amihaiemil/docker-java-api"
+                    ).and(SLF_WALLETS_XDSD.ACTIVE.isTrue())
+                ).fetch(SLF_WALLETS_XDSD.TYPE),
+            Matchers.contains(Wallet.Type.FAKE)
+        );
+        all.activate(
+            this.mockWallet("amihaiemil/docker-java-api", Wallet.Type.STRIPE)
+        );
+    }
+
+    /**
+     * SelfWallets can scan the Wallets of all the Projects, with their
+     * Projects read in the same query.
+     */
+    @Test
+    public void scansAllWallets() {
+        final QueryCounter queries = new QueryCounter();
+        final Database database = new H2Database(queries).connect();
+        final SelfWallets all = new SelfWallets(
+            Mockito.mock(Storage.class), database
+        );
+        final List<Wallet> wallets = new ArrayList<>();
+        MatcherAssert.assertThat(
+            queries.count(() -> all.forEach(wallets::add)),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            wallets,
+            Matchers.iterableWithSize(
+                database.jooq().fetchCount(SLF_WALLETS_XDSD)
+            )
+        );
+        for (final Wallet wallet : wallets) {
+            MatcherAssert.assertThat(
+                wallet.project().owner(), Matchers.notNullValue()
+            );
+        }
+    }
+
+    /**
+     * SelfWallets can scan the Wallets matching some filters.
+     */
+    @Test
+    public void scansWalletsWithFilters() {
+        final SelfWallets all = new SelfWallets(
+            Mockito.mock(Storage.class), new H2Database().connect()
+        );
+        final List<String> identifiers = new ArrayList<>();
+        for (final Wallet wallet : all.scan(
+            Wallet.Type.STRIPE, Boolean.TRUE, BigDecimal.valueOf(10000)
+        )) {
+            MatcherAssert.assertThat(
+                wallet.type(), Matchers.equalTo(Wallet.Type.STRIPE)
+            );
+            MatcherAssert.assertThat(wallet.active(), Matchers.is(true));
+            MatcherAssert.assertThat(
+                wallet.cash(),
+                Matchers.lessThan(BigDecimal.valueOf(10000))
+            );
+            identifiers.add(wallet.identifier());
+        }
+        MatcherAssert.assertThat(
+            identifiers, Matchers.hasItem("stripewallet-4444")
+        );
+        identifiers.clear();
+        all.scan(Wallet.Type.FAKE, null, null).forEach(
+            wallet -> identifiers.add(wallet.identifier())
+        );
+        MatcherAssert.assertThat(
+            identifiers,
+            Matchers.allOf(
+                Matchers.hasItem("fakew-1232"),
+                Matchers.not(Matchers.hasItem("stripewallet-1232"))
+            )
+        );
+    }
+
+    /**
+     * SelfWallets can return the active Wallets below a threshold, lowest
+     * cash first, together with their Projects and owners.
+     */
+    @Test
+    public void returnsWalletsBelowThreshold() {
+        final QueryCounter queries = new QueryCounter();
+        final SelfWallets all = new SelfWallets(
+            Mockito.mock(Storage.class), new H2Database(queries).connect()
+        );
+        final List<Wallet> below = new ArrayList<>();
+        MatcherAssert.assertThat(
+            queries.count(
+                () -> all.belowThreshold(BigDecimal.valueOf(10000))
+                    .forEach(below::add)
+            ),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(below, Matchers.not(Matchers.empty()));
+        BigDecimal previous = BigDecimal.ZERO;
+        for (final Wallet wallet : below) {
+            MatcherAssert.assertThat(wallet.active(), Matchers.is(true));
+            MatcherAssert.assertThat(
+                wallet.cash(),
+                Matchers.allOf(
+                    Matchers.lessThan(BigDecimal.valueOf(10000)),
+                    Matchers.greaterThanOrEqualTo(previous)
+                )
+            );
+            MatcherAssert.assertThat(
+                wallet.project().owner().username(),
+                Matchers.notNullValue()
+            );
+            previous = wallet.cash();
+        }
+    }
+
+    /**
+     * A fractional threshold is rounded up, so the comparison stays a
+     * strict "less than": 5000 cents are below 5000.5, but not below 4999.5.
+     */
+    @Test
+    public void comparesWithFractionalThreshold() {
+        final SelfWallets all = new SelfWallets(
+            Mockito.mock(Storage.class), new H2Database().connect()
+        );
+        final List<String> below = new ArrayList<>();
+        all.belowThreshold(new BigDecimal("5000.5"))
+            .forEach(wallet -> below.add(wallet.identifier()));
+        MatcherAssert.assertThat(below, Matchers.hasItem("stripewallet-4444"));
+        final List<String> notBelow = new ArrayList<>();
+        all.belowThreshold(new BigDecimal("4999.5"))
+            .forEach(wallet -> notBelow.add(wallet.identifier()));
+        MatcherAssert.assertThat(
+            notBelow, Matchers.not(Matchers.hasItem("stripewallet-4444"))
+        );
+    }
+
+    /**
+     * A threshold which does not fit the cash column is rejected with an
+     * IllegalArgumentException.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsThresholdOutOfRange() {
+        new SelfWallets(
+            Mockito.mock(Storage.class), new H2Database().connect()
+        ).belowThreshold(new BigDecimal("1e30"));
+    }
+
+    /**
+     * Mock a Wallet.
+     * @param repoFullName Repo of the Project.
+     * @param type Type of the Wallet.
+     * @return Wallet.
+     */
+    private Wallet mockWallet(final String repoFullName, final String type) {
+        final Project project = Mockito.mock(Project.class);
+        Mockito.when(project.repoFullName()).thenReturn(repoFullName);
+        Mockito.when(project.provider()).thenReturn(Provider.Names.GITHUB);
+        final Wallet wallet = Mockito.mock(Wallet.class);
+        Mockito.when(wallet.project()).thenReturn(project);
+        Mockito.when(wallet.type()).thenReturn(type);
+        return wallet;
+    }
 }
@@ -0,0 +1,990 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic data generator for benchmarks, load tests and EXPLAIN tests.
+ * It populates every slf_*_xdsd table with consistent, referentially
+ * valid data. The amount of data scales with the number of projects and,
+ * since every random generator is seeded, the same seed and scale always
+ * produce the same data.<br><br>
+ * Per project, it generates 5 contracts (DEV), the given number of tasks
+ * (every second one assigned, every tenth one with a resignation),
+ * 2 wallets, 2 payment methods for the Stripe wallets and 2 cached JSON
+ * resources. Per contract, it generates the given number of invoices, each
+ * with 2 invoiced tasks and the given number of payment attempts. All the
+ * invoices of a contract are paid (the last attempt is successful and has
+ * a platform invoice), except the latest one, which stays active.<br><br>
+ * For example, 10k projects with 100 tasks, 20 invoices and 5 payments
+ * give 1M tasks, 1M invoices and 5M payments.<br><br>
+ * Rows are streamed into JDBC batches and committed batch by batch, so
+ * the generator's memory does not grow with the scale. Against MySQL,
+ * add rewriteBatchedStatements=true to the JDBC url. It can also be run
+ * from the command line, see {@link #main(String...)}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ * @checkstyle ClassDataAbstractionCoupling (1000 lines)
+ */
+public final class SyntheticData {
+
+    /**
+     * Provider of the generated data.
+     */
+    private static final String PROVIDER = "github";
+
+    /**
+     * Role of the generated contracts and tasks.
+     */
+    private static final String ROLE = "DEV";
+
+    /**
+     * Contracts per project.
+     */
+    private static final int CONTRACTS = 5;
+
+    /**
+     * Invoiced tasks per invoice.
+     */
+    private static final int INVOICED = 2;
+
+    /**
+     * Date from which all the generated timestamps start.
+     */
+    private static final LocalDateTime START = LocalDateTime.of(
+        2021, 1, 1, 0, 0
+    );
+
+    /**
+     * Seed of the random generators.
+     */
+    private final long seed;
+
+    /**
+     * Number of projects.
+     */
+    private final int projects;
+
+    /**
+     * Tasks per project.
+     */
+    private final int tasks;
+
+    /**
+     * Invoices per contract.
+     */
+    private final int invoices;
+
+    /**
+     * Payment attempts per invoice.
+     */
+    private final int payments;
+
+    /**
+     * Ctor with 20 tasks per project, 3 invoices per contract and
+     * 1 payment per invoice.
+     * @param seed Seed of the random generators.
+     * @param projects Number of projects.
+     */
+    public SyntheticData(final long seed, final int projects) {
+        this(seed, projects, 20, 3, 1);
+    }
+
+    /**
+     * Ctor.
+     * @param seed Seed of the random generators.
+     * @param projects Number of projects.
+     * @param tasks Tasks per project.
+     * @param invoices Invoices per contract, at least 1.
+     * @param payments Payment attempts per invoice, at least 1.
+     * @checkstyle ParameterNumber (10 lines)
+     */
+    public SyntheticData(
+        final long seed,
+        final int projects,
+        final int tasks,
+        final int invoices,
+        final int payments
+    ) {
+        this.seed = seed;
+        this.projects = projects;
+        this.tasks = tasks;
+        this.invoices = Math.max(1, invoices);
+        this.payments = Math.max(1, payments);
+    }
+
+    /**
+     * Generate the data into a DB, from the command line. The DB must
+     * already have Self's schema. Arguments: JDBC url, username, password,
+     * seed, projects and, optionally, tasks per project, invoices per
+     * contract and payments per invoice.
+     * @param args Command line arguments.
+     * @throws SQLException If something goes wrong.
+     */
+    public static void main(final String... args) throws SQLException {
+        if(args.length < 5) {
+            throw new IllegalArgumentException(
+                "Usage: SyntheticData <jdbcUrl> <username> <password> <seed>"
+                + " <projects> [tasks per project] [invoices per contract]"
+                + " [payments per invoice]"
+            );
+        }
+        final int tasks;
+        if(args.length > 5) {
+            tasks = Integer.parseInt(args[5]);
+        } else {
+            tasks = 20;
+        }
+        final int invoices;
+        if(args.length > 6) {
+            invoices = Integer.parseInt(args[6]);
+        } else {
+            invoices = 3;
+        }
+        final int payments;
+        if(args.length > 7) {
+            payments = Integer.parseInt(args[7]);
+        } else {
+            payments = 1;
+        }
+        final SyntheticData data = new SyntheticData(
+            Long.parseLong(args[3]),
+            Integer.parseInt(args[4]),
+            tasks,
+            invoices,
+            payments
+        );
+        try (
+            Connection connection = DriverManager.getConnection(
+                args[0], args[1], args[2]
+            )
+        ) {
+            data.insertInto(connection);
+        }
+    }
+
+    /**
+     * Full name of a generated project's repo.
+     * @param project Index of the project, from 0 to projects - 1.
+     * @return Repo full name.
+     */
+    public String repo(final int project) {
+        return "owner" + project % this.owners() + "/repo" + project;
+    }
+
+    /**
+     * Username of a generated contributor.
+     * @param contributor Index of the contributor.
+     * @return Username.
+     */
+    public String contributor(final int contributor) {
+        return "contributor" + contributor;
+    }
+
+    /**
+     * Contributors which have contracts in the given project.
+     * @param project Index of the project, from 0 to projects - 1.
+     * @return Usernames of the contributors.
+     */
+    public List<String> contributorsOf(final int project) {
+        final Random random = new Random(this.seed + project);
+        final List<String> contributors = new ArrayList<>();
+        while (contributors.size() < CONTRACTS) {
+            final String contributor = this.contributor(
+                random.nextInt(this.contributors())
+            );
+            if(!contributors.contains(contributor)) {
+                contributors.add(contributor);
+            }
+        }
+        return contributors;
+    }
+
+    /**
+     * Provider of the generated data.
+     * @return Provider.
+     */
+    public String provider() {
+        return PROVIDER;
+    }
+
+    /**
+     * Role of the generated contracts.
+     * @return Role.
+     */
+    public String role() {
+        return ROLE;
+    }
+
+    /**
+     * Insert the data into the given Database.
+     * @param database Connected Database, with Self's schema.
+     */
+    public void insertInto(final Database database) {
+        database.jooq().connection(this::insertInto);
+    }
+
+    /**
+     * Insert the data using the given JDBC Connection.
+     * @param connection JDBC Connection to a DB with Self's schema.
+     * @throws SQLException If something goes wrong.
+     */
+    public void insertInto(final Connection connection) throws SQLException {
+        final boolean autocommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            this.users(connection);
+            this.projects(connection, this.pms(connection));
+            this.wallets(connection);
+            this.contributors(connection);
+            this.contracts(connection);
+            this.tasks(connection);
+            this.resignations(connection);
+            final int first = SyntheticData.max(
+                connection,
+                "SELECT MAX(invoiceId) FROM self_xdsd.slf_invoices_xdsd"
+            ) + 1;
+            this.invoices(connection, first);
+            this.payments(connection, first);
+            this.resources(connection);
+        } finally {
+            connection.setAutoCommit(autocommit);
+        }
+    }
+
+    /**
+     * Insert the project owners and their API tokens.
+     * @param connection JDBC Connection.
+     * @throws SQLException If something goes wrong.
+     */
+    private void users(final Connection connection) throws SQLException {
+        try (
+            Rows users = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_users_xdsd "
+                + "(username, provider, role, email) VALUES (?, ?, ?, ?)"
+            );
+            Rows tokens = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_apitokens_xdsd "
+                + "(token, expiresAt, name, username, provider) "
+                + "VALUES (?, ?, ?, ?, ?)",
+                users
+            )
+        ) {
+            for(int idx = 0; idx < this.owners(); ++idx) {
+                final String owner = "owner" + idx;
+                users.add(owner, PROVIDER, "user", owner + "@example.com");
+                tokens.add(
+                    "token" + this.seed + "_" + idx,
+                    Timestamp.valueOf(START.plusYears(1)),
+                    "Token of " + owner, owner, PROVIDER
+                );
+            }
+        }
+    }
+
+    /**
+     * Insert the project managers.
+     * @param connection JDBC Connection.
+     * @return Id of the first inserted PM; the others follow it.
+     * @throws SQLException If something goes wrong.
+     */
+    private int pms(final Connection connection) throws SQLException {
+        final int first = SyntheticData.max(
+            connection, "SELECT MAX(id) FROM self_xdsd.slf_pms_xdsd"
+        ) + 1;
+        try (
+            Rows pms = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_pms_xdsd (id, userid, username, "
+                + "provider, access_token, commission, contributorCommission)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)"
+            )
+        ) {
+            for(int idx = 0; idx < this.managers(); ++idx) {
+                pms.add(
+                    first + idx, "pm" + idx, "pm" + idx, PROVIDER,
+                    "token" + idx, new BigDecimal("6.5"), new BigDecimal("5")
+                );
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Insert the projects.
+     * @param connection JDBC Connection.
+     * @param pmid Id of the first PM.
+     * @throws SQLException If something goes wrong.
+     */
+    private void projects(
+        final Connection connection,
+        final int pmid
+    ) throws SQLException {
+        try (
+            Rows projects = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_projects_xdsd (repo_fullname, "
+                + "webhook_token, provider, username, pmid) "
+                + "VALUES (?, ?, ?, ?, ?)"
+            )
+        ) {
+            for(int idx = 0; idx < this.projects; ++idx) {
+                projects.add(
+                    this.repo(idx), "webhook" + idx, PROVIDER,
+                    "owner" + idx % this.owners(),
+                    pmid + idx % this.managers()
+                );
+            }
+        }
+    }
+
+    /**
+     * Insert the wallets and payment methods. Every project has a FAKE
+     * wallet; every second project also has an active STRIPE wallet, with
+     * 2 payment methods (one of them active).
+     * @param connection JDBC Connection.
+     * @throws SQLException If something goes wrong.
+     */
+    private void wallets(final Connection connection) throws SQLException {
+        final Random random = new Random(this.seed + 1);
+        final int first = SyntheticData.max(
+            connection,
+            "SELECT MAX(paymentMethodId) FROM self_xdsd.slf_paymentmethods_xdsd"
+        ) + 1;
+        try (
+            Rows wallets = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_wallets_xdsd (repo_fullname, "
+                + "provider, type, cash, active, identifier) "
+                + "VALUES (?, ?, ?, ?, ?, ?)"
+            );
+            Rows methods = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_paymentmethods_xdsd "
+                + "(paymentMethodId, repo_fullname, provider, type, "
+                + "identifier, active) VALUES (?, ?, ?, ?, ?, ?)",
+                wallets
+            )
+        ) {
+            for(int idx = 0; idx < this.projects; ++idx) {
+                final boolean stripe = idx % 2 == 0;
+                wallets.add(
+                    this.repo(idx), PROVIDER, "FAKE",
+                    BigDecimal.valueOf(1_000_000_000L), !stripe, "fake" + idx
+                );
+                if(stripe) {
+                    wallets.add(
+                        this.repo(idx), PROVIDER, "STRIPE",
+                        BigDecimal.valueOf(random.nextInt(10_000_000)),
+                        true, "cus_" + idx
+                    );
+                    methods.add(
+                        first + idx, this.repo(idx), PROVIDER, "STRIPE",
+                        "pm_active_" + idx, true
+                    );
+                    methods.add(
+                        first + idx + 1, this.repo(idx), PROVIDER, "STRIPE",
+                        "pm_inactive_" + idx, false
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert the contributors and their payout methods.
+     * @param connection JDBC Connection.
+     * @throws SQLException If something goes wrong.
+     */
+    private void contributors(
+        final Connection connection
+    ) throws SQLException {
+        try (
+            Rows contributors = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_contributors_xdsd "
+                + "(username, provider) VALUES (?, ?)"
+            );
+            Rows payouts = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_payoutmethods_xdsd "
+                + "(username, provider, type, identifier) VALUES (?, ?, ?, ?)",
+                contributors
+            )
+        ) {
+            for(int idx = 0; idx < this.contributors(); ++idx) {
+                contributors.add(this.contributor(idx), PROVIDER);
+                payouts.add(
+                    this.contributor(idx), PROVIDER, "stripe", "acct_" + idx
+                );
+            }
+        }
+    }
+
+    /**
+     * Insert the contracts.
+     * @param connection JDBC Connection.
+     * @throws SQLException If something goes wrong.
+     */
+    private void contracts(final Connection connection) throws SQLException {
+        final Random random = new Random(this.seed + 2);
+        try (
+            Rows contracts = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_contracts_xdsd (repo_fullname, "
+                + "username, provider, role, hourly_rate) "
+                + "VALUES (?, ?, ?, ?, ?)"
+            )
+        ) {
+            for(int idx = 0; idx < this.projects; ++idx) {
+                for(final String contributor : this.contributorsOf(idx)) {
+                    contracts.add(
+                        this.repo(idx), contributor, PROVIDER, ROLE,
+                        1000L + random.nextInt(9000) * 10L
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert the tasks. Every second one is assigned to one of the
+     * project's contributors and every fourth one is a pull request.
+     * @param connection JDBC Connection.
+     * @throws SQLException If something goes wrong.
+     */
+    private void tasks(final Connection connection) throws SQLException {
+        final Random random = new Random(this.seed + 3);
+        try (
+            Rows tasks = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_tasks_xdsd (repo_fullname, "
+                + "issueId, provider, isPullRequest, role, username, "
+                + "assigned, deadline, estimation_minutes) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            )
+        ) {
+            for(int idx = 0; idx < this.projects; ++idx) {
+                final List<String> contributors = this.contributorsOf(idx);
+                for(int task = 0; task < this.tasks; ++task) {
+                    final Object[] row = {
+                        this.repo(idx), String.valueOf(task + 1), PROVIDER,
+                        task % 4 == 3, ROLE, null, null, null,
+                        60 + random.nextInt(4) * 30,
+                    };
+                    if(task % 2 == 0) {
+                        final LocalDateTime assigned = SyntheticData.time(
+                            random
+                        );
+                        row[5] = contributors.get(task % CONTRACTS);
+                        row[6] = Timestamp.valueOf(assigned);
+                        row[7] = Timestamp.valueOf(assigned.plusDays(10));
+                    }
+                    tasks.add(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert the resignations: every tenth task was resigned by one of
+     * the project's contributors.
+     * @param connection JDBC Connection.
+     * @throws SQLException If something goes wrong.
+     */
+    private void resignations(
+        final Connection connection
+    ) throws SQLException {
+        final Random random = new Random(this.seed + 4);
+        try (
+            Rows resignations = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_resignations_xdsd (repo_fullname, "
+                + "username, provider, issueId, isPullRequest, timestamp, "
+                + "reason) VALUES (?, ?, ?, ?, ?, ?, ?)"
+            )
+        ) {
+            for(int idx = 0; idx < this.projects; ++idx) {
+                final List<String> contributors = this.contributorsOf(idx);
+                for(int task = 0; task < this.tasks; task = task + 10) {
+                    resignations.add(
+                        this.repo(idx),
+                        contributors.get((task + 1) % CONTRACTS),
+                        PROVIDER, String.valueOf(task + 1), task % 4 == 3,
+                        Timestamp.valueOf(SyntheticData.time(random)),
+                        "ASKED"
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert the invoices, with their totals, and their invoiced tasks.
+     * @param connection JDBC Connection.
+     * @param first Id of the first invoice.
+     * @throws SQLException If something goes wrong.
+     */
+    private void invoices(
+        final Connection connection,
+        final int first
+    ) throws SQLException {
+        try (
+            Rows invoices = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_invoices_xdsd (invoiceId, "
+                + "repo_fullname, username, provider, role, createdAt, "
+                + "totalValue, totalCommission, totalContributorCommission, "
+                + "tasksCount) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            );
+            Rows invoiced = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_invoicedtasks_xdsd (invoiceId, "
+                + "repo_fullname, username, provider, role, value, "
+                + "commission, contributorCommission, issueId, assigned, "
+                + "deadline, invoiced, estimation_minutes, isPullRequest) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                invoices
+            )
+        ) {
+            for(int idx = 0; idx < this.totalInvoices(); ++idx) {
+                final Invoice invoice = this.invoice(first, idx);
+                long commission = 0;
+                long contributorShare = 0;
+                for(final long value : invoice.values) {
+                    commission = commission + value / 10;
+                    contributorShare = contributorShare + value / 20;
+                }
+                invoices.add(
+                    invoice.id, invoice.repo, invoice.contributor, PROVIDER,
+                    ROLE, Timestamp.valueOf(invoice.created),
+                    BigDecimal.valueOf(invoice.total()),
+                    BigDecimal.valueOf(commission),
+                    BigDecimal.valueOf(contributorShare), INVOICED
+                );
+                for(int task = 0; task < INVOICED; ++task) {
+                    final long value = invoice.values[task];
+                    invoiced.add(
+                        invoice.id, invoice.repo, invoice.contributor,
+                        PROVIDER, ROLE, BigDecimal.valueOf(value),
+                        BigDecimal.valueOf(value / 10),
+                        BigDecimal.valueOf(value / 20),
+                        String.valueOf(task + 1),
+                        Timestamp.valueOf(invoice.created.minusDays(10)),
+                        Timestamp.valueOf(invoice.created),
+                        Timestamp.valueOf(invoice.created), 60, false
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert the payments and the platform invoices. The last payment
+     * attempt of a paid invoice is successful, all the others failed.
+     * Each invoice points to its latest payment.
+     * @param connection JDBC Connection.
+     * @param first Id of the first invoice.
+     * @throws SQLException If something goes wrong.
+     */
+    private void payments(
+        final Connection connection,
+        final int first
+    ) throws SQLException {
+        try (
+            Rows payments = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_payments_xdsd (invoiceId, "
+                + "transactionId, payment_timestamp, value, status, "
+                + "failReason) VALUES (?, ?, ?, ?, ?, ?)"
+            );
+            Rows platform = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_platforminvoices_xdsd (createdAt, "
+                + "billedTo, commission, vat, transactionId, "
+                + "payment_timestamp, invoiceId, eurToRon) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)"
+            );
+            Rows latest = new Rows(
+                connection,
+                "UPDATE self_xdsd.slf_invoices_xdsd SET "
+                + "latestTransactionId = ?, latestPaymentTimestamp = ?, "
+                + "latestValue = ?, latestStatus = ?, latestFailReason = ? "
+                + "WHERE invoiceId = ?"
+            )
+        ) {
+            for(int idx = 0; idx < this.totalInvoices(); ++idx) {
+                final Invoice invoice = this.invoice(first, idx);
+                final int last;
+                if(invoice.paid) {
+                    last = this.payments - 1;
+                } else {
+                    last = this.payments - 2;
+                }
+                for(int attempt = 0; attempt < this.payments; ++attempt) {
+                    final boolean success = invoice.paid
+                        && attempt == this.payments - 1;
+                    final Timestamp time = Timestamp.valueOf(
+                        invoice.created.plusDays(30).plusHours(attempt)
+                    );
+                    if(success) {
+                        payments.add(
+                            invoice.id, "transaction" + invoice.id, time,
+                            BigDecimal.valueOf(invoice.total()),
+                            "SUCCESSFUL", ""
+                        );
+                        latest.add(
+                            "transaction" + invoice.id, time,
+                            BigDecimal.valueOf(invoice.total()),
+                            "SUCCESSFUL", "", invoice.id
+                        );
+                        platform.add(
+                            time, invoice.contributor,
+                            BigDecimal.valueOf(invoice.total() / 10),
+                            BigDecimal.valueOf(invoice.total() / 50),
+                            "transaction" + invoice.id, time, invoice.id,
+                            BigDecimal.valueOf(487)
+                        );
+                    } else if(attempt < this.payments - 1) {
+                        payments.add(
+                            invoice.id, "failed" + invoice.id + "_" + attempt,
+                            time, BigDecimal.valueOf(invoice.total()),
+                            "FAILED", "Card declined"
+                        );
+                        if(attempt == last) {
+                            latest.add(
+                                "failed" + invoice.id + "_" + attempt, time,
+                                BigDecimal.valueOf(invoice.total()),
+                                "FAILED", "Card declined", invoice.id
+                            );
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert cached JSON resources: the issues and the pull requests of
+     * every project.
+     * @param connection JDBC Connection.
+     * @throws SQLException If something goes wrong.
+     */
+    private void resources(final Connection connection) throws SQLException {
+        try (
+            Rows resources = new Rows(
+                connection,
+                "INSERT INTO self_xdsd.slf_jsonstorage_xdsd (urlHash, url, "
+                + "etag, jsonBody, namespace) VALUES (?, ?, ?, ?, ?)"
+            )
+        ) {
+            for(int idx = 0; idx < this.projects; ++idx) {
+                for(final String kind : new String[] {"issues", "pulls"}) {
+                    final URI uri = URI.create(
+                        "https://api.github.com/repos/" + this.repo(idx)
+                        + "/" + kind + "?state=open"
+                    );
+                    resources.add(
+                        SelfJsonStorage.hash(uri), SelfJsonStorage.key(uri),
+                        "etag" + idx + kind,
+                        "[{\"number\":1,\"title\":\"" + kind + "\"}]",
+                        SelfJsonStorage.namespace(uri)
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Generate an invoice. Each invoice has its own seeded random
+     * generator, so it is the same no matter which table we are filling.
+     * @param first Id of the first invoice.
+     * @param index Index of the invoice.
+     * @return Invoice.
+     */
+    private Invoice invoice(final int first, final int index) {
+        final int perProject = CONTRACTS * this.invoices;
+        final int project = index / perProject;
+        final Random random = new Random(this.seed * 31 + index);
+        final long[] values = new long[INVOICED];
+        for(int task = 0; task < INVOICED; ++task) {
+            values[task] = 1000L + random.nextInt(100_000);
+        }
+        return new Invoice(
+            first + index,
+            this.repo(project),
+            this.contributorsOf(project).get(
+                index % perProject / this.invoices
+            ),
+            SyntheticData.time(random),
+            values,
+            index % this.invoices < this.invoices - 1
+        );
+    }
+
+    /**
+     * Total number of invoices.
+     * @return Integer.
+     */
+    private int totalInvoices() {
+        return this.projects * CONTRACTS * this.invoices;
+    }
+
+    /**
+     * Number of project owners.
+     * @return Integer.
+     */
+    private int owners() {
+        return Math.max(1, this.projects / 3);
+    }
+
+    /**
+     * Number of project managers.
+     * @return Integer.
+     */
+    private int managers() {
+        return Math.max(1, this.projects / 50);
+    }
+
+    /**
+     * Number of contributors.
+     * @return Integer.
+     */
+    private int contributors() {
+        return Math.max(CONTRACTS, this.projects * 2);
+    }
+
+    /**
+     * Random timestamp in the year following START.
+     * @param random Random generator.
+     * @return LocalDateTime.
+     */
+    private static LocalDateTime time(final Random random) {
+        return START.plusMinutes(random.nextInt(365 * 24 * 60));
+    }
+
+    /**
+     * Result of a SELECT MAX(...), 0 if the table is empty.
+     * @param connection JDBC Connection.
+     * @param sql Select.
+     * @return Integer.
+     * @throws SQLException If something goes wrong.
+     */
+    private static int max(
+        final Connection connection,
+        final String sql
+    ) throws SQLException {
+        try (
+            PreparedStatement select = connection.prepareStatement(sql);
+            ResultSet max = select.executeQuery()
+        ) {
+            max.next();
+            return max.getInt(1);
+        }
+    }
+
+    /**
+     * A generated invoice.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 0.0.77
+     */
+    private static final class Invoice {
+
+        /**
+         * Invoice id.
+         */
+        private final int id;
+
+        /**
+         * Repo full name.
+         */
+        private final String repo;
+
+        /**
+         * Contributor's username.
+         */
+        private final String contributor;
+
+        /**
+         * Creation time.
+         */
+        private final LocalDateTime created;
+
+        /**
+         * Values of the invoiced tasks, in cents.
+         */
+        private final long[] values;
+
+        /**
+         * Is it paid?
+         */
+        private final boolean paid;
+
+        /**
+         * Ctor.
+         * @param id Invoice id.
+         * @param repo Repo full name.
+         * @param contributor Contributor's username.
+         * @param created Creation time.
+         * @param values Values of the invoiced tasks, in cents.
+         * @param paid Is it paid?
+         * @checkstyle ParameterNumber (10 lines)
+         */
+        Invoice(
+            final int id,
+            final String repo,
+            final String contributor,
+            final LocalDateTime created,
+            final long[] values,
+            final boolean paid
+        ) {
+            this.id = id;
+            this.repo = repo;
+            this.contributor = contributor;
+            this.created = created;
+            this.values = values;
+            this.paid = paid;
+        }
+
+        /**
+         * Total value, in cents.
+         * @return Long.
+         */
+        long total() {
+            long total = 0;
+            for(final long value : this.values) {
+                total = total + value;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Rows inserted with a PreparedStatement, in JDBC batches. Every batch
+     * is committed once executed. The parent rows (referenced by foreign
+     * keys) are always flushed before this batch.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 0.0.77
+     */
+    private static final class Rows implements AutoCloseable {
+
+        /**
+         * Rows per JDBC batch.
+         */
+        private static final int BATCH = 1000;
+
+        /**
+         * JDBC Connection.
+         */
+        private final Connection connection;
+
+        /**
+         * Insert statement.
+         */
+        private final PreparedStatement insert;
+
+        /**
+         * Parent rows.
+         */
+        private final Rows[] parents;
+
+        /**
+         * Rows added to the current batch.
+         */
+        private int pending;
+
+        /**
+         * Ctor.
+         * @param connection JDBC Connection.
+         * @param sql Insert statement.
+         * @param parents Parent rows, referenced by these ones.
+         * @throws SQLException If something goes wrong.
+         */
+        Rows(
+            final Connection connection,
+            final String sql,
+            final Rows... parents
+        ) throws SQLException {
+            this.connection = connection;
+            this.insert = connection.prepareStatement(sql);
+            this.parents = parents;
+        }
+
+        /**
+         * Add a row.
+         * @param values Values, in the statement's order.
+         * @throws SQLException If something goes wrong.
+         */
+        void add(final Object... values) throws SQLException {
+            for(int idx = 0; idx < values.length; ++idx) {
+                this.insert.setObject(idx + 1, values[idx]);
+            }
+            this.insert.addBatch();
+            this.pending = this.pending + 1;
+            if(this.pending == BATCH) {
+                this.flush();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                this.flush();
+            } finally {
+                this.insert.close();
+            }
+        }
+
+        /**
+         * Execute and commit the current batch.
+         * @throws SQLException If something goes wrong.
+         */
+        private void flush() throws SQLException {
+            for(final Rows parent : this.parents) {
+                parent.flush();
+            }
+            if(this.pending > 0) {
+                this.insert.executeBatch();
+                this.connection.commit();
+                this.pending = 0;
+            }
+        }
+    }
+}
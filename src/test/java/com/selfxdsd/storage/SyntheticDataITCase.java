@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.jooq.impl.DSL;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_CONTRACTS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_INVOICES_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_PAYMENTS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_PLATFORMINVOICES_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_PROJECTS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_RESIGNATIONS_XDSD;
+import static com.selfxdsd.storage.generated.jooq.Tables.SLF_TASKS_XDSD;
+
+/**
+ * Integration tests for {@link SyntheticData}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+public final class SyntheticDataITCase {
+
+    /**
+     * SyntheticData generates the expected amount of rows.
+     */
+    @Test
+    public void generatesScaledData() {
+        final Database database = new H2MemoryDatabase(
+            UUID.randomUUID().toString()
+        ).connect();
+        new SyntheticData(42L, 10, 30, 4, 3).insertInto(database);
+        MatcherAssert.assertThat(
+            database.jooq().fetchCount(SLF_PROJECTS_XDSD),
+            Matchers.equalTo(10)
+        );
+        MatcherAssert.assertThat(
+            database.jooq().fetchCount(SLF_CONTRACTS_XDSD),
+            Matchers.equalTo(50)
+        );
+        MatcherAssert.assertThat(
+            database.jooq().fetchCount(SLF_TASKS_XDSD),
+            Matchers.equalTo(300)
+        );
+        MatcherAssert.assertThat(
+            database.jooq().fetchCount(SLF_RESIGNATIONS_XDSD),
+            Matchers.equalTo(30)
+        );
+        MatcherAssert.assertThat(
+            database.jooq().fetchCount(SLF_INVOICES_XDSD),
+            Matchers.equalTo(200)
+        );
+        MatcherAssert.assertThat(
+            database.jooq().fetchCount(SLF_PAYMENTS_XDSD),
+            Matchers.equalTo(550)
+        );
+        MatcherAssert.assertThat(
+            database.jooq().fetchCount(SLF_PLATFORMINVOICES_XDSD),
+            Matchers.equalTo(150)
+        );
+        database.close();
+    }
+
+    /**
+     * The same seed and scale generate the same data.
+     */
+    @Test
+    public void generatesSameDataForSameSeed() {
+        final Database first = new H2MemoryDatabase(
+            UUID.randomUUID().toString()
+        ).connect();
+        final Database second = new H2MemoryDatabase(
+            UUID.randomUUID().toString()
+        ).connect();
+        new SyntheticData(7L, 5).insertInto(first);
+        new SyntheticData(7L, 5).insertInto(second);
+        MatcherAssert.assertThat(
+            first.jooq().select(DSL.sum(SLF_PAYMENTS_XDSD.VALUE))
+                .from(SLF_PAYMENTS_XDSD)
+                .fetchOne(0),
+            Matchers.equalTo(
+                second.jooq().select(DSL.sum(SLF_PAYMENTS_XDSD.VALUE))
+                    .from(SLF_PAYMENTS_XDSD)
+                    .fetchOne(0)
+            )
+        );
+        MatcherAssert.assertThat(
+            first.jooq().selectFrom(SLF_TASKS_XDSD)
+                .orderBy(SLF_TASKS_XDSD.REPO_FULLNAME, SLF_TASKS_XDSD.ISSUEID)
+                .fetch(),
+            Matchers.equalTo(
+                second.jooq().selectFrom(SLF_TASKS_XDSD)
+                    .orderBy(
+                        SLF_TASKS_XDSD.REPO_FULLNAME, SLF_TASKS_XDSD.ISSUEID
+                    )
+                    .fetch()
+            )
+        );
+        first.close();
+        second.close();
+    }
+}
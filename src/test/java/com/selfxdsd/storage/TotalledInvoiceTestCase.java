@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import com.selfxdsd.api.Invoice;
+import com.selfxdsd.api.Task;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+
+/**
+ * Unit tests for {@link TotalledInvoice}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+public final class TotalledInvoiceTestCase {
+
+    /**
+     * TotalledInvoice returns the totals it was read with.
+     */
+    @Test
+    public void returnsReadTotals() {
+        final TotalledInvoice invoice = new TotalledInvoice(
+            Mockito.mock(Invoice.class),
+            BigDecimal.valueOf(1000),
+            BigDecimal.valueOf(80),
+            BigDecimal.valueOf(20),
+            3
+        );
+        MatcherAssert.assertThat(
+            invoice.amount(), Matchers.equalTo(BigDecimal.valueOf(1000))
+        );
+        MatcherAssert.assertThat(
+            invoice.totalAmount(), Matchers.equalTo(BigDecimal.valueOf(1080))
+        );
+        MatcherAssert.assertThat(
+            invoice.projectCommission(),
+            Matchers.equalTo(BigDecimal.valueOf(80))
+        );
+        MatcherAssert.assertThat(
+            invoice.contributorCommission(),
+            Matchers.equalTo(BigDecimal.valueOf(20))
+        );
+        MatcherAssert.assertThat(invoice.tasksCount(), Matchers.equalTo(3));
+    }
+
+    /**
+     * Registering a Task through the TotalledInvoice adds it to the
+     * totals, so they don't go stale.
+     */
+    @Test
+    public void addsRegisteredTaskToTotals() {
+        final Invoice origin = Mockito.mock(Invoice.class);
+        final TotalledInvoice invoice = new TotalledInvoice(
+            origin,
+            BigDecimal.valueOf(1000),
+            BigDecimal.valueOf(80),
+            BigDecimal.valueOf(20),
+            3
+        );
+        final Task task = Mockito.mock(Task.class);
+        Mockito.when(task.value()).thenReturn(BigDecimal.valueOf(500));
+        invoice.register(task, BigDecimal.valueOf(40), BigDecimal.TEN);
+        Mockito.verify(origin).register(
+            task, BigDecimal.valueOf(40), BigDecimal.TEN
+        );
+        MatcherAssert.assertThat(
+            invoice.amount(), Matchers.equalTo(BigDecimal.valueOf(1500))
+        );
+        MatcherAssert.assertThat(
+            invoice.totalAmount(), Matchers.equalTo(BigDecimal.valueOf(1620))
+        );
+        MatcherAssert.assertThat(
+            invoice.projectCommission(),
+            Matchers.equalTo(BigDecimal.valueOf(120))
+        );
+        MatcherAssert.assertThat(
+            invoice.contributorCommission(),
+            Matchers.equalTo(BigDecimal.valueOf(30))
+        );
+        MatcherAssert.assertThat(invoice.tasksCount(), Matchers.equalTo(4));
+    }
+
+    /**
+     * If the registration fails, the totals stay the same.
+     */
+    @Test
+    public void keepsTotalsIfRegistrationFails() {
+        final Invoice origin = Mockito.mock(Invoice.class);
+        final TotalledInvoice invoice = new TotalledInvoice(
+            origin,
+            BigDecimal.valueOf(1000),
+            BigDecimal.valueOf(80),
+            BigDecimal.valueOf(20),
+            3
+        );
+        final Task task = Mockito.mock(Task.class);
+        Mockito.when(task.value()).thenReturn(BigDecimal.valueOf(500));
+        Mockito.when(
+            origin.register(task, BigDecimal.valueOf(40), BigDecimal.TEN)
+        ).thenThrow(new IllegalStateException("Already invoiced"));
+        boolean failed = false;
+        try {
+            invoice.register(task, BigDecimal.valueOf(40), BigDecimal.TEN);
+        } catch (final IllegalStateException exception) {
+            failed = true;
+        }
+        MatcherAssert.assertThat(failed, Matchers.is(true));
+        MatcherAssert.assertThat(
+            invoice.amount(), Matchers.equalTo(BigDecimal.valueOf(1000))
+        );
+        MatcherAssert.assertThat(invoice.tasksCount(), Matchers.equalTo(3));
+    }
+}
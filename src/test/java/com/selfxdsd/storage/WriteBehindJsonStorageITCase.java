@@ -0,0 +1,315 @@
+/**
+ * Copyright (c) 2020-2021, Self XDSD Contributors
+ * All rights reserved.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"),
+ * to read the Software only. Permission is hereby NOT GRANTED to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY,
+ * OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT
+ * OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.selfxdsd.storage;
+
+import com.selfxdsd.api.CachedResource;
+import com.selfxdsd.api.Resource;
+import com.selfxdsd.api.storage.Storage;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Integration tests for {@link WriteBehindJsonStorage}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 0.0.77
+ */
+public final class WriteBehindJsonStorageITCase {
+
+    /**
+     * Stored resources are written in the background and can be read
+     * immediately, even before they are flushed.
+     */
+    @Test
+    public void storesResourceInBackground() {
+        final WriteBehindJsonStorage jsonStorage = new WriteBehindJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect(),
+            new H2Database(),
+            100
+        );
+        final URI uri = URI.create(
+            "https://api.github.com/repos/amihaiemil/"
+            + UUID.randomUUID().toString() + "/issues/1"
+        );
+        jsonStorage.storeResource(uri, this.resource("etag1", "{}"));
+        MatcherAssert.assertThat(
+            jsonStorage.getResource(uri).etag(),
+            Matchers.equalTo("etag1")
+        );
+        jsonStorage.close();
+
+        final CachedResource stored = new SelfJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect()
+        ).getResource(uri);
+        MatcherAssert.assertThat(stored.etag(), Matchers.equalTo("etag1"));
+        MatcherAssert.assertThat(stored.body(), Matchers.equalTo("{}"));
+    }
+
+    /**
+     * The worker is only started by the first write and, if it is
+     * interrupted, it stops instead of spinning.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    public void stopsWorkerWhenInterrupted() throws InterruptedException {
+        final Set<Thread> before = this.workers();
+        final WriteBehindJsonStorage jsonStorage = new WriteBehindJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect(),
+            new H2Database(),
+            100
+        );
+        MatcherAssert.assertThat(this.workers(), Matchers.equalTo(before));
+        jsonStorage.storeResource(
+            URI.create(
+                "https://api.github.com/repos/amihaiemil/"
+                + UUID.randomUUID().toString() + "/issues/2"
+            ),
+            this.resource("etag1", "{}")
+        );
+        final Set<Thread> started = this.workers();
+        started.removeAll(before);
+        MatcherAssert.assertThat(started, Matchers.hasSize(1));
+        final Thread worker = started.iterator().next();
+        worker.interrupt();
+        worker.join(5000);
+        MatcherAssert.assertThat(worker.isAlive(), Matchers.is(false));
+        jsonStorage.close();
+    }
+
+    /**
+     * Writes of the same URI are coalesced, the last one wins.
+     */
+    @Test
+    public void coalescesWritesOfSameUri() {
+        final WriteBehindJsonStorage jsonStorage = new WriteBehindJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect(),
+            new H2Database(),
+            100
+        );
+        final URI uri = URI.create(
+            "https://api.github.com/repos/amihaiemil/"
+            + UUID.randomUUID().toString() + "/pulls"
+        );
+        jsonStorage.storeResource(uri, this.resource("etag1", "[1]"));
+        jsonStorage.updateResource(uri, this.resource("etag2", "[1, 2]"));
+        jsonStorage.updateResource(uri, this.resource("etag3", "[1, 2, 3]"));
+        jsonStorage.close();
+
+        final CachedResource stored = new SelfJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect()
+        ).getResource(uri);
+        MatcherAssert.assertThat(stored.etag(), Matchers.equalTo("etag3"));
+        MatcherAssert.assertThat(
+            stored.asJsonArray().size(),
+            Matchers.equalTo(3)
+        );
+    }
+
+    /**
+     * Resources without ETag or body are not written.
+     */
+    @Test
+    public void ignoresBlankEtagAndBody() {
+        final WriteBehindJsonStorage jsonStorage = new WriteBehindJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect(),
+            new H2Database(),
+            100
+        );
+        final URI uri = URI.create(
+            "https://api.github.com/repos/amihaiemil/"
+            + UUID.randomUUID().toString() + "/issues/2"
+        );
+        jsonStorage.storeResource(uri, this.resource("", ""));
+        MatcherAssert.assertThat(
+            jsonStorage.getResource(uri),
+            Matchers.nullValue()
+        );
+        jsonStorage.close();
+    }
+
+    /**
+     * Invalidating a repo drops its pending writes too, so they are not
+     * flushed after the invalidation. Other repos are left untouched.
+     */
+    @Test
+    public void invalidatesPendingWritesOfRepo() {
+        final WriteBehindJsonStorage jsonStorage = new WriteBehindJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect(),
+            new H2Database(),
+            100
+        );
+        final String repo = "amihaiemil/" + UUID.randomUUID().toString();
+        final URI issues = URI.create(
+            "https://api.github.com/repos/" + repo + "/issues/1"
+        );
+        final URI other = URI.create(
+            "https://api.github.com/repos/" + repo + "-other/issues/1"
+        );
+        jsonStorage.storeResource(issues, this.resource("etag1", "{}"));
+        jsonStorage.storeResource(other, this.resource("etag2", "{}"));
+        jsonStorage.invalidate(repo, "github");
+        MatcherAssert.assertThat(
+            jsonStorage.getResource(issues),
+            Matchers.nullValue()
+        );
+        jsonStorage.close();
+
+        final SelfJsonStorage stored = new SelfJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect()
+        );
+        MatcherAssert.assertThat(
+            stored.getResource(issues),
+            Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            stored.getResource(other).etag(),
+            Matchers.equalTo("etag2")
+        );
+    }
+
+    /**
+     * A new resource whose URI is already stored (e.g. written by another
+     * instance) is upserted, it does not fail the batch.
+     */
+    @Test
+    public void upsertsAlreadyStoredResource() {
+        final URI uri = URI.create(
+            "https://api.github.com/repos/amihaiemil/"
+            + UUID.randomUUID().toString() + "/issues/3"
+        );
+        final URI other = URI.create(
+            "https://api.github.com/repos/amihaiemil/"
+            + UUID.randomUUID().toString() + "/issues/4"
+        );
+        final SelfJsonStorage stored = new SelfJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect()
+        );
+        stored.storeResource(uri, this.resource("etag1", "{}"));
+        final WriteBehindJsonStorage jsonStorage = new WriteBehindJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect(),
+            new H2Database(),
+            100
+        );
+        jsonStorage.storeResource(uri, this.resource("etag2", "[]"));
+        jsonStorage.storeResource(other, this.resource("etag3", "{}"));
+        jsonStorage.close();
+
+        MatcherAssert.assertThat(
+            stored.getResource(uri).etag(),
+            Matchers.equalTo("etag2")
+        );
+        MatcherAssert.assertThat(
+            stored.getResource(uri).body(),
+            Matchers.equalTo("[]")
+        );
+        MatcherAssert.assertThat(
+            stored.getResource(other).etag(),
+            Matchers.equalTo("etag3")
+        );
+    }
+
+    /**
+     * A batch which fails for any reason (here, the worker cannot connect)
+     * does not stop the worker: the next batches are still written.
+     */
+    @Test
+    public void keepsWritingAfterFailedBatch() {
+        final Database cache = Mockito.mock(Database.class);
+        Mockito.when(cache.connect())
+            .thenThrow(new IllegalStateException("Could not connect"))
+            .thenReturn(new H2Database().connect());
+        final WriteBehindJsonStorage jsonStorage = new WriteBehindJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect(),
+            cache,
+            100
+        );
+        final URI failed = URI.create(
+            "https://api.github.com/repos/amihaiemil/"
+            + UUID.randomUUID().toString() + "/issues/5"
+        );
+        final URI written = URI.create(
+            "https://api.github.com/repos/amihaiemil/"
+            + UUID.randomUUID().toString() + "/issues/6"
+        );
+        jsonStorage.storeResource(failed, this.resource("etag1", "{}"));
+        Mockito.verify(cache, Mockito.timeout(5000)).connect();
+        jsonStorage.storeResource(written, this.resource("etag2", "{}"));
+        jsonStorage.close();
+
+        final SelfJsonStorage stored = new SelfJsonStorage(
+            Mockito.mock(Storage.class),
+            new H2Database().connect()
+        );
+        MatcherAssert.assertThat(
+            stored.getResource(failed),
+            Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            stored.getResource(written).etag(),
+            Matchers.equalTo("etag2")
+        );
+    }
+
+    /**
+     * The live worker threads of all the WriteBehindJsonStorages.
+     * @return Threads.
+     */
+    private Set<Thread> workers() {
+        return Thread.getAllStackTraces().keySet().stream()
+            .filter(
+                thread -> "self-jsonstorage-writer".equals(thread.getName())
+            )
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Mock a Resource.
+     * @param etag ETag.
+     * @param body JSON body.
+     * @return Resource.
+     */
+    private Resource resource(final String etag, final String body) {
+        final Resource resource = Mockito.mock(Resource.class);
+        Mockito.when(resource.etag()).thenReturn(etag);
+        Mockito.when(resource.body()).thenReturn(body);
+        return resource;
+    }
+}
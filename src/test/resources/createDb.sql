@@ -118,6 +118,15 @@ CREATE TABLE `self_xdsd`.`slf_invoices_xdsd` (
   `billedByCountry` VARCHAR(32) NULL DEFAULT NULL,
   `billedToCountry` VARCHAR(32) NULL DEFAULT NULL,
   `eurToRon` DECIMAL(20,0) NULL DEFAULT 0,
+  `latestTransactionId` VARCHAR(256) NULL DEFAULT NULL,
+  `latestPaymentTimestamp` DATETIME NULL DEFAULT NULL,
+  `latestValue` DECIMAL(20,0) NULL DEFAULT NULL,
+  `latestStatus` VARCHAR(32) NULL DEFAULT NULL,
+  `latestFailReason` VARCHAR(512) NULL DEFAULT NULL,
+  `totalValue` DECIMAL(20,0) NOT NULL DEFAULT 0,
+  `totalCommission` DECIMAL(20,0) NOT NULL DEFAULT 0,
+  `totalContributorCommission` DECIMAL(20,0) NOT NULL DEFAULT 0,
+  `tasksCount` INT NOT NULL DEFAULT 0,
   PRIMARY KEY (`invoiceId`, `repo_fullname`, `username`, `provider`, `role`),
   CONSTRAINT `fkContract`
     FOREIGN KEY (`repo_fullname` , `username` , `provider` , `role`)
@@ -167,6 +176,8 @@ CREATE TABLE `self_xdsd`.`slf_payments_xdsd` (
     REFERENCES `self_xdsd`.`slf_invoices_xdsd` (`invoiceId`)
     ON DELETE CASCADE);
 
+CREATE INDEX `paymentTime` ON `self_xdsd`.`slf_payments_xdsd` (`payment_timestamp`);
+
 -- -----------------------------------------------------
 -- Table `self_xdsd`.`slf_resignations_xdsd`
 -- -----------------------------------------------------
@@ -198,6 +209,7 @@ CREATE TABLE `self_xdsd`.`slf_wallets_xdsd` (
   `cash` DECIMAL(20,0) NOT NULL,
   `active` TINYINT(1) NOT NULL,
   `identifier` VARCHAR(256) NOT NULL,
+  `version` INT NOT NULL DEFAULT 0,
   PRIMARY KEY (`repo_fullname`, `provider`, `type`),
   CONSTRAINT `ownerProject`
     FOREIGN KEY (`repo_fullname` , `provider`)
@@ -205,6 +217,8 @@ CREATE TABLE `self_xdsd`.`slf_wallets_xdsd` (
     ON UPDATE CASCADE
     ON DELETE CASCADE);
 
+CREATE INDEX `activeCash` ON `self_xdsd`.`slf_wallets_xdsd` (`active`, `cash`);
+
 -- -----------------------------------------------------
 -- Table `self_xdsd`.`slf_payoutmethods_xdsd`
 -- -----------------------------------------------------
@@ -275,7 +289,11 @@ CREATE TABLE `self_xdsd`.`slf_apitokens_xdsd` (
 -- -----------------------------------------------------
 
 CREATE TABLE `self_xdsd`.`slf_jsonstorage_xdsd` (
-  `url` VARCHAR(512) NOT NULL,
+  `urlHash` BINARY(32) NOT NULL,
+  `url` TEXT NOT NULL,
   `etag` VARCHAR(2048) NOT NULL,
   `jsonBody` LONGTEXT NOT NULL,
-  PRIMARY KEY (`url`));
+  `namespace` VARCHAR(512) NULL DEFAULT NULL,
+  PRIMARY KEY (`urlHash`));
+
+CREATE INDEX `namespace` ON `self_xdsd`.`slf_jsonstorage_xdsd` (`namespace`);
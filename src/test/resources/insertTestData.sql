@@ -262,6 +262,12 @@ INSERT INTO `self_xdsd`.`slf_payments_xdsd`
 (`invoiceId`, `transactionId`, `payment_timestamp`, `value`, `status`, `failReason`)
 VALUES(2, 'transaction456', '2021-03-02', 1000, 'FAILED', 'Failed Payment 2');
 
+UPDATE `self_xdsd`.`slf_invoices_xdsd`
+SET `latestTransactionId` = 'transaction456',
+`latestPaymentTimestamp` = '2021-03-02', `latestValue` = 1000,
+`latestStatus` = 'FAILED', `latestFailReason` = 'Failed Payment 2'
+WHERE `invoiceId` IN (1, 2);
+
 INSERT INTO `self_xdsd`.`slf_invoicedtasks_xdsd`
 (invoiceId,
  repo_fullname,
@@ -350,6 +356,12 @@ INSERT INTO `self_xdsd`.`slf_invoicedtasks_xdsd`
 VALUES
 (6, 'amihaiemil/to_rename', 'john', 'github', 'DEV', 10000, 100, 30, '802', '2020-06-01', '2020-06-11', NOW(), 60, 0);
 
+UPDATE `self_xdsd`.`slf_invoices_xdsd` i SET
+`totalValue` = (SELECT COALESCE(SUM(t.`value`), 0) FROM `self_xdsd`.`slf_invoicedtasks_xdsd` t WHERE t.`invoiceId` = i.`invoiceId`),
+`totalCommission` = (SELECT COALESCE(SUM(t.`commission`), 0) FROM `self_xdsd`.`slf_invoicedtasks_xdsd` t WHERE t.`invoiceId` = i.`invoiceId`),
+`totalContributorCommission` = (SELECT COALESCE(SUM(t.`contributorCommission`), 0) FROM `self_xdsd`.`slf_invoicedtasks_xdsd` t WHERE t.`invoiceId` = i.`invoiceId`),
+`tasksCount` = (SELECT COUNT(*) FROM `self_xdsd`.`slf_invoicedtasks_xdsd` t WHERE t.`invoiceId` = i.`invoiceId`);
+
 INSERT INTO `self_xdsd`.`slf_wallets_xdsd`
 (`repo_fullname`, `provider`, `type`, `cash`, `active`, `identifier`)
 VALUES
@@ -441,5 +453,5 @@ INSERT INTO `self_xdsd`.`slf_platforminvoices_xdsd`
 (`id`, `createdAt`, `billedTo`, `commission`, `vat`, `transactionId`, `payment_timestamp`, `invoiceId`, `eurToRon`)
 VALUES (2, '2021-01-09', 'vlad', 130, 19, 'transactionIdHere', '2021-01-09', 4, 487);
 
-INSERT INTO `self_xdsd`.`slf_jsonstorage_xdsd` (`url`, `etag`, `jsonBody`)
-VALUES ('https://github.com/self-xdsd/self-storage/issues/123', 'etag123321', '{"issueId":"123"}');
\ No newline at end of file
+INSERT INTO `self_xdsd`.`slf_jsonstorage_xdsd` (`urlHash`, `url`, `etag`, `jsonBody`, `namespace`)
+VALUES (X'99DFFF1F87EE0375DC7D36B7F47DF45B256E788C60595321CEA858FEB86F37BF', 'https://github.com/self-xdsd/self-storage/issues/123', 'etag123321', '{"issueId":"123"}', 'github:self-xdsd/self-storage');
\ No newline at end of file